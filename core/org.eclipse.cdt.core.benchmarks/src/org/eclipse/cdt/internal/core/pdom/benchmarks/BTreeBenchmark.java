@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups, scans and updates of a {@link BTree} of named records, ordered like the index of
+ * global bindings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BTreeBenchmark extends StorageState {
+	private static final int OPERATIONS = 1 << 16;
+
+	@Param({ "10000", "200000" })
+	public int size;
+
+	private NameIndex index;
+	private char[][] names;
+	private char[][] missingNames;
+	private int[] lookups;
+	private int next;
+
+	@Setup
+	public void setUp() throws Exception {
+		createDatabase(new ChunkCache(256 * 1024 * 1024));
+		index = new NameIndex(db, db.malloc(Database.PTR_SIZE));
+		char[][] all = Workloads.identifiers(size + OPERATIONS, 1);
+		names = new char[size][];
+		System.arraycopy(all, 0, names, 0, size);
+		missingNames = new char[OPERATIONS][];
+		System.arraycopy(all, size, missingNames, 0, OPERATIONS);
+		for (char[] name : names) {
+			index.insert(name);
+		}
+		lookups = Workloads.indexes(OPERATIONS, size, 1, 2);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		closeDatabase();
+	}
+
+	private int next() {
+		return next = (next + 1) & (OPERATIONS - 1);
+	}
+
+	@Benchmark
+	public long lookup() throws Exception {
+		return index.find(names[lookups[next()]]);
+	}
+
+	@Benchmark
+	public long lookupMissing() throws Exception {
+		return index.find(missingNames[next()]);
+	}
+
+	@Benchmark
+	public int scan() throws Exception {
+		return index.scan();
+	}
+
+	@Benchmark
+	public void insertDelete() throws Exception {
+		index.delete(index.insert(missingNames[next()]));
+	}
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads from a database that is larger than the {@link ChunkCache}, such that chunks are evicted
+ * and read again from the file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkCacheBenchmark extends StorageState {
+	private static final long DATABASE_SIZE = 64L * 1024 * 1024;
+	private static final int OPERATIONS = 1 << 16;
+
+	@Param({ "4194304", "33554432" })
+	public long cacheSize;
+
+	private long[] blocks;
+	private int[] uniform;
+	private int[] skewed;
+	private int next;
+	private int scanPosition;
+
+	@Setup
+	public void setUp() throws Exception {
+		createDatabase(new ChunkCache(cacheSize));
+		blocks = new long[(int) (DATABASE_SIZE / Database.CHUNK_SIZE)];
+		for (int i = 0; i < blocks.length; i++) {
+			blocks[i] = db.malloc(Database.MAX_MALLOC_SIZE);
+			db.putInt(blocks[i], i);
+		}
+		flushDatabase();
+		uniform = Workloads.indexes(OPERATIONS, blocks.length, 1, 1);
+		// Nine out of ten reads go to a tenth of the database.
+		skewed = Workloads.indexes(OPERATIONS, blocks.length, 0.1, 2);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		closeDatabase();
+	}
+
+	private int next() {
+		return next = (next + 1) & (OPERATIONS - 1);
+	}
+
+	@Benchmark
+	public int uniformRead() throws Exception {
+		return db.getInt(blocks[uniform[next()]]);
+	}
+
+	@Benchmark
+	public int skewedRead() throws Exception {
+		return db.getInt(blocks[skewed[next()]]);
+	}
+
+	/**
+	 * Skewed reads interleaved with a sequential scan of the database, which should not push the
+	 * frequently used chunks out of the cache.
+	 */
+	@Benchmark
+	public int skewedReadWithScan() throws Exception {
+		scanPosition = (scanPosition + 1) % blocks.length;
+		return db.getInt(blocks[skewed[next()]]) + db.getInt(blocks[scanPosition]);
+	}
+}
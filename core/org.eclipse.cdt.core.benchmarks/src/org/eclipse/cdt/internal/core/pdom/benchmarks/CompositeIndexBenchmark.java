@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.benchmarks;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.index.IIndexBinding;
+import org.eclipse.cdt.core.index.IndexFilter;
+import org.eclipse.cdt.internal.core.index.CIndex;
+import org.eclipse.cdt.internal.core.index.FragmentQueryExecutor;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
+import org.eclipse.cdt.internal.core.pdom.dom.c.PDOMCLinkageFactory;
+import org.eclipse.cdt.internal.core.pdom.dom.cpp.PDOMCPPLinkageFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Queries against an index consisting of several fragments, with the fragments queried one after
+ * another (<code>parallelism=1</code>) and concurrently. The fragments are copies of an existing
+ * PDOM passed with <code>-p pdom=&lt;path&gt;</code>, such that each query finds the same bindings
+ * in all fragments and has to combine them into composite bindings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompositeIndexBenchmark {
+	private static final int OPERATIONS = 1 << 10;
+
+	@Param("")
+	public String pdom;
+
+	@Param({ "8" })
+	public int fragments;
+
+	@Param({ "1", "4" })
+	public int parallelism;
+
+	private File[] files;
+	private PDOM[] pdoms;
+	private CIndex index;
+	private char[][] names;
+	private Pattern[] patterns;
+	private int next;
+
+	@Setup
+	public void setUp() throws Exception {
+		if (pdom.isEmpty()) {
+			throw new IllegalArgumentException("Specify the PDOM to benchmark with -p pdom=<path>");
+		}
+		Map<String, IPDOMLinkageFactory> factories = new HashMap<>();
+		factories.put(ILinkage.C_LINKAGE_NAME, new PDOMCLinkageFactory());
+		factories.put(ILinkage.CPP_LINKAGE_NAME, new PDOMCPPLinkageFactory());
+		ChunkCache cache = new ChunkCache(256L << 20);
+		files = new File[fragments];
+		pdoms = new PDOM[fragments];
+		for (int i = 0; i < fragments; i++) {
+			files[i] = File.createTempFile("pdombenchmark", ".pdom");
+			files[i].deleteOnExit();
+			Files.copy(new File(pdom).toPath(), files[i].toPath(), StandardCopyOption.REPLACE_EXISTING);
+			pdoms[i] = new PDOM(files[i], new RawLocationConverter(), cache, factories);
+		}
+		index = new CIndex(pdoms, new FragmentQueryExecutor(parallelism));
+		index.acquireReadLock();
+		try {
+			if (!pdoms[0].isSupportedVersion()) {
+				throw new IllegalArgumentException("The format of " + pdom + " is not supported");
+			}
+			IIndexBinding[] bindings = index.findBindings(Pattern.compile(".*"), false, IndexFilter.ALL, null);
+			List<char[]> nameList = new ArrayList<>();
+			for (IIndexBinding binding : bindings) {
+				if (binding.getNameCharArray().length >= 2) {
+					nameList.add(binding.getNameCharArray());
+				}
+			}
+			if (nameList.isEmpty()) {
+				throw new IllegalArgumentException(pdom + " does not contain any bindings");
+			}
+			int[] indexes = Workloads.indexes(OPERATIONS, nameList.size(), 1, 1);
+			names = new char[OPERATIONS][];
+			patterns = new Pattern[OPERATIONS];
+			for (int i = 0; i < OPERATIONS; i++) {
+				names[i] = nameList.get(indexes[i]);
+				// Too short for the trigram index, all bindings are visited.
+				patterns[i] = Pattern.compile(".*" + Pattern.quote(new String(names[i], 0, 2)) + ".*");
+			}
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		for (PDOM fragment : pdoms) {
+			fragment.getDB().setExclusiveLock();
+			fragment.close();
+		}
+		for (File file : files) {
+			file.delete();
+		}
+	}
+
+	private int next() {
+		next = (next + 1) & (OPERATIONS - 1);
+		return next;
+	}
+
+	/**
+	 * Looks up the bindings with a given name in all fragments.
+	 */
+	@Benchmark
+	public int findBindings() throws Exception {
+		int i = next();
+		index.acquireReadLock();
+		try {
+			return index.findBindings(names[i], false, IndexFilter.ALL, null).length;
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
+	/**
+	 * Searches for the bindings matching a pattern, visiting all bindings of all fragments.
+	 */
+	@Benchmark
+	public int findBindingsByPattern() throws Exception {
+		int i = next();
+		index.acquireReadLock();
+		try {
+			return index.findBindings(patterns[i], false, IndexFilter.ALL, null).length;
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
+	@Benchmark
+	public int getAllFiles() throws Exception {
+		index.acquireReadLock();
+		try {
+			return index.getAllFiles().length;
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+}
@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.benchmarks;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups by several readers while a writer updates the database, synchronized by the lock of
+ * the {@link PDOM}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentionBenchmark {
+	private static final int SIZE = 50000;
+	private static final int WRITER_NAMES = 1 << 12;
+
+	private File file;
+	private PDOM pdom;
+	private NameIndex index;
+	private char[][] names;
+	private long[] records;
+	private char[][] writerNames;
+	private int nextWriterName;
+
+	@Setup
+	public void setUp() throws Exception {
+		file = File.createTempFile("pdombenchmark", ".pdom");
+		file.deleteOnExit();
+		pdom = new WritablePDOM(file, null, new ChunkCache(), new HashMap<>());
+		char[][] all = Workloads.identifiers(SIZE + WRITER_NAMES, 1);
+		names = new char[SIZE][];
+		System.arraycopy(all, 0, names, 0, SIZE);
+		writerNames = new char[WRITER_NAMES][];
+		System.arraycopy(all, SIZE, writerNames, 0, WRITER_NAMES);
+		records = new long[SIZE];
+		pdom.acquireWriteLock(null);
+		try {
+			final Database db = pdom.getDB();
+			index = new NameIndex(db, db.malloc(Database.PTR_SIZE));
+			for (int i = 0; i < SIZE; i++) {
+				records[i] = index.insert(names[i]);
+			}
+		} finally {
+			pdom.releaseWriteLock();
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		pdom.acquireWriteLock(null);
+		try {
+			pdom.close();
+		} finally {
+			pdom.releaseWriteLock();
+		}
+		file.delete();
+	}
+
+	private long lookup() throws Exception {
+		char[] name = names[ThreadLocalRandom.current().nextInt(SIZE)];
+		pdom.acquireReadLock();
+		try {
+			return index.find(name);
+		} finally {
+			pdom.releaseReadLock();
+		}
+	}
+
+	private int compareName() throws Exception {
+		final int i = ThreadLocalRandom.current().nextInt(SIZE);
+		final Database db = pdom.getDB();
+		return pdom.runOptimisticRead(() -> db.getString(db.getRecPtr(records[i])).compare(names[i], true));
+	}
+
+	private void update() throws Exception {
+		char[] name = writerNames[nextWriterName = (nextWriterName + 1) % WRITER_NAMES];
+		pdom.acquireWriteLock(null);
+		try {
+			index.delete(index.insert(name));
+		} finally {
+			pdom.releaseWriteLock();
+		}
+	}
+
+	@Benchmark
+	@Group("readers")
+	@GroupThreads(4)
+	public long readersLookup() throws Exception {
+		return lookup();
+	}
+
+	@Benchmark
+	@Group("readersAndWriter")
+	@GroupThreads(3)
+	public long readersAndWriterLookup() throws Exception {
+		return lookup();
+	}
+
+	@Benchmark
+	@Group("readersAndWriter")
+	@GroupThreads(1)
+	public void readersAndWriterUpdate() throws Exception {
+		update();
+	}
+
+	/**
+	 * Short queries that run without a read lock unless the writer holds the lock.
+	 */
+	@Benchmark
+	@Group("optimisticReadersAndWriter")
+	@GroupThreads(3)
+	public int optimisticReadersAndWriterRead() throws Exception {
+		return compareName();
+	}
+
+	@Benchmark
+	@Group("optimisticReadersAndWriter")
+	@GroupThreads(1)
+	public void optimisticReadersAndWriterUpdate() throws Exception {
+		update();
+	}
+}
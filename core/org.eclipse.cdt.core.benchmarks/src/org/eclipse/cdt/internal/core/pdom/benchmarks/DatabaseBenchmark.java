@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Allocation and the accessors of {@link Database}, on a database that fits into the cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DatabaseBenchmark extends StorageState {
+	private static final int LIVE_BLOCKS = 1 << 14;
+	private static final int OPERATIONS = 1 << 16;
+
+	private long[] blocks;
+	private int[] sizes;
+	private int[] slots;
+	private long[] records;
+	private int next;
+
+	@Setup
+	public void setUp() throws Exception {
+		createDatabase(new ChunkCache(256 * 1024 * 1024));
+		sizes = Workloads.blockSizes(OPERATIONS, Database.MAX_MALLOC_SIZE, 1);
+		slots = Workloads.indexes(OPERATIONS, LIVE_BLOCKS, 1, 2);
+		blocks = new long[LIVE_BLOCKS];
+		for (int i = 0; i < LIVE_BLOCKS; i++) {
+			blocks[i] = db.malloc(sizes[i]);
+		}
+		records = new long[OPERATIONS];
+		for (int i = 0; i < OPERATIONS; i++) {
+			records[i] = blocks[slots[i]];
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		closeDatabase();
+	}
+
+	private int next() {
+		return next = (next + 1) & (OPERATIONS - 1);
+	}
+
+	/**
+	 * Frees a random live block and allocates a new one, such that the set of free blocks is
+	 * fragmented like the one of a database that has been updated for a while.
+	 */
+	@Benchmark
+	public long mallocFree() throws Exception {
+		int i = next();
+		int slot = slots[i];
+		db.free(blocks[slot]);
+		return blocks[slot] = db.malloc(sizes[i]);
+	}
+
+	@Benchmark
+	public int getInt() throws Exception {
+		return db.getInt(records[next()]);
+	}
+
+	@Benchmark
+	public long getRecPtr() throws Exception {
+		return db.getRecPtr(records[next()]);
+	}
+
+	@Benchmark
+	public void putInt() throws Exception {
+		int i = next();
+		db.putInt(records[i], i);
+	}
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.benchmarks;
+
+import org.eclipse.cdt.internal.core.pdom.db.BTree;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.IString;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * A BTree of records that start with a pointer to their name, ordered like the index of global
+ * bindings of a linkage. This models the lookups of FindBinding and BindingCollector without
+ * requiring an AST to create bindings.
+ */
+final class NameIndex {
+	private final Database db;
+	private final BTree btree;
+
+	NameIndex(Database db, long rootPointer) {
+		this.db = db;
+		this.btree = new BTree(db, rootPointer, (r1, r2) -> getName(r1).compareCompatibleWithIgnoreCase(getName(r2)));
+	}
+
+	private IString getName(long record) throws CoreException {
+		return db.getString(db.getRecPtr(record));
+	}
+
+	/**
+	 * Adds a record with the given name, the caller holds the write lock.
+	 */
+	long insert(char[] name) throws CoreException {
+		long record = db.malloc(Database.PTR_SIZE);
+		db.putRecPtr(record, db.newString(name).getRecord());
+		btree.insert(record);
+		return record;
+	}
+
+	/**
+	 * Removes and frees a record, the caller holds the write lock.
+	 */
+	void delete(long record) throws CoreException {
+		btree.delete(record);
+		getName(record).delete();
+		db.free(record);
+	}
+
+	/**
+	 * Returns the first record with the given name, or <code>0</code>.
+	 */
+	long find(char[] name) throws CoreException {
+		long[] result = { 0 };
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return getName(record).compareCompatibleWithIgnoreCase(name);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0] = record;
+				return false;
+			}
+		});
+		return result[0];
+	}
+
+	/**
+	 * Visits all records and returns their number.
+	 */
+	int scan() throws CoreException {
+		int[] count = { 0 };
+		btree.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return 0;
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				count[0]++;
+				return true;
+			}
+		});
+		return count[0];
+	}
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.benchmarks;
+
+import java.net.URI;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexLocationConverter;
+import org.eclipse.cdt.internal.core.index.IndexFileLocation;
+
+/**
+ * Uses the locations in the database as they are, such that no project or workspace is needed
+ * to look up files.
+ */
+class RawLocationConverter implements IIndexLocationConverter {
+	private static final URI BASE = URI.create("file:/");
+
+	@Override
+	public IIndexFileLocation fromInternalFormat(String raw) {
+		return new IndexFileLocation(BASE, raw);
+	}
+
+	@Override
+	public String toInternalFormat(IIndexFileLocation location) {
+		return location.getFullPath();
+	}
+}
@@ -0,0 +1,198 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexLinkage;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.dom.BindingCollector;
+import org.eclipse.cdt.internal.core.pdom.dom.IPDOMLinkageFactory;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMLinkage;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMNamedNode;
+import org.eclipse.cdt.internal.core.pdom.dom.c.PDOMCLinkageFactory;
+import org.eclipse.cdt.internal.core.pdom.dom.cpp.PDOMCPPLinkageFactory;
+import org.eclipse.core.runtime.CoreException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Queries against an existing PDOM, e.g. one of a workspace or one exported with the
+ * GeneratePDOM application. The file is passed with <code>-p pdom=&lt;path&gt;</code>, it is
+ * opened read-only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecordedPDOMBenchmark {
+	private static final int OPERATIONS = 1 << 16;
+
+	@Param("")
+	public String pdom;
+
+	@Param({ "67108864" })
+	public long cacheSize;
+
+	private PDOM fPDOM;
+	private PDOMLinkage[] linkages;
+	private char[][] names;
+	private int[] nameLinkages;
+	private IIndexFileLocation[] locations;
+	private int[] lookups;
+	private int next;
+
+	@Setup
+	public void setUp() throws Exception {
+		if (pdom.isEmpty()) {
+			throw new IllegalArgumentException("Specify the PDOM to benchmark with -p pdom=<path>");
+		}
+		Map<String, IPDOMLinkageFactory> factories = new HashMap<>();
+		factories.put(ILinkage.C_LINKAGE_NAME, new PDOMCLinkageFactory());
+		factories.put(ILinkage.CPP_LINKAGE_NAME, new PDOMCPPLinkageFactory());
+		fPDOM = new PDOM(new File(pdom), new RawLocationConverter(), new ChunkCache(cacheSize), factories);
+		fPDOM.acquireReadLock();
+		try {
+			if (!fPDOM.isSupportedVersion()) {
+				throw new IllegalArgumentException("The format of " + pdom + " is not supported");
+			}
+			List<PDOMLinkage> linkageList = new ArrayList<>();
+			for (IIndexLinkage linkage : fPDOM.getLinkages()) {
+				linkageList.add((PDOMLinkage) linkage);
+			}
+			linkages = linkageList.toArray(new PDOMLinkage[linkageList.size()]);
+			List<char[]> nameList = new ArrayList<>();
+			List<Integer> nameLinkageList = new ArrayList<>();
+			for (int i = 0; i < linkages.length; i++) {
+				final PDOMLinkage linkage = linkages[i];
+				final int linkageIndex = i;
+				linkage.getIndex().accept(new IBTreeVisitor() {
+					@Override
+					public int compare(long record) throws CoreException {
+						return 0;
+					}
+
+					@Override
+					public boolean visit(long record) throws CoreException {
+						nameList.add(PDOMNamedNode.getDBName(linkage.getDB(), record).getChars());
+						nameLinkageList.add(linkageIndex);
+						return true;
+					}
+				});
+			}
+			names = nameList.toArray(new char[nameList.size()][]);
+			nameLinkages = nameLinkageList.stream().mapToInt(Integer::intValue).toArray();
+			IIndexFragmentFile[] files = fPDOM.getAllFiles();
+			locations = new IIndexFileLocation[files.length];
+			for (int i = 0; i < files.length; i++) {
+				locations[i] = files[i].getLocation();
+			}
+		} finally {
+			fPDOM.releaseReadLock();
+		}
+		if (names.length == 0 || locations.length == 0) {
+			throw new IllegalArgumentException(pdom + " does not contain any bindings or files");
+		}
+		lookups = Workloads.indexes(OPERATIONS, Integer.MAX_VALUE, 1, 1);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		fPDOM.getDB().setExclusiveLock();
+		fPDOM.close();
+	}
+
+	private int next(int bound) {
+		next = (next + 1) & (OPERATIONS - 1);
+		return lookups[next] % bound;
+	}
+
+	/**
+	 * Looks up the global bindings with a random name of the PDOM, bypassing the result cache.
+	 */
+	@Benchmark
+	public int findBindings() throws Exception {
+		int i = next(names.length);
+		PDOMLinkage linkage = linkages[nameLinkages[i]];
+		fPDOM.acquireReadLock();
+		try {
+			BindingCollector visitor = new BindingCollector(linkage, names[i]);
+			linkage.getIndex().accept(visitor);
+			return visitor.getBindings().length;
+		} finally {
+			fPDOM.releaseReadLock();
+		}
+	}
+
+	@Benchmark
+	public int findFiles() throws Exception {
+		IIndexFileLocation location = locations[next(locations.length)];
+		fPDOM.acquireReadLock();
+		try {
+			return fPDOM.getFiles(location).length;
+		} finally {
+			fPDOM.releaseReadLock();
+		}
+	}
+
+	/**
+	 * Visits the global bindings of all linkages.
+	 */
+	@Benchmark
+	public int scanBindings() throws Exception {
+		int[] count = { 0 };
+		fPDOM.acquireReadLock();
+		try {
+			for (PDOMLinkage linkage : linkages) {
+				linkage.getIndex().accept(new IBTreeVisitor() {
+					@Override
+					public int compare(long record) throws CoreException {
+						return 0;
+					}
+
+					@Override
+					public boolean visit(long record) throws CoreException {
+						count[0]++;
+						return true;
+					}
+				});
+			}
+		} finally {
+			fPDOM.releaseReadLock();
+		}
+		return count[0];
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.benchmarks;
+
+import java.io.File;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * Base class for the states of benchmarks that run against a freshly created database. The page
+ * size is a static property of {@link Database}, it is set from the parameter before the class is
+ * initialized. This works because JMH runs every combination of parameters in a forked VM.
+ */
+public abstract class StorageState {
+	@Param({ "4096", "16384", "65536" })
+	public int pageSize;
+
+	@Param({ "false", "true" })
+	public boolean mappedIO;
+
+	protected File file;
+	protected Database db;
+
+	/**
+	 * Creates an empty database in a temporary file, the caller holds the exclusive lock.
+	 */
+	protected Database createDatabase(ChunkCache cache) throws Exception {
+		System.setProperty(Database.PAGE_SIZE_PROPERTY, Integer.toString(pageSize));
+		if (Database.PAGE_SIZE != pageSize) {
+			throw new IllegalStateException(
+					"The page size can only be changed in a forked VM, Database.PAGE_SIZE is " + Database.PAGE_SIZE);
+		}
+		file = File.createTempFile("pdombenchmark", ".db");
+		file.deleteOnExit();
+		db = new Database(file, cache, 0, false, mappedIO);
+		db.setExclusiveLock();
+		return db;
+	}
+
+	/**
+	 * Writes all chunks to disk and gives up the exclusive lock, such that the chunk cache can
+	 * evict chunks of the database.
+	 */
+	protected void flushDatabase() throws Exception {
+		db.giveUpExclusiveLock(true);
+	}
+
+	protected void closeDatabase() throws Exception {
+		if (db != null) {
+			db.setExclusiveLock();
+			db.close();
+			db = null;
+		}
+		if (file != null) {
+			file.delete();
+			file = null;
+		}
+	}
+}
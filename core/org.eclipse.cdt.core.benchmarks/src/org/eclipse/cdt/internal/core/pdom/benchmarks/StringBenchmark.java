@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Comparisons of strings stored in the database, as done by the comparators of the BTrees.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StringBenchmark {
+	private static final int COUNT = 1 << 12;
+
+	private File file;
+	private Database db;
+	private IString[] strings;
+	private char[][] chars;
+	private int[] pairs;
+	private int next;
+
+	@Setup
+	public void setUp() throws Exception {
+		file = File.createTempFile("pdombenchmark", ".db");
+		file.deleteOnExit();
+		db = new Database(file, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		char[][] names = Workloads.identifiers(COUNT, 1);
+		strings = new IString[COUNT];
+		chars = new char[COUNT][];
+		for (int i = 0; i < COUNT; i++) {
+			strings[i] = db.newString(names[i]);
+			// Half of the comparisons are between equal strings.
+			chars[i] = i % 2 == 0 ? names[i].clone() : names[(i + 1) % COUNT];
+		}
+		pairs = Workloads.indexes(COUNT, COUNT, 1, 2);
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		db.close();
+		file.delete();
+	}
+
+	private int next() {
+		return next = (next + 1) & (COUNT - 1);
+	}
+
+	@Benchmark
+	public int compareChars() throws Exception {
+		int i = next();
+		return strings[i].compare(chars[i], true);
+	}
+
+	@Benchmark
+	public int compareCompatibleWithIgnoreCase() throws Exception {
+		int i = next();
+		return strings[i].compareCompatibleWithIgnoreCase(chars[i]);
+	}
+
+	@Benchmark
+	public int compareStrings() throws Exception {
+		int i = next();
+		return strings[i].compareCompatibleWithIgnoreCase(strings[pairs[i]]);
+	}
+
+	@Benchmark
+	public boolean equalsChars() throws Exception {
+		int i = next();
+		return strings[i].equals(chars[i]);
+	}
+
+	@Benchmark
+	public char[] getChars() throws Exception {
+		return strings[next()].getChars();
+	}
+}
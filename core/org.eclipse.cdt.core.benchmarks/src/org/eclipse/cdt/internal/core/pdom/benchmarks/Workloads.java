@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.benchmarks;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic synthetic data for the benchmarks.
+ */
+final class Workloads {
+	private static final String[] PREFIXES = { "get", "set", "is", "create", "m_", "C", "I", "_", "operator", "" };
+
+	private Workloads() {
+	}
+
+	/**
+	 * Returns distinct identifiers that look like the names of bindings, with common prefixes and
+	 * lengths between 3 and about 30 characters.
+	 */
+	static char[][] identifiers(int count, long seed) {
+		Random random = new Random(seed);
+		char[][] result = new char[count][];
+		Set<String> seen = new HashSet<>();
+		for (int i = 0; i < count;) {
+			StringBuilder buf = new StringBuilder(PREFIXES[random.nextInt(PREFIXES.length)]);
+			int length = 2 + random.nextInt(random.nextInt(4) == 0 ? 28 : 10);
+			for (int j = 0; j < length; j++) {
+				int c = random.nextInt(37);
+				buf.append(c < 26 ? (char) ('a' + c) : c < 36 ? (char) ('A' + c - 26) : '_');
+			}
+			if (seen.add(buf.toString())) {
+				result[i++] = buf.toString().toCharArray();
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the sizes of blocks to allocate, most of them small like the records of bindings
+	 * and names, some of them large like BTree nodes and strings.
+	 */
+	static int[] blockSizes(int count, int maxSize, long seed) {
+		Random random = new Random(seed);
+		int[] result = new int[count];
+		for (int i = 0; i < count; i++) {
+			result[i] = random.nextInt(10) != 0 ? 4 + random.nextInt(60) : 64 + random.nextInt(maxSize - 64);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns random indexes in the range <code>[0, bound)</code>. If <code>hotFraction</code>
+	 * is less than one, nine out of ten indexes fall into the first <code>hotFraction</code> of
+	 * the range.
+	 */
+	static int[] indexes(int count, int bound, double hotFraction, long seed) {
+		Random random = new Random(seed);
+		int hot = Math.max(1, (int) (bound * hotFraction));
+		int[] result = new int[count];
+		for (int i = 0; i < count; i++) {
+			result[i] = hotFraction < 1 && random.nextInt(10) != 0 ? random.nextInt(hot) : random.nextInt(bound);
+		}
+		return result;
+	}
+}
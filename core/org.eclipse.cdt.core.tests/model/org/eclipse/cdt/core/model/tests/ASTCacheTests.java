@@ -35,6 +35,7 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import junit.framework.Test;
 import junit.framework.TestSuite;
@@ -318,6 +319,41 @@ public class ASTCacheTests extends BaseTestCase {
 		}
 	}
 
+	public void testASTOfPreviouslyActiveElementIsKept() throws Exception {
+		ASTCache cache = new ASTCache();
+		cache.setActiveElement(fTU1);
+		IASTTranslationUnit ast1 = cache.acquireSharedAST(fTU1, fIndex, true, null);
+		assertNotNull(ast1);
+		cache.releaseSharedAST(ast1);
+
+		cache.setActiveElement(fTU2);
+		IASTTranslationUnit ast = cache.acquireSharedAST(fTU1, fIndex, false, null);
+		assertSame(ast1, ast);
+		cache.releaseSharedAST(ast);
+
+		cache.setActiveElement(fTU1);
+		ast = cache.acquireSharedAST(fTU1, fIndex, false, null);
+		assertSame(ast1, ast);
+		cache.releaseSharedAST(ast);
+	}
+
+	public void testPreparse() throws Exception {
+		ASTCache cache = new ASTCache();
+		cache.setActiveElement(fTU1);
+		cache.schedulePreparse(fTU2);
+		Job.getJobManager().join(cache, null);
+		IASTTranslationUnit ast = cache.acquireSharedAST(fTU2, fIndex, false, null);
+		assertNotNull(ast);
+		cache.releaseSharedAST(ast);
+		assertEquals("void foo2() {}", ast.getDeclarations()[0].getRawSignature());
+
+		cache.setActiveElement(fTU2);
+		IASTTranslationUnit activeAST = cache.acquireSharedAST(fTU2, fIndex, false, null);
+		assertSame(ast, activeAST);
+		cache.releaseSharedAST(activeAST);
+		cache.disposeInactiveASTs();
+	}
+
 	private void waitForAST(ASTCache cache, ITranslationUnit tUnit, ASTRunnable runnable) {
 		if (DEBUG)
 			System.out.println("waiting for " + tUnit.getElementName());
@@ -13894,4 +13894,32 @@ public class AST2CPPTests extends AST2CPPTestBase {
 		BindingAssertionHelper helper = getAssertionHelper();
 		helper.assertVariableValue("true_value", 1);
 	}
+
+	//	namespace a { struct S {}; }
+	//	namespace b { struct S {}; }
+	//	void take(a::S);
+	//	void take(b::S);
+	//	void ptr(int*);
+	//	void ptr(...);
+	//	void test(int i) {
+	//		take(a::S());
+	//		take(b::S());
+	//		take( a::S());
+	//		ptr(0);
+	//		ptr(i);
+	//		ptr( 0);
+	//	}
+	public void testRepeatedOverloadResolution() throws Exception {
+		BindingAssertionHelper bh = getAssertionHelper();
+		ICPPFunction takeA = bh.assertNonProblem("take(a::S);", 4);
+		ICPPFunction takeB = bh.assertNonProblem("take(b::S);", 4);
+		ICPPFunction ptr = bh.assertNonProblem("ptr(int*);", 3);
+		ICPPFunction ellipsis = bh.assertNonProblem("ptr(...);", 3);
+		assertSame(takeA, bh.assertNonProblem("take(a::S());", 4));
+		assertSame(takeB, bh.assertNonProblem("take(b::S());", 4));
+		assertSame(takeA, bh.assertNonProblem("take( a::S());", 4));
+		assertSame(ptr, bh.assertNonProblem("ptr(0);", 3));
+		assertSame(ellipsis, bh.assertNonProblem("ptr(i);", 3));
+		assertSame(ptr, bh.assertNonProblem("ptr( 0);", 3));
+	}
 }
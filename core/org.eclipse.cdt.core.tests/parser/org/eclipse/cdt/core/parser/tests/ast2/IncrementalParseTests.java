@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.ast2;
+
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.gnu.cpp.GPPLanguage;
+import org.eclipse.cdt.core.model.ILanguage;
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
+import org.eclipse.cdt.core.parser.NullLogService;
+import org.eclipse.cdt.core.parser.ScannerInfo;
+import org.eclipse.cdt.internal.core.dom.parser.IncrementalParseContext;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
+
+import junit.framework.TestSuite;
+
+/**
+ * Tests for reusing the function bodies of a previous AST after an edit.
+ */
+public class IncrementalParseTests extends AST2TestBase {
+
+	public static TestSuite suite() {
+		return suite(IncrementalParseTests.class);
+	}
+
+	public IncrementalParseTests() {
+		super();
+	}
+
+	public IncrementalParseTests(String name) {
+		super(name);
+	}
+
+	private static FileContent createFileContent(String code) {
+		return FileContent.create("/test.cpp", code.toCharArray());
+	}
+
+	private static IASTTranslationUnit createAST(String code, IncrementalParseContext context) throws Exception {
+		FileContent fileContent = createFileContent(code);
+		((InternalFileContent) fileContent).setIncrementalParseContext(context);
+		return GPPLanguage.getDefault().getASTTranslationUnit(fileContent, new ScannerInfo(),
+				IncludeFileContentProvider.getEmptyFilesProvider(), null, ILanguage.OPTION_PARSE_INACTIVE_CODE,
+				new NullLogService());
+	}
+
+	private static IncrementalParseContext createContext(IASTTranslationUnit previous, String code) {
+		return IncrementalParseContext.create(previous,
+				((InternalFileContent) createFileContent(code)).getSource());
+	}
+
+	private static String describe(IASTTranslationUnit ast) {
+		StringBuilder buf = new StringBuilder();
+		ast.accept(new ASTGenericVisitor(true) {
+			@Override
+			protected int genericVisit(IASTNode node) {
+				IASTFileLocation loc = node.getFileLocation();
+				buf.append(node.getClass().getSimpleName()).append(' ');
+				buf.append(loc.getNodeOffset()).append(':').append(loc.getNodeLength()).append(':');
+				buf.append(loc.getStartingLineNumber()).append(' ').append(node.getRawSignature());
+				if (node instanceof IASTName) {
+					IBinding binding = ((IASTName) node).resolveBinding();
+					buf.append(" -> ").append(binding == null ? null : binding.getClass().getSimpleName());
+				}
+				buf.append('\n');
+				return PROCESS_CONTINUE;
+			}
+		});
+		return buf.toString();
+	}
+
+	private void assertIncrementalParse(String oldCode, String newCode, int reusedBodies) throws Exception {
+		IASTTranslationUnit previous = createAST(oldCode, null);
+		IncrementalParseContext context = createContext(previous, newCode);
+		assertNotNull(context);
+		IASTTranslationUnit ast = createAST(newCode, context);
+		assertTrue(context.isValidResult(ast));
+		assertEquals(reusedBodies, context.getReusedBodyCount());
+		assertEquals(describe(createAST(newCode, null)), describe(ast));
+	}
+
+	//	#define SQ(x) ((x)*(x))
+	//	template<typename T> struct Box { T t; T get() { return t; } };
+	//	typedef int I;
+	//	int f1(int a, int b, int c) {
+	//		Box<int> bx; I x = SQ(a);
+	//		x = a < b > c; I(y); y = x;
+	//		struct L { int m() { return 1; } } l;
+	//		return x + bx.get() + l.m();
+	//	}
+	//	int f2(int a) {
+	//		return a;
+	//	}
+	//	int f3(int a) {
+	//		auto lam = [&](int z) { return z + a; };
+	//		return lam(SQ(a));
+	//	}
+	public void testEditInsideFunctionBody() throws Exception {
+		String code = getAboveComment();
+		assertIncrementalParse(code, code.replace("return a;", "return a + 1;"), 3);
+		assertIncrementalParse(code, code.replace("return a;", "a++;\n\t\treturn a;"), 3);
+		assertIncrementalParse(code, code.replace("return 1;", "return 2;"), 3);
+		assertIncrementalParse(code, code, 4);
+	}
+
+	//	int f1() {
+	//		return __LINE__;
+	//	}
+	//	int f2(int a) {
+	//		return a;
+	//	}
+	//	int f3() {
+	//		return __LINE__;
+	//	}
+	public void testBodiesWithLineMacroAreParsed() throws Exception {
+		String code = getAboveComment();
+		assertIncrementalParse(code, code.replace("return a;", "a++;\n\t\treturn a;"), 0);
+	}
+
+	//	struct A { int a; };
+	//	int f(int a) {
+	//		return a;
+	//	}
+	public void testUnsupportedEdits() throws Exception {
+		String code = getAboveComment();
+		IASTTranslationUnit previous = createAST(code, null);
+		// Outside of function bodies.
+		assertNull(createContext(previous, code.replace("int a;", "int b;")));
+		// Start of a comment or a literal.
+		assertNull(createContext(previous, code.replace("return a;", "/* return a;")));
+		assertNull(createContext(previous, code.replace("return a;", "return \"a;")));
+		// Preprocessing directive.
+		assertNull(createContext(previous, code.replace("return a;", "\n#define a 1\n\t\treturn a;")));
+	}
+
+	//	int f1(int a) {
+	//		return a;
+	//	}
+	//	int f2(int a) {
+	//		return a + 1;
+	//	}
+	public void testEditChangingStructure() throws Exception {
+		String code = getAboveComment();
+		IASTTranslationUnit previous = createAST(code, null);
+		String newCode = code.replace("return a;", "{ return a;");
+		IncrementalParseContext context = createContext(previous, newCode);
+		assertNotNull(context);
+		assertFalse(context.isValidResult(createAST(newCode, context)));
+	}
+}
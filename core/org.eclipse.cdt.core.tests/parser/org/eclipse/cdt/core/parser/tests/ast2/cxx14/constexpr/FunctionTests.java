@@ -64,6 +64,29 @@ public abstract class FunctionTests extends TestBase {
 		assertEvaluationEquals(55);
 	}
 
+	// constexpr int fibonacci(int n) { return n < 2 ? n : fibonacci(n - 1) + fibonacci(n - 2); }
+
+	// constexpr int x = fibonacci(30);
+	public void testRepeatedCallsWithSameArguments() throws Exception {
+		assertEvaluationEquals(832040);
+	}
+
+	//	typedef int* IntPtr;
+	//	constexpr int increment(const IntPtr array) {
+	//		array[0] = array[0] + 1;
+	//		return array[0];
+	//	}
+	//	constexpr int f() {
+	//		int bar[1] { 1 };
+	//		increment(bar);
+	//		return increment(bar);
+	//	}
+
+	//	constexpr int x = f();
+	public void testRepeatedCallsWithPointerParameter() throws Exception {
+		assertEvaluationEquals(3);
+	}
+
 	// constexpr int helper(int n) {
 	//   int m = 5;
 	//   return m + n;
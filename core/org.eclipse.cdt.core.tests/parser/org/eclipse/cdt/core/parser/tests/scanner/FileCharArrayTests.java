@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010 Wind River Systems, Inc. and others.
+ * Copyright (c) 2010, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,7 +21,9 @@ import java.io.IOException;
 import java.io.OutputStream;
 
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.parser.scanner.ASCIICharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.FileCharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.LazyCharArray;
 
@@ -67,24 +69,89 @@ public class FileCharArrayTests extends BaseTestCase {
 	}
 
 	private void testFile(boolean aligned, int charSize) throws IOException {
-		createFile(aligned, charSize);
+		// A non-ASCII character at the end makes the last chunk of aligned files take the decoding path.
+		createFile(aligned, charSize, !aligned);
 
-		AbstractCharArray charArray;
-		final FileInputStream inputStream = new FileInputStream(fFile);
-		try {
-			charArray = FileCharArray.create(fFile.getPath(), "utf-8", inputStream);
-		} finally {
-			inputStream.close();
-		}
+		AbstractCharArray charArray = readFile();
+		assertTrue(charArray instanceof FileCharArray);
 
-		checkContent(charArray, LazyCharArray.CHUNK_SIZE, charSize);
+		final int checkSize = aligned ? charSize - 1 : charSize;
+		checkContent(charArray, LazyCharArray.CHUNK_SIZE, checkSize);
 		assertEquals(charSize, charArray.getLength());
 
 		((LazyCharArray) charArray).testClearData();
 
-		checkContent(charArray, LazyCharArray.CHUNK_SIZE, charSize);
+		checkContent(charArray, LazyCharArray.CHUNK_SIZE, checkSize);
 		assertEquals(charSize, charArray.getLength());
+		if (aligned) {
+			assertEquals('\u00a2', charArray.get(charSize - 1));
+		}
+	}
+
+	public void testASCIIFile() throws IOException {
+		for (int charSize : new int[] { LazyCharArray.CHUNK_SIZE * 3 - 1, LazyCharArray.CHUNK_SIZE * 3,
+				LazyCharArray.CHUNK_SIZE * 3 + 1 }) {
+			createFile(true, charSize, true);
+
+			AbstractCharArray charArray = readFile();
+			assertASCIICharArray(charArray);
+			checkContent(charArray, 0, charSize);
+			assertEquals(charSize, charArray.getLength());
+			assertTrue(charArray.isValidOffset(charSize - 1));
+			assertFalse(charArray.isValidOffset(charSize));
+			if (charArray instanceof LazyCharArray) {
+				((LazyCharArray) charArray).testClearData();
+				checkContent(charArray, 0, charSize);
+			}
+			fFile.delete();
+		}
+	}
+
+	public void testASCIIFileWithByteOrderMark() throws IOException {
+		final int charSize = LazyCharArray.CHUNK_SIZE * 2 + 1;
+		fFile = File.createTempFile("data", ".txt");
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(fFile))) {
+			out.write(0xef);
+			out.write(0xbb);
+			out.write(0xbf);
+			for (int i = 0; i < charSize; i++) {
+				out.write(i % 127);
+			}
+		}
 
+		AbstractCharArray charArray = readFile("UTF-8");
+		assertASCIICharArray(charArray);
+		checkContent(charArray, 0, charSize);
+		assertEquals(charSize, charArray.getLength());
+		if (charArray instanceof LazyCharArray) {
+			((LazyCharArray) charArray).testClearData();
+			checkContent(charArray, 0, charSize);
+		}
+	}
+
+	/**
+	 * Large ASCII files are memory-mapped if so configured, otherwise they are read lazily.
+	 */
+	private static void assertASCIICharArray(AbstractCharArray charArray) {
+		if (Boolean.getBoolean(FileCharArray.MAPPED_IO_PROPERTY)) {
+			assertTrue(charArray instanceof ASCIICharArray);
+		} else {
+			assertTrue(charArray instanceof FileCharArray);
+		}
+	}
+
+	public void testContentsHashOfASCIIFile() throws IOException {
+		final int charSize = LazyCharArray.CHUNK_SIZE * 2 + 5;
+		createFile(true, charSize, true);
+
+		AbstractCharArray charArray = readFile();
+		assertASCIICharArray(charArray);
+
+		char[] chars = new char[charSize];
+		for (int i = 0; i < charSize; i++) {
+			chars[i] = (char) (i % 127);
+		}
+		assertEquals(new CharArray(chars).getContentsHash(), charArray.getContentsHash());
 	}
 
 	public void checkContent(AbstractCharArray charArray, int from, int to) {
@@ -100,7 +167,20 @@ public class FileCharArrayTests extends BaseTestCase {
 		}
 	}
 
-	private void createFile(boolean aligned, int charSize) throws IOException {
+	private AbstractCharArray readFile() throws IOException {
+		return readFile("utf-8");
+	}
+
+	private AbstractCharArray readFile(String charSet) throws IOException {
+		final FileInputStream inputStream = new FileInputStream(fFile);
+		try {
+			return FileCharArray.create(fFile.getPath(), charSet, inputStream);
+		} finally {
+			inputStream.close();
+		}
+	}
+
+	private void createFile(boolean aligned, int charSize, boolean ascii) throws IOException {
 		fFile = File.createTempFile("data", ".txt");
 		OutputStream out = new BufferedOutputStream(new FileOutputStream(fFile));
 		try {
@@ -110,9 +190,14 @@ public class FileCharArrayTests extends BaseTestCase {
 			} else {
 				out.write(0);
 			}
-			for (int i = 1; i < charSize; i++) {
+			final int last = ascii ? charSize : charSize - 1;
+			for (int i = 1; i < last; i++) {
 				out.write(i % 127);
 			}
+			if (last < charSize) {
+				out.write(0xc2);
+				out.write(0xa2);
+			}
 		} finally {
 			out.close();
 		}
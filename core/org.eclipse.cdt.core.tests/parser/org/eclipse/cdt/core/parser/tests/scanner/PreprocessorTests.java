@@ -1363,4 +1363,24 @@ public class PreprocessorTests extends PreprocessorTestsBase {
 		validateProblem(0, IProblem.SCANNER_CONSTANT_WITH_BAD_SUFFIX, "ASDF");
 		validateProblem(1, IProblem.SCANNER_CONSTANT_WITH_BAD_SUFFIX, "xU");
 	}
+
+	// #define ONE 1
+	// #define EMPTY
+	// #define STR "s"
+	// #define TWO ONE + ONE
+	// #define PASTED 1 ## 2
+	// #if ONE && TWO == 2 && !EMPTY 0 && PASTED == 12
+	// ONE EMPTY STR TWO PASTED
+	// #endif
+	public void testObjectStyleMacrosWithoutIdentifiers() throws Exception {
+		initializeScanner();
+		validateInteger("1");
+		validateString("s");
+		validateInteger("1");
+		validateToken(IToken.tPLUS);
+		validateInteger("1");
+		validateInteger("12");
+		validateEOF();
+		validateProblemCount(0);
+	}
 }
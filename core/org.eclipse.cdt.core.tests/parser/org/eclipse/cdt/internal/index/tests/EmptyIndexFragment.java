@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2012 Symbian Software Ltd. and others.
+ * Copyright (c) 2007, 2026 Symbian Software Ltd. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -95,11 +95,31 @@ public class EmptyIndexFragment implements IIndexFragment {
 		return IIndexFragmentInclude.EMPTY_FRAGMENT_INCLUDES_ARRAY;
 	}
 
+	@Override
+	public IIndexFragmentFile[] findIncludingFiles(IIndexFragmentFile[] files) throws CoreException {
+		return IIndexFragmentFile.EMPTY_ARRAY;
+	}
+
+	@Override
+	public IIndexFragmentFile[] findIncludedFiles(IIndexFragmentFile[] files) throws CoreException {
+		return IIndexFragmentFile.EMPTY_ARRAY;
+	}
+
 	@Override
 	public IIndexFragmentName[] findNames(IBinding binding, int flags) {
 		return IIndexFragmentName.EMPTY_NAME_ARRAY;
 	}
 
+	@Override
+	public boolean findNames(IBinding binding, int flags, INameVisitor visitor) {
+		return true;
+	}
+
+	@Override
+	public IIndexFragmentBinding[] findDerivedClasses(IBinding classType) {
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
 	@Override
 	public IIndexFragmentBinding[] findMacroContainers(Pattern pattern, IndexFilter filter, IProgressMonitor monitor) {
 		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
@@ -115,6 +135,16 @@ public class EmptyIndexFragment implements IIndexFragment {
 		return 0;
 	}
 
+	@Override
+	public long getResultCacheHits() {
+		return 0;
+	}
+
+	@Override
+	public long getResultCacheMisses() {
+		return 0;
+	}
+
 	@Override
 	@Deprecated
 	public IIndexFragmentFile getFile(int linkageID, IIndexFileLocation location) throws CoreException {
@@ -204,6 +234,11 @@ public class EmptyIndexFragment implements IIndexFragment {
 		return value;
 	}
 
+	@Override
+	public Object putPinnedResult(Object key, Object value) {
+		return value;
+	}
+
 	@Override
 	public void clearResultCache() {
 	}
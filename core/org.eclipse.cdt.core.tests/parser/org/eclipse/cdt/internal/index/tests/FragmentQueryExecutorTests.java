@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.index.FragmentQueryExecutor;
+import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.junit.jupiter.api.Test;
+
+public class FragmentQueryExecutorTests extends BaseTestCase5 {
+	private static class Fragment extends EmptyIndexFragment {
+		final int fId;
+
+		Fragment(int id) {
+			fId = id;
+		}
+	}
+
+	private static IIndexFragment[] createFragments(int count) {
+		IIndexFragment[] fragments = new IIndexFragment[count];
+		for (int i = 0; i < count; i++) {
+			fragments[i] = new Fragment(i);
+		}
+		return fragments;
+	}
+
+	private static void sleep(int millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Test
+	public void testResultsInOrderOfFragments() throws Exception {
+		IIndexFragment[] fragments = createFragments(8);
+		for (int parallelism : new int[] { 1, 2, 4 }) {
+			FragmentQueryExecutor executor = new FragmentQueryExecutor(parallelism);
+			Integer[] result = executor.run(fragments, fragment -> {
+				int id = ((Fragment) fragment).fId;
+				// Later fragments complete first.
+				sleep(8 - id);
+				return id;
+			}, new Integer[fragments.length]);
+			assertArrayEquals(new Integer[] { 0, 1, 2, 3, 4, 5, 6, 7 }, result);
+		}
+	}
+
+	@Test
+	public void testSequentialQueriesRunOnCallingThread() throws Exception {
+		IIndexFragment[] fragments = createFragments(4);
+		Thread caller = Thread.currentThread();
+		Thread[] result = new FragmentQueryExecutor(1).run(fragments, fragment -> Thread.currentThread(),
+				new Thread[fragments.length]);
+		for (Thread thread : result) {
+			assertSame(caller, thread);
+		}
+	}
+
+	@Test
+	public void testFailureOfFirstFragmentIsThrown() throws Exception {
+		IIndexFragment[] fragments = createFragments(8);
+		FragmentQueryExecutor executor = new FragmentQueryExecutor(4);
+		AtomicInteger completed = new AtomicInteger();
+		CoreException e = assertThrows(CoreException.class, () -> executor.run(fragments, fragment -> {
+			int id = ((Fragment) fragment).fId;
+			sleep(id);
+			completed.incrementAndGet();
+			if (id == 2 || id == 5)
+				throw new CoreException(new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, "fragment " + id));
+			return id;
+		}, new Integer[fragments.length]));
+		assertEquals("fragment 2", e.getMessage());
+		// The queries on the other fragments must not outlive the read lock of the caller.
+		assertEquals(fragments.length, completed.get());
+	}
+
+	@Test
+	public void testNestedQueries() throws Exception {
+		IIndexFragment[] fragments = createFragments(6);
+		FragmentQueryExecutor executor = new FragmentQueryExecutor(2);
+		Integer[] result = assertTimeoutPreemptively(Duration.ofSeconds(30),
+				() -> executor.run(fragments, fragment -> {
+					Integer[] inner = executor.run(fragments, f -> ((Fragment) f).fId, new Integer[fragments.length]);
+					int sum = 0;
+					for (Integer id : inner) {
+						sum += id;
+					}
+					return sum + ((Fragment) fragment).fId;
+				}, new Integer[fragments.length]));
+		for (int i = 0; i < fragments.length; i++) {
+			assertEquals(15 + i, result[i]);
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.index.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.index.HeaderContentCache;
+import org.eclipse.cdt.internal.core.index.IndexFileLocation;
+import org.eclipse.cdt.internal.core.indexer.StandaloneIndexerInputAdapter;
+import org.eclipse.cdt.internal.core.parser.IMacroDictionary;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link HeaderContentCache} class.
+ */
+public class HeaderContentCacheTests extends BaseTestCase5 {
+	private static final int FILE_LENGTH = 100;
+
+	/** Serves files of {@link #FILE_LENGTH} characters and counts how often each is read. */
+	private static class Provider extends InternalFileContentProvider {
+		final Map<IIndexFileLocation, Integer> fReads = new HashMap<>();
+		final Map<IIndexFileLocation, Long> fTimestamps = new HashMap<>();
+
+		@Override
+		public InternalFileContent getContentForInclusion(String filePath, IMacroDictionary macroDictionary) {
+			return null;
+		}
+
+		@Override
+		public InternalFileContent getContentForInclusion(IIndexFileLocation ifl, String astPath) {
+			fReads.merge(ifl, 1, Integer::sum);
+			char[] chars = new char[FILE_LENGTH];
+			Arrays.fill(chars, 'x');
+			return new InternalFileContent(astPath, new CharArray(chars), getTimestamp(ifl), FILE_LENGTH, 0);
+		}
+
+		long getTimestamp(IIndexFileLocation ifl) {
+			return fTimestamps.getOrDefault(ifl, 1L);
+		}
+
+		int getReads(IIndexFileLocation ifl) {
+			return fReads.getOrDefault(ifl, 0);
+		}
+	}
+
+	private static class Resolver extends StandaloneIndexerInputAdapter {
+		private final Provider fProvider;
+
+		Resolver(Provider provider) {
+			super(null);
+			fProvider = provider;
+		}
+
+		@Override
+		public long getLastModified(IIndexFileLocation location) {
+			return fProvider.getTimestamp(location);
+		}
+	}
+
+	private static IIndexFileLocation location(String name) {
+		return new IndexFileLocation(URI.create("file:/" + name), null);
+	}
+
+	private static InternalFileContent read(InternalFileContentProvider provider, IIndexFileLocation ifl) {
+		InternalFileContent content = provider.getContentForInclusion(ifl, ifl.getURI().getPath());
+		assertNotNull(content);
+		assertEquals(FILE_LENGTH, content.getSource().getLength());
+		return content;
+	}
+
+	@Test
+	public void testHitForSameTimestamp() {
+		HeaderContentCache cache = new HeaderContentCache();
+		Provider delegate = new Provider();
+		InternalFileContentProvider provider = cache.createProvider(delegate, new Resolver(delegate));
+		IIndexFileLocation a = location("a.h");
+
+		read(provider, a);
+		read(provider, a);
+		read(provider, a);
+		assertEquals(1, delegate.getReads(a));
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+		assertEquals(FILE_LENGTH, cache.getSize());
+	}
+
+	@Test
+	public void testMissAfterTimestampChange() {
+		HeaderContentCache cache = new HeaderContentCache();
+		Provider delegate = new Provider();
+		InternalFileContentProvider provider = cache.createProvider(delegate, new Resolver(delegate));
+		IIndexFileLocation a = location("a.h");
+
+		read(provider, a);
+		delegate.fTimestamps.put(a, 2L);
+		InternalFileContent content = read(provider, a);
+		assertEquals(2, delegate.getReads(a));
+		assertEquals(2L, content.getTimestamp());
+		assertEquals(0, cache.getHits());
+		assertEquals(FILE_LENGTH, cache.getSize());
+
+		read(provider, a);
+		assertEquals(2, delegate.getReads(a));
+		assertEquals(1, cache.getHits());
+	}
+
+	@Test
+	public void testLeastRecentlyUsedIsEvicted() {
+		HeaderContentCache cache = new HeaderContentCache(3 * FILE_LENGTH);
+		Provider delegate = new Provider();
+		InternalFileContentProvider provider = cache.createProvider(delegate, new Resolver(delegate));
+		IIndexFileLocation a = location("a.h");
+		IIndexFileLocation b = location("b.h");
+		IIndexFileLocation c = location("c.h");
+		IIndexFileLocation d = location("d.h");
+
+		read(provider, a);
+		read(provider, b);
+		read(provider, c);
+		assertEquals(3 * FILE_LENGTH, cache.getSize());
+		// Makes b the least recently used entry.
+		read(provider, a);
+		read(provider, d);
+		assertEquals(3 * FILE_LENGTH, cache.getSize());
+
+		read(provider, a);
+		read(provider, c);
+		read(provider, d);
+		assertEquals(1, delegate.getReads(a));
+		assertEquals(1, delegate.getReads(c));
+		assertEquals(1, delegate.getReads(d));
+		read(provider, b);
+		assertEquals(2, delegate.getReads(b));
+	}
+}
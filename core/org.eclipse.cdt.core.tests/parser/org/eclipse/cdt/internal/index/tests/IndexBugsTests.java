@@ -90,6 +90,7 @@ import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
 import org.eclipse.cdt.internal.core.dom.parser.ASTNode;
 import org.eclipse.cdt.internal.core.pdom.CModelListener;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
+import org.eclipse.cdt.internal.core.pdom.indexer.PDOMFastIndexer;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
@@ -2563,6 +2564,108 @@ public class IndexBugsTests extends BaseTestCase {
 		}
 	}
 
+	//	// common.h
+	//	#pragma once
+	//	template<typename T> struct Box { T t; T get() { return t; } };
+
+	//	// a.cpp
+	//	#include "common.h"
+	//	struct A { Box<int> b; };
+	//	int fa(A& a) { return a.b.get(); }
+
+	//	// b.cpp
+	//	#include "common.h"
+	//	struct B { Box<char> b; };
+	//	int fb(B& b) { return b.b.get(); }
+
+	//	// c.cpp
+	//	#include "common.h"
+	//	int fc() { Box<long> b; return b.get(); }
+	public void testParallelIndexing() throws Exception {
+		IndexerPreferences.set(fCProject.getProject(), IndexerPreferences.KEY_INDEXER_WORKER_COUNT, "3");
+		try {
+			String[] contents = getContentsForTest(4);
+			final IIndexManager indexManager = CCorePlugin.getIndexManager();
+			IFile common = TestSourceReader.createFile(fCProject.getProject(), "common.h", contents[0]);
+			TestSourceReader.createFile(fCProject.getProject(), "a.cpp", contents[1]);
+			TestSourceReader.createFile(fCProject.getProject(), "b.cpp", contents[2]);
+			TestSourceReader.createFile(fCProject.getProject(), "c.cpp", contents[3]);
+			indexManager.reindex(fCProject);
+			waitForIndexer();
+			fIndex.acquireReadLock();
+			try {
+				assertEquals(1, fIndex.getFiles(IndexLocationFactory.getWorkspaceIFL(common)).length);
+				for (String name : new String[] { "A", "B", "fa", "fb", "fc" }) {
+					assertEquals(name, 1, fIndex.findBindings(name.toCharArray(), IndexFilter.ALL, npm()).length);
+				}
+				IIndexBinding[] bindings = fIndex.findBindings("Box".toCharArray(), IndexFilter.ALL, npm());
+				assertEquals(1, bindings.length);
+				assertEquals(3, fIndex.findReferences(bindings[0]).length);
+			} finally {
+				fIndex.releaseReadLock();
+			}
+		} finally {
+			// Restore default indexer preferences.
+			Properties defaults = IndexerPreferences.getDefaultIndexerProperties();
+			IndexerPreferences.set(fCProject.getProject(), IndexerPreferences.KEY_INDEXER_WORKER_COUNT,
+					defaults.getProperty(IndexerPreferences.KEY_INDEXER_WORKER_COUNT));
+		}
+	}
+
+	//	// header.h
+	//	template<typename T> T identity(T t) { return t; }
+
+	//	// header.h
+	//	template<typename T> long identity(T t) { return t; }
+
+	//	#include "header.h"
+	//	int a = identity(1);
+	public void testInstanceAfterIndexUpdate() throws Exception {
+		waitForIndexer();
+
+		String[] testData = getContentsForTest(3);
+		TestSourceReader.createFile(fCProject.getProject(), "header.h", testData[0]);
+		IFile source = TestSourceReader.createFile(fCProject.getProject(), "source.cpp", testData[2]);
+		final IIndexManager indexManager = CCorePlugin.getIndexManager();
+		indexManager.reindex(fCProject);
+		waitForIndexer();
+		IIndex index = indexManager.getIndex(fCProject);
+		index.acquireReadLock();
+		try {
+			IASTTranslationUnit ast = TestSourceReader.createIndexBasedAST(index, fCProject, source);
+			ICPPFunction f = getBindingFromASTName(ast, testData[2], "identity(1)", 8, ICPPFunction.class);
+			assertEquals("int", ASTTypeUtil.getType(f.getType().getReturnType()));
+		} finally {
+			index.releaseReadLock();
+		}
+
+		// The instance must reflect the changed template.
+		IFile header = TestSourceReader.createFile(fCProject.getProject(), "header.h", testData[1]);
+		waitUntilFileIsIndexed(header, INDEXER_TIMEOUT_SEC * 1000);
+		waitForIndexer();
+		index.acquireReadLock();
+		try {
+			IASTTranslationUnit ast = TestSourceReader.createIndexBasedAST(index, fCProject, source);
+			ICPPFunction f = getBindingFromASTName(ast, testData[2], "identity(1)", 8, ICPPFunction.class);
+			assertEquals("long int", ASTTypeUtil.getType(f.getType().getReturnType()));
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
+	public void testSettingsThatDoNotRequireRebuild() throws Exception {
+		PDOMFastIndexer indexer = new PDOMFastIndexer();
+		Properties props = new Properties();
+		props.putAll(indexer.getProperties());
+		props.put(IndexerPreferences.KEY_INDEXER_WORKER_COUNT, "4");
+		props.put(IndexerPreferences.KEY_INDEXER_SHARD_INDEX, "1");
+		props.put(IndexerPreferences.KEY_INDEXER_SHARD_COUNT, "2");
+		assertFalse(indexer.needsToRebuildForProperties(props));
+
+		props.put(IndexerPreferences.KEY_INDEX_ALL_FILES, String.valueOf(false));
+		assertTrue(indexer.needsToRebuildForProperties(props));
+	}
+
 	// extern int h1;
 
 	// extern int h2;
@@ -14,6 +14,10 @@
 package org.eclipse.cdt.internal.index.tests;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -484,4 +488,44 @@ public class IndexNamesTests extends BaseTestCase {
 
 		checkReadWriteFlags(file, ILinkage.CPP_LINKAGE_ID, 2);
 	}
+
+	//	void func();
+	//	void test() {
+	//		func(); func(); func(); func(); func();
+	//		func(); func(); func(); func(); func();
+	//	}
+	public void testFindNamesInBatches() throws Exception {
+		waitForIndexer();
+		String content = getComment();
+		IFile file = createFile(getProject().getProject(), "testFindNamesInBatches.cpp", content);
+		waitUntilFileIsIndexed(file, 4000);
+
+		fIndex.acquireReadLock();
+		try {
+			IIndexBinding[] funcBS = fIndex.findBindings(getPattern("func"), true, IndexFilter.ALL, npm());
+			assertLength(1, funcBS);
+			IIndexName[] expected = fIndex.findNames(funcBS[0], IIndex.FIND_ALL_OCCURRENCES);
+			assertLength(11, expected);
+
+			List<IIndexName> names = new ArrayList<>();
+			List<Integer> batchSizes = new ArrayList<>();
+			assertTrue(fIndex.findNames(funcBS[0], IIndex.FIND_ALL_OCCURRENCES, 4, batch -> {
+				batchSizes.add(batch.length);
+				names.addAll(Arrays.asList(batch));
+				return true;
+			}));
+			assertEquals(Arrays.asList(4, 4, 3), batchSizes);
+			assertEquals(new HashSet<>(Arrays.asList(expected)), new HashSet<>(names));
+
+			// The visitor stops the query.
+			names.clear();
+			assertFalse(fIndex.findNames(funcBS[0], IIndex.FIND_ALL_OCCURRENCES, 4, batch -> {
+				names.addAll(Arrays.asList(batch));
+				return false;
+			}));
+			assertEquals(4, names.size());
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
 }
@@ -1484,6 +1484,50 @@ public class IndexUpdateTests extends IndexTestBase {
 		}
 	}
 
+	//	struct Base {};
+	//	typedef Base BaseT;
+	//	template<typename T> struct Tmpl {};
+	//	struct D1 : Base {};
+	//	struct D2 : BaseT {};
+	//	struct D3 : Tmpl<int> {};
+
+	//	struct Base {};
+	//	typedef Base BaseT;
+	//	template<typename T> struct Tmpl {};
+	//	struct D1 {};
+	//	struct D2 : BaseT {};
+	//	struct D3 : Tmpl<int>, Base {};
+	public void testDerivedClasses() throws Exception {
+		setupFile(2, true);
+		checkDerivedClasses("Base", "D1", "D2");
+		checkDerivedClasses("BaseT", "D1", "D2");
+		checkDerivedClasses("Tmpl", "D3");
+		checkDerivedClasses("D1");
+
+		updateFile();
+		checkDerivedClasses("Base", "D2", "D3");
+		checkDerivedClasses("BaseT", "D2", "D3");
+		checkDerivedClasses("Tmpl", "D3");
+		checkDerivedClasses("D1");
+	}
+
+	private void checkDerivedClasses(String name, String... expected) throws Exception {
+		fIndex.acquireReadLock();
+		try {
+			IIndexBinding binding = findBinding(name);
+			assertNotNull(name, binding);
+			IIndexBinding[] derived = fIndex.findDerivedClasses(binding);
+			String[] actual = new String[derived.length];
+			for (int i = 0; i < derived.length; i++) {
+				actual[i] = derived[i].getName();
+			}
+			Arrays.sort(actual);
+			assertEquals(msg(), Arrays.asList(expected), Arrays.asList(actual));
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
 	// int dummy;
 
 	//#include "A.h"
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link ChunkCache} class.
+ */
+public class ChunkCacheTests extends BaseTestCase5 {
+	private static final int CACHED_CHUNKS = 32;
+	private static final int RECORDS = 4000;
+
+	private ChunkCache cache;
+	private final List<Database> databases = new ArrayList<>();
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		cache = new ChunkCache(CACHED_CHUNKS * Database.PAGE_SIZE);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		for (Database db : databases) {
+			db.setExclusiveLock();
+			db.close();
+			db.getLocation().delete();
+		}
+		databases.clear();
+	}
+
+	private Database createDatabase() throws Exception {
+		File file = File.createTempFile("chunkcache", "db");
+		Database db = new Database(file, cache, 0, false);
+		databases.add(db);
+		return db;
+	}
+
+	private long[] fill(Database db) throws Exception {
+		db.setExclusiveLock();
+		long[] records = new long[RECORDS];
+		for (int i = 0; i < RECORDS; i++) {
+			records[i] = db.malloc(Database.MAX_MALLOC_SIZE / 4);
+			db.putInt(records[i], i);
+		}
+		db.giveUpExclusiveLock(true);
+		db.setLocked(true);
+		return records;
+	}
+
+	@Test
+	public void testCounters() throws Exception {
+		Database db = createDatabase();
+		long[] records = fill(db);
+		cache.resetCounters();
+		db.resetCacheCounters();
+
+		for (int i = 0; i < RECORDS; i++) {
+			assertEquals(i, db.getInt(records[i]));
+		}
+		assertTrue(cache.getMisses() > 0);
+		assertTrue(cache.getEvictions() > 0);
+		assertEquals(cache.getHits(), db.getCacheHits());
+		assertEquals(cache.getMisses(), db.getCacheMisses());
+		assertEquals(cache.getEvictions(), db.getCacheEvictions());
+		assertTrue(db.getCachedChunkCount() <= CACHED_CHUNKS);
+	}
+
+	@Test
+	public void testSetMaxSize() throws Exception {
+		Database db = createDatabase();
+		long[] records = fill(db);
+		cache.setMaxSize(4 * Database.PAGE_SIZE);
+		assertTrue(db.getCachedChunkCount() * Database.PAGE_SIZE <= cache.getMaxSize());
+		for (int i = 0; i < RECORDS; i++) {
+			assertEquals(i, db.getInt(records[i]));
+		}
+		cache.setMaxSize(CACHED_CHUNKS * Database.PAGE_SIZE);
+		assertEquals(CACHED_CHUNKS * Database.PAGE_SIZE, cache.getMaxSize());
+	}
+
+	@Test
+	public void testConcurrentReaders() throws Exception {
+		final Database db1 = createDatabase();
+		final Database db2 = createDatabase();
+		final long[] records1 = fill(db1);
+		final long[] records2 = fill(db2);
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<Thread> threads = new ArrayList<>();
+		for (int t = 0; t < 4; t++) {
+			final Database db = t % 2 == 0 ? db1 : db2;
+			final long[] records = t % 2 == 0 ? records1 : records2;
+			Thread thread = new Thread(() -> {
+				try {
+					for (int round = 0; round < 5; round++) {
+						for (int i = 0; i < RECORDS; i++) {
+							assertEquals(i, db.getInt(records[i]));
+						}
+					}
+				} catch (Throwable e) {
+					failure.set(e);
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		if (failure.get() != null) {
+			throw new AssertionError(failure.get());
+		}
+		assertTrue(db1.getCachedChunkCount() + db2.getCachedChunkCount() <= CACHED_CHUNKS);
+	}
+}
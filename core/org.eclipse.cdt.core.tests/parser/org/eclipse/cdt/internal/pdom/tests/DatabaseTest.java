@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2014 QNX Software Systems
+ * Copyright (c) 2005, 2026 QNX Software Systems
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@
 package org.eclipse.cdt.internal.pdom.tests;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -48,8 +49,7 @@ public class DatabaseTest extends BaseTestCase5 {
 
 	@BeforeEach
 	protected void beforeEach() throws Exception {
-		db = new Database(getTestDir().append(getName() + System.currentTimeMillis() + ".dat").toFile(),
-				new ChunkCache(), 0, false);
+		db = createDatabase(getTestDir().append(getName() + System.currentTimeMillis() + ".dat").toFile());
 		db.setExclusiveLock();
 
 		// Allocate all database chunks up to TEST_OFFSET.
@@ -64,6 +64,10 @@ public class DatabaseTest extends BaseTestCase5 {
 		db.flush();
 	}
 
+	protected Database createDatabase(File file) throws CoreException {
+		return new Database(file, new ChunkCache(), 0, false, false);
+	}
+
 	protected IPath getTestDir() {
 		IPath path = CTestPlugin.getDefault().getStateLocation().append("tests/");
 		File file = path.toFile();
@@ -89,14 +93,16 @@ public class DatabaseTest extends BaseTestCase5 {
 		final int deltas = (realsize + Database.BLOCK_HEADER_SIZE + Database.BLOCK_SIZE_DELTA - 1)
 				/ Database.BLOCK_SIZE_DELTA;
 		final int blocksize = deltas * Database.BLOCK_SIZE_DELTA;
-		final int freeDeltas = Database.CHUNK_SIZE / Database.BLOCK_SIZE_DELTA - deltas;
+		final int freeDeltas = Database.CHUNK_SIZE / Database.BLOCK_SIZE_DELTA - 2 * deltas;
 
 		long mem = db.malloc(realsize);
 		assertEquals(-blocksize, db.getShort(mem - Database.BLOCK_HEADER_SIZE));
+		long used = db.malloc(realsize); // Prevents merging with the rest of the chunk.
 		db.free(mem);
 		assertEquals(blocksize, db.getShort(mem - Database.BLOCK_HEADER_SIZE));
 		assertEquals(mem, db.getRecPtr((deltas - Database.MIN_BLOCK_DELTAS + 1) * Database.INT_SIZE));
-		assertEquals(mem + blocksize, db.getRecPtr((freeDeltas - Database.MIN_BLOCK_DELTAS + 1) * Database.INT_SIZE));
+		assertEquals(used + blocksize,
+				db.getRecPtr((freeDeltas - Database.MIN_BLOCK_DELTAS + 1) * Database.INT_SIZE));
 	}
 
 	@Test
@@ -133,7 +139,9 @@ public class DatabaseTest extends BaseTestCase5 {
 		final int freeDeltas = Database.MIN_BLOCK_DELTAS - deltas;
 
 		long mem1 = db.malloc(realsize);
+		db.malloc(realsize);
 		long mem2 = db.malloc(realsize);
+		db.malloc(realsize);
 		db.free(mem1);
 		db.free(mem2);
 		assertEquals(mem2, db.getRecPtr((deltas - Database.MIN_BLOCK_DELTAS + 1) * Database.INT_SIZE));
@@ -143,6 +151,84 @@ public class DatabaseTest extends BaseTestCase5 {
 		assertEquals(0, db.getRecPtr(mem1 + Database.INT_SIZE));
 	}
 
+	@Test
+	public void testMergeWithAdjacentBlocks() throws Exception {
+		final int realsize = 42;
+		final int deltas = (realsize + Database.BLOCK_HEADER_SIZE + Database.BLOCK_SIZE_DELTA - 1)
+				/ Database.BLOCK_SIZE_DELTA;
+		final int blocksize = deltas * Database.BLOCK_SIZE_DELTA;
+
+		long mem1 = db.malloc(realsize);
+		long mem2 = db.malloc(realsize);
+		long mem3 = db.malloc(realsize);
+		long mem4 = db.malloc(realsize);
+
+		// Merge with the next block.
+		db.free(mem3);
+		db.free(mem2);
+		assertEquals(2 * blocksize, db.getShort(mem2 - Database.BLOCK_HEADER_SIZE));
+		assertEquals(mem2, db.getRecPtr((2 * deltas - Database.MIN_BLOCK_DELTAS + 1) * Database.INT_SIZE));
+		assertEquals(0, db.getRecPtr((deltas - Database.MIN_BLOCK_DELTAS + 1) * Database.INT_SIZE));
+
+		// Merge with the previous block.
+		db.free(mem1);
+		assertEquals(3 * blocksize, db.getShort(mem1 - Database.BLOCK_HEADER_SIZE));
+		assertEquals(0, db.getRecPtr((2 * deltas - Database.MIN_BLOCK_DELTAS + 1) * Database.INT_SIZE));
+
+		// Merge with both, the chunk is free again.
+		db.free(mem4);
+		assertEquals(Database.CHUNK_SIZE, db.getShort(mem1 - Database.BLOCK_HEADER_SIZE));
+		assertEquals(0.0, db.getFragmentation());
+		assertEquals(mem1, db.malloc(realsize));
+	}
+
+	@Test
+	public void testFragmentation() throws Exception {
+		assertEquals(0.0, db.getFragmentation());
+		long mem1 = db.malloc(42);
+		db.malloc(42);
+		assertEquals(1.0, db.getFragmentation());
+
+		long mem2 = db.malloc(Database.MAX_MALLOC_SIZE);
+		db.free(mem2);
+		db.free(mem1);
+		double fragmentation = db.getFragmentation();
+		assertTrue(fragmentation > 0 && fragmentation < 1);
+	}
+
+	@Test
+	public void testCompact() throws Exception {
+		long mem1 = db.malloc(Database.MAX_MALLOC_SIZE);
+		long mem2 = db.malloc(42);
+		long mem3 = db.malloc(Database.MAX_MALLOC_SIZE);
+		db.putInt(mem1, 17);
+		db.flush();
+		final long size = db.getSizeBytes();
+		assertEquals(0, db.compact());
+
+		db.free(mem3);
+		db.free(mem2);
+		assertEquals(2 * Database.CHUNK_SIZE, db.compact());
+		db.flush();
+		assertEquals(size - 2 * Database.CHUNK_SIZE, db.getSizeBytes());
+		assertEquals(17, db.getInt(mem1));
+
+		// The chunks are allocated again.
+		assertEquals(mem2, db.malloc(42));
+		assertEquals(mem3, db.malloc(Database.MAX_MALLOC_SIZE));
+	}
+
+	@Test
+	public void testValidPageSizes() throws Exception {
+		assertTrue(Database.isValidPageSize(Database.PAGE_SIZE));
+		assertTrue(Database.isValidPageSize(Database.CHUNK_SIZE));
+		assertTrue(Database.isValidPageSize(Database.MAX_PAGE_SIZE));
+		assertFalse(Database.isValidPageSize(0));
+		assertFalse(Database.isValidPageSize(Database.CHUNK_SIZE / 2));
+		assertFalse(Database.isValidPageSize(Database.CHUNK_SIZE * 3));
+		assertFalse(Database.isValidPageSize(Database.MAX_PAGE_SIZE * 2));
+	}
+
 	@Test
 	public void testSimpleAllocationLifecycle() throws Exception {
 		long mem1 = db.malloc(42);
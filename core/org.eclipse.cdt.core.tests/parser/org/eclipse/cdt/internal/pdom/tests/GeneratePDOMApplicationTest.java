@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Symbian Software Systems and others.
+ * Copyright (c) 2007, 2026 Symbian Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -46,6 +46,7 @@ import org.eclipse.cdt.core.model.LanguageManager;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
 import org.eclipse.cdt.internal.core.pdom.export.GeneratePDOMApplication;
 import org.eclipse.core.runtime.CoreException;
@@ -198,6 +199,40 @@ public class GeneratePDOMApplicationTest extends PDOMTestBase {
 		assertTrue(stateCount[0] == 2 || stateCount[0] == 4, "state is " + stateCount[0]);
 	}
 
+	@Test
+	public void testShardedExport() throws Exception {
+		URL url = FileLocator.find(CTestPlugin.getDefault().getBundle(), new Path(LOC_TSTPRJ1), null);
+		String baseDir = FileLocator.toFileURL(url).getFile();
+
+		File[] shards = new File[2];
+		for (int i = 0; i < shards.length; i++) {
+			shards[i] = nonExistentTempFile("shard" + i, ".pdom");
+			doGenerate(new String[] { GeneratePDOMApplication.OPT_TARGET, shards[i].getAbsolutePath(),
+					GeneratePDOMApplication.OPT_PROJECTPROVIDER, ExternalExportProjectProvider.class.getName(),
+					GeneratePDOMApplication.OPT_SHARD, String.valueOf(i), String.valueOf(shards.length),
+					ExternalExportProjectProvider.OPT_SOURCE, baseDir, ExternalExportProjectProvider.OPT_FRAGMENT_ID,
+					"generate.pdom.tests.id." + getName() });
+			assertTrue(shards[i].exists());
+		}
+		doGenerate(new String[] { GeneratePDOMApplication.OPT_TARGET, target.getAbsolutePath(),
+				GeneratePDOMApplication.OPT_MERGE, shards[1].getAbsolutePath(), shards[0].getAbsolutePath() });
+		assertTrue(target.exists());
+
+		WritablePDOM wpdom = new WritablePDOM(target, new URIRelativeLocationConverter(BASEURI),
+				LanguageManager.getInstance().getPDOMLinkageFactoryMappings());
+		verifyProject1Content(wpdom);
+		wpdom.acquireReadLock();
+		try {
+			assertEquals(2, wpdom.getAllFiles().length);
+			for (IIndexFragmentFile file : wpdom.getAllFiles()) {
+				assertTrue(file.hasContent());
+			}
+			assertEquals("generate.pdom.tests.id." + getName(), wpdom.getProperty(IIndexFragment.PROPERTY_FRAGMENT_ID));
+		} finally {
+			wpdom.releaseReadLock();
+		}
+	}
+
 	@Test
 	public void testExternalExportProjectProvider_SysIncludes() throws Exception {
 		WritablePDOM wpdom = generatePDOM(LOC_TSTPRJ2, ExternalExportProjectProvider.class, null);
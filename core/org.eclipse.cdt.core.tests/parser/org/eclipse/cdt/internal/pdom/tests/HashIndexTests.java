@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.HashIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HashIndexTests extends BaseTestCase5 {
+	protected File dbFile;
+	protected Database db;
+	protected HashIndex index;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dbFile = File.createTempFile("pdomhashindextest", "db");
+		db = new Database(dbFile, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		index = new HashIndex(db, Database.DATA_AREA);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		db.close();
+		dbFile.deleteOnExit();
+	}
+
+	@Test
+	public void testInterface() throws Exception {
+		long rec1 = db.malloc(8);
+		long rec2 = db.malloc(8);
+		long rec3 = db.malloc(8);
+		assertEquals(0, index.getRecords(1).length);
+
+		index.insert(1, rec1);
+		index.insert(1, rec2);
+		index.insert(2, rec3);
+		assertEquals(3, index.size());
+		assertRecords(index.getRecords(1), rec1, rec2);
+		assertRecords(index.getRecords(2), rec3);
+		assertEquals(0, index.getRecords(3).length);
+
+		assertTrue(index.delete(1, rec1));
+		assertFalse(index.delete(1, rec1));
+		assertRecords(index.getRecords(1), rec2);
+		assertRecords(index.getRecords(2), rec3);
+
+		// A new instance reads the same table.
+		index = new HashIndex(db, Database.DATA_AREA);
+		assertRecords(index.getRecords(1), rec2);
+
+		index.clear();
+		assertEquals(0, index.size());
+		assertEquals(0, index.getRecords(1).length);
+		assertEquals(0, index.getRecords(2).length);
+	}
+
+	/**
+	 * Checks random insertions and deletions against a map, such that the table grows several
+	 * times and deletions happen within clusters of colliding hash codes.
+	 */
+	@Test
+	public void testByMapMirror() throws Exception {
+		Random random = new Random(90210);
+		Map<Long, Integer> mirror = new HashMap<>();
+		List<Long> records = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			if (records.isEmpty() || random.nextInt(4) != 0) {
+				long record = db.malloc(8);
+				int hash = random.nextInt(5000);
+				index.insert(hash, record);
+				mirror.put(record, hash);
+				records.add(record);
+			} else {
+				long record = records.remove(random.nextInt(records.size()));
+				assertTrue(index.delete(mirror.remove(record), record));
+			}
+		}
+		assertEquals(mirror.size(), index.size());
+
+		Map<Integer, List<Long>> byHash = new HashMap<>();
+		for (Map.Entry<Long, Integer> entry : mirror.entrySet()) {
+			byHash.computeIfAbsent(entry.getValue(), h -> new ArrayList<>()).add(entry.getKey());
+		}
+		for (int hash = 0; hash < 5000; hash++) {
+			List<Long> expected = byHash.getOrDefault(hash, new ArrayList<>());
+			assertRecords(index.getRecords(hash), expected.stream().mapToLong(Long::longValue).toArray());
+		}
+	}
+
+	private void assertRecords(long[] actual, long... expected) {
+		long[] sortedActual = actual.clone();
+		long[] sortedExpected = expected.clone();
+		Arrays.sort(sortedActual);
+		Arrays.sort(sortedExpected);
+		assertArrayEquals(sortedExpected, sortedActual);
+	}
+}
@@ -77,6 +77,25 @@ public class IncludesTests extends PDOMTestBase {
 		assertEquals(2, allIncludesTo.length); // i.e. I1.h, I2.h
 	}
 
+	@Test
+	public void testIncludingFiles() throws Exception {
+		IResource loc = project.getProject().findMember("I2.h");
+		IIndexFile file = getIndexFile((IFile) loc);
+		IIndexFile[] includers = index.findIncludingFiles(file);
+		assertEquals(9, includers.length); // i.e. all of them
+		for (IIndexFile includer : includers) {
+			assertFalse(includer.getLocation().equals(file.getLocation()));
+		}
+	}
+
+	@Test
+	public void testIncludedFiles() throws Exception {
+		IResource loc = project.getProject().findMember("I3.cpp");
+		IIndexFile file = getIndexFile((IFile) loc);
+		IIndexFile[] included = index.findIncludedFiles(file);
+		assertEquals(5, included.length); // I3.h, I4.h, I5.h, I1.h, I2.h
+	}
+
 	@Test
 	public void testIncludeName() throws Exception {
 		IResource loc = project.getProject().findMember("a/b/I6.h");
@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IString;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the {@link DatabaseTest} with chunks read from a memory-mapped view of the file.
+ */
+public class MappedDatabaseTest extends DatabaseTest {
+
+	@Override
+	protected Database createDatabase(File file) throws CoreException {
+		return new Database(file, new ChunkCache(), 0, false, true);
+	}
+
+	private void reopenDatabase() throws CoreException {
+		final File file = db.getLocation();
+		db.close();
+		db = createDatabase(file);
+		db.setExclusiveLock();
+	}
+
+	@Test
+	public void testContentSurvivesEviction() throws Exception {
+		assertTrue(db.usesMappedIO());
+		final int count = 5000;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.newString("string" + i).getRecord();
+		}
+		db.flush();
+		// Modify some of the records after they have been written to the file.
+		for (int i = 0; i < count; i += 3) {
+			db.getString(records[i]).delete();
+			records[i] = db.newString("changed" + i).getRecord();
+		}
+		db.flush();
+		db.getChunkCache().setMaxSize(Database.PAGE_SIZE * 4);
+		for (int i = 0; i < count; i++) {
+			IString string = db.getString(records[i]);
+			assertEquals((i % 3 == 0 ? "changed" : "string") + i, string.getString());
+		}
+	}
+
+	@Test
+	public void testMallocAfterCompactWithinPage() throws Exception {
+		assertTrue(db.usesMappedIO());
+		final int chunksPerPage = Database.PAGE_SIZE / Database.CHUNK_SIZE;
+		final int count = 4 * chunksPerPage;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(Database.MAX_MALLOC_SIZE);
+			db.putInt(records[i], i);
+		}
+		// Free chunks such that the file ends within a page after compacting, unless a page is
+		// a single chunk. In the free list, the first chunk that is given back is placed between
+		// chunks that remain, such that compacting does not modify it.
+		final int kept = count - chunksPerPage / 2 - 1;
+		for (int i = kept + 1; i < count; i++) {
+			db.free(records[i]);
+		}
+		db.free(records[1]);
+		db.free(records[kept]);
+		db.free(records[0]);
+		// Read the pages from the file again, such that they are mapped but not modified.
+		reopenDatabase();
+		for (int i = 2; i < kept; i++) {
+			assertEquals(i, db.getInt(records[i]));
+		}
+
+		assertEquals((long) (count - kept) * Database.CHUNK_SIZE, db.compact());
+		db.flush();
+		assertEquals((long) (kept + 1) * Database.CHUNK_SIZE, db.getSizeBytes());
+
+		// After the free chunks are used again, a new chunk is part of the page that was
+		// partially truncated.
+		db.malloc(Database.MAX_MALLOC_SIZE);
+		db.malloc(Database.MAX_MALLOC_SIZE);
+		final long record = db.malloc(Database.MAX_MALLOC_SIZE);
+		assertEquals(records[kept], record);
+		db.putInt(record, 42);
+		reopenDatabase();
+		assertEquals(42, db.getInt(record));
+		for (int i = 2; i < kept; i++) {
+			assertEquals(i, db.getInt(records[i]));
+		}
+	}
+}
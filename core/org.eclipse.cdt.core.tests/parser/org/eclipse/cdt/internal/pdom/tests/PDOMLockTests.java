@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the read-write lock of the {@link PDOM}.
+ */
+public class PDOMLockTests extends BaseTestCase5 {
+	private static final long TIMEOUT = 10000;
+
+	private File pdomFile;
+	private PDOM pdom;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		pdomFile = File.createTempFile("pdomlock", "pdom");
+		pdom = new WritablePDOM(pdomFile, null, new HashMap<>());
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		pdom.acquireWriteLock(null);
+		try {
+			pdom.close();
+		} finally {
+			pdom.releaseWriteLock();
+		}
+		pdomFile.delete();
+	}
+
+	private Thread start(String name, LockAction action) {
+		Thread thread = new Thread(() -> {
+			try {
+				action.run();
+			} catch (InterruptedException e) {
+			}
+		}, name);
+		thread.start();
+		return thread;
+	}
+
+	private interface LockAction {
+		void run() throws InterruptedException;
+	}
+
+	private static void await(CountDownLatch latch) throws InterruptedException {
+		assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < deadline);
+			Thread.sleep(1);
+		}
+	}
+
+	@Test
+	public void testReleaseOfWriteLockAdmitsWaitingReaders() throws Exception {
+		pdom.acquireWriteLock(null);
+		CountDownLatch readLocked = new CountDownLatch(1);
+		CountDownLatch releaseRead = new CountDownLatch(1);
+		Thread reader = start("reader", () -> {
+			pdom.acquireReadLock();
+			readLocked.countDown();
+			releaseRead.await();
+			pdom.releaseReadLock();
+		});
+		waitUntil(pdom::hasWaitingReaders);
+		pdom.releaseWriteLock();
+
+		// The next writer has to wait for the reader that was waiting for the previous one.
+		CountDownLatch writeLocked = new CountDownLatch(1);
+		Thread writer = start("writer", () -> {
+			pdom.acquireWriteLock(null);
+			writeLocked.countDown();
+			pdom.releaseWriteLock();
+		});
+		await(readLocked);
+		assertFalse(writeLocked.await(50, TimeUnit.MILLISECONDS));
+		releaseRead.countDown();
+		await(writeLocked);
+		reader.join(TIMEOUT);
+		writer.join(TIMEOUT);
+	}
+
+	@Test
+	public void testNewReadersLetWaitingWriterGoFirst() throws Exception {
+		pdom.acquireReadLock();
+		CountDownLatch writeLocked = new CountDownLatch(1);
+		CountDownLatch releaseWrite = new CountDownLatch(1);
+		Thread writer = start("writer", () -> {
+			pdom.acquireWriteLock(null);
+			writeLocked.countDown();
+			releaseWrite.await();
+			pdom.releaseWriteLock();
+		});
+		Thread.sleep(50);
+
+		// Nested read locks must not wait for the writer.
+		pdom.acquireReadLock();
+		pdom.releaseReadLock();
+
+		CountDownLatch readLocked = new CountDownLatch(1);
+		Thread reader = start("reader", () -> {
+			pdom.acquireReadLock();
+			readLocked.countDown();
+			pdom.releaseReadLock();
+		});
+		waitUntil(pdom::hasWaitingReaders);
+		pdom.releaseReadLock();
+		await(writeLocked);
+		assertFalse(readLocked.await(50, TimeUnit.MILLISECONDS));
+		releaseWrite.countDown();
+		await(readLocked);
+		reader.join(TIMEOUT);
+		writer.join(TIMEOUT);
+	}
+
+	@Test
+	public void testReadLockReleasedOnAnotherThread() throws Exception {
+		CountDownLatch ownerLocked = new CountDownLatch(1);
+		CountDownLatch acquireAgain = new CountDownLatch(1);
+		CountDownLatch ownerLockedAgain = new CountDownLatch(1);
+		Thread owner = start("owner", () -> {
+			pdom.acquireReadLock();
+			ownerLocked.countDown();
+			acquireAgain.await();
+			pdom.acquireReadLock();
+			ownerLockedAgain.countDown();
+			pdom.releaseReadLock();
+		});
+		// The read lock of the owner is handed over to this thread.
+		await(ownerLocked);
+		pdom.releaseReadLock();
+
+		pdom.acquireReadLock();
+		CountDownLatch writeLocked = new CountDownLatch(1);
+		Thread writer = start("writer", () -> {
+			pdom.acquireWriteLock(null);
+			writeLocked.countDown();
+			pdom.releaseWriteLock();
+		});
+		Thread.sleep(50);
+
+		// The owner no longer holds a read lock, it has to let the writer go first.
+		acquireAgain.countDown();
+		waitUntil(pdom::hasWaitingReaders);
+		pdom.releaseReadLock();
+		await(writeLocked);
+		await(ownerLockedAgain);
+		owner.join(TIMEOUT);
+		writer.join(TIMEOUT);
+	}
+
+	@Test
+	public void testOptimisticRead() throws Exception {
+		long stamp = pdom.tryOptimisticRead();
+		assertTrue(stamp != 0);
+		assertTrue(pdom.validateOptimisticRead(stamp));
+
+		pdom.acquireReadLock();
+		pdom.releaseReadLock();
+		assertTrue(pdom.validateOptimisticRead(stamp));
+
+		pdom.acquireWriteLock(null);
+		assertEquals(0, pdom.tryOptimisticRead());
+		assertFalse(pdom.validateOptimisticRead(stamp));
+		pdom.releaseWriteLock();
+		assertFalse(pdom.validateOptimisticRead(stamp));
+
+		assertEquals(PDOM.getDefaultVersion(), (int) pdom.runOptimisticRead(() -> pdom.getDB().getVersion()));
+	}
+
+	@Test
+	public void testOptimisticReadFallsBackToReadLock() throws Exception {
+		pdom.acquireWriteLock(null);
+		final long rec = pdom.getDB().malloc(8);
+		pdom.getDB().putLong(rec, 42);
+		pdom.close();
+		pdom.releaseWriteLock();
+
+		// After reopening the database the chunk of the record is not cached, the optimistic read
+		// must not load it.
+		pdom = new WritablePDOM(pdomFile, null, new HashMap<>());
+		int[] runs = new int[1];
+		assertEquals(42, (long) pdom.runOptimisticRead(() -> {
+			runs[0]++;
+			return pdom.getDB().getLong(rec);
+		}));
+		assertEquals(2, runs[0]);
+
+		runs[0] = 0;
+		assertEquals(42, (long) pdom.runOptimisticRead(() -> {
+			runs[0]++;
+			return pdom.getDB().getLong(rec);
+		}));
+		assertEquals(1, runs[0]);
+	}
+
+	@Test
+	public void testOptimisticReadDiscardsErrors() throws Exception {
+		int[] runs = new int[1];
+		int version = pdom.runOptimisticRead(() -> {
+			if (runs[0]++ == 0) {
+				// A writer modifies the index, the data read is inconsistent.
+				try {
+					pdom.acquireWriteLock(null);
+				} catch (InterruptedException e) {
+					throw new AssertionError(e);
+				}
+				pdom.releaseWriteLock();
+				throw new StackOverflowError();
+			}
+			return pdom.getDB().getVersion();
+		});
+		assertEquals(PDOM.getDefaultVersion(), version);
+		assertEquals(2, runs[0]);
+
+		// Without a writer the error is reported.
+		assertThrows(IllegalStateException.class, () -> pdom.runOptimisticRead(() -> {
+			throw new IllegalStateException();
+		}));
+	}
+
+	@Test
+	public void testWaitHistograms() throws Exception {
+		long reads = pdom.getReadLockWaits().getTotalCount();
+		long writes = pdom.getWriteLockWaits().getTotalCount();
+		pdom.acquireReadLock();
+		pdom.releaseReadLock();
+		pdom.acquireWriteLock(null);
+		pdom.releaseWriteLock();
+		assertEquals(reads + 1, pdom.getReadLockWaits().getTotalCount());
+		assertEquals(writes + 1, pdom.getWriteLockWaits().getTotalCount());
+	}
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.ResultCache;
+import org.eclipse.cdt.internal.core.pdom.ResultCache.KeyKind;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link ResultCache} class.
+ */
+public class ResultCacheTests extends BaseTestCase5 {
+	private static final int MAX_SIZE = 1024;
+
+	@Test
+	public void testPutAndGet() {
+		ResultCache cache = new ResultCache(MAX_SIZE);
+		Object first = new Object();
+		Object second = new Object();
+		assertNull(cache.get(1L));
+		assertSame(first, cache.put(1L, first, false));
+		assertSame(first, cache.put(1L, second, false));
+		assertSame(first, cache.get(1L));
+		assertSame(second, cache.put(1L, second, true));
+		assertSame(second, cache.get(1L));
+
+		cache.put(1L, null, true);
+		assertNull(cache.get(1L));
+		assertEquals(0, cache.size());
+
+		assertEquals(2, cache.getHits(KeyKind.RECORD));
+		assertEquals(2, cache.getMisses(KeyKind.RECORD));
+		assertEquals(0, cache.getHits(KeyKind.NAME));
+		cache.resetCounters();
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+	}
+
+	@Test
+	public void testBounded() {
+		ResultCache cache = new ResultCache(MAX_SIZE);
+		for (long i = 0; i < MAX_SIZE * 10; i++) {
+			cache.put(i, "result" + i, true);
+			assertTrue(cache.size() <= MAX_SIZE);
+		}
+		assertEquals(MAX_SIZE * 9, cache.getEvictions());
+		assertEquals(MAX_SIZE, cache.size());
+	}
+
+	@Test
+	public void testFrequentlyUsedResultsSurviveScan() {
+		ResultCache cache = new ResultCache(MAX_SIZE);
+		final int hot = MAX_SIZE / 16;
+		for (int i = 0; i < hot; i++) {
+			cache.put("hot" + i, Integer.valueOf(i), true);
+			cache.get("hot" + i);
+		}
+		for (int i = 0; i < MAX_SIZE * 10; i++) {
+			cache.put("cold" + i, Integer.valueOf(i), true);
+		}
+		for (int i = 0; i < hot; i++) {
+			assertEquals(Integer.valueOf(i), cache.get("hot" + i));
+		}
+	}
+
+	@Test
+	public void testPinnedResultsAreNotEvicted() {
+		ResultCache cache = new ResultCache(MAX_SIZE);
+		Object pinned = new Object();
+		assertSame(pinned, cache.putPinned("pinned", pinned));
+		assertSame(pinned, cache.putPinned("pinned", new Object()));
+		for (int i = 0; i < MAX_SIZE * 10; i++) {
+			cache.put("cold" + i, Integer.valueOf(i), true);
+		}
+		assertSame(pinned, cache.get("pinned"));
+		assertEquals(1, cache.pinnedSize());
+		assertEquals(MAX_SIZE + 1, cache.size());
+
+		cache.clear();
+		assertNull(cache.get("pinned"));
+		assertEquals(0, cache.pinnedSize());
+	}
+
+	@Test
+	public void testPinnedResultsAreBounded() {
+		final int maxPinned = 64;
+		ResultCache cache = new ResultCache(MAX_SIZE, maxPinned);
+		Object referenced = new Object();
+		cache.putPinned("referenced", referenced);
+		for (int i = 0; i < maxPinned * 10; i++) {
+			cache.putPinned("pinned" + i, Integer.valueOf(i));
+			assertTrue(cache.pinnedSize() <= maxPinned);
+		}
+		assertEquals(maxPinned * 9 + 1, cache.getReleases());
+		assertEquals(cache.pinnedSize(), cache.size());
+		// A released result that is still referenced keeps its identity.
+		assertSame(referenced, cache.get("referenced"));
+		assertSame(referenced, cache.putPinned("referenced", new Object()));
+	}
+
+	@Test
+	public void testClear() {
+		ResultCache cache = new ResultCache(MAX_SIZE);
+		for (int i = 0; i < MAX_SIZE; i++) {
+			cache.put("key" + i, Integer.valueOf(i), true);
+		}
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertNull(cache.get("key0"));
+	}
+}
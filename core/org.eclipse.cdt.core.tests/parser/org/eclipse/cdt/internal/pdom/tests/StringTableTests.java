@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.io.File;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.IString;
+import org.eclipse.cdt.internal.core.pdom.db.StringTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class StringTableTests extends BaseTestCase5 {
+	protected File dbFile;
+	protected Database db;
+	protected StringTable table;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dbFile = File.createTempFile("pdomstringtabletest", "db");
+		db = new Database(dbFile, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		table = new StringTable(db, Database.DATA_AREA);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		db.close();
+		dbFile.deleteOnExit();
+	}
+
+	@Test
+	public void testInterning() throws Exception {
+		assertEquals(0, table.find("a".toCharArray()));
+
+		IString a1 = table.intern("a".toCharArray());
+		IString a2 = table.intern("a".toCharArray());
+		IString b = table.intern("b".toCharArray());
+		assertEquals(a1.getRecord(), a2.getRecord());
+		assertNotEquals(a1.getRecord(), b.getRecord());
+		assertEquals(a1.getRecord(), table.find("a".toCharArray()));
+		assertEquals(0, table.find("A".toCharArray()));
+		assertEquals(2, table.size());
+
+		// A new instance reads the same table.
+		table = new StringTable(db, Database.DATA_AREA);
+		assertEquals(b.getRecord(), table.find("b".toCharArray()));
+
+		table.release(a1.getRecord());
+		assertEquals(a1.getRecord(), table.find("a".toCharArray()));
+		table.release(a2.getRecord());
+		assertEquals(0, table.find("a".toCharArray()));
+		table.release(b.getRecord());
+		assertEquals(0, table.size());
+	}
+
+	@Test
+	public void testLongStrings() throws Exception {
+		char[] chars = new char[Database.MAX_MALLOC_SIZE];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = (char) ('a' + i % 26);
+		}
+		IString s1 = table.intern(chars);
+		IString s2 = table.intern(chars.clone());
+		assertEquals(s1.getRecord(), s2.getRecord());
+		assertEquals(1, table.size());
+
+		chars[chars.length - 1] = '!';
+		assertEquals(0, table.find(chars));
+	}
+}
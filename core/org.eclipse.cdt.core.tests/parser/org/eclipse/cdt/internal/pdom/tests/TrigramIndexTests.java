@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase5;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.TrigramIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TrigramIndexTests extends BaseTestCase5 {
+	protected File dbFile;
+	protected Database db;
+	protected TrigramIndex index;
+
+	@BeforeEach
+	protected void beforeEach() throws Exception {
+		dbFile = File.createTempFile("pdomtrigramindextest", "db");
+		db = new Database(dbFile, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		index = new TrigramIndex(db, Database.DATA_AREA);
+	}
+
+	@AfterEach
+	protected void afterEach() throws Exception {
+		db.close();
+		dbFile.deleteOnExit();
+	}
+
+	@Test
+	public void testInterface() throws Exception {
+		long rec1 = db.malloc(8);
+		long rec2 = db.malloc(8);
+		long rec3 = db.malloc(8);
+		index.add("getValue".toCharArray(), rec1);
+		index.add("setValue".toCharArray(), rec2);
+		index.add("GetName".toCharArray(), rec3);
+
+		assertCandidates(find("Value"), rec1, rec2);
+		assertCandidates(find("get"), rec1, rec3);
+		assertCandidates(find("get", "value"), rec1);
+		assertCandidates(find("tVal"), rec1, rec2);
+		assertCandidates(find("xyz"));
+		assertCandidates(find("Values"));
+
+		// Substrings shorter than a trigram do not narrow down the candidates.
+		assertNull(find("ge"));
+		assertNull(find());
+		assertCandidates(find("ge", "Nam"), rec3);
+
+		index.remove("getValue".toCharArray(), rec1);
+		assertCandidates(find("get"), rec3);
+		assertCandidates(find("value"), rec2);
+
+		// A new instance reads the same index.
+		index = new TrigramIndex(db, Database.DATA_AREA);
+		assertCandidates(find("name"), rec3);
+
+		index.remove("setValue".toCharArray(), rec2);
+		index.remove("GetName".toCharArray(), rec3);
+		assertEquals(0, index.getTrigramCount());
+	}
+
+	@Test
+	public void testNonAsciiCharacters() throws Exception {
+		long rec1 = db.malloc(8);
+		long rec2 = db.malloc(8);
+		index.add("größe".toCharArray(), rec1);
+		index.add("GRÖSSE".toCharArray(), rec2);
+		assertCandidates(find("röß"), rec1);
+		assertCandidates(find("öss"), rec2);
+		assertCandidates(find("grÖ"), rec1, rec2);
+	}
+
+	/**
+	 * Checks random insertions and removals against a brute-force search, such that some trigrams
+	 * are shared by many strings and candidates are found both by merging and by probing.
+	 */
+	@Test
+	public void testByBruteForce() throws Exception {
+		Random random = new Random(4711);
+		Map<Long, String> mirror = new HashMap<>();
+		List<Long> records = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			if (records.isEmpty() || random.nextInt(4) != 0) {
+				long record = db.malloc(8);
+				String string = randomString(random, 4 + random.nextInt(12));
+				index.add(string.toCharArray(), record);
+				mirror.put(record, string);
+				records.add(record);
+			} else {
+				long record = records.remove(random.nextInt(records.size()));
+				index.remove(mirror.remove(record).toCharArray(), record);
+			}
+		}
+		for (int i = 0; i < 500; i++) {
+			String substring1 = randomString(random, 3);
+			String substring2 = randomString(random, 3 + random.nextInt(2));
+			long[] candidates = find(substring1, substring2);
+			for (long record : candidates) {
+				String string = mirror.get(record).toLowerCase(Locale.ROOT);
+				assertTrue(string.contains(substring1.toLowerCase(Locale.ROOT))
+						|| string.contains(substring2.toLowerCase(Locale.ROOT)), string);
+			}
+			long[] expected = mirror.entrySet().stream().filter(e -> {
+				String string = e.getValue().toLowerCase(Locale.ROOT);
+				return string.contains(substring1.toLowerCase(Locale.ROOT))
+						&& string.contains(substring2.toLowerCase(Locale.ROOT));
+			}).mapToLong(Map.Entry::getKey).sorted().toArray();
+			for (long record : expected) {
+				assertTrue(Arrays.binarySearch(candidates, record) >= 0);
+			}
+		}
+	}
+
+	private static String randomString(Random random, int length) {
+		// A small alphabet, such that trigrams are shared by many strings.
+		final String alphabet = "abcdeABCDE_";
+		StringBuilder buf = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			buf.append(alphabet.charAt(random.nextInt(alphabet.length())));
+		}
+		return buf.toString();
+	}
+
+	private long[] find(String... substrings) throws Exception {
+		char[][] chars = new char[substrings.length][];
+		for (int i = 0; i < substrings.length; i++) {
+			chars[i] = substrings[i].toCharArray();
+		}
+		return index.findCandidates(chars);
+	}
+
+	private void assertCandidates(long[] actual, long... expected) {
+		assertArrayEquals(expected, actual);
+	}
+}
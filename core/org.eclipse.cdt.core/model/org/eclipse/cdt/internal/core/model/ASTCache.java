@@ -15,14 +15,24 @@
  ******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.lang.ref.SoftReference;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.core.model.IWorkingCopy;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.cdt.internal.core.parser.scanner.StreamHasher;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
@@ -31,9 +41,15 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 /**
- * Provides a shared AST of a single translation unit at a time.
+ * Provides a shared AST of the active translation unit. In addition the ASTs of a bounded
+ * number of recently used translation units are kept, so that switching back to one of them
+ * does not require parsing it again. ASTs of translation units that are likely to become
+ * active soon can be computed in the background, see {@link #schedulePreparse(ITranslationUnit)}.
+ * The ASTs of inactive translation units are softly referenced and are discarded when memory
+ * runs low.
  *
  * @since 4.0
  */
@@ -45,6 +61,15 @@ public class ASTCache {
 			.parseBoolean(Platform.getDebugOption("org.eclipse.cdt.core/debug/ASTCache")); //$NON-NLS-1$
 	private static final String DEBUG_PREFIX = "[ASTCache] "; //$NON-NLS-1$
 
+	/**
+	 * Name of the system property for the maximum number of ASTs kept for translation units
+	 * other than the active one. A value of zero restores the single AST behavior.
+	 */
+	public static final String MAX_INACTIVE_ASTS_PROPERTY = "org.eclipse.cdt.core.model.astCache.maxInactiveASTs"; //$NON-NLS-1$
+	private static final int DEFAULT_MAX_INACTIVE_ASTS = 4;
+	/** Delay before background parsing starts, in milliseconds */
+	private static final long PREPARSE_DELAY = 500;
+
 	/** Fast parse mode (use PDOM) */
 	public static int PARSE_MODE = ITranslationUnit.AST_SKIP_ALL_HEADERS
 			| ITranslationUnit.AST_CONFIGURE_USING_SOURCE_CONTEXT
@@ -67,8 +92,63 @@ public class ASTCache {
 		IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException;
 	}
 
+	/**
+	 * The AST of a translation unit that is not the active one.
+	 */
+	private static class InactiveAST {
+		final SoftReference<IASTTranslationUnit> fAST;
+		final long fLastWriteOnIndex;
+		/** Hash of the source the AST has been created from */
+		final long fContentsHash;
+
+		InactiveAST(IASTTranslationUnit ast, long lastWriteOnIndex, long contentsHash) {
+			fAST = new SoftReference<>(ast);
+			fLastWriteOnIndex = lastWriteOnIndex;
+			fContentsHash = contentsHash;
+		}
+	}
+
+	/**
+	 * Computes the ASTs of the translation units queued by {@link #schedulePreparse(ITranslationUnit)}.
+	 */
+	private class PreparseJob extends Job {
+		PreparseJob() {
+			super(CoreModelMessages.getString("ASTCache.PreparseJob")); //$NON-NLS-1$
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == ASTCache.this;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			while (true) {
+				if (monitor.isCanceled())
+					return Status.CANCEL_STATUS;
+				ITranslationUnit tUnit;
+				synchronized (fCacheMutex) {
+					Iterator<ITranslationUnit> iterator = fPreparseQueue.iterator();
+					if (!iterator.hasNext())
+						return Status.OK_STATUS;
+					tUnit = iterator.next();
+					iterator.remove();
+				}
+				preparse(tUnit, monitor);
+			}
+		}
+	}
+
 	private final int fParseMode;
 	private final Object fCacheMutex = new Object();
+	private final int fMaxInactiveASTs;
+	/** ASTs of recently used translation units by location, in access order */
+	private final Map<URI, InactiveAST> fInactiveASTs;
+	/** Translation units waiting to be parsed in the background */
+	private final Set<ITranslationUnit> fPreparseQueue = new LinkedHashSet<>();
+	private final Job fPreparseJob = new PreparseJob();
 
 	/** The active translation unit for which to cache the AST */
 	private ITranslationUnit fActiveTU;
@@ -88,6 +168,13 @@ public class ASTCache {
 	 */
 	public ASTCache() {
 		fParseMode = PARSE_MODE;
+		fMaxInactiveASTs = Math.max(0, Integer.getInteger(MAX_INACTIVE_ASTS_PROPERTY, DEFAULT_MAX_INACTIVE_ASTS));
+		fInactiveASTs = new LinkedHashMap<URI, InactiveAST>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<URI, InactiveAST> eldest) {
+				return size() > fMaxInactiveASTs;
+			}
+		};
 	}
 
 	/**
@@ -159,11 +246,21 @@ public class ASTCache {
 					} catch (InterruptedException e) {
 						return null; // thread has been interrupted don't compute AST
 					}
-				} else if (!wait) {
-					return null;
 				}
 			}
 
+			if (!isActiveElement) {
+				IASTTranslationUnit ast = getInactiveAST(tUnit, index);
+				if (ast != null) {
+					if (DEBUG)
+						System.out.println(DEBUG_PREFIX + getThreadName() + "returning kept AST for: " //$NON-NLS-1$
+								+ tUnit.getElementName());
+					return ast;
+				}
+				if (!wait)
+					return null;
+			}
+
 			if (isActiveElement)
 				aboutToBeReconciled(tUnit);
 
@@ -187,6 +284,11 @@ public class ASTCache {
 						reconciled(fAST, tUnit);
 					} else
 						reconciled(ast, tUnit);
+				} else if (ast != null) {
+					synchronized (fCacheMutex) {
+						if (!tUnit.equals(fActiveTU))
+							keep(tUnit, ast, index.getLastWriteAccess());
+					}
 				}
 			}
 			return ast;
@@ -386,9 +488,13 @@ public class ASTCache {
 			return;
 		}
 		synchronized (fCacheMutex) {
+			if (fAST != null && fActiveTU != null)
+				keep(fActiveTU, fAST, fLastWriteOnIndex);
 			fIsReconciling = false;
 			fActiveTU = tUnit;
 			cache(null, tUnit);
+			if (tUnit != null)
+				restoreInactiveAST(tUnit);
 		}
 		if (DEBUG)
 			System.out.println(DEBUG_PREFIX + getThreadName() + "active element is: " + toString(tUnit)); //$NON-NLS-1$
@@ -418,6 +524,10 @@ public class ASTCache {
 
 		synchronized (fCacheMutex) {
 			if (fActiveTU == null || !fActiveTU.equals(tUnit)) {
+				// The kept AST, if any, is about to become outdated.
+				URI key = tUnit.getLocationURI();
+				if (key != null)
+					fInactiveASTs.remove(key);
 				return;
 			}
 
@@ -438,8 +548,14 @@ public class ASTCache {
 	public void reconciled(IASTTranslationUnit ast, ITranslationUnit tUnit) {
 		synchronized (fCacheMutex) {
 			if (tUnit == null || !tUnit.equals(fActiveTU)) {
-				if (DEBUG)
+				if (tUnit != null && ast != null && ast.getIndex() != null) {
+					if (DEBUG)
+						System.out.println(DEBUG_PREFIX + getThreadName() + "keeping AST of inactive element: " //$NON-NLS-1$
+								+ toString(tUnit));
+					keep(tUnit, ast, ast.getIndex().getLastWriteAccess());
+				} else if (DEBUG) {
 					System.out.println(DEBUG_PREFIX + getThreadName() + "ignoring AST of out-dated element"); //$NON-NLS-1$
+				}
 				return;
 			}
 			if (DEBUG)
@@ -467,6 +583,202 @@ public class ASTCache {
 		}
 	}
 
+	/**
+	 * Returns the maximum number of ASTs kept for translation units other than the active one.
+	 */
+	public int getMaxInactiveASTs() {
+		return fMaxInactiveASTs;
+	}
+
+	/**
+	 * Requests the AST of the given translation unit to be computed in the background, so that
+	 * it is available without parsing when the translation unit becomes active. Has no effect
+	 * if the AST of the translation unit is already available.
+	 * <p>
+	 * The background job belongs to the family of this cache.
+	 *
+	 * @param tUnit  the translation unit
+	 */
+	public void schedulePreparse(ITranslationUnit tUnit) {
+		if (fMaxInactiveASTs == 0 || tUnit == null)
+			return;
+		URI key = tUnit.getLocationURI();
+		if (key == null)
+			return;
+		synchronized (fCacheMutex) {
+			if (tUnit.equals(fActiveTU) || fInactiveASTs.containsKey(key) || !fPreparseQueue.add(tUnit))
+				return;
+		}
+		if (DEBUG)
+			System.out.println(DEBUG_PREFIX + getThreadName() + "scheduling preparse of: " + toString(tUnit)); //$NON-NLS-1$
+		fPreparseJob.schedule(PREPARSE_DELAY);
+	}
+
+	/**
+	 * Discards the ASTs of all translation units other than the active one and cancels pending
+	 * background parsing.
+	 */
+	public void disposeInactiveASTs() {
+		synchronized (fCacheMutex) {
+			fPreparseQueue.clear();
+			fInactiveASTs.clear();
+		}
+		fPreparseJob.cancel();
+	}
+
+	private void preparse(ITranslationUnit tUnit, IProgressMonitor monitor) {
+		if (isActiveElement(tUnit))
+			return;
+
+		IIndex index;
+		try {
+			index = CCorePlugin.getIndexManager().getIndex(tUnit.getCProject(),
+					IIndexManager.ADD_EXTENSION_FRAGMENTS_EDITOR);
+			index.acquireReadLock();
+		} catch (CoreException e) {
+			CCorePlugin.log(e);
+			return;
+		} catch (InterruptedException e) {
+			return;
+		}
+
+		try {
+			if (getInactiveAST(tUnit, index) != null)
+				return;
+			if (DEBUG)
+				System.err.println(DEBUG_PREFIX + getThreadName() + "preparsing " + tUnit.getElementName()); //$NON-NLS-1$
+			IASTTranslationUnit ast = createAST(tUnit, index, monitor);
+			if (ast == null || monitor.isCanceled())
+				return;
+			synchronized (fCacheMutex) {
+				keep(tUnit, ast, index.getLastWriteAccess());
+				// The translation unit may have become active in the meantime.
+				if (tUnit.equals(fActiveTU) && fAST == null && !fIsReconciling)
+					restoreInactiveAST(tUnit);
+			}
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
+	/**
+	 * Keeps the given AST of a translation unit that is not the active one.
+	 *
+	 * @param tUnit  the translation unit
+	 * @param ast  the AST of the translation unit
+	 * @param lastWriteOnIndex  the timestamp of the last index write access at the time
+	 *     the AST got created
+	 */
+	private void keep(ITranslationUnit tUnit, IASTTranslationUnit ast, long lastWriteOnIndex) {
+		assert Thread.holdsLock(fCacheMutex);
+		if (fMaxInactiveASTs == 0)
+			return;
+		URI key = tUnit.getLocationURI();
+		if (key == null)
+			return;
+
+		// Drop the entries with ASTs reclaimed by the garbage collector.
+		for (Iterator<InactiveAST> iterator = fInactiveASTs.values().iterator(); iterator.hasNext();) {
+			if (iterator.next().fAST.get() == null)
+				iterator.remove();
+		}
+		fInactiveASTs.put(key,
+				new InactiveAST(ast, lastWriteOnIndex, hashContents(ast.getRawSignature().toCharArray())));
+	}
+
+	/**
+	 * Makes the kept AST of the given translation unit the shared AST, if it is still valid.
+	 *
+	 * @param tUnit  the active translation unit
+	 */
+	private void restoreInactiveAST(ITranslationUnit tUnit) {
+		assert Thread.holdsLock(fCacheMutex);
+		URI key = tUnit.getLocationURI();
+		if (key == null)
+			return;
+		InactiveAST inactive = fInactiveASTs.get(key);
+		if (inactive == null)
+			return;
+		IASTTranslationUnit ast = inactive.fAST.get();
+		if (ast != null && !canBeUsedFor(ast, tUnit))
+			return; // Kept for a different translation unit of the same file.
+		fInactiveASTs.remove(key);
+		ast = getValidAST(inactive, tUnit);
+		if (ast != null) {
+			if (DEBUG)
+				System.out.println(DEBUG_PREFIX + getThreadName() + "restoring AST: " + toString(ast) //$NON-NLS-1$
+						+ " for: " + toString(tUnit)); //$NON-NLS-1$
+			cache(ast, tUnit);
+			fLastWriteOnIndex = inactive.fLastWriteOnIndex;
+		}
+	}
+
+	/**
+	 * Returns the kept AST of the given translation unit, or {@code null} if there is no
+	 * valid one.
+	 *
+	 * @param tUnit  the translation unit
+	 * @param index  the index used to create the AST, needs to be read-locked
+	 */
+	private IASTTranslationUnit getInactiveAST(ITranslationUnit tUnit, IIndex index) {
+		URI key = tUnit.getLocationURI();
+		if (key == null)
+			return null;
+		InactiveAST inactive;
+		synchronized (fCacheMutex) {
+			inactive = fInactiveASTs.get(key);
+		}
+		if (inactive == null)
+			return null;
+		IASTTranslationUnit ast = inactive.fAST.get();
+		if (ast != null && !canBeUsedFor(ast, tUnit))
+			return null; // Kept for a different translation unit of the same file.
+		// The contents of the translation unit are read outside of the mutex.
+		ast = inactive.fLastWriteOnIndex < index.getLastWriteAccess() ? null : getValidAST(inactive, tUnit);
+		if (ast == null) {
+			synchronized (fCacheMutex) {
+				fInactiveASTs.remove(key, inactive);
+			}
+		}
+		return ast;
+	}
+
+	/**
+	 * Checks whether the given AST may be shared for the given translation unit. In addition to
+	 * the translation unit the AST has been created for, an AST created in the background for
+	 * a file that has been opened in an editor since then can be handed over to the working copy.
+	 */
+	private static boolean canBeUsedFor(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+		ITranslationUnit origin = ast.getOriginatingTranslationUnit();
+		if (origin == null || origin.equals(tUnit))
+			return true;
+		return !origin.isWorkingCopy() && tUnit instanceof IWorkingCopy && ast instanceof ASTTranslationUnit
+				&& origin.equals(((IWorkingCopy) tUnit).getOriginalElement());
+	}
+
+	/**
+	 * Returns the AST of the given kept entry if it has been created from the current contents
+	 * of the given translation unit, or {@code null} otherwise.
+	 */
+	private static IASTTranslationUnit getValidAST(InactiveAST inactive, ITranslationUnit tUnit) {
+		IASTTranslationUnit ast = inactive.fAST.get();
+		if (ast == null || !canBeUsedFor(ast, tUnit))
+			return null;
+		char[] contents = tUnit.getContents();
+		if (contents == null || hashContents(contents) != inactive.fContentsHash)
+			return null;
+		ITranslationUnit origin = ast.getOriginatingTranslationUnit();
+		if (origin != null && !origin.equals(tUnit))
+			((ASTTranslationUnit) ast).setOriginatingTranslationUnit(tUnit);
+		return ast;
+	}
+
+	private static long hashContents(char[] contents) {
+		StreamHasher hasher = new StreamHasher();
+		hasher.addChunk(contents);
+		return hasher.computeHash();
+	}
+
 	private static String getThreadName() {
 		String name = Thread.currentThread().getName();
 		if (name != null)
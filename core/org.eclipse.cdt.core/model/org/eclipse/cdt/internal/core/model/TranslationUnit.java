@@ -22,6 +22,7 @@ package org.eclipse.cdt.internal.core.model;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,6 +35,7 @@ import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ILinkage;
 import org.eclipse.cdt.core.dom.ast.IASTCompletionNode;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.parser.AbstractCLikeLanguage;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
@@ -73,9 +75,11 @@ import org.eclipse.cdt.core.settings.model.ICConfigurationDescription;
 import org.eclipse.cdt.core.settings.model.ICProjectDescription;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.CompositeValue;
+import org.eclipse.cdt.internal.core.dom.parser.IncrementalParseContext;
 import org.eclipse.cdt.internal.core.index.IndexBasedFileContentProvider;
 import org.eclipse.cdt.internal.core.parser.InternalParserUtil;
 import org.eclipse.cdt.internal.core.parser.ParserLogService;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.cdt.internal.core.pdom.indexer.ProjectIndexerIncludeResolutionHeuristics;
 import org.eclipse.cdt.internal.core.pdom.indexer.ProjectIndexerInputAdapter;
@@ -119,6 +123,26 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 	SourceManipulationInfo sourceManipulationInfo;
 	private ILanguage fLanguageOfContext;
 
+	/**
+	 * The AST most recently created for a working copy, the function bodies of which can be
+	 * reused when the working copy is parsed again after an edit.
+	 */
+	private volatile SoftReference<PreviousAST> fPreviousAST;
+
+	private static final class PreviousAST {
+		final IASTTranslationUnit fAST;
+		final int fStyle;
+		final ILanguage fLanguage;
+		final long fIndexTimestamp;
+
+		PreviousAST(IASTTranslationUnit ast, int style, ILanguage language, long indexTimestamp) {
+			fAST = ast;
+			fStyle = style;
+			fLanguage = language;
+			fIndexTimestamp = indexTimestamp;
+		}
+	}
+
 	public TranslationUnit(ICElement parent, IFile file, String idType) {
 		super(parent, file, ICElement.C_UNIT);
 		setContentTypeID(idType);
@@ -883,15 +907,53 @@ public class TranslationUnit extends Openable implements ITranslationUnit {
 		} else {
 			log = ParserUtil.getParserLogService();
 		}
-		ASTTranslationUnit ast = (ASTTranslationUnit) ((AbstractLanguage) language).getASTTranslationUnit(fileContent,
-				scanInfo, crf, index, options, log);
+		final long indexTimestamp = index == null ? -1 : index.getLastWriteAccess();
+		final IncrementalParseContext incrementalContext = getIncrementalParseContext(fileContent, style, language,
+				indexTimestamp);
+		ASTTranslationUnit ast;
+		if (incrementalContext != null) {
+			((InternalFileContent) fileContent).setIncrementalParseContext(incrementalContext);
+			ast = (ASTTranslationUnit) ((AbstractLanguage) language).getASTTranslationUnit(fileContent, scanInfo, crf,
+					index, options, log);
+			if (ast != null && !incrementalContext.isValidResult(ast)) {
+				// The edit had effects beyond the function bodies, parse the entire file.
+				fileContent = FileContent.create(this);
+				if (fileContent == null)
+					return null;
+				crf = getIncludeFileContentProvider(style, index, language.getLinkageID(), contextToHeader);
+				ast = (ASTTranslationUnit) ((AbstractLanguage) language).getASTTranslationUnit(fileContent, scanInfo,
+						crf, index, options, log);
+			}
+		} else {
+			ast = (ASTTranslationUnit) ((AbstractLanguage) language).getASTTranslationUnit(fileContent, scanInfo, crf,
+					index, options, log);
+		}
 		if (ast == null)
 			return null;
 		ast.setOriginatingTranslationUnit(this);
 		ast.setBasedOnIncompleteIndex(incompleteIndex);
+		if (this instanceof IWorkingCopy && !ast.hasNodesOmitted()) {
+			fPreviousAST = new SoftReference<>(new PreviousAST(ast, style, language, indexTimestamp));
+		}
 		return ast;
 	}
 
+	/**
+	 * Returns a context for reusing the function bodies of the previous AST of this working copy,
+	 * or {@code null} if there is no previous AST that was created under the same conditions.
+	 */
+	private IncrementalParseContext getIncrementalParseContext(FileContent fileContent, int style,
+			ILanguage language, long indexTimestamp) {
+		final SoftReference<PreviousAST> ref = fPreviousAST;
+		final PreviousAST previous = ref == null ? null : ref.get();
+		if (previous == null || previous.fStyle != style || previous.fLanguage != language
+				|| previous.fIndexTimestamp != indexTimestamp || !(language instanceof AbstractCLikeLanguage)
+				|| !(fileContent instanceof InternalFileContent)) {
+			return null;
+		}
+		return IncrementalParseContext.create(previous.fAST, ((InternalFileContent) fileContent).getSource());
+	}
+
 	private IncludeFileContentProvider getIncludeFileContentProvider(int style, IIndex index, int linkageID,
 			IIndexFile[] contextToHeader) {
 		final ICProject cprj = getCProject();
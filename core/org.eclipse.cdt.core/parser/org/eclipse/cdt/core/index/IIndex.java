@@ -226,6 +226,29 @@ public interface IIndex {
 	 */
 	public IIndexInclude[] findIncludedBy(IIndexFile file, int depth) throws CoreException;
 
+	/**
+	 * Returns all files that include the given file, directly or indirectly. These are the files
+	 * affected by a change of the given file. Unlike {@link #findIncludedBy(IIndexFile, int)} the
+	 * query does not follow the include directives one by one, it uses a compact representation of
+	 * the include graph and is suitable for large sets of files.
+	 * @param file the file for which the includers are searched for
+	 * @return an array of files with content, not containing the given file
+	 * @throws CoreException
+	 * @since 8.3
+	 */
+	public IIndexFile[] findIncludingFiles(IIndexFile file) throws CoreException;
+
+	/**
+	 * Returns all files that are included by the given file, directly or indirectly. Unlike
+	 * {@link #findIncludes(IIndexFile, int)} the query does not follow the include directives one
+	 * by one, it uses a compact representation of the include graph.
+	 * @param file the file for which the included files are searched for
+	 * @return an array of files with content, not containing the given file
+	 * @throws CoreException
+	 * @since 8.3
+	 */
+	public IIndexFile[] findIncludedFiles(IIndexFile file) throws CoreException;
+
 	/**
 	 * Resolves the file that is included by the given include directive. May return {@code null}
 	 * in case the file cannot be found. This is usually more efficient than using:
@@ -402,6 +425,26 @@ public interface IIndex {
 	 */
 	public IIndexName[] findNames(IBinding binding, int flags) throws CoreException;
 
+	/**
+	 * Searches for all names that resolve to the given binding, like
+	 * {@link #findNames(IBinding, int)}, but passes the names to the visitor in batches while
+	 * the search is running rather than collecting all of them first. The search stops as soon
+	 * as the visitor returns {@code false}. The names are passed in the order in which
+	 * {@link #findNames(IBinding, int)} returns them.
+	 *
+	 * @param binding a binding for which names are searched for
+	 * @param flags a combination of {@link #FIND_DECLARATIONS}, {@link #FIND_DEFINITIONS},
+	 * {@link #FIND_REFERENCES}, {@link #SEARCH_ACROSS_LANGUAGE_BOUNDARIES}, and
+	 * {@link #FIND_POTENTIAL_MATCHES}.
+	 * @param batchSize the maximum number of names passed to the visitor at a time
+	 * @param visitor the visitor receiving the names
+	 * @return {@code false} if the search was stopped by the visitor, {@code true} otherwise
+	 * @throws CoreException
+	 * @since 8.3
+	 */
+	public boolean findNames(IBinding binding, int flags, int batchSize, IIndexNameVisitor visitor)
+			throws CoreException;
+
 	/**
 	 * Searches for all references that resolve to the given binding.
 	 * This is fully equivalent to
@@ -438,6 +481,19 @@ public interface IIndex {
 	 */
 	public IIndexName[] findDefinitions(IBinding binding) throws CoreException;
 
+	/**
+	 * Returns the classes that directly derive from the given class. Derived classes are kept
+	 * with the classes they derive from, such that the query does not have to search for the names
+	 * of the base specifiers. Classes deriving from an instance of a class template are returned for
+	 * the template.
+	 * @param classType a class, a class template or a typedef of a class for which the derived
+	 *     classes are searched for
+	 * @return an array of the derived classes
+	 * @throws CoreException
+	 * @since 8.3
+	 */
+	public IIndexBinding[] findDerivedClasses(IBinding classType) throws CoreException;
+
 	/**
 	 * Returns an {@link IIndexBinding} for this index that is equivalent to the specified binding,
 	 * or null if such a binding does not exist in this index. This is useful for adapting
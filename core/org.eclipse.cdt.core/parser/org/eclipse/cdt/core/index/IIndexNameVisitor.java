@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.core.index;
+
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Receives the names found by {@link IIndex#findNames(IBinding, int, int, IIndexNameVisitor)}
+ * in batches, while the search is still running.
+ * <p>
+ * Clients may implement this interface.
+ *
+ * @since 8.3
+ */
+public interface IIndexNameVisitor {
+	/**
+	 * Called for each batch of names found. The names are valid only as long as the read lock
+	 * on the index is held.
+	 *
+	 * @param names the next batch of names, never empty
+	 * @return {@code true} to continue the search, {@code false} to stop it
+	 * @throws CoreException to abort the search, the exception is passed on to the caller
+	 *     of the search
+	 */
+	boolean visit(IIndexName[] names) throws CoreException;
+}
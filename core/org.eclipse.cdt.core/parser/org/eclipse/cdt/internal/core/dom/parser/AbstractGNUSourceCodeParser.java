@@ -227,6 +227,7 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 
 	private final INodeFactory nodeFactory;
 	private boolean fActiveCode = true;
+	private IncrementalParseContext fIncrementalParseContext;
 
 	protected AbstractGNUSourceCodeParser(IScanner scanner, IParserLogService logService, ParserMode parserMode,
 			INodeFactory nodeFactory, boolean supportStatementsInExpressions, boolean supportTypeOfUnaries,
@@ -1524,9 +1525,62 @@ public abstract class AbstractGNUSourceCodeParser implements ISourceCodeParser {
 		}
 
 		// full parse
+		if (fIncrementalParseContext != null) {
+			IASTCompoundStatement body = reuseFunctionBody();
+			if (body != null)
+				return body;
+		}
 		return functionBody();
 	}
 
+	/**
+	 * Provides the function bodies of a previous AST of the file, which are reused for the
+	 * parts of the file that have not been changed.
+	 */
+	public void setIncrementalParseContext(IncrementalParseContext context) {
+		fIncrementalParseContext = context;
+	}
+
+	/**
+	 * Skips the function body at the current position and returns a copy of the corresponding
+	 * body of the previous AST, or returns {@code null} without consuming tokens if there is
+	 * no such body or its extent does not match.
+	 */
+	private IASTCompoundStatement reuseFunctionBody() throws EndOfFileException {
+		final IToken lbrace = LA(1);
+		if (lbrace.getType() != IToken.tLBRACE)
+			return null;
+		final ILocationResolver lr = getTranslationUnit().getAdapter(ILocationResolver.class);
+		if (lr == null || !lr.isPartOfTranslationUnitFile(lbrace.getOffset()))
+			return null;
+		final IASTFileLocation startLoc = lr.getMappedFileLocation(lbrace.getOffset(), 1);
+		if (startLoc == null || startLoc.getNodeLength() != 1)
+			return null;
+		final IASTCompoundStatement previousBody = fIncrementalParseContext
+				.findReusableBody(startLoc.getNodeOffset());
+		if (previousBody == null)
+			return null;
+
+		final IToken mark = mark();
+		try {
+			IToken rbrace = skipOverCompoundStatement(false);
+			if (rbrace.getEndOffset() - lbrace.getOffset() == ((ASTNode) previousBody).getLength()) {
+				IASTFileLocation endLoc = lr.getMappedFileLocation(rbrace.getOffset(), 1);
+				if (endLoc != null && endLoc.getNodeLength() == 1 && endLoc.getNodeOffset()
+						+ 1 == startLoc.getNodeOffset() + previousBody.getFileLocation().getNodeLength()) {
+					IASTCompoundStatement body = fIncrementalParseContext.copyBody(previousBody,
+							lbrace.getOffset());
+					if (body != null)
+						return body;
+				}
+			}
+		} catch (BacktrackException | EndOfFileException e) {
+			// Parse the body, instead.
+		}
+		backup(mark);
+		return null;
+	}
+
 	/**
 	 * Parses a function body.
 	 *
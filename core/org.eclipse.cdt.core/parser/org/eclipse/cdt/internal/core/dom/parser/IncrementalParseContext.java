@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.cdt.core.dom.ast.ASTGenericVisitor;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTCompoundStatement;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTNode.CopyStyle;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorFunctionStyleMacroDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorIncludeStatement;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroExpansion;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.ILocationResolver;
+
+/**
+ * Allows the parser to reuse the function bodies of a previous AST of the same file,
+ * when the file has been edited inside a single function body. The edit is computed by
+ * comparing the contents of the previous AST with the new contents. Function bodies that
+ * do not overlap with the edit are copied from the previous AST instead of being parsed,
+ * the rest of the file is parsed as usual.
+ * <p>
+ * Edits that may change the lexical structure or the preprocessing of the rest of the file
+ * (comments, literals, preprocessing directives) are not supported, for those no context
+ * is created. An AST created with a context has to be checked with
+ * {@link #isValidResult(IASTTranslationUnit)}, because some effects of an edit can only be
+ * detected after parsing.
+ */
+public final class IncrementalParseContext {
+	/**
+	 * Macros that expand to a value that depends on the position or the time of the expansion.
+	 */
+	private static final String[] VOLATILE_MACROS = { "__LINE__", "__COUNTER__", "__DATE__", "__TIME__", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			"__TIMESTAMP__" }; //$NON-NLS-1$
+
+	private final IASTTranslationUnit fPreviousAST;
+	private final AbstractCharArray fContents;
+	/** Start of the edit, same in the previous and the new contents. */
+	private final int fEditOffset;
+	/** End of the edit in the previous contents. */
+	private final int fOldEditEnd;
+	/** End of the edit in the new contents. */
+	private final int fNewEditEnd;
+	/** Location of the function body containing the edit in the previous contents, or {@code null}. */
+	private final IASTFileLocation fEditedBody;
+	/** Function bodies of the previous AST that can be reused, by offset in the previous contents. */
+	private final Map<Integer, IASTCompoundStatement> fReusableBodies;
+	private int fReusedBodies;
+
+	private IncrementalParseContext(IASTTranslationUnit previousAST, AbstractCharArray contents, int editOffset,
+			int oldEditEnd, int newEditEnd, IASTFileLocation editedBody,
+			Map<Integer, IASTCompoundStatement> reusableBodies) {
+		fPreviousAST = previousAST;
+		fContents = contents;
+		fEditOffset = editOffset;
+		fOldEditEnd = oldEditEnd;
+		fNewEditEnd = newEditEnd;
+		fEditedBody = editedBody;
+		fReusableBodies = reusableBodies;
+	}
+
+	/**
+	 * Creates a context for parsing the new contents of the file of the given AST.
+	 *
+	 * @param previousAST a complete AST of the file, parsed with the same options that will be
+	 *     used for the new parse.
+	 * @param contents the new contents of the file.
+	 * @return the context, or {@code null} if the edit does not allow for reusing function bodies.
+	 */
+	public static IncrementalParseContext create(IASTTranslationUnit previousAST, AbstractCharArray contents) {
+		if (previousAST.hasNodesOmitted() || !(previousAST instanceof ASTTranslationUnit))
+			return null;
+		final ILocationResolver resolver = previousAST.getAdapter(ILocationResolver.class);
+		if (resolver == null || contents.hasError())
+			return null;
+
+		final String oldContents = previousAST.getRawSignature();
+		final int oldLength = oldContents.length();
+		final int newLength = contents.getLength();
+		final int commonLength = Math.min(oldLength, newLength);
+		int prefix = 0;
+		while (prefix < commonLength && oldContents.charAt(prefix) == contents.get(prefix)) {
+			prefix++;
+		}
+		final int editOffset = prefix;
+		int suffix = 0;
+		while (suffix < commonLength - editOffset
+				&& oldContents.charAt(oldLength - 1 - suffix) == contents.get(newLength - 1 - suffix)) {
+			suffix++;
+		}
+		final int oldEditEnd = oldLength - suffix;
+		final int newEditEnd = newLength - suffix;
+		final boolean isEdited = oldEditEnd > editOffset || newEditEnd > editOffset;
+		if (isEdited && (mayChangeLexicalStructure(oldContents, editOffset, oldEditEnd)
+				|| mayChangeLexicalStructure(contents, editOffset, newEditEnd))) {
+			return null;
+		}
+		if (expandsMacro(previousAST, "__COUNTER__")) //$NON-NLS-1$
+			return null;
+
+		final int[] directives = getDirectiveOffsets(previousAST);
+		final int[] volatileExpansions = getVolatileExpansionOffsets(previousAST);
+		final Map<Integer, IASTCompoundStatement> reusableBodies = new HashMap<>();
+		final IASTFileLocation[] editedBody = new IASTFileLocation[1];
+		previousAST.accept(new ASTVisitor() {
+			{
+				shouldVisitDeclarations = true;
+			}
+
+			@Override
+			public int visit(IASTDeclaration declaration) {
+				if (!(declaration instanceof IASTFunctionDefinition) || !declaration.isActive())
+					return PROCESS_CONTINUE;
+				if (!(((IASTFunctionDefinition) declaration).getBody() instanceof IASTCompoundStatement))
+					return PROCESS_CONTINUE;
+				IASTCompoundStatement body = (IASTCompoundStatement) ((IASTFunctionDefinition) declaration)
+						.getBody();
+				if (!resolver.isPartOfTranslationUnitFile(((ASTNode) body).getOffset()))
+					return PROCESS_CONTINUE;
+				IASTFileLocation loc = body.getFileLocation();
+				if (loc == null)
+					return PROCESS_CONTINUE;
+				final int start = loc.getNodeOffset();
+				final int end = start + loc.getNodeLength();
+				if (end > oldLength || loc.getNodeLength() < 2 || oldContents.charAt(start) != '{'
+						|| oldContents.charAt(end - 1) != '}') {
+					return PROCESS_CONTINUE;
+				}
+				if (isEdited && start < editOffset && end > oldEditEnd) {
+					// Contains the edit, the innermost such body is visited last.
+					editedBody[0] = loc;
+				} else if ((!isEdited || end <= editOffset || start >= oldEditEnd)
+						&& !containsOffset(directives, start, end) && !containsOffset(volatileExpansions, start, end)) {
+					reusableBodies.put(start, body);
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		if (isEdited && editedBody[0] == null)
+			return null;
+		return new IncrementalParseContext(previousAST, contents, editOffset, oldEditEnd, newEditEnd, editedBody[0],
+				reusableBodies);
+	}
+
+	/**
+	 * Checks whether the text in the given range, extended by one character on each side,
+	 * contains characters that may start or end a comment, a literal or a preprocessing
+	 * directive, or form a trigraph or a digraph.
+	 */
+	private static boolean mayChangeLexicalStructure(CharSequence text, int start, int end) {
+		start = Math.max(0, start - 1);
+		end = Math.min(text.length(), end + 1);
+		char prev = 0;
+		for (int i = start; i < end; i++) {
+			final char c = text.charAt(i);
+			switch (c) {
+			case '#':
+			case '%':
+			case '"':
+			case '\'':
+			case '\\':
+				return true;
+			case '?':
+				if (prev == '?')
+					return true;
+				break;
+			case '*':
+				if (prev == '/')
+					return true;
+				break;
+			case '/':
+				if (prev == '/' || prev == '*')
+					return true;
+				break;
+			}
+			prev = c;
+		}
+		return false;
+	}
+
+	private static boolean mayChangeLexicalStructure(AbstractCharArray text, int start, int end) {
+		return mayChangeLexicalStructure(text.subSequence(0, text.getLength()), start, end);
+	}
+
+	private static int[] getDirectiveOffsets(IASTTranslationUnit ast) {
+		IASTPreprocessorStatement[] statements = ast.getAllPreprocessorStatements();
+		int[] result = new int[statements.length];
+		int count = 0;
+		for (IASTPreprocessorStatement statement : statements) {
+			if (statement.isPartOfTranslationUnitFile()) {
+				IASTFileLocation loc = statement.getFileLocation();
+				if (loc != null)
+					result[count++] = loc.getNodeOffset();
+			}
+		}
+		result = Arrays.copyOf(result, count);
+		Arrays.sort(result);
+		return result;
+	}
+
+	private static int[] getVolatileExpansionOffsets(IASTTranslationUnit ast) {
+		IASTPreprocessorMacroExpansion[] expansions = ast.getMacroExpansions();
+		int[] result = new int[expansions.length];
+		int count = 0;
+		for (IASTPreprocessorMacroExpansion expansion : expansions) {
+			if (expansion.isPartOfTranslationUnitFile() && isVolatile(expansion)) {
+				IASTFileLocation loc = expansion.getFileLocation();
+				if (loc != null)
+					result[count++] = loc.getNodeOffset();
+			}
+		}
+		result = Arrays.copyOf(result, count);
+		Arrays.sort(result);
+		return result;
+	}
+
+	private static boolean isVolatile(IASTPreprocessorMacroExpansion expansion) {
+		if (isVolatile(expansion.getMacroReference()))
+			return true;
+		for (IASTName ref : expansion.getNestedMacroReferences()) {
+			if (isVolatile(ref))
+				return true;
+		}
+		return false;
+	}
+
+	private static boolean isVolatile(IASTName macroReference) {
+		String name = macroReference.toString();
+		for (String macro : VOLATILE_MACROS) {
+			if (macro.equals(name))
+				return true;
+		}
+		return false;
+	}
+
+	private static boolean expandsMacro(IASTTranslationUnit ast, String macro) {
+		for (IASTPreprocessorMacroExpansion expansion : ast.getMacroExpansions()) {
+			if (macro.equals(expansion.getMacroReference().toString()))
+				return true;
+			for (IASTName ref : expansion.getNestedMacroReferences()) {
+				if (macro.equals(ref.toString()))
+					return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean containsOffset(int[] sortedOffsets, int start, int end) {
+		int idx = Arrays.binarySearch(sortedOffsets, start);
+		if (idx >= 0)
+			return true;
+		idx = -idx - 1;
+		return idx < sortedOffsets.length && sortedOffsets[idx] < end;
+	}
+
+	/**
+	 * Returns the function body of the previous AST that corresponds to a body starting at
+	 * the given offset of the new contents, or {@code null} if there is no such body that is
+	 * unaffected by the edit.
+	 */
+	IASTCompoundStatement findReusableBody(int fileOffset) {
+		final int oldOffset;
+		if (fileOffset < fEditOffset) {
+			oldOffset = fileOffset;
+		} else if (fileOffset >= fNewEditEnd) {
+			oldOffset = fileOffset - fNewEditEnd + fOldEditEnd;
+		} else {
+			return null;
+		}
+		if (fileOffset >= fContents.getLength() || fContents.get(fileOffset) != '{')
+			return null;
+		return fReusableBodies.get(oldOffset);
+	}
+
+	/**
+	 * Copies a body returned by {@link #findReusableBody(int)} and moves the nodes of the copy
+	 * to the given sequence number of the opening brace.
+	 *
+	 * @return the copy, or {@code null} if the body cannot be copied.
+	 */
+	IASTCompoundStatement copyBody(IASTCompoundStatement body, int sequenceNumber) {
+		final IASTCompoundStatement copy;
+		try {
+			copy = body.copy(CopyStyle.withoutLocations);
+		} catch (RuntimeException e) {
+			// Not all nodes support copying.
+			return null;
+		}
+		final int shift = sequenceNumber - ((ASTNode) body).getOffset();
+		if (shift != 0) {
+			copy.accept(new ASTGenericVisitor(true) {
+				{
+					shouldVisitTokens = true;
+					includeInactiveNodes = true;
+				}
+
+				@Override
+				protected int genericVisit(IASTNode node) {
+					ASTNode n = (ASTNode) node;
+					n.setOffset(n.getOffset() + shift);
+					return PROCESS_CONTINUE;
+				}
+			});
+		}
+		fReusedBodies++;
+		return copy;
+	}
+
+	/**
+	 * Returns the number of function bodies that were copied from the previous AST.
+	 */
+	public int getReusedBodyCount() {
+		return fReusedBodies;
+	}
+
+	/**
+	 * Checks whether the AST created with this context is equivalent to an AST created by
+	 * parsing the entire file.
+	 */
+	public boolean isValidResult(IASTTranslationUnit ast) {
+		if (ast == null || ast.hasNodesOmitted())
+			return false;
+		if (fEditedBody != null) {
+			// The edited body must still end where the edit of the text suggests.
+			final int length = fEditedBody.getNodeLength() + fNewEditEnd - fOldEditEnd;
+			IASTNode node = ast.getNodeSelector(null).findNode(fEditedBody.getNodeOffset(), length);
+			if (!(node instanceof IASTCompoundStatement) || !(node.getParent() instanceof IASTFunctionDefinition))
+				return false;
+		}
+		if (expandsMacro(ast, "__COUNTER__")) //$NON-NLS-1$
+			return false;
+		return haveSameMacros(fPreviousAST.getBuiltinMacroDefinitions(), ast.getBuiltinMacroDefinitions())
+				&& haveSameIncludes(fPreviousAST.getIncludeDirectives(), ast.getIncludeDirectives());
+	}
+
+	private static boolean haveSameMacros(IASTPreprocessorMacroDefinition[] macros1,
+			IASTPreprocessorMacroDefinition[] macros2) {
+		if (macros1.length != macros2.length)
+			return false;
+		for (int i = 0; i < macros1.length; i++) {
+			IASTPreprocessorMacroDefinition m1 = macros1[i];
+			IASTPreprocessorMacroDefinition m2 = macros2[i];
+			if (!m1.getName().toString().equals(m2.getName().toString())
+					|| !m1.getExpansion().equals(m2.getExpansion())) {
+				return false;
+			}
+			boolean isFunctionStyle = m1 instanceof IASTPreprocessorFunctionStyleMacroDefinition;
+			if (isFunctionStyle != m2 instanceof IASTPreprocessorFunctionStyleMacroDefinition)
+				return false;
+			if (isFunctionStyle && ((IASTPreprocessorFunctionStyleMacroDefinition) m1)
+					.getParameters().length != ((IASTPreprocessorFunctionStyleMacroDefinition) m2)
+							.getParameters().length) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean haveSameIncludes(IASTPreprocessorIncludeStatement[] includes1,
+			IASTPreprocessorIncludeStatement[] includes2) {
+		if (includes1.length != includes2.length)
+			return false;
+		for (int i = 0; i < includes1.length; i++) {
+			IASTPreprocessorIncludeStatement i1 = includes1[i];
+			IASTPreprocessorIncludeStatement i2 = includes2[i];
+			if (!Objects.equals(i1.getPath(), i2.getPath()) || i1.isResolved() != i2.isResolved()
+					|| i1.isActive() != i2.isActive() || i1.createsAST() != i2.createsAST()
+					|| i1.getIncludedFileContentsHash() != i2.getIncludedFileContentsHash()) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -62,7 +62,6 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateDeclaration;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTUsingDeclaration;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTVisibilityLabel;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPBase;
-import org.eclipse.cdt.core.dom.ast.cpp.ICPPBinding;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassScope;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassSpecialization;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
@@ -76,7 +75,6 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPReferenceType;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPSpecialization;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPUsingDeclaration;
 import org.eclipse.cdt.core.index.IIndex;
-import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.core.parser.util.ObjectSet;
@@ -836,38 +834,26 @@ public class ClassTypeHelper {
 	}
 
 	private static ICPPClassType[] getSubClasses(IIndex index, ICPPClassType mcl) throws CoreException {
-		Deque<ICPPBinding> result = new ArrayDeque<>();
+		Deque<ICPPClassType> result = new ArrayDeque<>();
 		HashSet<String> handled = new HashSet<>();
 		getSubClasses(index, mcl, result, handled);
 		result.removeFirst();
 		return result.toArray(new ICPPClassType[result.size()]);
 	}
 
-	private static void getSubClasses(IIndex index, ICPPBinding classOrTypedef, Collection<ICPPBinding> result,
+	private static void getSubClasses(IIndex index, ICPPClassType classType, Collection<ICPPClassType> result,
 			HashSet<String> handled) throws CoreException {
-		if (!(classOrTypedef instanceof IType))
-			return;
-
-		final String key = ASTTypeUtil.getType((IType) classOrTypedef, true);
+		final String key = ASTTypeUtil.getType(classType, true);
 		if (!handled.add(key)) {
 			return;
 		}
+		result.add(classType);
 
-		if (classOrTypedef instanceof ICPPClassType) {
-			result.add(classOrTypedef);
-		}
-
-		// TODO(nathanridge): Also find subclasses referenced via decltype-specifiers rather than names.
-		IIndexName[] names = index.findNames(classOrTypedef, IIndex.FIND_REFERENCES | IIndex.FIND_DEFINITIONS);
-		for (IIndexName indexName : names) {
-			if (indexName.isBaseSpecifier()) {
-				IIndexName subClassDef = indexName.getEnclosingDefinition();
-				if (subClassDef != null) {
-					IBinding subClass = index.findBinding(subClassDef);
-					if (subClass instanceof ICPPBinding) {
-						getSubClasses(index, (ICPPBinding) subClass, result, handled);
-					}
-				}
+		// The index keeps the derived classes with their base classes, also when the base
+		// specifier names a typedef.
+		for (IBinding subClass : index.findDerivedClasses(classType)) {
+			if (subClass instanceof ICPPClassType) {
+				getSubClasses(index, (ICPPClassType) subClass, result, handled);
 			}
 		}
 	}
@@ -3092,11 +3092,35 @@ public class CPPSemantics {
 		}
 
 		// No arguments to resolve function
-		final IASTNode lookupPoint = data.getLookupPoint();
 		if (!data.hasFunctionArguments()) {
 			return createFunctionSet(fns, data.getTemplateArguments(), lookupName);
 		}
 
+		// Results of overload resolution are memoized per translation unit.
+		final CPPASTTranslationUnit tu = data.getTranslationUnit();
+		OverloadResolutionKey memoKey = null;
+		if (tu != null) {
+			memoKey = OverloadResolutionKey.create(data, fns, allowUDC, resolveTargetedArgumentTypes);
+			if (memoKey != null) {
+				IBinding result = tu.getOverloadResolutionCache().get(memoKey);
+				if (result != null)
+					return result;
+			}
+		}
+		IBinding result = resolveFunctionCall(data, fns, allowUDC, resolveTargetedArgumentTypes);
+		// Problems refer to the name of the call and deferred functions to the arguments.
+		if (memoKey != null && result instanceof ICPPFunction && !(result instanceof ICPPDeferredFunction)
+				&& !(result instanceof ICPPUnknownBinding)) {
+			tu.getOverloadResolutionCache().put(memoKey, result);
+		}
+		return result;
+	}
+
+	private static IBinding resolveFunctionCall(LookupData data, ICPPFunction[] fns, boolean allowUDC,
+			boolean resolveTargetedArgumentTypes) throws DOMException {
+		final IASTName lookupName = data.getLookupName();
+		final IASTNode lookupPoint = data.getLookupPoint();
+
 		// Reduce our set of candidate functions to only those who have the right number of parameters.
 		final IType[] argTypes = data.getFunctionArgumentTypes();
 		ICPPFunction[] tmp = selectByArgumentCount(data, fns);
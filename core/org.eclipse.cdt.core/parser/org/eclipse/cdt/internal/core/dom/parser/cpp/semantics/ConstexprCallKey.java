@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.Arrays;
+
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+
+/**
+ * Identifies a call of a constexpr function by the function and the values of its arguments.
+ * Used as a key for memoizing the results of calls whose result depends on nothing else.
+ */
+public final class ConstexprCallKey {
+	private final ICPPFunction function;
+	private final char[] argumentSignature;
+	private final int hashCode;
+
+	ConstexprCallKey(ICPPFunction function, char[] argumentSignature) {
+		this.function = function;
+		this.argumentSignature = argumentSignature;
+		this.hashCode = 31 * function.hashCode() + CharArrayUtils.hash(argumentSignature);
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof ConstexprCallKey))
+			return false;
+		ConstexprCallKey other = (ConstexprCallKey) obj;
+		return hashCode == other.hashCode && function.equals(other.function)
+				&& Arrays.equals(argumentSignature, other.argumentSignature);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2016 Wind River Systems, Inc. and others.
+ * Copyright (c) 2012, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,9 +22,11 @@ import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUti
 import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.TDEF;
 
 import java.util.Arrays;
+import java.util.Map;
 
 import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
 import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IASTTypeId;
 import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IFunctionType;
@@ -46,6 +48,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateParameterMap;
 import org.eclipse.cdt.internal.core.dom.parser.CompositeValue;
 import org.eclipse.cdt.internal.core.dom.parser.DependentValue;
 import org.eclipse.cdt.internal.core.dom.parser.ITypeMarshalBuffer;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPClosureType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPFunction;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
@@ -348,6 +351,26 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		if (!function.isConstexpr())
 			return EvalFixed.INCOMPLETE;
 
+		// Results of calls that depend on nothing but the values of the arguments are memoized
+		// per translation unit.
+		ConstexprCallKey memoKey = null;
+		Map<ConstexprCallKey, ICPPEvaluation> memo = getConstexprCallCache();
+		if (memo != null) {
+			memoKey = createConstexprCallKey(function);
+			if (memoKey != null) {
+				ICPPEvaluation result = memo.get(memoKey);
+				if (result != null)
+					return result;
+			}
+		}
+		ICPPEvaluation result = evaluateFunctionBody(function, context);
+		if (memoKey != null && result != null && result != this && result.getValue().numberValue() != null) {
+			memo.put(memoKey, new EvalFixed(result.getType(), result.getValueCategory(), result.getValue()));
+		}
+		return result;
+	}
+
+	private ICPPEvaluation evaluateFunctionBody(ICPPFunction function, ConstexprEvaluationContext context) {
 		ActivationRecord record = createActivationRecord(function.getParameters(), fArguments, getImplicitThis());
 		ICPPExecution bodyExec = CPPFunction.getFunctionBodyExecution(function);
 		if (bodyExec == null) {
@@ -387,6 +410,43 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		return EvalFixed.INCOMPLETE;
 	}
 
+	private static Map<ConstexprCallKey, ICPPEvaluation> getConstexprCallCache() {
+		IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
+		if (lookupPoint != null) {
+			IASTTranslationUnit tu = lookupPoint.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getConstexprCallCache();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the key for memoizing the result of this call, or {@code null} if the result may
+	 * depend on more than the values of the arguments. That is the case for calls of methods and
+	 * for arguments passed by reference or pointer. Only calls with numeric arguments are memoized.
+	 */
+	private ConstexprCallKey createConstexprCallKey(ICPPFunction function) {
+		if (function instanceof ICPPMethod || getImplicitThis() != null)
+			return null;
+		for (ICPPParameter parameter : function.getParameters()) {
+			if (isReference(parameter))
+				return null;
+		}
+		SignatureBuilder buf = new SignatureBuilder();
+		try {
+			for (int i = 1; i < fArguments.length; i++) {
+				ICPPEvaluation arg = fArguments[i];
+				if (!(arg instanceof EvalFixed) || arg.getValue().numberValue() == null)
+					return null;
+				buf.marshalEvaluation(arg, true);
+			}
+		} catch (CoreException e) {
+			return null;
+		}
+		return new ConstexprCallKey(function, buf.getSignature());
+	}
+
 	public ICPPFunction resolveFunctionBinding() {
 		ICPPFunction function = getOverload();
 		if (function == null) {
@@ -413,8 +473,10 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 	}
 
 	private boolean isReference(IBinding binding) {
-		return binding instanceof IVariable && (((IVariable) binding).getType() instanceof ICPPReferenceType
-				|| ((IVariable) binding).getType() instanceof IPointerType);
+		if (!(binding instanceof IVariable))
+			return false;
+		IType type = SemanticUtil.getNestedType(((IVariable) binding).getType(), TDEF | CVTYPE);
+		return type instanceof ICPPReferenceType || type instanceof IPointerType;
 	}
 
 	public static ActivationRecord createActivationRecord(ICPPParameter[] parameters, ICPPEvaluation[] arguments,
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.ARRAY;
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.CVTYPE;
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.MPTR;
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.PTR;
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.REF;
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.TDEF;
+import static org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil.getNestedType;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import org.eclipse.cdt.core.dom.ast.DOMException;
+import org.eclipse.cdt.core.dom.ast.IASTExpression.ValueCategory;
+import org.eclipse.cdt.core.dom.ast.IBasicType;
+import org.eclipse.cdt.core.dom.ast.IBinding;
+import org.eclipse.cdt.core.dom.ast.IType;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPConstructor;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPMethod;
+import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPBasicType;
+
+/**
+ * Identifies a call for the purpose of overload resolution by the candidate functions, the types
+ * and value categories of the arguments and the options of the resolution. Used as a key for
+ * memoizing the results of overload resolution per translation unit.
+ * <p>
+ * Argument types are compared with {@link IType#isSameType(IType)}, because types equivalent for
+ * overload resolution are typically represented by different objects at different call sites.
+ */
+public final class OverloadResolutionKey {
+	private static final int ALLOW_UDC = 0x1;
+	private static final int RESOLVE_TARGETED_ARGUMENTS = 0x2;
+	private static final int ARGS_CONTAIN_IMPLIED_OBJECT = 0x4;
+
+	private final ICPPFunction[] functions;
+	private final IType[] argTypes;
+	private final ValueCategory[] argValueCategories;
+	private final IType impliedObjectType;
+	private final ValueCategory impliedObjectValueCategory;
+	private final int flags;
+	private final int hashCode;
+
+	private OverloadResolutionKey(ICPPFunction[] functions, IType[] argTypes, ValueCategory[] argValueCategories,
+			IType impliedObjectType, ValueCategory impliedObjectValueCategory, int flags) {
+		this.functions = functions;
+		this.argTypes = argTypes;
+		this.argValueCategories = argValueCategories;
+		this.impliedObjectType = impliedObjectType;
+		this.impliedObjectValueCategory = impliedObjectValueCategory;
+		this.flags = flags;
+		int hash = 31 * Arrays.hashCode(functions) + Arrays.hashCode(argValueCategories);
+		for (IType type : argTypes) {
+			hash = 31 * hash + hashType(type);
+		}
+		hash = 31 * hash + hashType(impliedObjectType);
+		this.hashCode = 31 * hash + flags;
+	}
+
+	/**
+	 * Creates the key for resolving a call of the given functions, or returns {@code null} if the
+	 * result of the resolution cannot be memoized. That is the case for calls with explicit
+	 * template arguments, with dependent arguments, with arguments naming overloaded functions,
+	 * which are resolved as a side effect, and for list-initialization, where narrowing depends
+	 * on the values of the arguments.
+	 */
+	static OverloadResolutionKey create(LookupData data, ICPPFunction[] functions, boolean allowUDC,
+			boolean resolveTargetedArgumentTypes) throws DOMException {
+		if (data.getTemplateArguments() != null || data.fNoNarrowing)
+			return null;
+		IType[] argTypes = data.getFunctionArgumentTypes();
+		ValueCategory[] argValueCategories = data.getFunctionArgumentValueCategories();
+		if (argTypes.length != argValueCategories.length)
+			return null;
+		for (IType type : argTypes) {
+			if (type == null || getNestedType(type, TDEF | REF | CVTYPE | PTR) instanceof FunctionSetType)
+				return null;
+		}
+		if (CPPTemplates.containsDependentType(argTypes))
+			return null;
+
+		IType impliedObjectType = null;
+		ValueCategory impliedObjectValueCategory = null;
+		if (!data.argsContainImpliedObject) {
+			for (ICPPFunction function : functions) {
+				if (function instanceof ICPPMethod && !(function instanceof ICPPConstructor)) {
+					impliedObjectType = data.getImpliedObjectType();
+					impliedObjectValueCategory = data.getImpliedObjectValueCategory();
+					if (impliedObjectType != null && CPPTemplates.isDependentType(impliedObjectType))
+						return null;
+					break;
+				}
+			}
+		}
+
+		int flags = 0;
+		if (allowUDC)
+			flags |= ALLOW_UDC;
+		if (resolveTargetedArgumentTypes)
+			flags |= RESOLVE_TARGETED_ARGUMENTS;
+		if (data.argsContainImpliedObject)
+			flags |= ARGS_CONTAIN_IMPLIED_OBJECT;
+		return new OverloadResolutionKey(functions.clone(), argTypes.clone(), argValueCategories.clone(),
+				impliedObjectType, impliedObjectValueCategory, flags);
+	}
+
+	/**
+	 * Computes a hash code that is equal for types that are the same. Only the innermost type is
+	 * considered, the containers and typedefs around it are ignored.
+	 */
+	private static int hashType(IType type) {
+		IType t = getNestedType(type, TDEF | REF | CVTYPE | PTR | MPTR | ARRAY);
+		if (t instanceof IBinding)
+			return CharArrayUtils.hash(((IBinding) t).getNameCharArray());
+		if (t instanceof IBasicType)
+			return ((IBasicType) t).getKind().ordinal();
+		return 0;
+	}
+
+	private static boolean isSameArgument(IType t1, IType t2) {
+		if (t1 == t2)
+			return true;
+		if (t1 == null || t2 == null || !t1.isSameType(t2))
+			return false;
+		// A literal zero converts to a pointer, and conversions of constants may not be narrowing.
+		IType s1 = getNestedType(t1, TDEF | REF | CVTYPE);
+		IType s2 = getNestedType(t2, TDEF | REF | CVTYPE);
+		if (!(s1 instanceof CPPBasicType) && !(s2 instanceof CPPBasicType))
+			return true;
+		if (!(s1 instanceof CPPBasicType) || !(s2 instanceof CPPBasicType))
+			return false;
+		CPPBasicType b1 = (CPPBasicType) s1;
+		CPPBasicType b2 = (CPPBasicType) s2;
+		return b1.isFromLiteral() == b2.isFromLiteral()
+				&& Objects.equals(b1.getAssociatedNumericalValue(), b2.getAssociatedNumericalValue());
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (!(obj instanceof OverloadResolutionKey))
+			return false;
+		OverloadResolutionKey other = (OverloadResolutionKey) obj;
+		if (hashCode != other.hashCode || flags != other.flags || argTypes.length != other.argTypes.length
+				|| impliedObjectValueCategory != other.impliedObjectValueCategory
+				|| !Arrays.equals(argValueCategories, other.argValueCategories)
+				|| !Arrays.equals(functions, other.functions)) {
+			return false;
+		}
+		for (int i = 0; i < argTypes.length; i++) {
+			if (!isSameArgument(argTypes[i], other.argTypes[i]))
+				return false;
+		}
+		return isSameArgument(impliedObjectType, other.impliedObjectType);
+	}
+}
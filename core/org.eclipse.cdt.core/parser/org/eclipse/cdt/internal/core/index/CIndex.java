@@ -25,7 +25,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -44,6 +46,7 @@ import org.eclipse.cdt.core.index.IIndexFileSet;
 import org.eclipse.cdt.core.index.IIndexInclude;
 import org.eclipse.cdt.core.index.IIndexMacro;
 import org.eclipse.cdt.core.index.IIndexName;
+import org.eclipse.cdt.core.index.IIndexNameVisitor;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.internal.core.dom.Linkage;
@@ -64,6 +67,7 @@ public class CIndex implements IIndex {
 	private static final boolean SPECIALCASE_SINGLES = true;
 
 	private final IIndexFragment[] fFragments;
+	private final FragmentQueryExecutor fExecutor;
 	private int fReadLock;
 	private ICompositesFactory cppCF, cCF, fCF;
 
@@ -74,7 +78,16 @@ public class CIndex implements IIndex {
 	 * they are located in the array after the PDOM fragments for the same project.
 	 */
 	public CIndex(IIndexFragment[] fragments) {
+		this(fragments, FragmentQueryExecutor.getDefault());
+	}
+
+	/**
+	 * Creates an index consisting of one or more fragments, which are queried using the
+	 * given executor.
+	 */
+	public CIndex(IIndexFragment[] fragments, FragmentQueryExecutor executor) {
 		fFragments = fragments;
+		fExecutor = executor;
 	}
 
 	@Override
@@ -108,27 +121,9 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindings(patterns, isFullyQualified, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindings(patterns, isFullyQualified,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findCompositeBindings(filter, monitor,
+					(fragment, fragmentFilter, fragmentMonitor) -> fragment.findBindings(patterns, isFullyQualified,
+							fragmentFilter, fragmentMonitor));
 		}
 	}
 
@@ -138,27 +133,8 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findMacroContainers(pattern, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findMacroContainers(pattern,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findCompositeBindings(filter, monitor, (fragment, fragmentFilter,
+					fragmentMonitor) -> fragment.findMacroContainers(pattern, fragmentFilter, fragmentMonitor));
 		}
 	}
 
@@ -186,21 +162,22 @@ public class CIndex implements IIndex {
 		// Read only fragments can be superseded by what the indexer writes into
 		// a writable fragment. Therefore names from a read-only fragment are
 		// ignored if there is a match in a writable fragment.
+		final IBinding target = binding;
+		IIndexFragmentName[][] fragmentNames = fExecutor.run(fFragments,
+				fragment -> fragment.findNames(target, flags), new IIndexFragmentName[fFragments.length][]);
 		HashSet<NameKey> encounteredNames = new HashSet<>();
-		for (IIndexFragment fragment : fFragments) {
-			if (fragment instanceof IWritableIndexFragment) {
-				final IIndexFragmentName[] names = fragment.findNames(binding, flags);
-				for (IIndexFragmentName name : names) {
+		for (int i = 0; i < fFragments.length; i++) {
+			if (fFragments[i] instanceof IWritableIndexFragment) {
+				for (IIndexFragmentName name : fragmentNames[i]) {
 					if (encounteredNames.add(new NameKey(name, true))) {
 						result.add(name);
 					}
 				}
 			}
 		}
-		for (IIndexFragment fragment : fFragments) {
-			if (!(fragment instanceof IWritableIndexFragment)) {
-				final IIndexFragmentName[] names = fragment.findNames(binding, flags);
-				for (IIndexFragmentName name : names) {
+		for (int i = 0; i < fFragments.length; i++) {
+			if (!(fFragments[i] instanceof IWritableIndexFragment)) {
+				for (IIndexFragmentName name : fragmentNames[i]) {
 					if (encounteredNames.add(new NameKey(name, false))) {
 						result.add(name);
 					}
@@ -210,6 +187,41 @@ public class CIndex implements IIndex {
 		return result.toArray(new IIndexName[result.size()]);
 	}
 
+	@Override
+	public boolean findNames(IBinding binding, int flags, int batchSize, IIndexNameVisitor visitor)
+			throws CoreException {
+		if (binding instanceof ICPPUsingDeclaration) {
+			IBinding[] bindings = ((ICPPUsingDeclaration) binding).getDelegates();
+			if (bindings == null || bindings.length == 0) {
+				return true;
+			}
+			if (bindings.length > 1) {
+				for (IBinding b : bindings) {
+					if (!findNames(b, flags, batchSize, visitor))
+						return false;
+				}
+				return true;
+			}
+			binding = bindings[0];
+		}
+
+		// The fragments are visited one after another, such that the first names are passed
+		// to the visitor early. The names are filtered like in findNames(IBinding, int).
+		NameBatch batch = new NameBatch(batchSize, visitor);
+		HashSet<NameKey> encounteredNames = new HashSet<>();
+		for (boolean writable : new boolean[] { true, false }) {
+			for (IIndexFragment fragment : fFragments) {
+				if ((fragment instanceof IWritableIndexFragment) == writable) {
+					if (!fragment.findNames(binding, flags,
+							name -> !encounteredNames.add(new NameKey(name, writable)) || batch.add(name))) {
+						return false;
+					}
+				}
+			}
+		}
+		return batch.flush();
+	}
+
 	@Override
 	public IIndexName[] findDeclarations(IBinding binding) throws CoreException {
 		return findNames(binding, FIND_DECLARATIONS_DEFINITIONS);
@@ -220,6 +232,16 @@ public class CIndex implements IIndex {
 		return findNames(binding, FIND_DEFINITIONS);
 	}
 
+	@Override
+	public IIndexBinding[] findDerivedClasses(IBinding classType) throws CoreException {
+		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
+			return fFragments[0].findDerivedClasses(classType);
+		}
+		IIndexFragmentBinding[][] fragmentBindings = fExecutor.run(fFragments,
+				fragment -> fragment.findDerivedClasses(classType), new IIndexFragmentBinding[fFragments.length][]);
+		return getCompositesFactory(ILinkage.CPP_LINKAGE_ID).getCompositeBindings(fragmentBindings);
+	}
+
 	@Override
 	public IIndexName[] findReferences(IBinding binding) throws CoreException {
 		return findNames(binding, FIND_REFERENCES);
@@ -323,10 +345,17 @@ public class CIndex implements IIndex {
 		Set<FileContentKey> handled = new HashSet<>();
 		while (true) {
 			Collection<IIndexFile> nextLevel = depth != 0 ? new ArrayDeque<>() : null;
-			for (IIndexFile indexFile : in) {
-				IIndexFragmentFile file1 = (IIndexFragmentFile) indexFile;
-				for (IIndexFragment fragment : fFragments) {
-					IIndexInclude[] includedBy = fragment.findIncludedBy(file1);
+			final IIndexFragmentFile[] files = in.toArray(new IIndexFragmentFile[in.size()]);
+			IIndexInclude[][][] fragmentIncludes = fExecutor.run(fFragments, fragment -> {
+				IIndexInclude[][] includes = new IIndexInclude[files.length][];
+				for (int j = 0; j < files.length; j++) {
+					includes[j] = fragment.findIncludedBy(files[j]);
+				}
+				return includes;
+			}, new IIndexInclude[fFragments.length][][]);
+			for (int j = 0; j < files.length; j++) {
+				for (int i = 0; i < fFragments.length; i++) {
+					IIndexInclude[] includedBy = fragmentIncludes[i][j];
 					for (IIndexInclude include : includedBy) {
 						final IIndexFile includer = include.getIncludedBy();
 						FileContentKey key = new FileContentKey(file.getLinkageID(), includer.getLocation(),
@@ -391,6 +420,63 @@ public class CIndex implements IIndex {
 		return result.toArray(new IIndexInclude[result.size()]);
 	}
 
+	@Override
+	public IIndexFile[] findIncludingFiles(IIndexFile file) throws CoreException {
+		return findRelatedFiles(file, IIndexFragment::findIncludingFiles);
+	}
+
+	@Override
+	public IIndexFile[] findIncludedFiles(IIndexFile file) throws CoreException {
+		return findRelatedFiles(file, IIndexFragment::findIncludedFiles);
+	}
+
+	private interface IFileRelation {
+		IIndexFragmentFile[] find(IIndexFragment fragment, IIndexFragmentFile[] files) throws CoreException;
+	}
+
+	/**
+	 * Computes the transitive closure of a relation between files across the fragments. The files
+	 * found in one fragment are looked up in the others, until no more files are found.
+	 */
+	private IIndexFile[] findRelatedFiles(IIndexFile file, IFileRelation relation) throws CoreException {
+		Map<FileContentKey, IIndexFragmentFile> result = new LinkedHashMap<>();
+		Set<FileContentKey> handled = new HashSet<>();
+		handled.add(new FileContentKey(file.getLinkageID(), file.getLocation(), file.getSignificantMacros()));
+		IIndexFragmentFile[] files = { (IIndexFragmentFile) file };
+		while (files.length > 0) {
+			final IIndexFragmentFile[] in = files;
+			IIndexFragmentFile[][] found = fExecutor.run(fFragments, fragment -> relation.find(fragment, in),
+					new IIndexFragmentFile[fFragments.length][]);
+			List<IIndexFragmentFile> nextLevel = new ArrayList<>();
+			for (IIndexFragmentFile[] fragmentFiles : found) {
+				for (IIndexFragmentFile related : fragmentFiles) {
+					FileContentKey key = new FileContentKey(related.getLinkageID(), related.getLocation(),
+							related.getSignificantMacros());
+					if (handled.add(key)) {
+						result.put(key, related);
+						nextLevel.add(related);
+					} else {
+						// Prefer a file with content.
+						IIndexFragmentFile known = result.get(key);
+						if (known != null && !known.hasContent() && related.hasContent()) {
+							result.put(key, related);
+						}
+					}
+				}
+			}
+			if (fFragments.length <= 1)
+				break; // The fragment has already computed the closure.
+			files = nextLevel.toArray(new IIndexFragmentFile[nextLevel.size()]);
+		}
+		List<IIndexFile> relatedFiles = new ArrayList<>(result.size());
+		for (IIndexFragmentFile related : result.values()) {
+			if (related.hasContent()) {
+				relatedFiles.add(related);
+			}
+		}
+		return relatedFiles.toArray(new IIndexFile[relatedFiles.size()]);
+	}
+
 	@Override
 	public synchronized void acquireReadLock() throws InterruptedException {
 		if (++fReadLock == 1) {
@@ -457,30 +543,12 @@ public class CIndex implements IIndex {
 			if (monitor == null) {
 				monitor = new NullProgressMonitor();
 			}
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			SubMonitor loopMonitor = SubMonitor.convert(monitor, Messages.CIndex_FindBindingsTask_label,
-					fFragments.length * linkages.length);
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindings(names, retargetFilter(linkage, filter),
-									loopMonitor.newChild(1));
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
+			SubMonitor progress = SubMonitor.convert(monitor, Messages.CIndex_FindBindingsTask_label, 1);
+			IIndexBinding[] result = findCompositeBindings(filter, progress, (fragment, fragmentFilter,
+					fragmentMonitor) -> fragment.findBindings(names, fragmentFilter, fragmentMonitor));
+			progress.worked(1);
 			monitor.done();
-			return flatten(result);
+			return result;
 		}
 	}
 
@@ -569,6 +637,77 @@ public class CIndex implements IIndex {
 		throw new CompositingNotImplementedError("Compositing not implemented for linkage ID " + linkageID); //$NON-NLS-1$
 	}
 
+	/**
+	 * A query for bindings on a single fragment.
+	 */
+	private interface IBindingQuery {
+		IBinding[] run(IIndexFragment fragment, IndexFilter filter, IProgressMonitor monitor) throws CoreException;
+	}
+
+	/**
+	 * Runs the query on all fragments for each linkage accepted by the filter, and combines the
+	 * bindings found in the fragments into composite bindings.
+	 */
+	private IIndexBinding[] findCompositeBindings(IndexFilter filter, IProgressMonitor monitor, IBindingQuery query)
+			throws CoreException {
+		final List<ILinkage> linkages = new ArrayList<>();
+		for (ILinkage linkage : Linkage.getIndexerLinkages()) {
+			if (filter.acceptLinkage(linkage)) {
+				linkages.add(linkage);
+			}
+		}
+		final IndexFilter fragmentFilter = fExecutor.isParallel(fFragments) ? synchronizedFilter(filter) : filter;
+		final IProgressMonitor fragmentMonitor = fExecutor.getFragmentMonitor(fFragments, monitor);
+		IIndexFragmentBinding[][][] fragmentResults = fExecutor.run(fFragments, fragment -> {
+			IIndexFragmentBinding[][] parts = new IIndexFragmentBinding[linkages.size()][];
+			for (int j = 0; j < parts.length; j++) {
+				try {
+					IBinding[] part = query.run(fragment, retargetFilter(linkages.get(j), fragmentFilter),
+							fragmentMonitor);
+					parts[j] = new IIndexFragmentBinding[part.length];
+					System.arraycopy(part, 0, parts[j], 0, part.length);
+				} catch (CoreException e) {
+					CCorePlugin.log(e);
+					parts[j] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+				}
+			}
+			return parts;
+		}, new IIndexFragmentBinding[fFragments.length][][]);
+
+		List<IIndexBinding[]> result = new ArrayList<>();
+		for (int j = 0; j < linkages.size(); j++) {
+			IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
+			for (int i = 0; i < fFragments.length; i++) {
+				fragmentBindings[i] = fragmentResults[i][j];
+			}
+			ICompositesFactory factory = getCompositesFactory(linkages.get(j).getLinkageID());
+			result.add(factory.getCompositeBindings(fragmentBindings));
+		}
+		return flatten(result);
+	}
+
+	/**
+	 * Returns a filter that can be used by concurrent queries, filters are not required to be
+	 * thread-safe.
+	 */
+	private static IndexFilter synchronizedFilter(final IndexFilter filter) {
+		return new IndexFilter() {
+			@Override
+			public boolean acceptBinding(IBinding binding) throws CoreException {
+				synchronized (filter) {
+					return filter.acceptBinding(binding);
+				}
+			}
+
+			@Override
+			public boolean acceptLinkage(ILinkage linkage) {
+				synchronized (filter) {
+					return filter.acceptLinkage(linkage);
+				}
+			}
+		};
+	}
+
 	private IndexFilter retargetFilter(final ILinkage linkage, final IndexFilter filter) {
 		return new IndexFilter() {
 			@Override
@@ -589,27 +728,9 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindingsForPrefix(prefix, filescope, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindingsForPrefix(prefix, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findCompositeBindings(filter, monitor,
+					(fragment, fragmentFilter, fragmentMonitor) -> fragment.findBindingsForPrefix(prefix, filescope,
+							fragmentFilter, fragmentMonitor));
 		}
 	}
 
@@ -619,27 +740,9 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindingsForContentAssist(prefix, filescope, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindingsForContentAssist(prefix, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findCompositeBindings(filter, monitor,
+					(fragment, fragmentFilter, fragmentMonitor) -> fragment.findBindingsForContentAssist(prefix,
+							filescope, fragmentFilter, fragmentMonitor));
 		}
 	}
 
@@ -649,27 +752,9 @@ public class CIndex implements IIndex {
 		if (SPECIALCASE_SINGLES && fFragments.length == 1) {
 			return fFragments[0].findBindings(name, filescope, filter, monitor);
 		} else {
-			List<IIndexBinding[]> result = new ArrayList<>();
-			ILinkage[] linkages = Linkage.getIndexerLinkages();
-			for (ILinkage linkage : linkages) {
-				if (filter.acceptLinkage(linkage)) {
-					IIndexFragmentBinding[][] fragmentBindings = new IIndexFragmentBinding[fFragments.length][];
-					for (int i = 0; i < fFragments.length; i++) {
-						try {
-							IBinding[] part = fFragments[i].findBindings(name, filescope,
-									retargetFilter(linkage, filter), monitor);
-							fragmentBindings[i] = new IIndexFragmentBinding[part.length];
-							System.arraycopy(part, 0, fragmentBindings[i], 0, part.length);
-						} catch (CoreException e) {
-							CCorePlugin.log(e);
-							fragmentBindings[i] = IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
-						}
-					}
-					ICompositesFactory factory = getCompositesFactory(linkage.getLinkageID());
-					result.add(factory.getCompositeBindings(fragmentBindings));
-				}
-			}
-			return flatten(result);
+			return findCompositeBindings(filter, monitor,
+					(fragment, fragmentFilter, fragmentMonitor) -> fragment.findBindings(name, filescope,
+							fragmentFilter, fragmentMonitor));
 		}
 	}
 
@@ -693,12 +778,23 @@ public class CIndex implements IIndex {
 		}
 		List<IIndexMacro> result = new ArrayList<>();
 		HashSet<IIndexFileLocation> handledIFLs = new HashSet<>();
-		SubMonitor loopMonitor = SubMonitor.convert(monitor, Messages.CIndex_FindBindingsTask_label, fFragments.length);
-		for (IIndexFragment fragment : fFragments) {
+		SubMonitor progress = SubMonitor.convert(monitor, Messages.CIndex_FindBindingsTask_label, 1);
+		final IndexFilter fragmentFilter = fExecutor.isParallel(fFragments) ? synchronizedFilter(filter) : filter;
+		final IProgressMonitor fragmentMonitor = fExecutor.getFragmentMonitor(fFragments, progress);
+		IIndexMacro[][] fragmentMacros = fExecutor.run(fFragments, fragment -> {
+			try {
+				return fragment.findMacros(name, isPrefix, caseSensitive, fragmentFilter, fragmentMonitor);
+			} catch (CoreException e) {
+				CCorePlugin.log(e);
+				return null;
+			}
+		}, new IIndexMacro[fFragments.length][]);
+		progress.worked(1);
+		for (IIndexMacro[] macros : fragmentMacros) {
+			if (macros == null)
+				continue;
 			HashSet<IIndexFile> allowedFiles = new HashSet<>();
 			try {
-				IIndexMacro[] macros = fragment.findMacros(name, isPrefix, caseSensitive, filter,
-						loopMonitor.newChild(1));
 				for (IIndexMacro indexMacro : macros) {
 					IIndexFile file = indexMacro.getFile();
 					if (!allowedFiles.contains(file)) {
@@ -734,6 +830,22 @@ public class CIndex implements IIndex {
 		return result;
 	}
 
+	public long getResultCacheHits() {
+		long result = 0;
+		for (IIndexFragment fragment : fFragments) {
+			result += fragment.getResultCacheHits();
+		}
+		return result;
+	}
+
+	public long getResultCacheMisses() {
+		long result = 0;
+		for (IIndexFragment fragment : fFragments) {
+			result += fragment.getResultCacheMisses();
+		}
+		return result;
+	}
+
 	public void resetCacheCounters() {
 		for (IIndexFragment fragment : fFragments) {
 			fragment.resetCacheCounters();
@@ -754,8 +866,9 @@ public class CIndex implements IIndex {
 	@Override
 	public IIndexFile[] getAllFiles() throws CoreException {
 		HashMap<IIndexFileLocation, IIndexFile> result = new HashMap<>();
-		for (IIndexFragment fragment : fFragments) {
-			for (IIndexFragmentFile file : fragment.getAllFiles()) {
+		for (IIndexFragmentFile[] files : fExecutor.run(fFragments, IIndexFragment::getAllFiles,
+				new IIndexFragmentFile[fFragments.length][])) {
+			for (IIndexFragmentFile file : files) {
 				if (file.hasContent()) {
 					result.put(file.getLocation(), file);
 				}
@@ -767,8 +880,9 @@ public class CIndex implements IIndex {
 	@Override
 	public IIndexFile[] getDefectiveFiles() throws CoreException {
 		HashMap<IIndexFileLocation, IIndexFile> result = new HashMap<>();
-		for (IIndexFragment fragment : fFragments) {
-			for (IIndexFragmentFile file : fragment.getDefectiveFiles()) {
+		for (IIndexFragmentFile[] files : fExecutor.run(fFragments, IIndexFragment::getDefectiveFiles,
+				new IIndexFragmentFile[fFragments.length][])) {
+			for (IIndexFragmentFile file : files) {
 				if (file.hasContent()) {
 					result.put(file.getLocation(), file);
 				}
@@ -780,8 +894,9 @@ public class CIndex implements IIndex {
 	@Override
 	public IIndexFile[] getFilesWithUnresolvedIncludes() throws CoreException {
 		HashMap<IIndexFileLocation, IIndexFile> result = new HashMap<>();
-		for (IIndexFragment fragment : fFragments) {
-			for (IIndexFragmentFile file : fragment.getFilesWithUnresolvedIncludes()) {
+		for (IIndexFragmentFile[] files : fExecutor.run(fFragments, IIndexFragment::getFilesWithUnresolvedIncludes,
+				new IIndexFragmentFile[fFragments.length][])) {
+			for (IIndexFragmentFile file : files) {
 				if (file.hasContent()) {
 					result.put(file.getLocation(), file);
 				}
@@ -821,6 +936,42 @@ public class CIndex implements IIndex {
 		return true;
 	}
 
+	/**
+	 * Collects names and passes them to a visitor in batches.
+	 */
+	private static final class NameBatch {
+		private final int fBatchSize;
+		private final IIndexNameVisitor fVisitor;
+		private IIndexName[] fNames;
+		private int fSize;
+
+		NameBatch(int batchSize, IIndexNameVisitor visitor) {
+			fBatchSize = Math.max(1, batchSize);
+			fVisitor = visitor;
+		}
+
+		boolean add(IIndexName name) throws CoreException {
+			if (fNames == null) {
+				fNames = new IIndexName[fBatchSize];
+			}
+			fNames[fSize++] = name;
+			return fSize < fBatchSize || flush();
+		}
+
+		/**
+		 * Passes the collected names to the visitor.
+		 * @return the result of the visitor
+		 */
+		boolean flush() throws CoreException {
+			if (fSize == 0)
+				return true;
+			IIndexName[] names = fSize == fNames.length ? fNames : Arrays.copyOf(fNames, fSize);
+			fNames = null;
+			fSize = 0;
+			return fVisitor.visit(names);
+		}
+	}
+
 	/**
 	 * A key used to uniquely identify an IIndexFragmentName object. Uniqueness is guaranteed only
 	 * for names corresponding to the same binding.
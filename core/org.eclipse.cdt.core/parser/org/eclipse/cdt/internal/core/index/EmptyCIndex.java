@@ -30,6 +30,7 @@ import org.eclipse.cdt.core.index.IIndexFileSet;
 import org.eclipse.cdt.core.index.IIndexInclude;
 import org.eclipse.cdt.core.index.IIndexMacro;
 import org.eclipse.cdt.core.index.IIndexName;
+import org.eclipse.cdt.core.index.IIndexNameVisitor;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.core.runtime.CoreException;
@@ -51,6 +52,11 @@ final public class EmptyCIndex implements IIndex {
 		return IIndexFragmentName.EMPTY_NAME_ARRAY;
 	}
 
+	@Override
+	public IIndexBinding[] findDerivedClasses(IBinding classType) {
+		return IIndexBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
 	@Override
 	public IIndexName[] findReferences(IBinding binding) {
 		return IIndexFragmentName.EMPTY_NAME_ARRAY;
@@ -61,6 +67,11 @@ final public class EmptyCIndex implements IIndex {
 		return IIndexFragmentName.EMPTY_NAME_ARRAY;
 	}
 
+	@Override
+	public boolean findNames(IBinding binding, int flags, int batchSize, IIndexNameVisitor visitor) {
+		return true;
+	}
+
 	@Override
 	@Deprecated
 	public IIndexFile getFile(int linkageID, IIndexFileLocation location) {
@@ -98,6 +109,16 @@ final public class EmptyCIndex implements IIndex {
 		return IIndexInclude.EMPTY_INCLUDES_ARRAY;
 	}
 
+	@Override
+	public IIndexFile[] findIncludingFiles(IIndexFile file) {
+		return IIndexFile.EMPTY_FILE_ARRAY;
+	}
+
+	@Override
+	public IIndexFile[] findIncludedFiles(IIndexFile file) {
+		return IIndexFile.EMPTY_FILE_ARRAY;
+	}
+
 	@Override
 	public IIndexInclude[] findIncludes(IIndexFile file) {
 		return IIndexInclude.EMPTY_INCLUDES_ARRAY;
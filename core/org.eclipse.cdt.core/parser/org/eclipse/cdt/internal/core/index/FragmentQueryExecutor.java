@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.index;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * Runs a query on each fragment of an index concurrently, on a bounded pool of threads. The
+ * results are returned in the order of the fragments, such that merging them gives the same
+ * result as querying the fragments one after another.
+ * <p>
+ * The calling thread must hold the read lock on the fragments, the lock covers the threads of
+ * the pool while the query runs. Read locks of the PDOM are not bound to threads. The calling
+ * thread runs the queries that no thread of the pool has started yet, so a query makes progress
+ * even when the pool is busy, and queries issued from within a query cannot deadlock.
+ */
+public final class FragmentQueryExecutor {
+	/**
+	 * System property to change the number of threads querying fragments concurrently, including
+	 * the calling thread. A value of 1 queries the fragments one after another.
+	 */
+	public static final String PARALLELISM_PROPERTY = "org.eclipse.cdt.core.parser.index.fragmentQueryThreads"; //$NON-NLS-1$
+	public static final int DEFAULT_PARALLELISM = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+	private static final FragmentQueryExecutor sDefault = new FragmentQueryExecutor(
+			Integer.getInteger(PARALLELISM_PROPERTY, DEFAULT_PARALLELISM));
+
+	/**
+	 * A query on a single fragment.
+	 */
+	public interface IFragmentQuery<T> {
+		T run(IIndexFragment fragment) throws CoreException;
+	}
+
+	private final int fParallelism;
+	private final ThreadPoolExecutor fExecutor;
+
+	public static FragmentQueryExecutor getDefault() {
+		return sDefault;
+	}
+
+	/**
+	 * @param parallelism the maximum number of threads querying the fragments of an index,
+	 *     including the calling thread.
+	 */
+	public FragmentQueryExecutor(int parallelism) {
+		fParallelism = Math.max(1, parallelism);
+		if (fParallelism > 1) {
+			fExecutor = new ThreadPoolExecutor(fParallelism - 1, fParallelism - 1, 10, TimeUnit.SECONDS,
+					new LinkedBlockingQueue<>(), r -> {
+						Thread thread = new Thread(r, "C/C++ Index Query"); //$NON-NLS-1$
+						thread.setDaemon(true);
+						return thread;
+					});
+			fExecutor.allowCoreThreadTimeOut(true);
+		} else {
+			fExecutor = null;
+		}
+	}
+
+	public int getParallelism() {
+		return fParallelism;
+	}
+
+	/**
+	 * Checks whether queries on the given fragments are run concurrently.
+	 */
+	public boolean isParallel(IIndexFragment[] fragments) {
+		return fExecutor != null && fragments.length > 1;
+	}
+
+	/**
+	 * Runs the query on each of the fragments and returns the results in the order of the
+	 * fragments. Returns only after the query has completed on all fragments. If the query
+	 * fails on some fragments, the exception of the first of them is thrown.
+	 */
+	public <T> T[] run(IIndexFragment[] fragments, IFragmentQuery<T> query, T[] result) throws CoreException {
+		if (!isParallel(fragments)) {
+			for (int i = 0; i < fragments.length; i++) {
+				result[i] = query.run(fragments[i]);
+			}
+			return result;
+		}
+
+		@SuppressWarnings("unchecked")
+		FutureTask<T>[] tasks = new FutureTask[fragments.length];
+		for (int i = 0; i < fragments.length; i++) {
+			final IIndexFragment fragment = fragments[i];
+			tasks[i] = new FutureTask<>(() -> query.run(fragment));
+		}
+		// The first fragment is queried by the calling thread.
+		for (int i = 1; i < tasks.length; i++) {
+			fExecutor.execute(tasks[i]);
+		}
+		boolean interrupted = false;
+		Throwable failure = null;
+		for (int i = 0; i < tasks.length; i++) {
+			// Does nothing, if a thread of the pool has started the task.
+			tasks[i].run();
+			while (true) {
+				try {
+					result[i] = tasks[i].get();
+					break;
+				} catch (ExecutionException e) {
+					if (failure == null) {
+						failure = e.getCause();
+					}
+					break;
+				} catch (InterruptedException e) {
+					// The read lock must not be released while a query is still running.
+					interrupted = true;
+				}
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if (failure instanceof CoreException)
+			throw (CoreException) failure;
+		if (failure instanceof RuntimeException)
+			throw (RuntimeException) failure;
+		if (failure instanceof Error)
+			throw (Error) failure;
+		return result;
+	}
+
+	/**
+	 * Returns the monitor to pass to the queries on the given fragments. Concurrent queries do not
+	 * report progress, they only observe the cancellation of the given monitor.
+	 */
+	public IProgressMonitor getFragmentMonitor(IIndexFragment[] fragments, final IProgressMonitor monitor) {
+		if (monitor == null || !isParallel(fragments))
+			return monitor;
+		return new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return monitor.isCanceled();
+			}
+
+			@Override
+			public void setCanceled(boolean cancelled) {
+				monitor.setCanceled(cancelled);
+			}
+		};
+	}
+}
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.index;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.internal.core.parser.IMacroDictionary;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContent.InclusionKind;
+import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
+import org.eclipse.cdt.internal.core.parser.scanner.LazyCharArray;
+import org.eclipse.cdt.internal.core.pdom.IndexerInputAdapter;
+
+/**
+ * Size-bounded cache for the content of header files that is shared by all translation units
+ * parsed during one indexer run, including the ones parsed on worker threads. A header that
+ * has to be parsed again for another translation unit, e.g. because it is included with a
+ * different set of significant macros, is read and decoded only once per run.
+ * <p>
+ * The content of a file does not depend on the macros defined at the point of inclusion,
+ * therefore the entries are keyed by file location only. An entry is used only as long as the
+ * file is not modified. Content is shared between threads, therefore only immutable content is
+ * cached, e.g. decoded characters or undecoded ASCII files. Content that is loaded lazily is always
+ * requested from the underlying file content provider.
+ * <p>
+ * The tokens of a header are not cached, they depend on the macros defined at the point of
+ * inclusion.
+ */
+public final class HeaderContentCache {
+	/** Default limit for the total number of characters held by the cache. */
+	public static final long DEFAULT_MAX_CHARS = 16 * 1024 * 1024;
+
+	private static final class Entry {
+		final String fPath;
+		final AbstractCharArray fSource;
+		final long fTimestamp;
+		final long fFileSize;
+		final long fReadTime;
+
+		Entry(InternalFileContent content) {
+			fPath = content.getFileLocation();
+			fSource = content.getSource();
+			fTimestamp = content.getTimestamp();
+			fFileSize = content.getFileSize();
+			fReadTime = content.getReadTime();
+		}
+
+		InternalFileContent createContent() {
+			return new InternalFileContent(fPath, fSource, fTimestamp, fFileSize, fReadTime);
+		}
+	}
+
+	private final long fMaxChars;
+	private final Map<IIndexFileLocation, Entry> fEntries = new LinkedHashMap<>(16, 0.75f, true);
+	private long fChars;
+	private long fHits;
+	private long fMisses;
+
+	public HeaderContentCache() {
+		this(DEFAULT_MAX_CHARS);
+	}
+
+	public HeaderContentCache(long maxChars) {
+		fMaxChars = maxChars;
+	}
+
+	/**
+	 * Returns a file content provider that serves the content of files from this cache and
+	 * requests it from the given provider otherwise.
+	 */
+	public InternalFileContentProvider createProvider(InternalFileContentProvider delegate,
+			IndexerInputAdapter resolver) {
+		return new CachingProvider(delegate, resolver);
+	}
+
+	private synchronized InternalFileContent get(IIndexFileLocation ifl, long timestamp) {
+		Entry entry = fEntries.get(ifl);
+		if (entry != null) {
+			if (entry.fTimestamp == timestamp) {
+				fHits++;
+				return entry.createContent();
+			}
+			fEntries.remove(ifl);
+			fChars -= entry.fSource.getLength();
+		}
+		fMisses++;
+		return null;
+	}
+
+	private synchronized void put(IIndexFileLocation ifl, InternalFileContent content) {
+		if (content.getKind() != InclusionKind.USE_SOURCE || content.hasError())
+			return;
+		AbstractCharArray source = content.getSource();
+		// Lazily loaded content changes when it is accessed.
+		if (source instanceof LazyCharArray || source.getLength() > fMaxChars)
+			return;
+
+		Entry old = fEntries.put(ifl, new Entry(content));
+		if (old != null) {
+			fChars -= old.fSource.getLength();
+		}
+		fChars += source.getLength();
+		for (Iterator<Entry> it = fEntries.values().iterator(); fChars > fMaxChars && it.hasNext();) {
+			fChars -= it.next().fSource.getLength();
+			it.remove();
+		}
+	}
+
+	/**
+	 * Removes all entries from the cache.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+		fChars = 0;
+	}
+
+	/**
+	 * Returns the total number of characters held by the cache.
+	 */
+	public synchronized long getSize() {
+		return fChars;
+	}
+
+	public synchronized long getHits() {
+		return fHits;
+	}
+
+	public synchronized long getMisses() {
+		return fMisses;
+	}
+
+	private final class CachingProvider extends InternalFileContentProvider {
+		private final InternalFileContentProvider fDelegate;
+		private final IndexerInputAdapter fResolver;
+
+		CachingProvider(InternalFileContentProvider delegate, IndexerInputAdapter resolver) {
+			fDelegate = delegate;
+			fResolver = resolver;
+		}
+
+		@Override
+		public boolean getInclusionExists(String path) {
+			return fDelegate.getInclusionExists(path);
+		}
+
+		@Override
+		public InternalFileContent getContentForInclusion(String filePath, IMacroDictionary macroDictionary) {
+			IIndexFileLocation ifl = fResolver.resolveIncludeFile(filePath);
+			if (ifl == null)
+				return fDelegate.getContentForInclusion(filePath, macroDictionary);
+
+			InternalFileContent content = get(ifl, fResolver.getLastModified(ifl));
+			if (content == null) {
+				content = fDelegate.getContentForInclusion(filePath, macroDictionary);
+				if (content != null) {
+					put(ifl, content);
+				}
+			}
+			return content;
+		}
+
+		@Override
+		public InternalFileContent getContentForInclusion(IIndexFileLocation ifl, String astPath) {
+			InternalFileContent content = get(ifl, fResolver.getLastModified(ifl));
+			if (content == null) {
+				content = fDelegate.getContentForInclusion(ifl, astPath);
+				if (content != null) {
+					put(ifl, content);
+				}
+			}
+			return content;
+		}
+
+		@Override
+		public boolean shouldIndexAllHeaderVersions(String headerFileName) {
+			return fDelegate.shouldIndexAllHeaderVersions(headerFileName);
+		}
+	}
+}
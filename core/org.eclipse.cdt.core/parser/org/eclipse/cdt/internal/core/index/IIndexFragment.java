@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2014 Wind River Systems, Inc. and others.
+ * Copyright (c) 2006, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -155,6 +155,26 @@ public interface IIndexFragment {
 	 */
 	IIndexFragmentInclude[] findIncludedBy(IIndexFragmentFile file) throws CoreException;
 
+	/**
+	 * Returns the files managed by this fragment that include one of the given files, directly or
+	 * indirectly. The input files may belong to another fragment, they are not part of the result.
+	 * Only files with content are considered as includers.
+	 * @param files the files to search for includers of
+	 * @return an array of files managed by this fragment
+	 * @throws CoreException
+	 */
+	IIndexFragmentFile[] findIncludingFiles(IIndexFragmentFile[] files) throws CoreException;
+
+	/**
+	 * Returns the files managed by this fragment that are included by one of the given files,
+	 * directly or indirectly. The input files may belong to another fragment, they are not part
+	 * of the result.
+	 * @param files the files to search for included files of
+	 * @return an array of files managed by this fragment
+	 * @throws CoreException
+	 */
+	IIndexFragmentFile[] findIncludedFiles(IIndexFragmentFile[] files) throws CoreException;
+
 	/**
 	 * Looks for a binding matching the given one. May return <code>null</code>, if no
 	 * such binding exists. The binding may belong to an AST or another index fragment.
@@ -226,6 +246,37 @@ public interface IIndexFragment {
 	 */
 	IIndexFragmentName[] findNames(IBinding binding, int flags) throws CoreException;
 
+	/**
+	 * Receives the names found in a fragment one at a time.
+	 */
+	interface INameVisitor {
+		/**
+		 * @return {@code true} to continue the search, {@code false} to stop it
+		 */
+		boolean visit(IIndexFragmentName name) throws CoreException;
+	}
+
+	/**
+	 * Passes all names that resolve to the given binding to the visitor, in the order in which
+	 * {@link #findNames(IBinding, int)} returns them. The search stops as soon as the visitor
+	 * returns {@code false}.
+	 * @param binding a binding for which names are searched for
+	 * @param flags the same flags as for {@link #findNames(IBinding, int)}
+	 * @param visitor the visitor receiving the names
+	 * @return {@code false} if the search was stopped by the visitor, {@code true} otherwise
+	 * @throws CoreException
+	 */
+	boolean findNames(IBinding binding, int flags, INameVisitor visitor) throws CoreException;
+
+	/**
+	 * Returns the bindings of the classes of this fragment that directly derive from the given
+	 * class. The class may belong to an AST or another index fragment.
+	 * @param classType a class or class template
+	 * @return an array of derived classes
+	 * @throws CoreException
+	 */
+	IIndexFragmentBinding[] findDerivedClasses(IBinding classType) throws CoreException;
+
 	/**
 	 * Acquires a read lock.
 	 * @throws InterruptedException
@@ -313,6 +364,16 @@ public interface IIndexFragment {
 	 */
 	long getCacheMisses();
 
+	/**
+	 * Returns hits of the cache for results of queries since last reset of counters.
+	 */
+	long getResultCacheHits();
+
+	/**
+	 * Returns misses of the cache for results of queries since last reset of counters.
+	 */
+	long getResultCacheMisses();
+
 	/**
 	 * Creates an empty file set for this fragment
 	 * @since 5.0
@@ -342,6 +403,14 @@ public interface IIndexFragment {
 	 */
 	Object putCachedResult(Object key, Object value, boolean replace);
 
+	/**
+	 * Caches an object with the key that must not be recomputed while the fragment holds a lock,
+	 * because its identity matters. Unlike other cached objects it is never evicted from the cache
+	 * before the cache is cleared. An existing entry is not replaced.
+	 * @return the value that is actually stored.
+	 */
+	Object putPinnedResult(Object key, Object value);
+
 	/**
 	 * Returns a previously cached object, the cache is cleared at latest when the fragment no
 	 * longer holds a locks.
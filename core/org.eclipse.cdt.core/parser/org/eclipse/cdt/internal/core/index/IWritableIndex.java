@@ -124,6 +124,12 @@ public interface IWritableIndex extends IIndex {
 	 */
 	void clear() throws CoreException;
 
+	/**
+	 * Gives back unused space at the end of the writable fragment to the file system. Requires
+	 * a write lock.
+	 */
+	void compact() throws CoreException;
+
 	/**
 	 * Acquires a write lock, while giving up a certain amount of read locks.
 	 */
@@ -157,6 +163,16 @@ public interface IWritableIndex extends IIndex {
 	 */
 	long getCacheMisses();
 
+	/**
+	 * Returns hits of the cache for results of queries since last reset of counters.
+	 */
+	long getResultCacheHits();
+
+	/**
+	 * Returns misses of the cache for results of queries since last reset of counters.
+	 */
+	long getResultCacheMisses();
+
 	/**
 	 * Returns the primary writable fragment, or <code>null</code> if there is
 	 * no writable fragment.
@@ -35,6 +35,11 @@ public interface IWritableIndexFragment extends IIndexFragment {
 	 */
 	void clear() throws CoreException;
 
+	/**
+	 * Gives back unused space at the end of the fragment to the file system.
+	 */
+	void compact() throws CoreException;
+
 	/**
 	 * Clears the given file in the index.
 	 * @param file a file to clear, must belong to this fragment.
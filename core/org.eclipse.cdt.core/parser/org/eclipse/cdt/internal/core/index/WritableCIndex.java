@@ -95,6 +95,12 @@ public class WritableCIndex extends CIndex implements IWritableIndex {
 		getWritableFragment().clear();
 	}
 
+	@Override
+	public void compact() throws CoreException {
+		assert fIsWriteLocked;
+		getWritableFragment().compact();
+	}
+
 	@Override
 	public void clearFile(IIndexFragmentFile file) throws CoreException {
 		getWritableFragment().clearFile(file);
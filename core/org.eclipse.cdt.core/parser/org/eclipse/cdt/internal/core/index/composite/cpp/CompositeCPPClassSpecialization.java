@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2013 Symbian Software Systems and others.
+ * Copyright (c) 2007, 2026 Symbian Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -104,7 +104,7 @@ public class CompositeCPPClassSpecialization extends CompositeCPPClassType imple
 						}
 					}
 				}
-				specializationMap = (ObjectMap) frag.putCachedResult(key, newMap, false);
+				specializationMap = (ObjectMap) frag.putPinnedResult(key, newMap);
 			}
 		}
 		synchronized (specializationMap) {
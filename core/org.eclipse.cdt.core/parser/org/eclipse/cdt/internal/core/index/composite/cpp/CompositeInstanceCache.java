@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2009 Wind River Systems, Inc. and others.
+ * Copyright (c) 2008, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -40,7 +40,7 @@ public class CompositeInstanceCache {
 
 		CompositeInstanceCache newCache = new CompositeInstanceCache();
 		newCache.populate(cf, fb);
-		return (CompositeInstanceCache) frag.putCachedResult(key, newCache, false);
+		return (CompositeInstanceCache) frag.putPinnedResult(key, newCache);
 	}
 
 	private final HashMap<String, ICPPTemplateInstance> fMap;
@@ -156,6 +156,14 @@ public abstract class StandaloneIndexerTask extends AbstractIndexerTask {
 				trace(name + " Cache: " //$NON-NLS-1$
 						+ hits + " hits, " //$NON-NLS-1$
 						+ misses + "(" + nf.format(missPct) + ") misses."); //$NON-NLS-1$ //$NON-NLS-2$
+
+				misses = index.getResultCacheMisses();
+				hits = index.getResultCacheHits();
+				tries = misses + hits;
+				missPct = tries == 0 ? 0.0 : (double) misses / (double) tries;
+				trace(name + " Result cache: " //$NON-NLS-1$
+						+ hits + " hits, " //$NON-NLS-1$
+						+ misses + "(" + nf.format(missPct) + ") misses."); //$NON-NLS-1$ //$NON-NLS-2$
 			}
 		}
 	}
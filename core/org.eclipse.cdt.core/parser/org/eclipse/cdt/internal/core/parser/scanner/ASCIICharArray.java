@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.parser.scanner;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Implementation of char array for content that consists of ASCII characters, only. The characters
+ * are not decoded, they are read directly from a buffer of bytes. The buffer may be a memory-mapped
+ * region of a file.
+ */
+public final class ASCIICharArray extends AbstractCharArray {
+	private final ByteBuffer fBytes;
+	private final int fLength;
+	private long fHash64;
+
+	/**
+	 * Creates a char array for the bytes between the position and the limit of the given buffer,
+	 * or returns {@code null} in case the buffer contains characters other than ASCII.
+	 */
+	public static ASCIICharArray create(ByteBuffer bytes) {
+		if (!isASCII(bytes)) {
+			return null;
+		}
+		return new ASCIICharArray(bytes.slice());
+	}
+
+	private ASCIICharArray(ByteBuffer bytes) {
+		fBytes = bytes;
+		fLength = bytes.limit();
+	}
+
+	/**
+	 * Checks whether the bytes between the position and the limit of the given buffer are all
+	 * ASCII characters.
+	 */
+	public static boolean isASCII(ByteBuffer bytes) {
+		for (int i = bytes.position(); i < bytes.limit(); i++) {
+			if (bytes.get(i) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int getLength() {
+		return fLength;
+	}
+
+	@Override
+	public int tryGetLength() {
+		return fLength;
+	}
+
+	@Override
+	public char get(int offset) {
+		return (char) fBytes.get(offset);
+	}
+
+	@Override
+	public void arraycopy(int offset, char[] destination, int destinationPos, int length) {
+		if (offset < 0 || length < 0 || offset + length > fLength) {
+			throw new IndexOutOfBoundsException();
+		}
+		for (int i = 0; i < length; i++) {
+			destination[destinationPos + i] = (char) fBytes.get(offset + i);
+		}
+	}
+
+	@Override
+	public boolean isValidOffset(int offset) {
+		return offset >= 0 && offset < fLength;
+	}
+
+	@Override
+	public boolean hasError() {
+		return false;
+	}
+
+	@Override
+	public long getContentsHash() {
+		if (fHash64 == 0 && fLength != 0) {
+			StreamHasher hasher = new StreamHasher();
+			char[] chunk = new char[Math.min(fLength, LazyCharArray.CHUNK_SIZE)];
+			for (int offset = 0; offset < fLength; offset += chunk.length) {
+				if (fLength - offset < chunk.length) {
+					chunk = new char[fLength - offset];
+				}
+				arraycopy(offset, chunk, 0, chunk.length);
+				hasher.addChunk(chunk);
+			}
+			fHash64 = hasher.computeHash();
+		}
+		return fHash64;
+	}
+}
@@ -67,6 +67,8 @@ public class ExpressionEvaluator {
 	}
 
 	public IASTName[] clearMacrosInDefinedExpression() {
+		if (fMacrosInDefinedExpressions.isEmpty())
+			return IASTName.EMPTY_NAME_ARRAY;
 		IASTName[] result = fMacrosInDefinedExpressions.toArray(new IASTName[fMacrosInDefinedExpressions.size()]);
 		fMacrosInDefinedExpressions.clear();
 		return result;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2012 Wind River Systems, Inc. and others.
+ * Copyright (c) 2010, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,18 +20,33 @@ import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
+import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
 
 /**
- * Implementation of char array for a file referencing content via soft references.
+ * Implementation of char array for a file referencing content via soft references. Chunks of the
+ * file that consist of ASCII characters are not decoded.
  */
 public class FileCharArray extends LazyCharArray {
 	private static final String UTF8_CHARSET_NAME = "UTF-8"; //$NON-NLS-1$
+	/**
+	 * Character sets that encode ASCII characters in single bytes with the same value.
+	 */
+	private static final Set<String> ASCII_COMPATIBLE_CHARSETS = Set.of(UTF8_CHARSET_NAME, "US-ASCII", //$NON-NLS-1$
+			"ISO-8859-1", "ISO-8859-15", "windows-1252"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	/**
+	 * System property to read large files consisting of ASCII characters through memory-mapped
+	 * regions rather than copying them to the heap.
+	 */
+	public static final String MAPPED_IO_PROPERTY = "org.eclipse.cdt.core.parser.scanner.mmap"; //$NON-NLS-1$
+	private static final boolean MAPPED_IO = Boolean.getBoolean(MAPPED_IO_PROPERTY);
 
 	public static AbstractCharArray create(String fileName, String charSet, InputStream in) throws IOException {
 		// No support for non-local files.
@@ -47,10 +62,19 @@ public class FileCharArray extends LazyCharArray {
 		if (lsize < CHUNK_SIZE) {
 			return decodeSmallFile(channel, (int) lsize, charSet);
 		}
+		if (MAPPED_IO && lsize <= Integer.MAX_VALUE && isASCIICompatible(charSet)) {
+			AbstractCharArray chars = mapASCIIFile(channel, (int) lsize, charSet);
+			if (chars != null)
+				return chars;
+		}
 
 		return new FileCharArray(fileName, charSet);
 	}
 
+	private static boolean isASCIICompatible(String charSet) {
+		return ASCII_COMPATIBLE_CHARSETS.contains(Charset.forName(charSet).name());
+	}
+
 	private static AbstractCharArray decodeSmallFile(FileChannel channel, int lsize, String charSet)
 			throws IOException {
 		ByteBuffer byteBuffer = ByteBuffer.allocate(lsize);
@@ -58,11 +82,31 @@ public class FileCharArray extends LazyCharArray {
 		byteBuffer.flip();
 		skipUTF8ByteOrderMark(byteBuffer, charSet);
 
+		if (isASCIICompatible(charSet) && ASCIICharArray.isASCII(byteBuffer)) {
+			// No need to decode.
+			char[] buf = new char[byteBuffer.remaining()];
+			for (int i = 0; i < buf.length; i++) {
+				buf[i] = (char) byteBuffer.get();
+			}
+			return new CharArray(buf);
+		}
 		CharBuffer charBuffer = Charset.forName(charSet).decode(byteBuffer);
 		char[] buf = extractChars(charBuffer);
 		return new CharArray(buf);
 	}
 
+	/**
+	 * Maps a large file into memory without decoding it, returns {@code null} if the file contains
+	 * characters other than ASCII. The check stops at the first such character, the content is not
+	 * copied to the heap.
+	 */
+	private static AbstractCharArray mapASCIIFile(FileChannel channel, int lsize, String charSet)
+			throws IOException {
+		ByteBuffer byteBuffer = channel.map(MapMode.READ_ONLY, 0, lsize);
+		skipUTF8ByteOrderMark(byteBuffer, charSet);
+		return ASCIICharArray.create(byteBuffer);
+	}
+
 	private static void skipUTF8ByteOrderMark(ByteBuffer buf, String charset) {
 		if (charset.equals(UTF8_CHARSET_NAME) && buf.remaining() >= 3) {
 			int pos = buf.position();
@@ -85,6 +129,7 @@ public class FileCharArray extends LazyCharArray {
 
 	private final String fFileName;
 	private final String fCharSet;
+	private final boolean fASCIICompatible;
 	private boolean fHasError;
 	private FileChannel fChannel;
 	private long fNextFileOffset;
@@ -94,6 +139,7 @@ public class FileCharArray extends LazyCharArray {
 	private FileCharArray(String fileName, String charSet) {
 		fFileName = fileName;
 		fCharSet = charSet;
+		fASCIICompatible = isASCIICompatible(charSet);
 	}
 
 	@Override
@@ -125,6 +171,11 @@ public class FileCharArray extends LazyCharArray {
 
 		try {
 			assert fChannel != null;
+			if (fASCIICompatible) {
+				Chunk chunk = nextASCIIChunk();
+				if (chunk != null)
+					return chunk;
+			}
 			final Charset charset = Charset.forName(fCharSet);
 			final CharsetDecoder decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
 					.onUnmappableCharacter(CodingErrorAction.REPLACE);
@@ -171,6 +222,40 @@ public class FileCharArray extends LazyCharArray {
 		}
 	}
 
+	/**
+	 * Reads the next chunk without decoding it, provided it consists of ASCII characters. Returns
+	 * {@code null} otherwise, such that the chunk is decoded.
+	 */
+	private Chunk nextASCIIChunk() throws IOException {
+		// Leave room for the byte order mark.
+		final ByteBuffer in = ByteBuffer.allocate(CHUNK_SIZE + 3);
+		fChannel.position(fNextFileOffset);
+		while (in.hasRemaining() && fChannel.read(in) >= 0) {
+		}
+		in.flip();
+		if (fNextFileOffset == 0) {
+			skipUTF8ByteOrderMark(in, fCharSet);
+		}
+		final int start = in.position();
+		in.limit(Math.min(in.limit(), start + CHUNK_SIZE));
+		if (!in.hasRemaining() || !ASCIICharArray.isASCII(in)) {
+			return null;
+		}
+
+		final char[] chars = new char[in.remaining()];
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = (char) in.get();
+		}
+		if (chars.length < CHUNK_SIZE) {
+			fReachedEOF = true;
+		}
+		final long fileOffset = fNextFileOffset + in.limit();
+		Chunk chunk = newChunk(fNextFileOffset, fileOffset, fNextCharOffset, chars);
+		fNextFileOffset = fileOffset;
+		fNextCharOffset += chars.length;
+		return chunk;
+	}
+
 	@Override
 	protected void rereadChunkData(Chunk chunk, char[] dest) {
 		FileInputStream fis;
@@ -197,10 +282,6 @@ public class FileCharArray extends LazyCharArray {
 	}
 
 	private void decode(FileChannel channel, long fileOffset, long fileEndOffset, CharBuffer dest) throws IOException {
-		final Charset charset = Charset.forName(fCharSet);
-		final CharsetDecoder decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
-				.onUnmappableCharacter(CodingErrorAction.REPLACE);
-
 		final ByteBuffer in = ByteBuffer.allocate((int) (fileEndOffset - fileOffset));
 
 		in.clear();
@@ -210,6 +291,15 @@ public class FileCharArray extends LazyCharArray {
 		if (fileOffset == 0) {
 			skipUTF8ByteOrderMark(in, fCharSet);
 		}
+		if (fASCIICompatible && ASCIICharArray.isASCII(in)) {
+			while (in.hasRemaining() && dest.hasRemaining()) {
+				dest.put((char) in.get());
+			}
+			return;
+		}
+		final Charset charset = Charset.forName(fCharSet);
+		final CharsetDecoder decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
 		decoder.decode(in, dest, true);
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Wind River Systems, Inc. and others.
+ * Copyright (c) 2008, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,7 @@ import org.eclipse.cdt.core.index.IIndexMacro;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.FileContent;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
+import org.eclipse.cdt.internal.core.dom.parser.IncrementalParseContext;
 
 /**
  * Instructs the preprocessor on how to handle a file-inclusion.
@@ -69,6 +70,7 @@ public class InternalFileContent extends FileContent {
 	private ITranslationUnit fTranslationUnit;
 	private List<IIndexFile> fFiles;
 	private IncludeSearchPathElement fFoundOnPath;
+	private IncrementalParseContext fIncrementalParseContext;
 	private final long fTimestamp;
 	private final long fFileSize;
 	private final long fReadTime;
@@ -303,6 +305,18 @@ public class InternalFileContent extends FileContent {
 		fFoundOnPath = isp;
 	}
 
+	/**
+	 * Returns the context for reusing parts of a previous AST of this file when parsing it,
+	 * or {@code null}.
+	 */
+	public IncrementalParseContext getIncrementalParseContext() {
+		return fIncrementalParseContext;
+	}
+
+	public void setIncrementalParseContext(IncrementalParseContext context) {
+		fIncrementalParseContext = context;
+	}
+
 	/**
 	 * This method is slow. Use only for debugging.
 	 */
@@ -173,13 +173,26 @@ public class MacroExpander {
 		fEndOffset = identifier.getEndOffset();
 		fCompletionMode = completionMode;
 
+		TokenList result;
+		if (!macro.isFunctionStyle()) {
+			final TokenList tokens = macro.getTokens(fDefinitionParser, fLexOptions, this);
+			if (isFinalExpansion(tokens)) {
+				// Nothing to rescan, e.g. '#define FEATURE 1', avoid setting up the expansion of nested macros.
+				if (fReportMacros != null)
+					fReportMacros.significantMacro(macro);
+				result = clone(tokens);
+				postProcessTokens(result);
+				fReportMacros = null;
+				return result;
+			}
+		}
+
 		IdentityHashMap<PreprocessorMacro, PreprocessorMacro> forbidden = new IdentityHashMap<>();
 
 		// setup input sequence
 		TokenSource input = new TokenSource(lexer);
 		TokenList firstExpansion = new TokenList();
 
-		TokenList result;
 		try {
 			firstExpansion.append(new ExpansionBoundary(macro, true));
 			expandOne(identifier, macro, forbidden, input, firstExpansion, null);
@@ -201,6 +214,25 @@ public class MacroExpander {
 		return result;
 	}
 
+	/**
+	 * Checks whether the replacement list of an object-style macro is the final result of its
+	 * expansion, i.e. it contains neither identifiers that could be expanded further, nor token
+	 * pasting operators.
+	 */
+	private static boolean isFinalExpansion(TokenList tokens) {
+		if (tokens == null)
+			return false;
+		for (Token t = tokens.first(); t != null; t = (Token) t.getNext()) {
+			switch (t.getType()) {
+			case IToken.tIDENTIFIER:
+			case IToken.tPOUNDPOUND:
+			case IToken.tCOMPLETION:
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Method for tracking macro expansions.
 	 * @since 5.0
@@ -952,6 +984,8 @@ public class MacroExpander {
 	}
 
 	public IASTName[] clearImplicitExpansions() {
+		if (fImplicitMacroExpansions.isEmpty())
+			return IASTName.EMPTY_NAME_ARRAY;
 		IASTName[] result = fImplicitMacroExpansions.toArray(new IASTName[fImplicitMacroExpansions.size()]);
 		fImplicitMacroExpansions.clear();
 		return result;
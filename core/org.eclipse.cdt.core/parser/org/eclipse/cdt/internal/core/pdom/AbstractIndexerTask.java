@@ -33,6 +33,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,6 +52,7 @@ import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit.IDependencyTree;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit.IDependencyTree.IASTInclusionNode;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPUsingDirective;
+import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexInclude;
@@ -64,7 +71,9 @@ import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
 import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
 import org.eclipse.cdt.internal.core.dom.IIncludeFileResolutionHeuristics;
+import org.eclipse.cdt.internal.core.index.CIndex;
 import org.eclipse.cdt.internal.core.index.FileContentKey;
+import org.eclipse.cdt.internal.core.index.HeaderContentCache;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
@@ -323,8 +332,11 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private Set<String> fHeadersToIndexAllVersions = Collections.emptySet();
 	private Pattern fPragmaPrivatePattern;
 	private List<LinkageTask> fRequestsPerLinkage = new ArrayList<>();
-	private Map<IIndexFile, IndexFileContent> fIndexContentCache = new LRUCache<>(500);
-	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = new LRUCache<>(5000);
+	// The caches are used by the worker threads, too.
+	private Map<IIndexFile, IndexFileContent> fIndexContentCache = Collections.synchronizedMap(new LRUCache<>(500));
+	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = Collections
+			.synchronizedMap(new LRUCache<>(5000));
+	private final HeaderContentCache fHeaderContentCache = new HeaderContentCache();
 	private Map<IIndexFileLocation, LocationTask> fOneLinkageTasks = new HashMap<>();
 
 	private Object[] fFilesToUpdate;
@@ -339,6 +351,11 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private long fIncludedFileSizeLimit;
 	private InternalFileContentProvider fCodeReaderFactory;
 	private int fSwallowOutOfMemoryError = 5;
+	private int fWorkerCount = 1;
+	private ExecutorService fWorkers;
+	private BlockingQueue<WorkerContext> fWorkerContexts;
+	private int fShardIndex;
+	private int fShardCount = 1;
 	/**
 	 * A queue of urgent indexing tasks that contribute additional files to this task.
 	 * The files from the urgent tasks are indexed before all not yet processed files.
@@ -398,6 +415,38 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fPragmaPrivatePattern = pattern;
 	}
 
+	/**
+	 * Sets the number of threads used for parsing source files. With more than one thread the
+	 * sources are parsed in parallel, while the thread running the task writes the results to the
+	 * index one after the other. Requires an input adapter that can be used from multiple threads.
+	 */
+	public final void setWorkerCount(int count) {
+		fWorkerCount = Math.max(1, count);
+	}
+
+	/**
+	 * Restricts the files the task indexes on its own account to one of several partitions, such
+	 * that the partitions can be indexed into separate indexes and merged afterwards. Files are
+	 * assigned to partitions by their location. Files included by a file of the partition are
+	 * indexed regardless of the partition they belong to.
+	 * @param index the index of the partition, between 0 and count - 1
+	 * @param count the number of partitions
+	 */
+	public final void setShard(int index, int count) {
+		if (count < 1 || index < 0 || index >= count)
+			throw new IllegalArgumentException("Invalid shard " + index + " of " + count); //$NON-NLS-1$ //$NON-NLS-2$
+		fShardIndex = index;
+		fShardCount = count;
+	}
+
+	private boolean isInShard(IIndexFileLocation ifl) {
+		if (fShardCount == 1)
+			return true;
+		// Use the workspace path where possible, it does not depend on the location of the workspace.
+		final String key = ifl.getFullPath() != null ? ifl.getFullPath() : ifl.getURI().toString();
+		return Math.floorMod(key.hashCode(), fShardCount) == fShardIndex;
+	}
+
 	/**
 	 * @see IPDOMIndexerTask#acceptUrgentTask(IPDOMIndexerTask)
 	 */
@@ -495,6 +544,14 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * Returns the cache for the content of header files shared by the translation units
+	 * parsed by this task.
+	 */
+	protected final HeaderContentCache getHeaderContentCache() {
+		return fHeaderContentCache;
+	}
+
 	/**
 	 * Updates current progress information with the provided delta.
 	 */
@@ -628,6 +685,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				fIndex.releaseReadLock();
 			}
 		} finally {
+			if (fWorkers != null) {
+				fWorkers.shutdownNow();
+			}
 			synchronized (this) {
 				fTaskCompleted = true;
 			}
@@ -638,6 +698,10 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fIndex.acquireWriteLock(monitor);
 		try {
 			fIndex.getWritableFragment().setProperty(IIndexFragment.PROPERTY_RESUME_INDEXER, String.valueOf(value));
+			if (!value) {
+				// The index is up to date, give back the space freed at the end of the database.
+				fIndex.compact();
+			}
 		} finally {
 			fIndex.releaseWriteLock();
 		}
@@ -658,7 +722,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			progress.split(1);
 			final boolean force = forceAll || --forceFirst >= 0;
 			final IIndexFileLocation ifl = fResolver.resolveFile(tu);
-			if (ifl == null)
+			if (ifl == null || !isInShard(ifl))
 				continue;
 
 			final IIndexFragmentFile[] indexFiles = fIndex.getWritableFiles(ifl);
@@ -897,17 +961,22 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				continue;
 
 			// First parse the required sources.
-			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
-				IIndexFileLocation ifl = it.next();
-				LocationTask locTask = map.find(ifl);
-				if (locTask == null || locTask.isCompleted()) {
-					it.remove();
-				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
-					if (hasUrgentTasks())
-						return;
-					final Object tu = locTask.fTu;
-					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
-					parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+			if (fWorkerCount > 1) {
+				if (!parseRequiredSourcesInParallel(linkageID, map, filesAtPriority, progress))
+					return;
+			} else {
+				for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
+					IIndexFileLocation ifl = it.next();
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						it.remove();
+					} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+						if (hasUrgentTasks())
+							return;
+						final Object tu = locTask.fTu;
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+					}
 				}
 			}
 
@@ -979,6 +1048,175 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * Parses the required sources among the given files on worker threads and writes the ASTs
+	 * to the index in the order of the list. The workers parse with a read lock on the index and
+	 * skip the headers that are up to date in the index, just like the thread running the task.
+	 * The task does not write such headers, so the bindings the ASTs obtain from them remain valid
+	 * while the ASTs of other files are written.
+	 * Returns <code>false</code> when the method returned early because of urgent tasks.
+	 */
+	private boolean parseRequiredSourcesInParallel(int linkageID, LinkageTask map, List<IIndexFileLocation> files,
+			SubMonitor progress) throws CoreException, InterruptedException {
+		List<ParsedSource> sources = new ArrayList<>();
+		for (Iterator<IIndexFileLocation> it = files.iterator(); it.hasNext();) {
+			IIndexFileLocation ifl = it.next();
+			LocationTask locTask = map.find(ifl);
+			if (locTask == null || locTask.isCompleted()) {
+				it.remove();
+			} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+				sources.add(new ParsedSource(locTask.fTu, ifl));
+			}
+		}
+		if (sources.isEmpty())
+			return true;
+
+		if (fWorkers == null) {
+			// The workers and their contexts are reused for the rest of the task.
+			fWorkerContexts = new ArrayBlockingQueue<>(fWorkerCount);
+			for (int i = 0; i < fWorkerCount; i++) {
+				fWorkerContexts.add(new WorkerContext(linkageID));
+			}
+			fWorkers = Executors.newFixedThreadPool(fWorkerCount, r -> {
+				Thread thread = new Thread(r, "C/C++ Indexer Worker"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		Deque<ParsedSource> pending = new ArrayDeque<>();
+		try {
+			Iterator<ParsedSource> toSubmit = sources.iterator();
+			while (true) {
+				// Keep the workers busy, but limit the number of ASTs waiting to be written.
+				while (pending.size() <= fWorkerCount && toSubmit.hasNext()) {
+					ParsedSource source = toSubmit.next();
+					source.fLanguage = getLanguage(source.fTu, linkageID);
+					source.fScannerInfo = getScannerInfo(linkageID, source.fTu);
+					source.fFuture = fWorkers.submit(() -> {
+						source.parse(fWorkerContexts);
+						return null;
+					});
+					pending.add(source);
+				}
+				ParsedSource source = pending.poll();
+				if (source == null)
+					return true;
+				if (hasUrgentTasks()) {
+					pending.add(source);
+					return false;
+				}
+
+				source.awaitResult();
+				LocationTask locTask = map.find(source.fLocation);
+				if (locTask != null && !locTask.isCompleted()) {
+					parseFile(source.fTu, source.fLanguage, source.fLocation, source.fScannerInfo, null, source,
+							progress.split(1));
+				}
+			}
+		} finally {
+			// The state of the task must not change while the workers are still using it.
+			for (ParsedSource source : pending) {
+				source.fSkip = true;
+			}
+			for (ParsedSource source : pending) {
+				source.awaitResult();
+			}
+		}
+	}
+
+	/**
+	 * The index and the provider for the content of included files used by a worker thread. The
+	 * writable index of the task can be locked by the thread running the task, only. The workers
+	 * lock the writable fragment through an index of their own.
+	 */
+	private final class WorkerContext {
+		final IIndex fWorkerIndex;
+		final InternalFileContentProvider fProvider;
+
+		WorkerContext(int linkageID) {
+			fWorkerIndex = new CIndex(new IIndexFragment[] { fIndex.getWritableFragment() });
+			fProvider = createFileContentProvider(fWorkerIndex, linkageID);
+		}
+	}
+
+	/**
+	 * A source file that is parsed on a worker thread.
+	 */
+	private final class ParsedSource {
+		final Object fTu;
+		final IIndexFileLocation fLocation;
+		AbstractLanguage fLanguage;
+		IScannerInfo fScannerInfo;
+		Future<?> fFuture;
+		volatile boolean fSkip;
+		FileContent fCodeReader;
+		IASTTranslationUnit fAST;
+		long fParsingTime;
+		Throwable fError;
+
+		ParsedSource(Object tu, IIndexFileLocation location) {
+			fTu = tu;
+			fLocation = location;
+		}
+
+		void parse(BlockingQueue<WorkerContext> contexts) throws InterruptedException {
+			if (fSkip)
+				return;
+			try {
+				fCodeReader = fResolver.getCodeReader(fTu);
+				if (fCodeReader == null || exceedsSizeLimit(fCodeReader))
+					return;
+
+				final WorkerContext context = contexts.take();
+				try {
+					final InternalFileContentProvider provider = context.fProvider;
+					if (provider instanceof IndexBasedFileContentProvider) {
+						final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) provider;
+						ibfcp.setContextToHeaderGap(null);
+						ibfcp.setLinkage(fLanguage.getLinkageID());
+					}
+					long start = System.currentTimeMillis();
+					context.fWorkerIndex.acquireReadLock();
+					try {
+						fAST = fLanguage.getASTTranslationUnit(fCodeReader, fScannerInfo, provider,
+								context.fWorkerIndex, fASTOptions, getLogService());
+						if (fAST != null) {
+							resolveNamesAhead(fAST);
+						}
+					} finally {
+						context.fWorkerIndex.releaseReadLock();
+					}
+					fParsingTime = System.currentTimeMillis() - start;
+				} finally {
+					contexts.add(context);
+				}
+			} catch (CoreException | RuntimeException | Error e) {
+				fError = e;
+			}
+		}
+
+		void awaitResult() throws InterruptedException {
+			try {
+				fFuture.get();
+			} catch (ExecutionException e) {
+				fError = e.getCause();
+			}
+		}
+
+		/**
+		 * Returns the AST or rethrows the error that occurred while parsing the file.
+		 */
+		IASTTranslationUnit getAST() throws CoreException {
+			if (fError instanceof CoreException)
+				throw (CoreException) fError;
+			if (fError instanceof RuntimeException)
+				throw (RuntimeException) fError;
+			if (fError instanceof Error)
+				throw (Error) fError;
+			return fAST;
+		}
+	}
+
 	private void parseVersionInContext(int linkageID, LinkageTask map, IIndexFileLocation ifl,
 			final FileVersionTask versionTask, Object tu, LinkedHashSet<IIndexFile> safeGuard, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
@@ -1086,6 +1324,16 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private DependsOnOutdatedFileException parseFile(Object tu, AbstractLanguage lang, IIndexFileLocation ifl,
 			IScannerInfo scanInfo, FileContext ctx, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
+		return parseFile(tu, lang, ifl, scanInfo, ctx, null, monitor);
+	}
+
+	/**
+	 * Parses a file and writes it to the index. When the file has already been parsed on a worker
+	 * thread, the result is passed in as <code>parsedSource</code>.
+	 */
+	private DependsOnOutdatedFileException parseFile(Object tu, AbstractLanguage lang, IIndexFileLocation ifl,
+			IScannerInfo scanInfo, FileContext ctx, ParsedSource parsedSource, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
 		SubMonitor progress = SubMonitor.convert(monitor, 21);
 		boolean resultCacheCleared = false;
 		IPath path = getLabel(ifl);
@@ -1096,11 +1344,19 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 			progress.subTask(
 					getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
-			FileContent codeReader = fResolver.getCodeReader(tu);
-
+			final FileContent codeReader;
+			final IASTTranslationUnit ast;
 			long start = System.currentTimeMillis();
-			IASTTranslationUnit ast = createAST(lang, codeReader, scanInfo, fASTOptions, ctx, progress.split(10));
-			fStatistics.fParsingTime += System.currentTimeMillis() - start;
+			if (parsedSource == null) {
+				codeReader = fResolver.getCodeReader(tu);
+				ast = createAST(lang, codeReader, scanInfo, fASTOptions, ctx, progress.split(10));
+				fStatistics.fParsingTime += System.currentTimeMillis() - start;
+			} else {
+				codeReader = parsedSource.fCodeReader;
+				ast = parsedSource.getAST();
+				fStatistics.fParsingTime += parsedSource.fParsingTime;
+				start -= parsedSource.fParsingTime;
+			}
 			if (ast == null) {
 				++fStatistics.fTooManyTokensCount;
 			} else {
@@ -1213,28 +1469,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		if (codeReader == null) {
 			return null;
 		}
-		if (fTranslationUnitSizeLimit > 0
-				&& fResolver.getFileSize(codeReader.getFileLocation()) > fTranslationUnitSizeLimit) {
-			if (fShowActivity) {
-				trace("Indexer: Skipping large file " + codeReader.getFileLocation()); //$NON-NLS-1$
-			}
+		if (exceedsSizeLimit(codeReader)) {
 			return null;
 		}
 		final IIndexFile[] ctx2header = ctx == null ? null : new IIndexFile[] { ctx.fContext, ctx.fOldFile };
 		if (fCodeReaderFactory == null) {
-			InternalFileContentProvider fileContentProvider = createInternalFileContentProvider();
+			fCodeReaderFactory = createFileContentProvider(fIndex, language.getLinkageID());
 			if (fIsFastIndexer) {
-				IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(fIndex, fResolver,
-						language.getLinkageID(), fileContentProvider, this);
-				ibfcp.setContextToHeaderGap(ctx2header);
-				ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
-				ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
-				ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
-				fCodeReaderFactory = ibfcp;
-			} else {
-				fCodeReaderFactory = fileContentProvider;
+				((IndexBasedFileContentProvider) fCodeReaderFactory).setContextToHeaderGap(ctx2header);
 			}
-			fCodeReaderFactory.setIncludeResolutionHeuristics(createIncludeHeuristics());
 		} else if (fIsFastIndexer) {
 			final IndexBasedFileContentProvider ibfcp = (IndexBasedFileContentProvider) fCodeReaderFactory;
 			ibfcp.setContextToHeaderGap(ctx2header);
@@ -1249,10 +1492,39 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return ast;
 	}
 
+	private boolean exceedsSizeLimit(FileContent codeReader) {
+		if (fTranslationUnitSizeLimit > 0
+				&& fResolver.getFileSize(codeReader.getFileLocation()) > fTranslationUnitSizeLimit) {
+			if (fShowActivity) {
+				trace("Indexer: Skipping large file " + codeReader.getFileLocation()); //$NON-NLS-1$
+			}
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Creates the provider for the content of included files. The fast indexer obtains the content
+	 * of headers that are up to date from the given index.
+	 */
+	private InternalFileContentProvider createFileContentProvider(IIndex index, int linkageID) {
+		InternalFileContentProvider provider = createInternalFileContentProvider();
+		if (fIsFastIndexer) {
+			IndexBasedFileContentProvider ibfcp = new IndexBasedFileContentProvider(index, fResolver, linkageID,
+					provider, this);
+			ibfcp.setFileSizeLimit(fIncludedFileSizeLimit);
+			ibfcp.setHeadersToIndexAllVersions(fHeadersToIndexAllVersions);
+			ibfcp.setIndexAllHeaderVersions(fIndexAllHeaderVersions);
+			provider = ibfcp;
+		}
+		provider.setIncludeResolutionHeuristics(createIncludeHeuristics());
+		return provider;
+	}
+
 	private InternalFileContentProvider createInternalFileContentProvider() {
 		final IncludeFileContentProvider fileContentProvider = createReaderFactory();
 		if (fileContentProvider instanceof InternalFileContentProvider)
-			return (InternalFileContentProvider) fileContentProvider;
+			return fHeaderContentCache.createProvider((InternalFileContentProvider) fileContentProvider, fResolver);
 
 		throw new IllegalArgumentException("Invalid file content provider"); //$NON-NLS-1$
 	}
@@ -0,0 +1,317 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMFile;
+import org.eclipse.cdt.internal.core.pdom.dom.PDOMInclude;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Compact representation of the include relation between the files of a PDOM, which answers
+ * transitive queries without following the lists of includes stored in the database. The files
+ * are numbered in the order of their records, the includes and the includers of the files are
+ * stored in compressed sparse rows, i.e. in one array per direction with an array of offsets into
+ * it.
+ * <p>
+ * The graph is built from the database when it is used for the first time and is then maintained
+ * incrementally. Files that change while the PDOM is written are reported to the graph, only these
+ * files are read again from the database when the graph is used next. An include counts for the
+ * includers of a file only if the including file has a positive timestamp, like in
+ * {@link PDOM#findIncludedBy(org.eclipse.cdt.internal.core.index.IIndexFragmentFile)}.
+ * <p>
+ * Changes have to be reported while holding the write lock on the PDOM, queries need a read lock.
+ */
+public final class IncludeGraph {
+	private static final long[] NO_RECORDS = {};
+	private static final int[] NO_NODES = {};
+
+	private final PDOM fPDOM;
+	private boolean fBuilt;
+	/** Records of the files, sorted */
+	private long[] fFiles = NO_RECORDS;
+	/** Files with a positive timestamp */
+	private BitSet fHasContent = new BitSet();
+	private int[] fIncludesStart = { 0 };
+	private int[] fIncludes = NO_NODES;
+	private int[] fIncludersStart = { 0 };
+	private int[] fIncluders = NO_NODES;
+	/** Files changed since the graph was updated, mapped to {@code false} for deleted files */
+	private final Map<Long, Boolean> fChangedFiles = new HashMap<>();
+
+	IncludeGraph(PDOM pdom) {
+		fPDOM = pdom;
+	}
+
+	/**
+	 * Reports a change to the includes or the timestamp of a file.
+	 */
+	public synchronized void fileChanged(long fileRecord) {
+		if (fBuilt) {
+			fChangedFiles.put(fileRecord, Boolean.TRUE);
+		}
+	}
+
+	/**
+	 * Reports that a file has been deleted from the database.
+	 */
+	public synchronized void fileDeleted(long fileRecord) {
+		if (fBuilt) {
+			fChangedFiles.put(fileRecord, Boolean.FALSE);
+		}
+	}
+
+	/**
+	 * Discards the graph, it is built again when it is used next.
+	 */
+	public synchronized void clear() {
+		fBuilt = false;
+		fFiles = NO_RECORDS;
+		fHasContent = new BitSet();
+		fIncludesStart = fIncludersStart = new int[] { 0 };
+		fIncludes = fIncluders = NO_NODES;
+		fChangedFiles.clear();
+	}
+
+	/**
+	 * Returns the records of the files including at least one of the given files, directly or
+	 * indirectly. The given files are not part of the result.
+	 */
+	public synchronized long[] findIncluders(long[] fileRecords) throws CoreException {
+		update();
+		return traverse(fileRecords, fIncludersStart, fIncluders);
+	}
+
+	/**
+	 * Returns the records of the files included by at least one of the given files, directly or
+	 * indirectly. The given files are not part of the result.
+	 */
+	public synchronized long[] findIncludedFiles(long[] fileRecords) throws CoreException {
+		update();
+		return traverse(fileRecords, fIncludesStart, fIncludes);
+	}
+
+	private long[] traverse(long[] fileRecords, int[] start, int[] edges) {
+		BitSet visited = new BitSet(fFiles.length);
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		for (long record : fileRecords) {
+			int node = Arrays.binarySearch(fFiles, record);
+			if (node >= 0 && !visited.get(node)) {
+				visited.set(node);
+				queue.add(node);
+			}
+		}
+		BitSet found = new BitSet(fFiles.length);
+		while (!queue.isEmpty()) {
+			int node = queue.poll();
+			for (int i = start[node]; i < start[node + 1]; i++) {
+				int next = edges[i];
+				if (!visited.get(next)) {
+					visited.set(next);
+					found.set(next);
+					queue.add(next);
+				}
+			}
+		}
+		long[] result = new long[found.cardinality()];
+		int j = 0;
+		for (int node = found.nextSetBit(0); node >= 0; node = found.nextSetBit(node + 1)) {
+			result[j++] = fFiles[node];
+		}
+		return result;
+	}
+
+	/**
+	 * Brings the graph up to date with the database.
+	 */
+	private void update() throws CoreException {
+		if (!fBuilt) {
+			build();
+		} else if (!fChangedFiles.isEmpty()) {
+			applyChanges();
+		}
+	}
+
+	private void build() throws CoreException {
+		long[][] records = { new long[1024] };
+		int[] count = { 0 };
+		fPDOM.getFileIndex().accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return 0;
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				if (count[0] == records[0].length) {
+					records[0] = Arrays.copyOf(records[0], count[0] * 2);
+				}
+				records[0][count[0]++] = record;
+				return true;
+			}
+		});
+		long[] files = Arrays.copyOf(records[0], count[0]);
+		Arrays.sort(files);
+		BitSet hasContent = new BitSet(files.length);
+		long[][] includes = new long[files.length][];
+		for (int i = 0; i < files.length; i++) {
+			PDOMFile file = PDOMFile.recreateFile(fPDOM, files[i]);
+			hasContent.set(i, file.getTimestamp() > 0);
+			includes[i] = readIncludes(file);
+		}
+		setGraph(files, hasContent, includes);
+		fChangedFiles.clear();
+		fBuilt = true;
+	}
+
+	/**
+	 * Reads the changed files from the database, together with files included by them that are
+	 * not yet part of the graph, and rebuilds the arrays.
+	 */
+	private void applyChanges() throws CoreException {
+		Map<Long, long[]> changedIncludes = new HashMap<>();
+		Map<Long, Boolean> changedContent = new HashMap<>();
+		ArrayDeque<Long> queue = new ArrayDeque<>();
+		Set<Long> queued = new HashSet<>();
+		for (Map.Entry<Long, Boolean> entry : fChangedFiles.entrySet()) {
+			if (entry.getValue()) {
+				queue.add(entry.getKey());
+				queued.add(entry.getKey());
+			} else {
+				changedIncludes.put(entry.getKey(), null);
+			}
+		}
+		fChangedFiles.clear();
+		while (!queue.isEmpty()) {
+			long record = queue.poll();
+			PDOMFile file = PDOMFile.recreateFile(fPDOM, record);
+			long[] includes = readIncludes(file);
+			changedIncludes.put(record, includes);
+			changedContent.put(record, file.getTimestamp() > 0);
+			for (long target : includes) {
+				if (Arrays.binarySearch(fFiles, target) < 0 && !changedIncludes.containsKey(target)
+						&& queued.add(target)) {
+					queue.add(target);
+				}
+			}
+		}
+
+		long[] files = Arrays.copyOf(fFiles, fFiles.length + changedIncludes.size());
+		int n = fFiles.length;
+		for (Map.Entry<Long, long[]> entry : changedIncludes.entrySet()) {
+			if (entry.getValue() != null && Arrays.binarySearch(fFiles, entry.getKey()) < 0) {
+				files[n++] = entry.getKey();
+			}
+		}
+		files = Arrays.copyOf(files, n);
+		Arrays.sort(files);
+
+		BitSet hasContent = new BitSet(files.length);
+		long[][] includes = new long[files.length][];
+		int m = 0;
+		for (long record : files) {
+			if (changedIncludes.containsKey(record)) {
+				long[] targets = changedIncludes.get(record);
+				if (targets == null)
+					continue; // Deleted
+				hasContent.set(m, changedContent.get(record));
+				includes[m] = targets;
+			} else {
+				int node = Arrays.binarySearch(fFiles, record);
+				hasContent.set(m, fHasContent.get(node));
+				long[] targets = new long[fIncludesStart[node + 1] - fIncludesStart[node]];
+				for (int i = 0; i < targets.length; i++) {
+					targets[i] = fFiles[fIncludes[fIncludesStart[node] + i]];
+				}
+				includes[m] = targets;
+			}
+			files[m++] = record;
+		}
+		setGraph(Arrays.copyOf(files, m), hasContent, Arrays.copyOf(includes, m));
+	}
+
+	private static long[] readIncludes(PDOMFile file) throws CoreException {
+		long[] targets = NO_RECORDS;
+		int n = 0;
+		for (PDOMInclude include = file.getFirstInclude(); include != null; include = include.getNextInIncludes()) {
+			PDOMFile target = (PDOMFile) include.getIncludes();
+			if (target != null) {
+				if (n == targets.length) {
+					targets = Arrays.copyOf(targets, Math.max(4, n * 2));
+				}
+				targets[n++] = target.getRecord();
+			}
+		}
+		return n == targets.length ? targets : Arrays.copyOf(targets, n);
+	}
+
+	/**
+	 * Computes the arrays of the graph.
+	 * @param files the sorted records of the files
+	 * @param hasContent the files with a positive timestamp
+	 * @param includes the records of the files included by each of the files
+	 */
+	private void setGraph(long[] files, BitSet hasContent, long[][] includes) {
+		int[] includesStart = new int[files.length + 1];
+		int[] includersStart = new int[files.length + 1];
+		int[][] targets = new int[files.length][];
+		int edges = 0;
+		for (int i = 0; i < files.length; i++) {
+			int[] nodes = new int[includes[i].length];
+			int k = 0;
+			for (long record : includes[i]) {
+				int node = Arrays.binarySearch(files, record);
+				if (node >= 0) {
+					nodes[k++] = node;
+					if (hasContent.get(i)) {
+						includersStart[node + 1]++;
+					}
+				}
+			}
+			targets[i] = k == nodes.length ? nodes : Arrays.copyOf(nodes, k);
+			edges += k;
+			includesStart[i + 1] = edges;
+		}
+		for (int i = 0; i < files.length; i++) {
+			includersStart[i + 1] += includersStart[i];
+		}
+
+		int[] includesArray = new int[edges];
+		int[] includersArray = new int[includersStart[files.length]];
+		int[] fill = Arrays.copyOf(includersStart, files.length);
+		for (int i = 0; i < files.length; i++) {
+			System.arraycopy(targets[i], 0, includesArray, includesStart[i], targets[i].length);
+			if (hasContent.get(i)) {
+				for (int node : targets[i]) {
+					includersArray[fill[node]++] = i;
+				}
+			}
+		}
+
+		fFiles = files;
+		fHasContent = hasContent;
+		fIncludesStart = includesStart;
+		fIncludes = includesArray;
+		fIncludersStart = includersStart;
+		fIncluders = includersArray;
+	}
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of the times threads had to wait for a lock. Bucket <code>i</code> counts the
+ * waits that took less than <code>2^i</code> milliseconds (and at least <code>2^(i-1)</code>
+ * milliseconds for <code>i > 0</code>), the last bucket counts all longer waits.
+ */
+public final class LockWaitHistogram {
+	public static final int BUCKET_COUNT = 16;
+
+	private final AtomicLongArray fCounts = new AtomicLongArray(BUCKET_COUNT);
+
+	/**
+	 * Records a wait of the given duration.
+	 */
+	public void record(long nanos) {
+		fCounts.incrementAndGet(getBucket(nanos / 1000000));
+	}
+
+	static int getBucket(long millis) {
+		if (millis <= 0)
+			return 0;
+		return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(millis));
+	}
+
+	/**
+	 * Returns the number of waits recorded in the given bucket.
+	 */
+	public long getCount(int bucket) {
+		return fCounts.get(bucket);
+	}
+
+	/**
+	 * Returns the total number of recorded waits.
+	 */
+	public long getTotalCount() {
+		long result = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			result += fCounts.get(i);
+		}
+		return result;
+	}
+
+	public void reset() {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			fCounts.set(i, 0);
+		}
+	}
+
+	@Override
+	@SuppressWarnings("nls")
+	public String toString() {
+		StringBuilder buf = new StringBuilder();
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			long count = fCounts.get(i);
+			if (count != 0) {
+				if (buf.length() > 0)
+					buf.append(", ");
+				buf.append(i == BUCKET_COUNT - 1 ? ">=" : "<").append(1L << (i == BUCKET_COUNT - 1 ? i - 1 : i));
+				buf.append("ms: ").append(count);
+			}
+		}
+		return buf.length() == 0 ? "no waits" : buf.toString();
+	}
+}
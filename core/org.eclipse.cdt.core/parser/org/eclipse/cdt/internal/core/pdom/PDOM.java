@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 QNX Software Systems and others.
+ * Copyright (c) 2005, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,11 +20,14 @@
 package org.eclipse.cdt.internal.core.pdom;
 
 import java.io.File;
+import java.lang.invoke.VarHandle;
 import java.lang.ref.WeakReference;
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -32,6 +35,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -79,8 +86,11 @@ import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.cdt.internal.core.pdom.db.DBProperties;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.HashIndex;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
+import org.eclipse.cdt.internal.core.pdom.db.StringTable;
+import org.eclipse.cdt.internal.core.pdom.db.TrigramIndex;
 import org.eclipse.cdt.internal.core.pdom.dom.BindingCollector;
 import org.eclipse.cdt.internal.core.pdom.dom.CompoundRecordIterator;
 import org.eclipse.cdt.internal.core.pdom.dom.FindBinding;
@@ -311,10 +321,17 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 *
 	 *  CDT 10.4 development
 	 *  220.0 - Changed marshalling of CPPBasicType to store new "from literal" flag, bug 573764
+	 *
+	 *  CDT 11.3 development
+	 *  221.0 - Hash index for looking up files by location.
+	 *  222.0 - Interned names of bindings and macro containers.
+	 *  223.0 - Trigram index of interned names.
+	 *  224.0 - Lists of derived classes for classes.
+	 *  224.1 - Page size of the database recorded in the header.
 	 */
-	private static final int MIN_SUPPORTED_VERSION = version(220, 0);
-	private static final int MAX_SUPPORTED_VERSION = version(220, Short.MAX_VALUE);
-	private static final int DEFAULT_VERSION = version(220, 0);
+	private static final int MIN_SUPPORTED_VERSION = version(224, 0);
+	private static final int MAX_SUPPORTED_VERSION = version(224, Short.MAX_VALUE);
+	private static final int DEFAULT_VERSION = version(224, 1);
 
 	private static int version(int major, int minor) {
 		return (major << 16) + minor;
@@ -351,7 +368,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 	public static final int INDEX_OF_FILES_WITH_UNRESOLVED_INCLUDES = Database.DATA_AREA + 12;
 	public static final int PROPERTIES = Database.DATA_AREA + 16;
 	public static final int TAG_INDEX = Database.DATA_AREA + 20;
-	public static final int END = Database.DATA_AREA + 24;
+	public static final int FILE_HASH_INDEX = Database.DATA_AREA + 24;
+	public static final int STRING_TABLE = Database.DATA_AREA + 28;
+	public static final int NAME_TRIGRAM_INDEX = Database.DATA_AREA + 32;
+	/** Page size the database was last written with, zero for databases created before 224.1. */
+	public static final int DB_PAGE_SIZE = Database.DATA_AREA + 36;
+	public static final int END = Database.DATA_AREA + 40;
 	static {
 		assert END <= Database.CHUNK_SIZE;
 	}
@@ -412,6 +434,9 @@ public class PDOM extends PlatformObject implements IPDOM {
 	// Local caches
 	protected Database db;
 	private BTree fileIndex;
+	private HashIndex fileHashIndex;
+	private StringTable stringTable;
+	private TrigramIndex nameTrigramIndex;
 	private PDOMTagIndex tagIndex;
 	private BTree indexOfDefectiveFiles;
 	private BTree indexOfFiledWithUnresolvedIncludes;
@@ -419,7 +444,8 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private File fPath;
 	private final IIndexLocationConverter locationConverter;
 	private final Map<String, IPDOMLinkageFactory> fPDOMLinkageFactoryCache;
-	private final HashMap<Object, Object> fResultCache = new HashMap<>();
+	private final ResultCache fResultCache = new ResultCache();
+	private final IncludeGraph fIncludeGraph = new IncludeGraph(this);
 	private final Map<Long, WeakReference<IValue>> fVariableResultCache = new HashMap<>();
 	private List<IListener> listeners;
 	protected ChangeEvent fEvent = new ChangeEvent();
@@ -470,7 +496,22 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	public boolean isSupportedVersion() throws CoreException {
 		final int version = db.getVersion();
-		return version >= MIN_SUPPORTED_VERSION && version <= MAX_SUPPORTED_VERSION;
+		if (version < MIN_SUPPORTED_VERSION || version > MAX_SUPPORTED_VERSION)
+			return false;
+		// A page size that cannot have been written by any version indicates a corrupt header.
+		final int pageSize = db.getInt(DB_PAGE_SIZE);
+		return pageSize == 0 || Database.isValidPageSize(pageSize);
+	}
+
+	/**
+	 * Records the page size the database is written with. The layout of the blocks does not depend
+	 * on the page size, such that a database written with a different page size is migrated by
+	 * just updating the recorded value.
+	 */
+	private void recordPageSize() throws CoreException {
+		if (db.getInt(DB_PAGE_SIZE) != Database.PAGE_SIZE) {
+			db.putInt(DB_PAGE_SIZE, Database.PAGE_SIZE);
+		}
 	}
 
 	private void readLinkages() throws CoreException {
@@ -545,6 +586,51 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return fileIndex;
 	}
 
+	/**
+	 * Returns the index of files by the hash codes of their locations, used for looking up files.
+	 * Unlike the {@link #getFileIndex() file index} it cannot be traversed in order.
+	 */
+	public HashIndex getFileHashIndex() throws CoreException {
+		if (fileHashIndex == null)
+			fileHashIndex = new HashIndex(getDB(), FILE_HASH_INDEX);
+		return fileHashIndex;
+	}
+
+	/**
+	 * Returns the table of interned strings, which holds the names of bindings and macro containers.
+	 */
+	public StringTable getStringTable() {
+		if (stringTable == null)
+			stringTable = new StringTable(getDB(), STRING_TABLE, getNameTrigramIndex());
+		return stringTable;
+	}
+
+	/**
+	 * Returns the index of the {@link #getStringTable() interned names} by their trigrams, used for
+	 * finding bindings with names matching a pattern.
+	 */
+	public TrigramIndex getNameTrigramIndex() {
+		if (nameTrigramIndex == null)
+			nameTrigramIndex = new TrigramIndex(getDB(), NAME_TRIGRAM_INDEX);
+		return nameTrigramIndex;
+	}
+
+	/**
+	 * Returns the graph of the includes between the files of this PDOM, used for transitive
+	 * queries of includers and included files.
+	 */
+	public IncludeGraph getIncludeGraph() {
+		return fIncludeGraph;
+	}
+
+	/**
+	 * Adds a file to the file index and to the hash index of files.
+	 */
+	protected void addToFileIndex(PDOMFile file) throws CoreException {
+		getFileIndex().insert(file.getRecord());
+		getFileHashIndex().insert(file.getLocationHash(), file.getRecord());
+	}
+
 	public PDOMTagIndex getTagIndex() throws CoreException {
 		if (tagIndex == null) {
 			tagIndex = new PDOMTagIndex(db, TAG_INDEX);
@@ -578,7 +664,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		PDOMLinkage linkage = getLinkage(linkageID);
 		if (linkage == null)
 			return null;
-		return PDOMFile.findFile(linkage, getFileIndex(), location, locationConverter);
+		return PDOMFile.findFile(linkage, getFileHashIndex(), location, locationConverter, null);
 	}
 
 	@Override
@@ -587,12 +673,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 		PDOMLinkage linkage = getLinkage(linkageID);
 		if (linkage == null)
 			return null;
-		return PDOMFile.findFile(linkage, getFileIndex(), location, locationConverter, macroDictionary);
+		return PDOMFile.findFile(linkage, getFileHashIndex(), location, locationConverter, macroDictionary);
 	}
 
 	public PDOMFile getFile(PDOMLinkage linkage, IIndexFileLocation location, ISignificantMacros macroDictionary)
 			throws CoreException {
-		return PDOMFile.findFile(linkage, getFileIndex(), location, locationConverter, macroDictionary);
+		return PDOMFile.findFile(linkage, getFileHashIndex(), location, locationConverter, macroDictionary);
 	}
 
 	@Override
@@ -600,12 +686,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 		PDOMLinkage linkage = getLinkage(linkageID);
 		if (linkage == null)
 			return IIndexFragmentFile.EMPTY_ARRAY;
-		return PDOMFile.findFiles(linkage, getFileIndex(), location, locationConverter);
+		return PDOMFile.findFiles(linkage, getFileHashIndex(), location, locationConverter);
 	}
 
 	@Override
 	public IIndexFragmentFile[] getFiles(IIndexFileLocation location) throws CoreException {
-		return PDOMFile.findFiles(this, getFileIndex(), location, locationConverter);
+		return PDOMFile.findFiles(this, getFileHashIndex(), location, locationConverter);
 	}
 
 	@Override
@@ -647,7 +733,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		IIndexFragmentFile file = getFile(linkage, location, sigMacros);
 		if (file == null) {
 			PDOMFile pdomFile = new PDOMFile(linkage, location, linkageID, sigMacros);
-			getFileIndex().insert(pdomFile.getRecord());
+			addToFileIndex(pdomFile);
 			file = pdomFile;
 			fEvent.setHasNewFiles();
 		}
@@ -657,6 +743,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 	protected void clearFileIndex() throws CoreException {
 		db.putRecPtr(FILE_INDEX, 0);
 		fileIndex = null;
+		getFileHashIndex().clear();
 	}
 
 	protected void clear() throws CoreException {
@@ -665,6 +752,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 		// Clear out the database, everything is set to zero.
 		int vers = getDefaultVersion();
 		db.clear(vers);
+		recordPageSize();
 		clearCaches();
 		fEvent.setCleared();
 	}
@@ -816,6 +904,14 @@ public class PDOM extends PlatformObject implements IPDOM {
 			if (prefix != null) {
 				return findBindingsForPrefix(prefix, isFullyQualified, caseSensitive, filter, monitor);
 			}
+
+			if (patterns.length == 1) {
+				IIndexFragmentBinding[] result = findBindingsViaNameIndex(patterns[0], isFullyQualified, filter,
+						monitor);
+				if (result != null) {
+					return result;
+				}
+			}
 		}
 
 		BindingFinder finder = new BindingFinder(patterns, isFullyQualified, filter, monitor);
@@ -871,6 +967,101 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return result;
 	}
 
+	/**
+	 * Finds the bindings with names matching the pattern via the {@link #getNameTrigramIndex() trigram
+	 * index} of names. Returns <code>null</code> if the pattern does not require substrings the index
+	 * can narrow the names down with.
+	 */
+	private IIndexFragmentBinding[] findBindingsViaNameIndex(Pattern pattern, boolean isFullyQualified,
+			IndexFilter filter, IProgressMonitor monitor) throws CoreException {
+		char[][] substrings = extractRequiredSubstrings(pattern);
+		if (substrings == null)
+			return null;
+		long[] candidates = getNameTrigramIndex().findCandidates(substrings);
+		if (candidates == null)
+			return null;
+
+		ArrayList<IIndexFragmentBinding> result = new ArrayList<>();
+		Matcher matcher = pattern.matcher(""); //$NON-NLS-1$
+		for (long candidate : candidates) {
+			if (monitor.isCanceled())
+				return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+
+			final char[] name = db.getString(candidate).getChars();
+			if (!matcher.reset(CharBuffer.wrap(name)).matches())
+				continue;
+			for (PDOMLinkage linkage : getLinkageList()) {
+				if (filter.acceptLinkage(linkage)) {
+					BindingCollector visitor = new BindingCollector(linkage, name, filter, false, false, true);
+					linkage.getIndex().accept(visitor);
+					if (!isFullyQualified) {
+						// Avoid adding unscoped enumerator items twice
+						visitor.setSkipGlobalEnumerators(true);
+						linkage.getNestedBindingsIndex().accept(visitor);
+					}
+					Collections.addAll(result, visitor.getBindings());
+				}
+			}
+		}
+		return result.toArray(new IIndexFragmentBinding[result.size()]);
+	}
+
+	/**
+	 * Returns substrings each string matching the pattern contains, or <code>null</code> if the
+	 * pattern is too complex to tell. Only runs of letters and digits outside of groups and character
+	 * classes are considered.
+	 */
+	private static char[][] extractRequiredSubstrings(Pattern pattern) {
+		final String p = pattern.pattern();
+		final List<char[]> result = new ArrayList<>();
+		final StringBuilder run = new StringBuilder();
+		for (int i = 0; i < p.length(); i++) {
+			final char c = p.charAt(i);
+			if (Character.isLetterOrDigit(c) || c == '_') {
+				final char next = i + 1 < p.length() ? p.charAt(i + 1) : 0;
+				if (next != '*' && next != '?' && next != '{') {
+					run.append(c);
+					continue;
+				}
+				// The character is optional.
+			} else {
+				switch (c) {
+				case '.':
+				case '*':
+				case '?':
+				case '+':
+				case '^':
+				case '$':
+					break;
+				case '{':
+					i = p.indexOf('}', i);
+					if (i < 0)
+						return null;
+					break;
+				case '\\':
+				case '[':
+				case ']':
+				case '(':
+				case ')':
+				case '|':
+				case '}':
+					return null;
+				default:
+					// Other characters are literals, they are not indexed.
+					break;
+				}
+			}
+			if (run.length() > 0) {
+				result.add(run.toString().toCharArray());
+				run.setLength(0);
+			}
+		}
+		if (run.length() > 0) {
+			result.add(run.toString().toCharArray());
+		}
+		return result.toArray(new char[result.size()][]);
+	}
+
 	private char[] extractPrefix(Pattern[] pattern) {
 		if (pattern.length != 1)
 			return null;
@@ -1002,40 +1193,122 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	// Read-write lock rules. Readers don't conflict with other readers,
 	// Writers conflict with readers, and everyone conflicts with writers.
-	private final Object mutex = new Object();
+	//
+	// Readers that arrive while a writer is waiting let the writer go first, unless the thread
+	// already holds a read lock (nested locks must not wait for the writer, which in turn waits
+	// for the outer lock), or the reader has been waiting for longer than WRITER_PRECEDENCE_NANOS.
+	// Read locks are not bound to threads, therefore the latter bound guarantees progress also for
+	// read locks that have been handed over from one thread to another.
+	//
+	// When a write lock is released, all readers that are waiting at that time are admitted
+	// before the next writer can acquire the lock.
+	//
+	// The read locks held by a thread are counted per thread. A read lock that is acquired on one
+	// thread and released on another leaves the count of the first thread too high, and the
+	// second thread's count too low. Such a count is only a hint: it lets a thread skip the wait
+	// for a writer, or makes it wait for at most WRITER_PRECEDENCE_NANOS. The counts are therefore
+	// tagged with the value of readLockEpoch, which changes whenever no read lock is held. A stale
+	// count is thus discarded at the latest when all read locks have been released.
+	private static final long WRITER_PRECEDENCE_NANOS = 100 * 1000000L;
+
+	private final ReentrantLock mutex = new ReentrantLock();
+	private final Condition readersCondition = mutex.newCondition();
+	private final Condition writersCondition = mutex.newCondition();
+	// The epoch and the number of read locks acquired by the current thread in that epoch.
+	private final ThreadLocal<long[]> readLocksOfThread = ThreadLocal.withInitial(() -> new long[2]);
+	// Changes whenever no read lock is held.
+	private long readLockEpoch;
 	private int lockCount;
 	private int waitingReaders;
+	private int waitingWriters;
+	// Number of readers admitted by the last release of the write lock that did not yet get their lock.
+	private int admittedReaders;
+	// Incremented whenever the write lock is released.
+	private long writeLockReleases;
+	// Even while no writer holds the lock, incremented when a write lock is acquired or released.
+	private volatile long writeVersion;
+	private final LockWaitHistogram readLockWaits = new LockWaitHistogram();
+	private final LockWaitHistogram writeLockWaits = new LockWaitHistogram();
 	private long lastWriteAccess = 0;
 	private long lastReadAccess = 0;
 	private long timeWriteLockAcquired;
 
 	@Override
 	public void acquireReadLock() throws InterruptedException {
-		long t = sDEBUG_LOCKS ? System.nanoTime() : 0;
-		synchronized (mutex) {
-			++waitingReaders;
-			try {
-				while (lockCount < 0)
-					mutex.wait();
-			} finally {
-				--waitingReaders;
+		final long[] readLocks = readLocksOfThread.get();
+		long t = System.nanoTime();
+		mutex.lock();
+		try {
+			if (lockCount < 0 || (waitingWriters > 0 && getReadLocksOfThread(readLocks) == 0)) {
+				waitForReadLock();
 			}
 			++lockCount;
+			addReadLocksOfThread(readLocks, 1);
 			db.setLocked(true);
 
+			t = System.nanoTime() - t;
+			readLockWaits.record(t);
 			if (sDEBUG_LOCKS) {
-				t = (System.nanoTime() - t) / 1000000;
+				t /= 1000000;
 				if (t >= LONG_READ_LOCK_WAIT_REPORT_THRESHOLD) {
 					System.out.println("Acquired index read lock after " + t + " ms wait."); //$NON-NLS-1$//$NON-NLS-2$
 				}
 				incReadLock(fLockDebugging);
 			}
+		} finally {
+			mutex.unlock();
+		}
+	}
+
+	private void waitForReadLock() throws InterruptedException {
+		final long releases = writeLockReleases;
+		final long deadline = System.nanoTime() + WRITER_PRECEDENCE_NANOS;
+		++waitingReaders;
+		try {
+			while (true) {
+				if (lockCount >= 0) {
+					if (releases != writeLockReleases || waitingWriters == 0)
+						return;
+					long nanos = deadline - System.nanoTime();
+					if (nanos <= 0)
+						return;
+					readersCondition.awaitNanos(nanos);
+				} else {
+					readersCondition.await();
+				}
+			}
+		} finally {
+			--waitingReaders;
+			final boolean admitted = releases != writeLockReleases;
+			if (admitted && admittedReaders > 0 && --admittedReaders == 0 && waitingWriters > 0) {
+				writersCondition.signalAll();
+			}
 		}
 	}
 
+	/**
+	 * Returns the number of read locks the current thread acquired in the current epoch. Must be
+	 * called while holding the mutex.
+	 */
+	private int getReadLocksOfThread(long[] readLocks) {
+		return readLocks[0] == readLockEpoch ? (int) readLocks[1] : 0;
+	}
+
+	/**
+	 * Adds to the number of read locks of the current thread. Must be called while holding the mutex.
+	 */
+	private void addReadLocksOfThread(long[] readLocks, int delta) {
+		if (readLocks[0] != readLockEpoch) {
+			readLocks[0] = readLockEpoch;
+			readLocks[1] = 0;
+		}
+		readLocks[1] = Math.max(0, readLocks[1] + delta);
+	}
+
 	@Override
 	public void releaseReadLock() {
-		synchronized (mutex) {
+		mutex.lock();
+		try {
 			assert lockCount > 0 : "No lock to release"; //$NON-NLS-1$
 			if (sDEBUG_LOCKS) {
 				decReadLock(fLockDebugging);
@@ -1044,8 +1317,14 @@ public class PDOM extends PlatformObject implements IPDOM {
 			lastReadAccess = System.currentTimeMillis();
 			if (lockCount > 0)
 				--lockCount;
-			mutex.notifyAll();
+			addReadLocksOfThread(readLocksOfThread.get(), -1);
+			if (lockCount == 0)
+				readLockEpoch++;
+			if (waitingWriters > 0)
+				writersCondition.signalAll();
 			db.setLocked(lockCount != 0);
+		} finally {
+			mutex.unlock();
 		}
 		// A lock release probably means that some AST is going away. The result cache has to be
 		// cleared since it may contain objects belonging to the AST that is going away. A failure
@@ -1056,6 +1335,79 @@ public class PDOM extends PlatformObject implements IPDOM {
 		clearResultCache();
 	}
 
+	/**
+	 * A short query that can be run without acquiring a read lock.
+	 * @see PDOM#runOptimisticRead(IOptimisticRead)
+	 */
+	public interface IOptimisticRead<T> {
+		T run() throws CoreException;
+	}
+
+	/**
+	 * Runs a short query without acquiring a read lock. When a writer changes the index while the
+	 * query runs, or the query needs a chunk of the database that is not cached, its result is
+	 * discarded and the query is repeated under a read lock. While a writer holds the lock, the
+	 * query is not attempted and this method blocks until a read lock is acquired.
+	 * <p>
+	 * The query must be restricted to fields at fixed offsets, e.g. in the header of the database.
+	 * It must not have side effects, must not use the caches of the PDOM and must not follow
+	 * pointers it has read, e.g. into a B-tree such as the one holding the properties: a
+	 * concurrent modification may leave such pointers pointing at arbitrary data.
+	 */
+	public <T> T runOptimisticRead(IOptimisticRead<T> query) throws CoreException, InterruptedException {
+		final long stamp = tryOptimisticRead();
+		if (stamp != 0) {
+			db.beginOptimisticRead();
+			try {
+				T result = query.run();
+				if (validateOptimisticRead(stamp))
+					return result;
+			} catch (Throwable e) {
+				// Data read concurrently with a writer may cause any kind of failure.
+				if (!(e instanceof Database.OptimisticReadAbortedException) && validateOptimisticRead(stamp))
+					throw e;
+			} finally {
+				db.endOptimisticRead();
+			}
+		}
+		acquireReadLock();
+		try {
+			return query.run();
+		} finally {
+			releaseReadLock();
+		}
+	}
+
+	/**
+	 * Called when content is added to or removed from this PDOM. The caller needs to hold the
+	 * write lock.
+	 */
+	protected void contentChanged() throws CoreException {
+		recordPageSize();
+	}
+
+	/**
+	 * Returns a stamp for an optimistic read of the index without acquiring a read lock, or zero
+	 * if the index is currently write-locked. The data that is read has to be validated with
+	 * {@link #validateOptimisticRead(long)} before it is used. Because the database may be
+	 * modified concurrently, an optimistic read must be short, may not follow links it has read
+	 * and must treat any exception as an invalid read. It is intended for cheap lookups, callers
+	 * fall back to a read lock when the validation fails.
+	 */
+	public long tryOptimisticRead() {
+		long version = writeVersion;
+		return (version & 1) == 0 ? version + 2 : 0;
+	}
+
+	/**
+	 * Returns whether no write lock has been acquired since the given stamp was obtained from
+	 * {@link #tryOptimisticRead()}.
+	 */
+	public boolean validateOptimisticRead(long stamp) {
+		VarHandle.acquireFence();
+		return stamp != 0 && writeVersion + 2 == stamp;
+	}
+
 	/**
 	 * Acquire a write lock on this PDOM. Blocks until any existing read/write locks are released.
 	 * @throws InterruptedException
@@ -1073,7 +1425,9 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 */
 	public void acquireWriteLock(int giveupReadLocks, IProgressMonitor monitor) throws InterruptedException {
 		assert !isPermanentlyReadOnly();
-		synchronized (mutex) {
+		final long t = System.nanoTime();
+		mutex.lock();
+		try {
 			if (sDEBUG_LOCKS) {
 				incWriteLock(giveupReadLocks);
 			}
@@ -1088,26 +1442,42 @@ public class PDOM extends PlatformObject implements IPDOM {
 				giveupReadLocks = 0;
 			}
 
-			// Let the readers go first
+			// Let the readers admitted by the previous writer go first
 			long start = sDEBUG_LOCKS ? System.currentTimeMillis() : 0;
 			int count = 0;
-			while (lockCount > giveupReadLocks || waitingReaders > 0) {
-				mutex.wait(CANCELLATION_CHECK_INTERVAL);
-				if (monitor != null && monitor.isCanceled()) {
-					throw new OperationCanceledException();
-				}
-				count++;
-				if (monitor != null && count == LONG_WRITE_LOCK_REPORT_THRESHOLD / CANCELLATION_CHECK_INTERVAL) {
-					monitor.subTask(Messages.PDOM_waitingForWriteLock);
-				}
-				if (sDEBUG_LOCKS) {
-					start = reportBlockedWriteLock(start, giveupReadLocks);
+			boolean acquired = false;
+			++waitingWriters;
+			try {
+				while (lockCount < 0 || lockCount > giveupReadLocks || admittedReaders > 0) {
+					writersCondition.await(CANCELLATION_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+					if (monitor != null && monitor.isCanceled()) {
+						throw new OperationCanceledException();
+					}
+					count++;
+					if (monitor != null && count == LONG_WRITE_LOCK_REPORT_THRESHOLD / CANCELLATION_CHECK_INTERVAL) {
+						monitor.subTask(Messages.PDOM_waitingForWriteLock);
+					}
+					if (sDEBUG_LOCKS) {
+						start = reportBlockedWriteLock(start, giveupReadLocks);
+					}
 				}
+				lockCount = -1;
+				writeVersion++;
+				VarHandle.storeStoreFence();
+				acquired = true;
+			} finally {
+				// Readers that let this writer go first may proceed, if it did not get the lock.
+				if (--waitingWriters == 0 && !acquired && waitingReaders > 0)
+					readersCondition.signalAll();
 			}
-			lockCount = -1;
+			// No read lock is held while the write lock is.
+			readLockEpoch++;
+			writeLockWaits.record(System.nanoTime() - t);
 			if (sDEBUG_LOCKS)
 				timeWriteLockAcquired = System.currentTimeMillis();
 			db.setExclusiveLock();
+		} finally {
+			mutex.unlock();
 		}
 		if (monitor != null)
 			monitor.subTask(""); //$NON-NLS-1$
@@ -1133,7 +1503,8 @@ public class PDOM extends PlatformObject implements IPDOM {
 			lastWriteAccess = System.currentTimeMillis();
 		final ChangeEvent event = fEvent;
 		fEvent = new ChangeEvent();
-		synchronized (mutex) {
+		mutex.lock();
+		try {
 			if (sDEBUG_LOCKS) {
 				long timeHeld = lastWriteAccess - timeWriteLockAcquired;
 				if (timeHeld >= LONG_WRITE_LOCK_REPORT_THRESHOLD) {
@@ -1142,21 +1513,50 @@ public class PDOM extends PlatformObject implements IPDOM {
 				decWriteLock(establishReadLocks);
 			}
 
-			if (lockCount < 0)
+			if (lockCount < 0) {
 				lockCount = establishReadLocks;
-			mutex.notifyAll();
+				addReadLocksOfThread(readLocksOfThread.get(), establishReadLocks);
+				writeVersion++;
+			}
+			// Hand the lock over to the readers that are waiting, the next writer has to wait for them.
+			writeLockReleases++;
+			admittedReaders = waitingReaders;
+			if (waitingReaders > 0) {
+				readersCondition.signalAll();
+			} else if (waitingWriters > 0) {
+				writersCondition.signalAll();
+			}
 			db.setLocked(lockCount != 0);
+		} finally {
+			mutex.unlock();
 		}
 		fireChange(event);
 	}
 
 	@Override
 	public boolean hasWaitingReaders() {
-		synchronized (mutex) {
+		mutex.lock();
+		try {
 			return waitingReaders > 0;
+		} finally {
+			mutex.unlock();
 		}
 	}
 
+	/**
+	 * Returns the histogram of the times spent waiting for read locks on this PDOM.
+	 */
+	public LockWaitHistogram getReadLockWaits() {
+		return readLockWaits;
+	}
+
+	/**
+	 * Returns the histogram of the times spent waiting for the write lock on this PDOM.
+	 */
+	public LockWaitHistogram getWriteLockWaits() {
+		return writeLockWaits;
+	}
+
 	@Override
 	public long getLastWriteAccess() {
 		return lastWriteAccess;
@@ -1231,36 +1631,47 @@ public class PDOM extends PlatformObject implements IPDOM {
 	@Override
 	public IIndexFragmentName[] findNames(IBinding binding, int options) throws CoreException {
 		ArrayList<IIndexFragmentName> names = new ArrayList<>();
+		findNames(binding, options, names::add);
+		return names.toArray(new IIndexFragmentName[names.size()]);
+	}
+
+	@Override
+	public boolean findNames(IBinding binding, int options, INameVisitor visitor) throws CoreException {
 		IIndexFragmentBinding myBinding = adaptBinding(binding);
 		if (myBinding instanceof PDOMBinding) {
 			PDOMBinding pdomBinding = (PDOMBinding) myBinding;
-			findNamesForMyBinding(pdomBinding, options, names);
+			if (!findNamesForMyBinding(pdomBinding, options, visitor))
+				return false;
 			if ((options & SEARCH_ACROSS_LANGUAGE_BOUNDARIES) != 0) {
 				PDOMBinding[] xlangBindings = getCrossLanguageBindings(binding);
 				for (PDOMBinding xlangBinding : xlangBindings) {
-					findNamesForMyBinding(xlangBinding, options, names);
+					if (!findNamesForMyBinding(xlangBinding, options, visitor))
+						return false;
 				}
 			}
 		} else if (myBinding instanceof PDOMMacroContainer) {
 			final PDOMMacroContainer macroContainer = (PDOMMacroContainer) myBinding;
-			findNamesForMyBinding(macroContainer, options, names);
+			if (!findNamesForMyBinding(macroContainer, options, visitor))
+				return false;
 			if ((options & SEARCH_ACROSS_LANGUAGE_BOUNDARIES) != 0) {
 				PDOMMacroContainer[] xlangBindings = getCrossLanguageBindings(macroContainer);
 				for (PDOMMacroContainer xlangBinding : xlangBindings) {
-					findNamesForMyBinding(xlangBinding, options, names);
+					if (!findNamesForMyBinding(xlangBinding, options, visitor))
+						return false;
 				}
 			}
 		}
-		return names.toArray(new IIndexFragmentName[names.size()]);
+		return true;
 	}
 
-	private void findNamesForMyBinding(PDOMBinding pdomBinding, int options, ArrayList<IIndexFragmentName> names)
+	private boolean findNamesForMyBinding(PDOMBinding pdomBinding, int options, INameVisitor visitor)
 			throws CoreException {
 		PDOMName name;
 		if ((options & FIND_DECLARATIONS) != 0) {
 			for (name = pdomBinding.getFirstDeclaration(); name != null; name = name.getNextInBinding()) {
 				if (isCommitted(name) && !name.isPotentialMatch()) {
-					names.add(name);
+					if (!visitor.visit(name))
+						return false;
 				}
 			}
 		}
@@ -1268,31 +1679,37 @@ public class PDOM extends PlatformObject implements IPDOM {
 			for (name = pdomBinding.getFirstDefinition(); name != null; name = name.getNextInBinding()) {
 				boolean findPotentialMatches = (options & FIND_POTENTIAL_MATCHES) != 0;
 				if (isCommitted(name) && (!name.isPotentialMatch() || findPotentialMatches)) {
-					names.add(name);
+					if (!visitor.visit(name))
+						return false;
 				}
 			}
 		}
 		if ((options & FIND_REFERENCES) != 0) {
 			for (name = pdomBinding.getFirstReference(); name != null; name = name.getNextInBinding()) {
 				if (isCommitted(name) && !name.isPotentialMatch()) {
-					names.add(name);
+					if (!visitor.visit(name))
+						return false;
 				}
 			}
 			for (IPDOMIterator<PDOMName> iterator = pdomBinding.getExternalReferences(); iterator.hasNext();) {
 				name = iterator.next();
-				if (isCommitted(name) && !name.isPotentialMatch())
-					names.add(name);
+				if (isCommitted(name) && !name.isPotentialMatch()) {
+					if (!visitor.visit(name))
+						return false;
+				}
 			}
 		}
+		return true;
 	}
 
-	private void findNamesForMyBinding(PDOMMacroContainer container, int options, ArrayList<IIndexFragmentName> names)
+	private boolean findNamesForMyBinding(PDOMMacroContainer container, int options, INameVisitor visitor)
 			throws CoreException {
 		if ((options & FIND_DEFINITIONS) != 0) {
 			for (PDOMMacro macro = container.getFirstDefinition(); macro != null; macro = macro.getNextInContainer()) {
 				final IIndexFragmentName name = macro.getDefinition();
 				if (name != null && isCommitted(macro)) {
-					names.add(name);
+					if (!visitor.visit(name))
+						return false;
 				}
 			}
 		}
@@ -1300,10 +1717,12 @@ public class PDOM extends PlatformObject implements IPDOM {
 			for (PDOMMacroReferenceName name = container.getFirstReference(); name != null; name = name
 					.getNextInContainer()) {
 				if (isCommitted(name)) {
-					names.add(name);
+					if (!visitor.visit(name))
+						return false;
 				}
 			}
 		}
+		return true;
 	}
 
 	public IRecordIterator getDeclarationsDefintitionsRecordIterator(IIndexBinding binding) throws CoreException {
@@ -1316,6 +1735,27 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return IRecordIterator.EMPTY;
 	}
 
+	@Override
+	public IIndexFragmentBinding[] findDerivedClasses(IBinding classType) throws CoreException {
+		IIndexFragmentBinding binding = adaptBinding(classType);
+		if (!(binding instanceof PDOMBinding))
+			return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+
+		PDOMBinding pdomBinding = (PDOMBinding) binding;
+		List<IIndexFragmentBinding> result = new ArrayList<>();
+		Set<Long> handled = new HashSet<>();
+		for (PDOMName name : pdomBinding.getLinkage().getDerivedClassDefinitions(pdomBinding)) {
+			if (isCommitted(name)) {
+				PDOMBinding derived = name.getBinding();
+				// A class with multiple definitions is listed once per definition.
+				if (derived != null && handled.add(derived.getRecord())) {
+					result.add(derived);
+				}
+			}
+		}
+		return result.toArray(new IIndexFragmentBinding[result.size()]);
+	}
+
 	protected boolean isCommitted(PDOMName name) throws CoreException {
 		return true;
 	}
@@ -1343,6 +1783,36 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return new PDOMInclude[0];
 	}
 
+	@Override
+	public IIndexFragmentFile[] findIncludingFiles(IIndexFragmentFile[] files) throws CoreException {
+		return recreateFiles(getIncludeGraph().findIncluders(adaptFiles(files)));
+	}
+
+	@Override
+	public IIndexFragmentFile[] findIncludedFiles(IIndexFragmentFile[] files) throws CoreException {
+		return recreateFiles(getIncludeGraph().findIncludedFiles(adaptFiles(files)));
+	}
+
+	private long[] adaptFiles(IIndexFragmentFile[] files) throws CoreException {
+		long[] records = new long[files.length];
+		int n = 0;
+		for (IIndexFragmentFile file : files) {
+			PDOMFile pdomFile = adaptFile(file);
+			if (pdomFile != null) {
+				records[n++] = pdomFile.getRecord();
+			}
+		}
+		return Arrays.copyOf(records, n);
+	}
+
+	private IIndexFragmentFile[] recreateFiles(long[] records) throws CoreException {
+		IIndexFragmentFile[] files = new IIndexFragmentFile[records.length];
+		for (int i = 0; i < records.length; i++) {
+			files[i] = PDOMFile.recreateFile(this, records[i]);
+		}
+		return files;
+	}
+
 	private PDOMFile adaptFile(IIndexFragmentFile file) throws CoreException {
 		if (file.getIndexFragment() == this && file instanceof PDOMFile) {
 			return (PDOMFile) file;
@@ -1513,18 +1983,20 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	private void clearCaches() {
 		fileIndex = null;
+		fileHashIndex = null;
+		stringTable = null;
+		nameTrigramIndex = null;
 		tagIndex = null;
 		indexOfDefectiveFiles = null;
 		indexOfFiledWithUnresolvedIncludes = null;
 		fLinkageIDCache.clear();
+		fIncludeGraph.clear();
 		clearResultCache();
 	}
 
 	@Override
 	public void clearResultCache() {
-		synchronized (fResultCache) {
-			fResultCache.clear();
-		}
+		fResultCache.clear();
 		synchronized (fVariableResultCache) {
 			fVariableResultCache.clear();
 		}
@@ -1543,6 +2015,24 @@ public class PDOM extends PlatformObject implements IPDOM {
 	@Override
 	public void resetCacheCounters() {
 		db.resetCacheCounters();
+		fResultCache.resetCounters();
+	}
+
+	@Override
+	public long getResultCacheHits() {
+		return fResultCache.getHits();
+	}
+
+	@Override
+	public long getResultCacheMisses() {
+		return fResultCache.getMisses();
+	}
+
+	/**
+	 * Returns the cache for results of queries to this PDOM.
+	 */
+	public ResultCache getResultCache() {
+		return fResultCache;
 	}
 
 	protected void flush() throws CoreException {
@@ -1551,9 +2041,7 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	@Override
 	public Object getCachedResult(Object key) {
-		synchronized (fResultCache) {
-			return fResultCache.get(key);
-		}
+		return fResultCache.get(key);
 	}
 
 	public void putCachedResult(Object key, Object result) {
@@ -1562,20 +2050,16 @@ public class PDOM extends PlatformObject implements IPDOM {
 
 	@Override
 	public Object putCachedResult(Object key, Object result, boolean replace) {
-		synchronized (fResultCache) {
-			Object old = fResultCache.put(key, result);
-			if (old != null && !replace) {
-				fResultCache.put(key, old);
-				return old;
-			}
-			return result;
-		}
+		return fResultCache.put(key, result, replace);
+	}
+
+	@Override
+	public Object putPinnedResult(Object key, Object result) {
+		return fResultCache.putPinned(key, result);
 	}
 
 	public void removeCachedResult(Object key) {
-		synchronized (fResultCache) {
-			fResultCache.remove(key);
-		}
+		fResultCache.remove(key);
 	}
 
 	public IValue getCachedVariableResult(Long key) {
@@ -1890,7 +2374,10 @@ public class PDOM extends PlatformObject implements IPDOM {
 			System.out.println();
 			System.out.println("Blocked writeLock");
 			System.out.println("  lockcount= " + lockCount + ", giveupReadLocks=" + giveupReadLocks
-					+ ", waitingReaders=" + waitingReaders);
+					+ ", waitingReaders=" + waitingReaders + ", waitingWriters=" + waitingWriters
+					+ ", admittedReaders=" + admittedReaders);
+			System.out.println("  read lock waits:  " + readLockWaits);
+			System.out.println("  write lock waits: " + writeLockWaits);
 			outputReadLocks(fLockDebugging);
 			start = now;
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2012 Wind River Systems, Inc. and others.
+ * Copyright (c) 2007, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -145,6 +145,22 @@ public class PDOMProxy implements IPDOM {
 		return new IIndexFragmentInclude[0];
 	}
 
+	@Override
+	public synchronized IIndexFragmentFile[] findIncludingFiles(IIndexFragmentFile[] files) throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.findIncludingFiles(files);
+
+		return IIndexFragmentFile.EMPTY_ARRAY;
+	}
+
+	@Override
+	public synchronized IIndexFragmentFile[] findIncludedFiles(IIndexFragmentFile[] files) throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.findIncludedFiles(files);
+
+		return IIndexFragmentFile.EMPTY_ARRAY;
+	}
+
 	@Override
 	public synchronized IIndexFragmentName[] findNames(IBinding binding, int flags) throws CoreException {
 		if (fDelegate != null)
@@ -153,6 +169,22 @@ public class PDOMProxy implements IPDOM {
 		return IIndexFragmentName.EMPTY_NAME_ARRAY;
 	}
 
+	@Override
+	public synchronized boolean findNames(IBinding binding, int flags, INameVisitor visitor) throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.findNames(binding, flags, visitor);
+
+		return true;
+	}
+
+	@Override
+	public synchronized IIndexFragmentBinding[] findDerivedClasses(IBinding classType) throws CoreException {
+		if (fDelegate != null)
+			return fDelegate.findDerivedClasses(classType);
+
+		return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+	}
+
 	@Override
 	public synchronized long getCacheHits() {
 		if (fDelegate != null)
@@ -169,6 +201,22 @@ public class PDOMProxy implements IPDOM {
 		return 0;
 	}
 
+	@Override
+	public synchronized long getResultCacheHits() {
+		if (fDelegate != null)
+			return fDelegate.getResultCacheHits();
+
+		return 0;
+	}
+
+	@Override
+	public synchronized long getResultCacheMisses() {
+		if (fDelegate != null)
+			return fDelegate.getResultCacheMisses();
+
+		return 0;
+	}
+
 	@Deprecated
 	@Override
 	public synchronized IIndexFragmentFile getFile(int linkageID, IIndexFileLocation location) throws CoreException {
@@ -351,6 +399,11 @@ public class PDOMProxy implements IPDOM {
 		return value;
 	}
 
+	@Override
+	public Object putPinnedResult(Object key, Object value) {
+		return value;
+	}
+
 	@Override
 	public void clearResultCache() {
 		if (fDelegate != null)
@@ -460,6 +460,36 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 		fStatistics.fResolutionTime += System.currentTimeMillis() - start;
 	}
 
+	/**
+	 * Resolves the names that are going to be stored in the index for the given AST ahead of time,
+	 * such that the bindings are cached in the AST when the symbols are added. Problems are not
+	 * reported, they show up again when the symbols are added. For an AST that was created without
+	 * an index the method can be called from any thread.
+	 */
+	protected final void resolveNamesAhead(IASTTranslationUnit ast) {
+		final IndexerASTVisitor visitor = new IndexerASTVisitor((fSkipReferences & SKIP_IMPLICIT_REFERENCES) == 0) {
+			@Override
+			public void visit(IASTName name, IASTName caller) {
+				if (fCancelState.isCanceled())
+					throw new OperationCanceledException();
+
+				if (fSkipReferences == SKIP_ALL_REFERENCES && name.isReference() && !isRequiredReference(name))
+					return;
+				try {
+					name.resolveBinding();
+				} catch (RuntimeException | StackOverflowError e) {
+					// Reported when the symbols are added.
+				}
+			}
+		};
+		CPPSemantics.pushLookupPoint(ast);
+		try {
+			ast.accept(visitor);
+		} finally {
+			CPPSemantics.popLookupPoint();
+		}
+	}
+
 	private boolean isVariableIndexed(ICPPVariable variable) {
 		if (variable instanceof ICPPField)
 			return true;
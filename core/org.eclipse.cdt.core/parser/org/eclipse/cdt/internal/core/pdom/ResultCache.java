@@ -0,0 +1,387 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.cdt.core.dom.ast.IBinding;
+
+/**
+ * Bounded cache for the results of queries to a PDOM, e.g. bindings adapted to the PDOM, members
+ * of scopes, bases of classes or instances of templates. All the cached results can be recomputed
+ * from the database.
+ * <p>
+ * The cache is divided into segments, each of them with its own lock, such that threads working
+ * with different keys rarely contend for the same lock. A key is always managed by the same segment.
+ * <p>
+ * Within a segment entries are evicted with a segmented LRU policy: new entries are put on probation,
+ * entries that are found while on probation are promoted to the protected part. When the protected
+ * part overflows its least recently used entries are demoted to the probationary part, entries are
+ * evicted from the probationary part, only. Results that are used over and over again therefore
+ * survive a burst of results that are used only once.
+ * <p>
+ * Some results should not be recomputed while the PDOM is locked, because their identity matters,
+ * e.g. the maps of specialized members of a class specialization or the caches of template instances.
+ * Such results are pinned, they are bounded by a separate maximum size and are never evicted for
+ * ordinary results. When there are too many pinned results, the least recently used ones are
+ * released, they remain available as long as they are referenced elsewhere.
+ */
+public final class ResultCache {
+	/**
+	 * System property to change the maximum number of results cached per PDOM.
+	 */
+	public static final String MAX_SIZE_PROPERTY = "org.eclipse.cdt.core.parser.pdom.resultCacheSize"; //$NON-NLS-1$
+	public static final int DEFAULT_MAX_SIZE = 100000;
+	/**
+	 * System property to change the maximum number of pinned results cached per PDOM.
+	 */
+	public static final String MAX_PINNED_SIZE_PROPERTY = "org.eclipse.cdt.core.parser.pdom.pinnedCacheSize"; //$NON-NLS-1$
+	public static final int DEFAULT_MAX_PINNED_SIZE = 20000;
+
+	private static final int MAX_SEGMENTS = 16;
+	private static final int PROTECTED_PERCENT = 80;
+
+	/**
+	 * Kinds of keys, the statistics of the cache are kept per kind.
+	 */
+	public enum KeyKind {
+		/** Bindings that have been adapted to the PDOM */
+		BINDING,
+		/** Records of the database, e.g. members and bases of classes */
+		RECORD,
+		/** Names looked up in a scope */
+		NAME,
+		/** Any other kind of key */
+		OTHER;
+
+		public static KeyKind of(Object key) {
+			if (key instanceof Long)
+				return RECORD;
+			if (key instanceof String)
+				return NAME;
+			if (key instanceof IBinding)
+				return BINDING;
+			return OTHER;
+		}
+	}
+
+	private final Segment[] fSegments;
+	private final int fSegmentMask;
+
+	private final LongAdder[] fHits = new LongAdder[KeyKind.values().length];
+	private final LongAdder[] fMisses = new LongAdder[KeyKind.values().length];
+	private final LongAdder fEvictions = new LongAdder();
+	private final LongAdder fReleases = new LongAdder();
+
+	/**
+	 * Weak reference to a released pinned result that knows its key.
+	 */
+	private static final class ReleasedResult extends WeakReference<Object> {
+		final Object fKey;
+
+		ReleasedResult(Object key, Object result, ReferenceQueue<Object> queue) {
+			super(result, queue);
+			fKey = key;
+		}
+	}
+
+	/**
+	 * One lock-protected part of the cache.
+	 */
+	private final class Segment {
+		private final LinkedHashMap<Object, Object> fProbation = new LinkedHashMap<>(16, 0.75f, true);
+		private final LinkedHashMap<Object, Object> fProtected = new LinkedHashMap<>(16, 0.75f, true);
+		private final LinkedHashMap<Object, Object> fPinned = new LinkedHashMap<>(16, 0.75f, true);
+		private final HashMap<Object, ReleasedResult> fReleased = new HashMap<>();
+		private final ReferenceQueue<Object> fReleasedQueue = new ReferenceQueue<>();
+		private final int fMaxSize;
+		private final int fMaxProtectedSize;
+		private final int fMaxPinnedSize;
+
+		Segment(int maxSize, int maxPinnedSize) {
+			fMaxSize = maxSize;
+			fMaxProtectedSize = (int) ((long) maxSize * PROTECTED_PERCENT / 100);
+			fMaxPinnedSize = maxPinnedSize;
+		}
+
+		synchronized Object get(Object key) {
+			Object value = fProtected.get(key);
+			if (value == null) {
+				value = fProbation.remove(key);
+				if (value != null) {
+					promote(key, value);
+				} else {
+					value = fPinned.get(key);
+					if (value == null) {
+						value = getReleased(key);
+					}
+				}
+			}
+			return value;
+		}
+
+		synchronized Object putPinned(Object key, Object value) {
+			Object old = fPinned.get(key);
+			if (old == null) {
+				old = getReleased(key);
+			}
+			if (old != null)
+				return old;
+
+			pin(key, value);
+			return value;
+		}
+
+		private void pin(Object key, Object value) {
+			fPinned.put(key, value);
+			if (fPinned.size() > fMaxPinnedSize) {
+				purgeReleased();
+				Iterator<Map.Entry<Object, Object>> it = fPinned.entrySet().iterator();
+				Map.Entry<Object, Object> eldest = it.next();
+				it.remove();
+				fReleased.put(eldest.getKey(), new ReleasedResult(eldest.getKey(), eldest.getValue(), fReleasedQueue));
+				fReleases.increment();
+			}
+		}
+
+		/**
+		 * Returns a released pinned result that is still referenced elsewhere and pins it again.
+		 */
+		private Object getReleased(Object key) {
+			ReleasedResult ref = fReleased.remove(key);
+			if (ref == null)
+				return null;
+			Object value = ref.get();
+			if (value != null) {
+				pin(key, value);
+			}
+			return value;
+		}
+
+		private void purgeReleased() {
+			ReleasedResult ref;
+			while ((ref = (ReleasedResult) fReleasedQueue.poll()) != null) {
+				fReleased.remove(ref.fKey, ref);
+			}
+		}
+
+		synchronized Object put(Object key, Object value, boolean replace) {
+			Object old = fProtected.get(key);
+			if (old != null) {
+				if (!replace)
+					return old;
+				fProtected.put(key, value);
+				return value;
+			}
+			old = fProbation.remove(key);
+			if (old != null) {
+				promote(key, replace ? value : old);
+				return replace ? value : old;
+			}
+			fProbation.put(key, value);
+			int evicted = 0;
+			for (Iterator<Object> it = fProbation.keySet().iterator(); size() > fMaxSize && it.hasNext();) {
+				it.next();
+				it.remove();
+				evicted++;
+			}
+			if (evicted > 0) {
+				fEvictions.add(evicted);
+			}
+			return value;
+		}
+
+		synchronized void remove(Object key) {
+			if (fProtected.remove(key) == null && fProbation.remove(key) == null) {
+				fPinned.remove(key);
+				fReleased.remove(key);
+			}
+		}
+
+		synchronized void clear() {
+			fProtected.clear();
+			fProbation.clear();
+			fPinned.clear();
+			fReleased.clear();
+		}
+
+		synchronized int pinnedSize() {
+			return fPinned.size();
+		}
+
+		synchronized int size() {
+			return fProtected.size() + fProbation.size();
+		}
+
+		private void promote(Object key, Object value) {
+			fProtected.put(key, value);
+			if (fProtected.size() > fMaxProtectedSize) {
+				Iterator<Map.Entry<Object, Object>> it = fProtected.entrySet().iterator();
+				Map.Entry<Object, Object> eldest = it.next();
+				it.remove();
+				fProbation.put(eldest.getKey(), eldest.getValue());
+			}
+		}
+	}
+
+	public ResultCache() {
+		this(Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE),
+				Integer.getInteger(MAX_PINNED_SIZE_PROPERTY, DEFAULT_MAX_PINNED_SIZE));
+	}
+
+	public ResultCache(int maxSize) {
+		this(maxSize, maxSize / 5);
+	}
+
+	public ResultCache(int maxSize, int maxPinnedSize) {
+		maxSize = Math.max(maxSize, 1);
+		int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(maxSize));
+		fSegments = new Segment[segmentCount];
+		fSegmentMask = segmentCount - 1;
+		int maxPinnedPerSegment = Math.max(1, maxPinnedSize / segmentCount);
+		for (int i = 0; i < segmentCount; i++) {
+			fSegments[i] = new Segment(maxSize / segmentCount + (i < maxSize % segmentCount ? 1 : 0),
+					maxPinnedPerSegment);
+		}
+		for (int i = 0; i < fHits.length; i++) {
+			fHits[i] = new LongAdder();
+			fMisses[i] = new LongAdder();
+		}
+	}
+
+	private Segment getSegment(Object key) {
+		int hash = key.hashCode();
+		return fSegments[(hash ^ (hash >>> 16)) & fSegmentMask];
+	}
+
+	/**
+	 * Returns the result cached for the given key, or <code>null</code>.
+	 */
+	public Object get(Object key) {
+		Object result = getSegment(key).get(key);
+		final int kind = KeyKind.of(key).ordinal();
+		if (result != null) {
+			fHits[kind].increment();
+		} else {
+			fMisses[kind].increment();
+		}
+		return result;
+	}
+
+	/**
+	 * Caches a result for the given key and returns the result that is cached for the key
+	 * afterwards. A result of <code>null</code> removes the key from the cache.
+	 * @param replace whether to replace a result that is already cached for the key.
+	 */
+	public Object put(Object key, Object result, boolean replace) {
+		if (result == null) {
+			remove(key);
+			return null;
+		}
+		return getSegment(key).put(key, result, replace);
+	}
+
+	/**
+	 * Caches a result for the given key that is not evicted for ordinary results. When the maximum
+	 * number of pinned results is exceeded, the least recently used pinned result is released and
+	 * kept only as long as it is referenced elsewhere. A result that is already cached for the key
+	 * is not replaced.
+	 * @return the result that is cached for the key afterwards.
+	 */
+	public Object putPinned(Object key, Object result) {
+		return getSegment(key).putPinned(key, result);
+	}
+
+	public void remove(Object key) {
+		getSegment(key).remove(key);
+	}
+
+	public void clear() {
+		for (Segment segment : fSegments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of cached results, including the pinned ones.
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : fSegments) {
+			size += segment.size() + segment.pinnedSize();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the number of pinned results.
+	 */
+	public int pinnedSize() {
+		int size = 0;
+		for (Segment segment : fSegments) {
+			size += segment.pinnedSize();
+		}
+		return size;
+	}
+
+	public long getHits() {
+		long hits = 0;
+		for (LongAdder adder : fHits) {
+			hits += adder.sum();
+		}
+		return hits;
+	}
+
+	public long getMisses() {
+		long misses = 0;
+		for (LongAdder adder : fMisses) {
+			misses += adder.sum();
+		}
+		return misses;
+	}
+
+	public long getHits(KeyKind kind) {
+		return fHits[kind.ordinal()].sum();
+	}
+
+	public long getMisses(KeyKind kind) {
+		return fMisses[kind.ordinal()].sum();
+	}
+
+	public long getEvictions() {
+		return fEvictions.sum();
+	}
+
+	/**
+	 * Returns the number of pinned results that have been released because there were too many.
+	 */
+	public long getReleases() {
+		return fReleases.sum();
+	}
+
+	public void resetCounters() {
+		for (int i = 0; i < fHits.length; i++) {
+			fHits[i].reset();
+			fMisses[i].reset();
+		}
+		fEvictions.reset();
+		fReleases.reset();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 Wind River Systems, Inc. and others.
+ * Copyright (c) 2006, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,8 +17,11 @@ package org.eclipse.cdt.internal.core.pdom;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
 import org.eclipse.cdt.core.dom.ast.IASTName;
@@ -48,6 +51,8 @@ import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacro;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMMacroReferenceName;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMName;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
 
 public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 	private boolean fClearedBecauseOfVersionMismatch = false;
@@ -56,6 +61,9 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 	private PDOMFile fileBeingUpdated;
 	private PDOMFile uncommittedFile;
 	private FileContentKey uncommittedKey;
+	private PDOM fMergeSource;
+	private Map<Long, PDOMFile> fMergedFiles;
+	private Map<Long, PDOMBinding> fMergedBindings;
 
 	public WritablePDOM(File dbPath, IIndexLocationConverter locationConverter,
 			Map<String, IPDOMLinkageFactory> linkageFactoryMappings) throws CoreException {
@@ -98,11 +106,12 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		int defectiveStateChange = uncommittedFile.getTimestamp() == 0 ? 1 : 0;
 		int unresolvedIncludeStateChange = uncommittedFile.hasUnresolvedInclude() ? 1 : 0;
 
+		contentChanged();
 		PDOMFile file;
 		if (fileBeingUpdated == null) {
 			// New file, insert it into the index.
 			file = uncommittedFile;
-			getFileIndex().insert(file.getRecord());
+			addToFileIndex(file);
 		} else {
 			// Existing file.
 			if (fileBeingUpdated.getTimestamp() == 0)
@@ -151,6 +160,7 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		assert sourceFile.getIndexFragment() == this;
 
 		PDOMFile pdomFile = (PDOMFile) sourceFile;
+		contentChanged();
 		pdomFile.addMacros(macros);
 		final ASTFilePathResolver origResolver = fPathResolver;
 		fPathResolver = pathResolver;
@@ -175,6 +185,7 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		IIndexFileLocation location = file.getLocation();
 		PDOMFile pdomFile = (PDOMFile) file;
 		pdomFile.clear();
+		contentChanged();
 		IIndexInclude include = pdomFile.getParsedInContext();
 		if (include != null) {
 			PDOMFile includedBy = (PDOMFile) include.getIncludedBy();
@@ -185,6 +196,93 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		fEvent.fClearedFiles.add(location);
 	}
 
+	/**
+	 * Merges the contents of another PDOM into this one. Files are identified by their linkage,
+	 * location and significant macros. A file that already has content in this PDOM is kept, such
+	 * that the first PDOM merged into this one wins for headers contained in several PDOMs.
+	 * Bindings and macro containers are deduplicated the same way they are during indexing.
+	 * <p>
+	 * The caller needs to hold the write lock on this PDOM and a read lock on the other one. Both
+	 * PDOMs need to use the same location converter.
+	 * @param source the PDOM to copy the contents from
+	 * @param monitor a progress monitor or {@code null}
+	 */
+	public void merge(PDOM source, IProgressMonitor monitor) throws CoreException {
+		assert source != this;
+		contentChanged();
+		final IIndexFragmentFile[] sourceFiles = source.getAllFiles();
+		final SubMonitor progress = SubMonitor.convert(monitor, sourceFiles.length * 2);
+		final Map<Long, PDOMFile> mergedFiles = new HashMap<>();
+		final Map<Long, PDOMBinding> mergedBindings = new HashMap<>();
+		final Set<Long> copiedFiles = new HashSet<>();
+		final List<PDOMFile> filesToCopy = new ArrayList<>();
+		for (IIndexFragmentFile f : sourceFiles) {
+			final PDOMFile sourceFile = (PDOMFile) f;
+			final int linkageID = sourceFile.getLinkageID();
+			final IIndexFileLocation location = sourceFile.getLocation();
+			final ISignificantMacros sigMacros = sourceFile.getSignificantMacros();
+			PDOMFile file = getFile(linkageID, location, sigMacros);
+			if (file == null) {
+				file = (PDOMFile) addFile(linkageID, location, sigMacros);
+			}
+			if (!file.hasContent() && sourceFile.hasContent()) {
+				copiedFiles.add(sourceFile.getRecord());
+				filesToCopy.add(sourceFile);
+			} else if (file.hasContent() && sourceFile.hasContent()) {
+				file.mapBindingsFrom(sourceFile, mergedBindings);
+			}
+			mergedFiles.put(sourceFile.getRecord(), file);
+		}
+
+		fMergeSource = source;
+		fMergedFiles = mergedFiles;
+		fMergedBindings = mergedBindings;
+		try {
+			for (PDOMFile sourceFile : filesToCopy) {
+				mergedFiles.get(sourceFile.getRecord()).addContentsFrom(sourceFile);
+				progress.worked(1);
+			}
+			// The includes can be copied once all the included files exist.
+			for (PDOMFile sourceFile : filesToCopy) {
+				final PDOMFile file = mergedFiles.get(sourceFile.getRecord());
+				file.addIncludesFrom(sourceFile, mergedFiles, copiedFiles);
+				if (file.getTimestamp() == 0)
+					getIndexOfDefectiveFiles().insert(file.getRecord());
+				if (file.hasUnresolvedInclude())
+					getIndexOfFilesWithUnresolvedIncludes().insert(file.getRecord());
+				fEvent.fFilesWritten.add(file.getLocation());
+				progress.worked(1);
+			}
+		} finally {
+			fMergeSource = null;
+			fMergedFiles = null;
+			fMergedBindings = null;
+		}
+	}
+
+	/**
+	 * Returns the file of this PDOM that takes the place of a file of the PDOM that is currently
+	 * being merged into this one, or {@code null}.
+	 * @see #merge(PDOM, IProgressMonitor)
+	 */
+	public PDOMFile getMergedFile(PDOM source, long fileRecord) {
+		if (source != fMergeSource || fMergedFiles == null)
+			return null;
+		return fMergedFiles.get(fileRecord);
+	}
+
+	/**
+	 * Returns the binding of this PDOM that has been paired with a binding of the PDOM that is
+	 * currently being merged into this one, because both are declared in a file that was not copied.
+	 * Returns {@code null} if there is no such binding.
+	 * @see #merge(PDOM, IProgressMonitor)
+	 */
+	public PDOMBinding getMergedBinding(PDOMBinding binding) {
+		if (binding.getPDOM() != fMergeSource || fMergedBindings == null)
+			return null;
+		return fMergedBindings.get(binding.getRecord());
+	}
+
 	@Override
 	public void clear() throws CoreException {
 		super.clear();
@@ -195,6 +293,11 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 		super.flush();
 	}
 
+	@Override
+	public void compact() throws CoreException {
+		db.compact();
+	}
+
 	@Override
 	public void setProperty(String propertyName, String value) throws CoreException {
 		if (IIndexFragment.PROPERTY_FRAGMENT_FORMAT_ID.equals(propertyName)
@@ -236,7 +339,7 @@ public class WritablePDOM extends PDOM implements IWritableIndexFragment {
 			String internalFormat = newConverter.toInternalFormat(file.getLocation());
 			if (internalFormat != null) {
 				file.setInternalLocation(internalFormat);
-				getFileIndex().insert(file.getRecord());
+				addToFileIndex(file);
 			} else {
 				notConverted.add(file);
 			}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Wind River Systems, Inc. and others.
+ * Copyright (c) 2007, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,98 +13,256 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Page cache for the chunks of one or more databases.
+ * <p>
+ * The cache is divided into segments, each of them with its own lock and page table, such that
+ * threads working with different chunks rarely contend for the same lock. A chunk is always
+ * managed by the same segment.
+ * <p>
+ * Within a segment chunks are evicted with a variant of the CLOCK algorithm that ages the chunks:
+ * a chunk earns at most one credit per revolution of the clock hand in which it was referenced,
+ * and spends one credit each time the hand passes it without a reference. A chunk that has been
+ * touched only during a single scan of the database is therefore evicted before chunks that are
+ * used over and over again.
+ * <p>
+ * Chunks evicted from the cache are released from their database after the lock of the segment
+ * has been given up, such that a thread never holds a segment lock while waiting for the lock of
+ * a database.
+ */
 public final class ChunkCache {
+	private static final int MAX_SEGMENTS = 16;
+	private static final int MAX_USAGE_COUNT = 3;
+
 	private static ChunkCache sSharedInstance = new ChunkCache();
 
-	private Chunk[] fPageTable;
-	private boolean fTableIsFull;
-	private int fPointer;
+	private final Segment[] fSegments;
+	private final int fSegmentMask;
 
-	public static ChunkCache getSharedInstance() {
-		return sSharedInstance;
-	}
+	private final LongAdder fHits = new LongAdder();
+	private final LongAdder fMisses = new LongAdder();
+	private final LongAdder fEvictions = new LongAdder();
 
-	public ChunkCache() {
-		this(5 * 1024 * 1024);
-	}
-
-	public ChunkCache(long maxSize) {
-		fPageTable = new Chunk[computeLength(maxSize)];
-	}
+	/**
+	 * One lock-protected page table of the cache.
+	 */
+	private final class Segment {
+		private Chunk[] fPageTable;
+		private boolean fTableIsFull;
+		private int fPointer;
 
-	public synchronized void add(Chunk chunk, boolean locked) {
-		if (locked) {
-			chunk.fLocked = true;
-		}
-		if (chunk.fCacheIndex >= 0) {
-			chunk.fCacheHitFlag = true;
-			return;
+		Segment(int length) {
+			fPageTable = new Chunk[length];
 		}
-		if (fTableIsFull) {
-			evictChunk();
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-		} else {
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-
-			fPointer++;
-			if (fPointer == fPageTable.length) {
-				fPointer = 0;
-				fTableIsFull = true;
+
+		/**
+		 * Adds a chunk to the page table, returns the chunk that was evicted to make room for it,
+		 * or <code>null</code>.
+		 */
+		synchronized Chunk add(Chunk chunk, boolean locked) {
+			if (locked) {
+				chunk.fLocked = true;
+			}
+			if (chunk.fCacheIndex >= 0) {
+				chunk.fCacheHitFlag = true;
+				return null;
 			}
+			Chunk evicted = null;
+			if (fTableIsFull) {
+				evicted = evictChunk();
+				chunk.fCacheIndex = fPointer;
+				fPageTable[fPointer] = chunk;
+			} else {
+				chunk.fCacheIndex = fPointer;
+				fPageTable[fPointer] = chunk;
+
+				fPointer++;
+				if (fPointer == fPageTable.length) {
+					fPointer = 0;
+					fTableIsFull = true;
+				}
+			}
+			chunk.fUsageCount = 0;
+			chunk.fDatabase.fChunksInCache.incrementAndGet();
+			return evicted;
 		}
-	}
 
-	/**
-	 * Evicts a chunk from the page table and the chunk table.
-	 * After this method returns, {@link #fPointer}  will contain
-	 * the index of the evicted chunk within the page table.
-	 */
-	private void evictChunk() {
-		/*
-		 * Use the CLOCK algorithm to determine which chunk to evict.
-		 * i.e., if the chunk in the current slot of the page table has been
-		 * recently referenced (i.e. the reference flag is set), unset the
-		 * reference flag and move to the next slot.  Otherwise, evict the
-		 * chunk in the current slot.
+		/**
+		 * Evicts a chunk from the page table. After this method returns, {@link #fPointer} will
+		 * contain the index of the evicted chunk within the page table.
 		 */
-		while (true) {
-			Chunk chunk = fPageTable[fPointer];
-			if (chunk.fCacheHitFlag) {
-				chunk.fCacheHitFlag = false;
-				fPointer = (fPointer + 1) % fPageTable.length;
-			} else {
-				chunk.fDatabase.releaseChunk(chunk);
+		private Chunk evictChunk() {
+			while (true) {
+				Chunk chunk = fPageTable[fPointer];
+				if (chunk.fCacheHitFlag) {
+					chunk.fCacheHitFlag = false;
+					if (chunk.fUsageCount < MAX_USAGE_COUNT) {
+						chunk.fUsageCount++;
+					}
+					fPointer = (fPointer + 1) % fPageTable.length;
+				} else if (chunk.fUsageCount > 0) {
+					chunk.fUsageCount--;
+					fPointer = (fPointer + 1) % fPageTable.length;
+				} else {
+					detach(chunk);
+					fPageTable[fPointer] = null;
+					return chunk;
+				}
+			}
+		}
+
+		synchronized void remove(Chunk chunk) {
+			final int idx = chunk.fCacheIndex;
+			if (idx >= 0) {
+				if (fTableIsFull) {
+					fPointer = fPageTable.length - 1;
+					fTableIsFull = false;
+				} else {
+					fPointer--;
+				}
 				chunk.fCacheIndex = -1;
+				chunk.fDatabase.fChunksInCache.decrementAndGet();
+				final Chunk move = fPageTable[fPointer];
+				fPageTable[idx] = move;
+				move.fCacheIndex = idx;
 				fPageTable[fPointer] = null;
-				return;
 			}
 		}
-	}
 
-	public synchronized void remove(Chunk chunk) {
-		final int idx = chunk.fCacheIndex;
-		if (idx >= 0) {
-			if (fTableIsFull) {
-				fPointer = fPageTable.length - 1;
+		synchronized int getLength() {
+			return fPageTable.length;
+		}
+
+		/**
+		 * Changes the length of the page table, evicted chunks are added to the given list.
+		 */
+		synchronized void setLength(int newLength, List<Chunk> evicted) {
+			final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
+			if (newLength > oldLength) {
+				Chunk[] newTable = new Chunk[newLength];
+				System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
 				fTableIsFull = false;
+				fPointer = oldLength;
+				fPageTable = newTable;
 			} else {
-				fPointer--;
+				for (int i = newLength; i < oldLength; i++) {
+					final Chunk chunk = fPageTable[i];
+					detach(chunk);
+					evicted.add(chunk);
+				}
+				Chunk[] newTable = new Chunk[newLength];
+				System.arraycopy(fPageTable, 0, newTable, 0, newLength);
+				fTableIsFull = true;
+				fPointer = 0;
+				fPageTable = newTable;
 			}
+		}
+
+		private void detach(Chunk chunk) {
 			chunk.fCacheIndex = -1;
-			final Chunk move = fPageTable[fPointer];
-			fPageTable[idx] = move;
-			move.fCacheIndex = idx;
-			fPageTable[fPointer] = null;
+			chunk.fDatabase.fChunksInCache.decrementAndGet();
+			chunk.fDatabase.fCacheEvictions.increment();
+			fEvictions.increment();
+		}
+	}
+
+	public static ChunkCache getSharedInstance() {
+		return sSharedInstance;
+	}
+
+	public ChunkCache() {
+		this(5 * 1024 * 1024);
+	}
+
+	public ChunkCache(long maxSize) {
+		final int length = computeLength(maxSize);
+		final int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(length));
+		fSegments = new Segment[segmentCount];
+		fSegmentMask = segmentCount - 1;
+		for (int i = 0; i < segmentCount; i++) {
+			fSegments[i] = new Segment(segmentLength(length, i));
 		}
 	}
 
+	private Segment getSegment(Chunk chunk) {
+		int h = chunk.fSequenceNumber * 0x9E3779B9 + chunk.fDatabase.hashCode();
+		h ^= h >>> 16;
+		return fSegments[h & fSegmentMask];
+	}
+
+	/**
+	 * Returns the object that guards the cache related state of the given chunk, i.e.
+	 * {@link Chunk#fLocked} and {@link Chunk#fCacheIndex}.
+	 */
+	Object getMutex(Chunk chunk) {
+		return getSegment(chunk);
+	}
+
+	/**
+	 * Adds a chunk to the cache or marks it as recently used when it is already cached.
+	 * Must not be called while holding the lock of a database other than the one of the chunk.
+	 * @return a chunk that was evicted from the cache and needs to be released from its database,
+	 *     or <code>null</code>.
+	 */
+	Chunk add(Chunk chunk, boolean locked) {
+		return getSegment(chunk).add(chunk, locked);
+	}
+
+	void remove(Chunk chunk) {
+		getSegment(chunk).remove(chunk);
+	}
+
+	void countHit() {
+		fHits.increment();
+	}
+
+	void countMiss() {
+		fMisses.increment();
+	}
+
+	/**
+	 * Returns the number of chunk lookups that were served from memory, since the counters
+	 * have been reset.
+	 */
+	public long getHits() {
+		return fHits.sum();
+	}
+
+	/**
+	 * Returns the number of chunk lookups that had to read the chunk from disk, since the
+	 * counters have been reset.
+	 */
+	public long getMisses() {
+		return fMisses.sum();
+	}
+
+	/**
+	 * Returns the number of chunks that were evicted from the cache, since the counters have
+	 * been reset.
+	 */
+	public long getEvictions() {
+		return fEvictions.sum();
+	}
+
+	public void resetCounters() {
+		fHits.reset();
+		fMisses.reset();
+		fEvictions.reset();
+	}
+
 	/**
 	 * Returns the maximum size of the chunk cache in bytes.
 	 */
-	public synchronized long getMaxSize() {
-		return (long) fPageTable.length * Database.CHUNK_SIZE;
+	public long getMaxSize() {
+		long length = 0;
+		for (Segment segment : fSegments) {
+			length += segment.getLength();
+		}
+		return length * Database.PAGE_SIZE;
 	}
 
 	/**
@@ -112,31 +270,26 @@ public final class ChunkCache {
 	 * maximum total memory of <code>maxSize</code>.
 	 * @param maxSize the total size of the chunks in bytes.
 	 */
-	public synchronized void setMaxSize(long maxSize) {
-		final int newLength = computeLength(maxSize);
-		final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
-		if (newLength > oldLength) {
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
-			fTableIsFull = false;
-			fPointer = oldLength;
-			fPageTable = newTable;
-		} else {
-			for (int i = newLength; i < oldLength; i++) {
-				final Chunk chunk = fPageTable[i];
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
+	public void setMaxSize(long maxSize) {
+		final int length = computeLength(maxSize);
+		List<Chunk> evicted = new ArrayList<>();
+		synchronized (this) {
+			for (int i = 0; i < fSegments.length; i++) {
+				fSegments[i].setLength(segmentLength(length, i), evicted);
 			}
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, newLength);
-			fTableIsFull = true;
-			fPointer = 0;
-			fPageTable = newTable;
 		}
+		for (Chunk chunk : evicted) {
+			chunk.fDatabase.releaseChunk(chunk);
+		}
+	}
+
+	private int segmentLength(int length, int segment) {
+		final int segmentLength = length / fSegments.length + (segment < length % fSegments.length ? 1 : 0);
+		return Math.max(1, segmentLength);
 	}
 
 	private int computeLength(long maxSize) {
-		long maxLength = Math.min(maxSize / Database.CHUNK_SIZE, Integer.MAX_VALUE);
+		long maxLength = Math.min(maxSize / Database.PAGE_SIZE, Integer.MAX_VALUE);
 		return Math.max(1, (int) maxLength);
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2020 QNX Software Systems and others.
+ * Copyright (c) 2005, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,17 +22,23 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -51,6 +57,18 @@ import org.eclipse.osgi.util.NLS;
  * mapping chunk index to chunk address is maintained. Chunk structure exists only conceptually -
  * it is not a structure that appears in the file.
  *
+ * Chunks are read, cached and written in pages of PAGE_SIZE bytes, a multiple of CHUNK_SIZE that can
+ * be configured with the system property org.eclipse.cdt.core.parser.pdom.pageSize. Since a block
+ * never crosses the boundary of a chunk, the page size does not affect the format of the file, and
+ * a database can be opened with a different page size than the one it was created with. The PDOM
+ * records the page size it was last written with in its header. In memory, a page is represented
+ * by an instance of class Chunk.
+ *
+ * The first page is the header chunk. With a page size larger than CHUNK_SIZE it also holds the
+ * data chunks 1..PAGE_SIZE/CHUNK_SIZE-1. These are not written through the list of dirty chunks,
+ * they are written together with the header when the database is flushed completely, i.e. after
+ * all other dirty chunks and at the same time as the database is marked as complete again.
+ *
  * ===== The first chunk is used by Database itself for house-keeping purposes and has structure
  *
  * offset            content
@@ -71,12 +89,34 @@ import org.eclipse.osgi.util.NLS;
  * PREV_OFFSET      | pointer to previous block (of same size) (only in free blocks)
  * NEXT_OFFSET      | pointer to next block (of same size) (only in free blocks)
  *
+ * The blocks of a chunk are adjacent to each other, starting at the beginning of the chunk. When a
+ * block is freed it is merged with the free blocks next to it, trailing chunks that are entirely
+ * free can be given back to the file system with compact().
+ *
+ * ===== memory-mapped I/O
+ *
+ * Optionally the file is mapped in regions of MAPPED_REGION_SIZE bytes and chunks read from disk
+ * share their content with the mapped region instead of copying it into a heap buffer. Writable
+ * databases use private (copy-on-write) mappings, such that modifications only reach the file when
+ * a chunk is flushed. This keeps the protocol for marking the file incomplete intact.
+ *
+ * ===== concurrency
+ *
+ * The table of chunks is guarded by fChunksMutex, the cache related state of a chunk by the
+ * ChunkCache. Readers look up chunks that are already cached without locking, the table is
+ * therefore published with release/acquire semantics. A thread holding fChunksMutex may acquire
+ * the lock of a cache segment, but never the other way round. Chunks evicted from the cache are
+ * released from their database only after fChunksMutex has been given up.
  */
 public class Database {
 	// Public for tests only, you shouldn't need these.
 	public static final int INT_SIZE = 4;
 	public static final int CHUNK_SIZE = 1024 * 4;
 	public static final int OFFSET_IN_CHUNK_MASK = CHUNK_SIZE - 1;
+	public static final String PAGE_SIZE_PROPERTY = "org.eclipse.cdt.core.parser.pdom.pageSize"; //$NON-NLS-1$
+	public static final int MAX_PAGE_SIZE = 1024 * 64;
+	public static final int PAGE_SIZE = computePageSize(Integer.getInteger(PAGE_SIZE_PROPERTY, CHUNK_SIZE));
+	public static final int OFFSET_IN_PAGE_MASK = PAGE_SIZE - 1;
 	public static final int BLOCK_HEADER_SIZE = 2;
 	public static final int BLOCK_SIZE_DELTA_BITS = 3;
 	public static final int BLOCK_SIZE_DELTA = 1 << BLOCK_SIZE_DELTA_BITS;
@@ -99,24 +139,42 @@ public class Database {
 	private static final int BLOCK_PREV_OFFSET = BLOCK_HEADER_SIZE;
 	private static final int BLOCK_NEXT_OFFSET = BLOCK_HEADER_SIZE + INT_SIZE;
 
+	/**
+	 * System property to enable memory-mapped I/O for all databases opened without an explicit
+	 * choice.
+	 */
+	public static final String MAPPED_IO_PROPERTY = "org.eclipse.cdt.core.parser.pdom.mmap"; //$NON-NLS-1$
+	public static final int MAPPED_REGION_SIZE = 1024 * 1024 * 64;
+
+	private static final VarHandle CHUNKS = MethodHandles.arrayElementVarHandle(Chunk[].class);
+
 	private final File fLocation;
 	private final boolean fReadOnly;
 	private RandomAccessFile fFile;
 	private boolean fExclusiveLock; // Necessary for any write operation.
 	private boolean fLocked; // Necessary for any operation.
+	// Number of optimistic reads of the current thread, they replace the lock.
+	private final ThreadLocal<int[]> fOptimisticReads = ThreadLocal.withInitial(() -> new int[1]);
 	private boolean fIsMarkedIncomplete;
+	private boolean fTruncateFile; // The file is longer than the allocated size.
 
 	private int fVersion;
 	private final Chunk fHeaderChunk;
-	private Chunk[] fChunks;
-	private int fChunksUsed;
+	private final Object fChunksMutex = new Object();
+	private volatile Chunk[] fChunks; // Indexed by page.
+	private int fChunksUsed; // Number of pages in use.
 	private int fChunksAllocated;
+	private volatile long fAllocatedSize; // Size of all chunks in use, in bytes.
 	private ChunkCache fCache;
+	private final boolean fUseMappedIO;
+	private MappedByteBuffer[] fMappedRegions = new MappedByteBuffer[0];
 
 	private long malloced;
 	private long freed;
-	private long cacheHits;
-	private long cacheMisses;
+	private final LongAdder cacheHits = new LongAdder();
+	private final LongAdder cacheMisses = new LongAdder();
+	final LongAdder fCacheEvictions = new LongAdder();
+	final AtomicInteger fChunksInCache = new AtomicInteger();
 
 	/** Soft reference wrapper to keep track of the record for disposed strings. */
 	private static class SoftStringRef extends SoftReference<IString> {
@@ -145,10 +203,25 @@ public class Database {
 	 * @throws CoreException
 	 */
 	public Database(File location, ChunkCache cache, int version, boolean openReadOnly) throws CoreException {
+		this(location, cache, version, openReadOnly, Boolean.getBoolean(MAPPED_IO_PROPERTY));
+	}
+
+	/**
+	 * Construct a new Database object, creating a backing file if necessary.
+	 * @param location the local file path for the database
+	 * @param cache the cache to be used optimization
+	 * @param version the version number to store in the database (only applicable for new databases)
+	 * @param openReadOnly whether this Database object will ever need writing to
+	 * @param useMappedIO whether chunks shall be read from a memory-mapped view of the file
+	 * @throws CoreException
+	 */
+	public Database(File location, ChunkCache cache, int version, boolean openReadOnly, boolean useMappedIO)
+			throws CoreException {
 		try {
 			fLocation = location;
 			fReadOnly = openReadOnly;
 			fCache = cache;
+			fUseMappedIO = useMappedIO;
 			openFile();
 
 			int nChunksOnDisk = (int) (fFile.length() / CHUNK_SIZE);
@@ -158,11 +231,14 @@ public class Database {
 				fVersion = version;
 				fChunks = new Chunk[1];
 				fChunksUsed = fChunksAllocated = fChunks.length;
+				fAllocatedSize = CHUNK_SIZE;
 			} else {
 				fHeaderChunk.read();
 				fVersion = fHeaderChunk.getInt(VERSION_OFFSET);
-				fChunks = new Chunk[nChunksOnDisk]; // chunk[0] is unused.
-				fChunksUsed = fChunksAllocated = nChunksOnDisk;
+				final int nPagesOnDisk = (int) (((long) nChunksOnDisk * CHUNK_SIZE + PAGE_SIZE - 1) / PAGE_SIZE);
+				fChunks = new Chunk[nPagesOnDisk]; // chunk[0] is unused.
+				fChunksUsed = fChunksAllocated = nPagesOnDisk;
+				fAllocatedSize = (long) nChunksOnDisk * CHUNK_SIZE;
 			}
 		} catch (IOException e) {
 			throw new CoreException(new DBStatus(e));
@@ -186,6 +262,30 @@ public class Database {
 		} while (true);
 	}
 
+	/**
+	 * Returns whether the given value can be the size of a page: a power of two between
+	 * {@link #CHUNK_SIZE} and {@link #MAX_PAGE_SIZE}.
+	 */
+	public static boolean isValidPageSize(int pageSize) {
+		return pageSize >= CHUNK_SIZE && pageSize <= MAX_PAGE_SIZE && Integer.bitCount(pageSize) == 1;
+	}
+
+	private static int computePageSize(int pageSize) {
+		if (pageSize <= CHUNK_SIZE) {
+			return CHUNK_SIZE;
+		}
+		// A power of two, such that pages are aligned with chunks.
+		return Math.min(MAX_PAGE_SIZE, Integer.highestOneBit(pageSize));
+	}
+
+	/**
+	 * Returns the number of bytes of the given page that are in use by allocated chunks.
+	 */
+	int getUsedPageLength(int pageIndex) {
+		final long length = fAllocatedSize - (long) pageIndex * PAGE_SIZE;
+		return (int) Math.max(0, Math.min(PAGE_SIZE, length));
+	}
+
 	void write(ByteBuffer buf, long position) throws IOException {
 		int retries = 0;
 		while (true) {
@@ -199,6 +299,86 @@ public class Database {
 		}
 	}
 
+	/**
+	 * Returns a buffer sharing its content with the chunk at the given position of the file,
+	 * or <code>null</code> if memory-mapped I/O is not used or the chunk is not stored in the file.
+	 * Called while holding the lock on {@link #fChunksMutex}.
+	 */
+	ByteBuffer map(long position) throws IOException {
+		if (!fUseMappedIO) {
+			return null;
+		}
+		final int regionIndex = (int) (position / MAPPED_REGION_SIZE);
+		final int offsetInRegion = (int) (position % MAPPED_REGION_SIZE);
+		MappedByteBuffer region = regionIndex < fMappedRegions.length ? fMappedRegions[regionIndex] : null;
+		if (region == null || region.capacity() < offsetInRegion + PAGE_SIZE) {
+			// The file may have grown since the region was mapped. Chunks referring to the old
+			// mapping remain valid, it is released once they are garbage collected.
+			final long regionStart = (long) regionIndex * MAPPED_REGION_SIZE;
+			final long size = Math.min(MAPPED_REGION_SIZE, fFile.length() - regionStart);
+			if (size < offsetInRegion + PAGE_SIZE) {
+				return null;
+			}
+			region = mapRegion(regionStart, size);
+			if (regionIndex >= fMappedRegions.length) {
+				MappedByteBuffer[] newRegions = new MappedByteBuffer[regionIndex + 1];
+				System.arraycopy(fMappedRegions, 0, newRegions, 0, fMappedRegions.length);
+				fMappedRegions = newRegions;
+			}
+			fMappedRegions[regionIndex] = region;
+		}
+		return region.slice(offsetInRegion, PAGE_SIZE);
+	}
+
+	private MappedByteBuffer mapRegion(long regionStart, long size) throws IOException {
+		// Private mappings are copy-on-write, the file is changed only when a chunk is flushed.
+		final MapMode mode = fReadOnly ? MapMode.READ_ONLY : MapMode.PRIVATE;
+		int retries = 0;
+		while (true) {
+			try {
+				return fFile.getChannel().map(mode, regionStart, size);
+			} catch (ClosedChannelException e) {
+				// Bug 219834 file may have be closed by interrupting a thread during an I/O operation.
+				reopen(e, ++retries);
+			}
+		}
+	}
+
+	private void releaseMappedRegions() {
+		// The regions are unmapped by the garbage collector.
+		synchronized (fChunksMutex) {
+			fMappedRegions = new MappedByteBuffer[0];
+		}
+	}
+
+	/**
+	 * Evicts the last page from the cache if the file is about to be truncated within that page.
+	 * With memory-mapped I/O the page may share its content with a mapping of the entire page,
+	 * and accessing the part of the mapping past the end of the truncated file fails. The page
+	 * is read again when it is needed, the chunks have already been flushed.
+	 */
+	private void evictPartiallyUsedPage() {
+		final int pageIndex = (int) (fAllocatedSize / PAGE_SIZE);
+		if (!fUseMappedIO || pageIndex == 0 || fAllocatedSize % PAGE_SIZE == 0) {
+			return;
+		}
+		synchronized (fChunksMutex) {
+			final Chunk chunk = fChunks[pageIndex];
+			if (chunk != null) {
+				assert !chunk.fDirty;
+				fCache.remove(chunk);
+				fChunks[pageIndex] = null;
+			}
+		}
+	}
+
+	/**
+	 * Returns whether chunks of this database are read from a memory-mapped view of the file.
+	 */
+	public boolean usesMappedIO() {
+		return fUseMappedIO;
+	}
+
 	private void reopen(ClosedChannelException e, int attempt) throws ClosedChannelException, FileNotFoundException {
 		// Only if the current thread was not interrupted we try to reopen the file.
 		if (e instanceof ClosedByInterruptException || attempt >= 20) {
@@ -242,11 +422,14 @@ public class Database {
 		removeChunksFromCache();
 
 		fVersion = version;
-		// Clear the first chunk.
-		fHeaderChunk.clear(0, CHUNK_SIZE);
+		// Clear the first page.
+		fHeaderChunk.clear(0, PAGE_SIZE);
 		// Chunks have been removed from the cache, so we may just reset the array of chunks.
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		fAllocatedSize = CHUNK_SIZE;
+		fTruncateFile = false;
+		releaseMappedRegions();
 		try {
 			fHeaderChunk.flush(); // Zero out header chunk.
 			fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
@@ -274,7 +457,7 @@ public class Database {
 	}
 
 	private void removeChunksFromCache() {
-		synchronized (fCache) {
+		synchronized (fChunksMutex) {
 			for (int i = 1; i < fChunks.length; i++) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null) {
@@ -286,34 +469,68 @@ public class Database {
 	}
 
 	/**
-	 * Return the Chunk that contains the given offset.
+	 * Return the Chunk that caches the page containing the given offset.
 	 * @throws CoreException
 	 */
 	public Chunk getChunk(long offset) throws CoreException {
-		if (offset < CHUNK_SIZE) {
+		if (offset < PAGE_SIZE) {
 			return fHeaderChunk;
 		}
-		long long_index = offset / CHUNK_SIZE;
+		long long_index = offset / PAGE_SIZE;
 		assert long_index < Integer.MAX_VALUE;
+		assert fLocked || isOptimisticRead();
+		final int index = (int) long_index;
+
+		Chunk chunk;
+		if (!fExclusiveLock) {
+			// Fast path for readers, a chunk that is in the cache can be used without locking.
+			final Chunk[] chunks = fChunks;
+			if (index >= 0 && index < chunks.length) {
+				chunk = (Chunk) CHUNKS.getAcquire(chunks, index);
+				if (chunk != null && chunk.fCacheIndex >= 0) {
+					chunk.fCacheHitFlag = true;
+					countCacheHit();
+					return chunk;
+				}
+			}
+		}
 
-		synchronized (fCache) {
-			assert fLocked;
-			final int index = (int) long_index;
-			if (index < 0 || index >= fChunks.length) {
+		if (isOptimisticRead()) {
+			// The chunk cache must not be modified without a lock, the reader has to fall back to
+			// a read lock.
+			throw OptimisticReadAbortedException.INSTANCE;
+		}
+
+		final Chunk evicted;
+		synchronized (fChunksMutex) {
+			final Chunk[] chunks = fChunks;
+			if (index < 0 || index >= chunks.length) {
 				databaseCorruptionDetected();
 			}
-			Chunk chunk = fChunks[index];
+			chunk = chunks[index];
 			if (chunk == null) {
-				cacheMisses++;
-				chunk = new Chunk(this, index);
-				chunk.read();
+				cacheMisses.increment();
+				fCache.countMiss();
+				chunk = Chunk.load(this, index);
 				// Put the chunk in fChunks after it was read successfully.
-				fChunks[index] = chunk;
+				CHUNKS.setRelease(chunks, index, chunk);
 			} else {
-				cacheHits++;
+				countCacheHit();
 			}
-			fCache.add(chunk, fExclusiveLock);
-			return chunk;
+			evicted = fCache.add(chunk, fExclusiveLock);
+		}
+		releaseEvictedChunk(evicted);
+		return chunk;
+	}
+
+	private void countCacheHit() {
+		cacheHits.increment();
+		fCache.countHit();
+	}
+
+	private static void releaseEvictedChunk(Chunk evicted) {
+		if (evicted != null) {
+			evicted.fDatabase.releaseChunk(evicted);
 		}
 	}
 
@@ -375,64 +592,57 @@ public class Database {
 	}
 
 	private long createNewChunk() throws CoreException {
-		assert fExclusiveLock;
-		synchronized (fCache) {
-			final int newChunkIndex = fChunksUsed; // fChunks.length;
-
-			final Chunk chunk = new Chunk(this, newChunkIndex);
-			chunk.fDirty = true;
-
-			if (newChunkIndex >= fChunksAllocated) {
-				int increment = Math.max(1024, fChunksAllocated / 20);
-				Chunk[] newchunks = new Chunk[fChunksAllocated + increment];
-				System.arraycopy(fChunks, 0, newchunks, 0, fChunksAllocated);
-
-				fChunks = newchunks;
-				fChunksAllocated += increment;
-			}
-			fChunksUsed += 1;
-			fChunks[newChunkIndex] = chunk;
-
-			fCache.add(chunk, true);
-			long address = (long) newChunkIndex * CHUNK_SIZE;
-
-			/*
-			 * Non-dense pointers are at most 31 bits dense pointers are at most 35 bits Check the sizes here
-			 * and throw an exception if the address is too large. By throwing the CoreException with the
-			 * special status, the indexing operation should be stopped. This is desired since generally, once
-			 * the max size is exceeded, there are lots of errors.
-			 */
-			if (address >= MAX_DB_SIZE) {
-				Object bindings[] = { this.getLocation().getAbsolutePath(), MAX_DB_SIZE };
-				throw new CoreException(
-						new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, CCorePlugin.STATUS_PDOM_TOO_LARGE,
-								NLS.bind(CCorePlugin.getResourceString("pdom.DatabaseTooLarge"), bindings), null)); //$NON-NLS-1$
-			}
-			return address;
-		}
+		return createNewChunks(1);
 	}
 
 	/**
-	 * For testing purposes, only.
+	 * Allocates the given number of chunks at the end of the database and returns the address of
+	 * the last one. Allocating more than one chunk is for testing purposes, only.
 	 */
 	private long createNewChunks(int numChunks) throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
-			final int oldLen = fChunks.length;
-			Chunk[] newchunks = new Chunk[oldLen + numChunks];
-			System.arraycopy(fChunks, 0, newchunks, 0, oldLen);
-			for (int i = oldLen; i < oldLen + numChunks; i++) {
-				newchunks[i] = null;
+		final long address = fAllocatedSize + (long) (numChunks - 1) * CHUNK_SIZE;
+
+		/*
+		 * Non-dense pointers are at most 31 bits dense pointers are at most 35 bits Check the sizes here
+		 * and throw an exception if the address is too large. By throwing the CoreException with the
+		 * special status, the indexing operation should be stopped. This is desired since generally, once
+		 * the max size is exceeded, there are lots of errors.
+		 */
+		if (address >= MAX_DB_SIZE) {
+			Object bindings[] = { this.getLocation().getAbsolutePath(), MAX_DB_SIZE };
+			throw new CoreException(
+					new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, CCorePlugin.STATUS_PDOM_TOO_LARGE,
+							NLS.bind(CCorePlugin.getResourceString("pdom.DatabaseTooLarge"), bindings), null)); //$NON-NLS-1$
+		}
+
+		Chunk evicted = null;
+		synchronized (fChunksMutex) {
+			fAllocatedSize = address + CHUNK_SIZE;
+			final int newPageIndex = (int) (address / PAGE_SIZE);
+			// Unless the chunk starts a new page, the page containing it is already in use and
+			// will be obtained via getChunk().
+			if (newPageIndex >= fChunksUsed) {
+				final Chunk chunk = new Chunk(this, newPageIndex);
+				chunk.fDirty = true;
+
+				if (newPageIndex >= fChunksAllocated) {
+					int increment = Math.max(1024, fChunksAllocated / 20);
+					int newLength = Math.max(newPageIndex + 1, fChunksAllocated + increment);
+					Chunk[] newchunks = new Chunk[newLength];
+					System.arraycopy(fChunks, 0, newchunks, 0, fChunksAllocated);
+
+					fChunks = newchunks;
+					fChunksAllocated = newLength;
+				}
+				fChunksUsed = newPageIndex + 1;
+				CHUNKS.setRelease(fChunks, newPageIndex, chunk);
+
+				evicted = fCache.add(chunk, true);
 			}
-			final Chunk chunk = new Chunk(this, oldLen + numChunks - 1);
-			chunk.fDirty = true;
-			newchunks[oldLen + numChunks - 1] = chunk;
-			fChunks = newchunks;
-			fCache.add(chunk, true);
-			fChunksAllocated = oldLen + numChunks;
-			fChunksUsed = oldLen + numChunks;
-			return (long) (oldLen + numChunks - 1) * CHUNK_SIZE;
 		}
+		releaseEvictedChunk(evicted);
+		return address;
 	}
 
 	private long getFirstBlock(int blocksize) throws CoreException {
@@ -480,7 +690,6 @@ public class Database {
 	 */
 	public void free(long offset) throws CoreException {
 		assert fExclusiveLock;
-		// TODO Look for opportunities to merge blocks
 		long block = offset - BLOCK_HEADER_SIZE;
 		Chunk chunk = getChunk(block);
 		int blocksize = -chunk.getShort(block);
@@ -489,9 +698,86 @@ public class Database {
 			throw new CoreException(new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, 0,
 					"Already freed record " + offset, new Exception())); //$NON-NLS-1$
 		}
-		addBlock(chunk, blocksize, block);
 		freed += blocksize;
 		stringCache.remove(offset); // also remove record from string cache (if it exists)
+
+		// Merge with the free blocks next to us. Blocks never span chunks, therefore the neighbors
+		// are found in the same chunk.
+		final long chunkStart = block - (block & OFFSET_IN_CHUNK_MASK);
+		final long nextblock = block + blocksize;
+		if (nextblock < chunkStart + CHUNK_SIZE) {
+			final int nextsize = chunk.getShort(nextblock);
+			if (nextsize > 0) {
+				removeBlock(chunk, nextsize, nextblock);
+				blocksize += nextsize;
+			}
+		}
+		final long prevblock = findPreviousBlock(chunk, chunkStart, block);
+		if (prevblock != 0) {
+			final int prevsize = chunk.getShort(prevblock);
+			if (prevsize > 0) {
+				removeBlock(chunk, prevsize, prevblock);
+				block = prevblock;
+				blocksize += prevsize;
+			}
+		}
+		addBlock(chunk, blocksize, block);
+	}
+
+	/**
+	 * Returns the block preceding the given one in its chunk, or 0 if it is the first block of the
+	 * chunk. Blocks have no back-links, the chunk is scanned from its start instead.
+	 */
+	private long findPreviousBlock(Chunk chunk, long chunkStart, long block) throws CoreException {
+		long prev = 0;
+		long current = chunkStart;
+		while (current < block) {
+			final int size = Math.abs(chunk.getShort(current));
+			if (size < MIN_BLOCK_DELTAS * BLOCK_SIZE_DELTA) {
+				return 0; // Chunk without block structure, don't merge.
+			}
+			prev = current;
+			current += size;
+		}
+		return current == block ? prev : 0;
+	}
+
+	/**
+	 * Gives back the chunks at the end of the database that do not contain any allocated blocks.
+	 * The file is truncated when the database is flushed the next time.
+	 *
+	 * @return the number of bytes given back
+	 */
+	public long compact() throws CoreException {
+		assert fExclusiveLock;
+		final long oldSize = fAllocatedSize;
+		long size = oldSize;
+		while (size > CHUNK_SIZE) {
+			final long chunkStart = size - CHUNK_SIZE;
+			final Chunk chunk = getChunk(chunkStart);
+			if (chunk.getShort(chunkStart) != CHUNK_SIZE) {
+				break;
+			}
+			removeBlock(chunk, CHUNK_SIZE, chunkStart);
+			size = chunkStart;
+		}
+		if (size == oldSize) {
+			return 0;
+		}
+		synchronized (fChunksMutex) {
+			fAllocatedSize = size;
+			final int pagesUsed = (int) ((size + PAGE_SIZE - 1) / PAGE_SIZE);
+			for (int i = pagesUsed; i < fChunksUsed; i++) {
+				final Chunk chunk = fChunks[i];
+				if (chunk != null) {
+					fCache.remove(chunk);
+					fChunks[i] = null;
+				}
+			}
+			fChunksUsed = pagesUsed;
+		}
+		fTruncateFile = true;
+		return oldSize - size;
 	}
 
 	public void putByte(long offset, byte value) throws CoreException {
@@ -641,21 +927,50 @@ public class Database {
 	 * For debugging purposes, only.
 	 */
 	public void reportFreeBlocks() throws CoreException {
-		System.out.println("Allocated size: " + fChunksUsed * CHUNK_SIZE); //$NON-NLS-1$
+		System.out.println("Allocated size: " + fAllocatedSize); //$NON-NLS-1$
 		System.out.println("malloc'ed: " + malloced); //$NON-NLS-1$
 		System.out.println("free'd: " + freed); //$NON-NLS-1$
-		System.out.println("wasted: " + (fChunksUsed * CHUNK_SIZE - (malloced - freed))); //$NON-NLS-1$
+		System.out.println("wasted: " + (fAllocatedSize - (malloced - freed))); //$NON-NLS-1$
 		System.out.println("Free blocks"); //$NON-NLS-1$
+		long freeBytes = 0;
+		long freeBlocks = 0;
 		for (int bs = MIN_BLOCK_DELTAS * BLOCK_SIZE_DELTA; bs <= CHUNK_SIZE; bs += BLOCK_SIZE_DELTA) {
-			int count = 0;
-			long block = getFirstBlock(bs);
-			while (block != 0) {
-				++count;
-				block = getFreeRecPtr(block + BLOCK_NEXT_OFFSET);
-			}
+			int count = countFreeBlocks(bs);
 			if (count != 0)
 				System.out.println("Block size: " + bs + "=" + count); //$NON-NLS-1$ //$NON-NLS-2$
+			freeBytes += (long) count * bs;
+			freeBlocks += count;
+		}
+		System.out.println("Free space: " + freeBytes + " bytes in " + freeBlocks + " blocks"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		System.out.println("Fragmentation: " + Math.round(getFragmentation() * 100) + "%"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private int countFreeBlocks(int blocksize) throws CoreException {
+		int count = 0;
+		long block = getFirstBlock(blocksize);
+		while (block != 0) {
+			++count;
+			block = getFreeRecPtr(block + BLOCK_NEXT_OFFSET);
 		}
+		return count;
+	}
+
+	/**
+	 * Returns the fraction of the free space that is scattered over blocks smaller than a chunk,
+	 * a value between 0 (all free space is available in entire chunks) and 1. The free lists are
+	 * traversed, such that the cost of this method is proportional to the number of free blocks.
+	 */
+	public double getFragmentation() throws CoreException {
+		long freeBytes = 0;
+		long freeChunkBytes = 0;
+		for (int bs = MIN_BLOCK_DELTAS * BLOCK_SIZE_DELTA; bs <= CHUNK_SIZE; bs += BLOCK_SIZE_DELTA) {
+			final long bytes = (long) countFreeBlocks(bs) * bs;
+			freeBytes += bytes;
+			if (bs == CHUNK_SIZE) {
+				freeChunkBytes = bytes;
+			}
+		}
+		return freeBytes == 0 ? 0 : (double) (freeBytes - freeChunkBytes) / freeBytes;
 	}
 
 	/**
@@ -670,10 +985,12 @@ public class Database {
 		removeChunksFromCache();
 
 		// Chunks have been removed from the cache, so we are fine.
-		fHeaderChunk.clear(0, CHUNK_SIZE);
+		fHeaderChunk.clear(0, PAGE_SIZE);
 		fHeaderChunk.fDirty = false;
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		fAllocatedSize = CHUNK_SIZE;
+		releaseMappedRegions();
 		try {
 			fFile.close();
 		} catch (IOException e) {
@@ -690,11 +1007,20 @@ public class Database {
 	}
 
 	/**
-	 * Called from any thread via the cache, protected by {@link #fCache}.
+	 * Called from any thread after the chunk has been evicted from the cache. The chunk may have
+	 * been added to the cache again in the meantime, in which case it is kept.
 	 */
 	void releaseChunk(final Chunk chunk) {
-		if (!chunk.fLocked) {
-			fChunks[chunk.fSequenceNumber] = null;
+		synchronized (fChunksMutex) {
+			final Chunk[] chunks = fChunks;
+			final int index = chunk.fSequenceNumber;
+			if (index < chunks.length && chunks[index] == chunk) {
+				synchronized (fCache.getMutex(chunk)) {
+					if (!chunk.fLocked && chunk.fCacheIndex < 0) {
+						chunks[index] = null;
+					}
+				}
+			}
 		}
 	}
 
@@ -719,33 +1045,65 @@ public class Database {
 		fLocked = val;
 	}
 
+	/**
+	 * Marks the beginning of a read by the current thread that is not protected by a lock, the
+	 * caller is responsible for validating the data read. Must be followed by a call to
+	 * {@link #endOptimisticRead()}.
+	 */
+	public void beginOptimisticRead() {
+		fOptimisticReads.get()[0]++;
+	}
+
+	public void endOptimisticRead() {
+		fOptimisticReads.get()[0]--;
+	}
+
+	private boolean isOptimisticRead() {
+		return fOptimisticReads.get()[0] > 0;
+	}
+
+	/**
+	 * Thrown when an optimistic read needs a chunk that is not in the cache, or the database is
+	 * being written to. The read has to be repeated under a read lock.
+	 */
+	public static final class OptimisticReadAbortedException extends RuntimeException {
+		private static final long serialVersionUID = 1L;
+		static final OptimisticReadAbortedException INSTANCE = new OptimisticReadAbortedException();
+
+		private OptimisticReadAbortedException() {
+			super(null, null, false, false);
+		}
+	}
+
 	public void giveUpExclusiveLock(final boolean flush) throws CoreException {
 		if (fExclusiveLock) {
 			try {
 				ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-				synchronized (fCache) {
+				synchronized (fChunksMutex) {
 					for (int i = 1; i < fChunksUsed; i++) {
 						Chunk chunk = fChunks[i];
 						if (chunk != null) {
-							if (chunk.fCacheIndex < 0) {
-								// Locked chunk that has been removed from cache.
-								if (chunk.fDirty) {
-									dirtyChunks.add(chunk); // Keep in fChunks until it is flushed.
-								} else {
-									chunk.fLocked = false;
-									fChunks[i] = null;
-								}
-							} else if (chunk.fLocked) {
-								// Locked chunk, still in cache.
-								if (chunk.fDirty) {
-									if (flush) {
-										dirtyChunks.add(chunk);
+							synchronized (fCache.getMutex(chunk)) {
+								if (chunk.fCacheIndex < 0) {
+									// Locked chunk that has been removed from cache.
+									if (chunk.fDirty) {
+										dirtyChunks.add(chunk); // Keep in fChunks until it is flushed.
+									} else {
+										chunk.fLocked = false;
+										fChunks[i] = null;
+									}
+								} else if (chunk.fLocked) {
+									// Locked chunk, still in cache.
+									if (chunk.fDirty) {
+										if (flush) {
+											dirtyChunks.add(chunk);
+										}
+									} else {
+										chunk.fLocked = false;
 									}
 								} else {
-									chunk.fLocked = false;
+									assert !chunk.fDirty; // Dirty chunks must be locked.
 								}
-							} else {
-								assert !chunk.fDirty; // Dirty chunks must be locked.
 							}
 						}
 					}
@@ -771,7 +1129,7 @@ public class Database {
 
 		// Be careful as other readers may access chunks concurrently.
 		ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-		synchronized (fCache) {
+		synchronized (fChunksMutex) {
 			for (int i = 1; i < fChunksUsed; i++) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null && chunk.fDirty) {
@@ -794,7 +1152,7 @@ public class Database {
 	}
 
 	private void flushAndUnlockChunks(final ArrayList<Chunk> dirtyChunks, boolean isComplete) throws CoreException {
-		assert !Thread.holdsLock(fCache);
+		assert !Thread.holdsLock(fChunksMutex);
 		synchronized (fHeaderChunk) {
 			final boolean haveDirtyChunks = !dirtyChunks.isEmpty();
 			if (haveDirtyChunks || fHeaderChunk.fDirty) {
@@ -808,11 +1166,13 @@ public class Database {
 				}
 
 				// Only after the chunks are flushed we may unlock and release them.
-				synchronized (fCache) {
+				synchronized (fChunksMutex) {
 					for (Chunk chunk : dirtyChunks) {
-						chunk.fLocked = false;
-						if (chunk.fCacheIndex < 0) {
-							fChunks[chunk.fSequenceNumber] = null;
+						synchronized (fCache.getMutex(chunk)) {
+							chunk.fLocked = false;
+							if (chunk.fCacheIndex < 0) {
+								fChunks[chunk.fSequenceNumber] = null;
+							}
 						}
 					}
 				}
@@ -824,6 +1184,17 @@ public class Database {
 					fHeaderChunk.flush();
 					fIsMarkedIncomplete = false;
 				}
+				if (fTruncateFile) {
+					// The free lists no longer refer to the chunks past the allocated size.
+					fTruncateFile = false;
+					releaseMappedRegions();
+					evictPartiallyUsedPage();
+					try {
+						fFile.getChannel().truncate(fAllocatedSize);
+					} catch (IOException e) {
+						throw new CoreException(new DBStatus(e));
+					}
+				}
 			}
 		}
 	}
@@ -841,15 +1212,32 @@ public class Database {
 	}
 
 	public void resetCacheCounters() {
-		cacheHits = cacheMisses = 0;
+		cacheHits.reset();
+		cacheMisses.reset();
+		fCacheEvictions.reset();
 	}
 
 	public long getCacheHits() {
-		return cacheHits;
+		return cacheHits.sum();
 	}
 
 	public long getCacheMisses() {
-		return cacheMisses;
+		return cacheMisses.sum();
+	}
+
+	/**
+	 * Returns the number of chunks of this database that were evicted from the cache since the
+	 * counters have been reset.
+	 */
+	public long getCacheEvictions() {
+		return fCacheEvictions.sum();
+	}
+
+	/**
+	 * Returns the number of chunks of this database that currently occupy the cache.
+	 */
+	public int getCachedChunkCount() {
+		return fChunksInCache.get();
 	}
 
 	public long getSizeBytes() {
@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * A persistent hash table mapping hash codes to records. Several records can share a hash code,
+ * clients need to check the records they get back from {@link #getRecords(int)}. Unlike a
+ * {@link BTree}, a lookup does not need to look at the records themselves and typically touches a
+ * single chunk of the database.
+ * <p>
+ * The table uses open addressing with linear probing. The slots are stored in segments of one
+ * chunk each, which are found via a two-level directory. The table doubles its size when it
+ * becomes half full. In addition an in-memory bloom filter of the hash codes answers most
+ * lookups for hash codes that are not contained in the table without reading the database.
+ * <p>
+ * As all other structures of the database, the table must be read while holding at least a read
+ * lock and modified while holding the write lock.
+ */
+public class HashIndex {
+	private static final int SLOT_SIZE = Database.INT_SIZE + Database.PTR_SIZE;
+	private static final int SEGMENT_SLOTS = Database.MAX_MALLOC_SIZE / SLOT_SIZE;
+	private static final int DIRECTORY_SIZE = Database.MAX_MALLOC_SIZE / Database.PTR_SIZE;
+	private static final long[] EMPTY = {};
+
+	// Fields of the header record.
+	private static final int COUNT = 0;
+	private static final int SEGMENT_COUNT = 4;
+	private static final int DIRECTORY = 8;
+	private static final int HEADER_SIZE = 12;
+
+	// The bloom filter uses BLOOM_BITS_PER_ENTRY bits per entry and BLOOM_HASHES bits per hash code.
+	private static final int BLOOM_BITS_PER_ENTRY = 16;
+	private static final int BLOOM_HASHES = 3;
+
+	private final Database db;
+	private final long headerPointer;
+	private volatile long[] fBloomFilter;
+
+	/**
+	 * @param db the database containing the hash table
+	 * @param headerPointer offset into database of the pointer to the header of the table
+	 */
+	public HashIndex(Database db, long headerPointer) {
+		this.db = db;
+		this.headerPointer = headerPointer;
+	}
+
+	/**
+	 * Returns the number of records in the table.
+	 */
+	public int size() throws CoreException {
+		final long header = db.getRecPtr(headerPointer);
+		return header == 0 ? 0 : db.getInt(header + COUNT);
+	}
+
+	/**
+	 * Adds a record to the table. The record must not be contained in the table, yet.
+	 */
+	public void insert(int hash, long record) throws CoreException {
+		assert record != 0;
+		long header = db.getRecPtr(headerPointer);
+		if (header == 0) {
+			header = db.malloc(HEADER_SIZE);
+			db.putRecPtr(header + DIRECTORY, db.malloc(DIRECTORY_SIZE * Database.PTR_SIZE));
+			addSegments(header, 0, 1);
+			db.putInt(header + SEGMENT_COUNT, 1);
+			db.putRecPtr(headerPointer, header);
+		}
+		final int count = db.getInt(header + COUNT) + 1;
+		if (count * 2L > (long) db.getInt(header + SEGMENT_COUNT) * SEGMENT_SLOTS) {
+			grow(header);
+		}
+		putSlot(header, hash, record);
+		db.putInt(header + COUNT, count);
+
+		final long[] filter = fBloomFilter;
+		if (filter != null) {
+			if ((long) count * BLOOM_BITS_PER_ENTRY > (long) filter.length * Long.SIZE) {
+				// Rebuilt with a larger size on the next lookup.
+				fBloomFilter = null;
+			} else {
+				addToFilter(filter, hash);
+			}
+		}
+	}
+
+	/**
+	 * Removes a record from the table, returns whether the record was found.
+	 */
+	public boolean delete(int hash, long record) throws CoreException {
+		final long header = db.getRecPtr(headerPointer);
+		if (header == 0)
+			return false;
+
+		final int capacity = db.getInt(header + SEGMENT_COUNT) * SEGMENT_SLOTS;
+		int i = homeSlot(hash, capacity);
+		long slot;
+		while ((slot = getSlot(header, i)) != 0 && getRecordOfSlot(slot) != record) {
+			i = nextSlot(i, capacity);
+		}
+		if (slot == 0)
+			return false;
+
+		// Shift the following entries of the cluster back, such that no lookup stops at the gap.
+		int gap = i;
+		for (int j = nextSlot(i, capacity); (slot = getSlot(header, j)) != 0; j = nextSlot(j, capacity)) {
+			final int home = homeSlot(getHashOfSlot(slot), capacity);
+			final boolean canMove = gap <= j ? (home <= gap || home > j) : (home <= gap && home > j);
+			if (canMove) {
+				setSlot(header, gap, slot);
+				gap = j;
+			}
+		}
+		setSlot(header, gap, 0);
+		db.putInt(header + COUNT, db.getInt(header + COUNT) - 1);
+		// The bloom filter keeps the hash code, it may have been shared with other records.
+		return true;
+	}
+
+	/**
+	 * Returns the records that have been added with the given hash code, in no particular order.
+	 */
+	public long[] getRecords(int hash) throws CoreException {
+		final long header = db.getRecPtr(headerPointer);
+		if (header == 0)
+			return EMPTY;
+
+		long[] filter = fBloomFilter;
+		if (filter == null) {
+			filter = fBloomFilter = createFilter(header);
+		}
+		if (!mayContain(filter, hash))
+			return EMPTY;
+
+		final int capacity = db.getInt(header + SEGMENT_COUNT) * SEGMENT_SLOTS;
+		long[] result = EMPTY;
+		int n = 0;
+		long slot;
+		for (int i = homeSlot(hash, capacity); (slot = getSlot(header, i)) != 0; i = nextSlot(i, capacity)) {
+			if (getHashOfSlot(slot) == hash) {
+				if (n == result.length) {
+					result = Arrays.copyOf(result, n == 0 ? 1 : n * 2);
+				}
+				result[n++] = getRecordOfSlot(slot);
+			}
+		}
+		return n == result.length ? result : Arrays.copyOf(result, n);
+	}
+
+	/**
+	 * Removes all records from the table and frees its storage.
+	 */
+	public void clear() throws CoreException {
+		final long header = db.getRecPtr(headerPointer);
+		if (header != 0) {
+			freeSegments(header, db.getInt(header + SEGMENT_COUNT));
+			db.free(header);
+			db.putRecPtr(headerPointer, 0);
+		}
+		fBloomFilter = null;
+	}
+
+	private void grow(long header) throws CoreException {
+		final int oldSegmentCount = db.getInt(header + SEGMENT_COUNT);
+		final int oldCapacity = oldSegmentCount * SEGMENT_SLOTS;
+		if (oldSegmentCount * 2L > (long) DIRECTORY_SIZE * DIRECTORY_SIZE)
+			throw new CoreException(new DBStatus("Hash index is full")); //$NON-NLS-1$
+
+		// Move the old segments out of the way and re-insert their entries into a table of
+		// twice the size.
+		final long oldDirectory = db.getRecPtr(header + DIRECTORY);
+		db.putRecPtr(header + DIRECTORY, db.malloc(DIRECTORY_SIZE * Database.PTR_SIZE));
+		addSegments(header, 0, oldSegmentCount * 2);
+		db.putInt(header + SEGMENT_COUNT, oldSegmentCount * 2);
+
+		final long newDirectory = db.getRecPtr(header + DIRECTORY);
+		db.putRecPtr(header + DIRECTORY, oldDirectory);
+		long[] entries = new long[db.getInt(header + COUNT)];
+		int n = 0;
+		for (int i = 0; i < oldCapacity; i++) {
+			final long slot = getSlot(header, i);
+			if (slot != 0) {
+				entries[n++] = slot;
+			}
+		}
+		freeSegments(header, oldSegmentCount);
+		db.putRecPtr(header + DIRECTORY, newDirectory);
+
+		for (int i = 0; i < n; i++) {
+			putSlot(header, getHashOfSlot(entries[i]), getRecordOfSlot(entries[i]));
+		}
+	}
+
+	private void putSlot(long header, int hash, long record) throws CoreException {
+		final int capacity = db.getInt(header + SEGMENT_COUNT) * SEGMENT_SLOTS;
+		int i = homeSlot(hash, capacity);
+		while (getSlot(header, i) != 0) {
+			i = nextSlot(i, capacity);
+		}
+		setSlot(header, i, ((long) hash << 32) | (Chunk.compressFreeRecPtr(record - Database.BLOCK_HEADER_SIZE) & 0xffffffffL));
+	}
+
+	private void addSegments(long header, int from, int to) throws CoreException {
+		final long directory = db.getRecPtr(header + DIRECTORY);
+		for (int i = from; i < to; i++) {
+			final long subDirectoryAddress = directory + (i / DIRECTORY_SIZE) * Database.PTR_SIZE;
+			long subDirectory = db.getRecPtr(subDirectoryAddress);
+			if (subDirectory == 0) {
+				subDirectory = db.malloc(DIRECTORY_SIZE * Database.PTR_SIZE);
+				db.putRecPtr(subDirectoryAddress, subDirectory);
+			}
+			db.putRecPtr(subDirectory + (i % DIRECTORY_SIZE) * Database.PTR_SIZE,
+					db.malloc(SEGMENT_SLOTS * SLOT_SIZE));
+		}
+	}
+
+	private void freeSegments(long header, int segmentCount) throws CoreException {
+		final long directory = db.getRecPtr(header + DIRECTORY);
+		for (int i = 0; i < segmentCount; i += DIRECTORY_SIZE) {
+			final long subDirectory = db.getRecPtr(directory + (i / DIRECTORY_SIZE) * Database.PTR_SIZE);
+			for (int j = i; j < segmentCount && j < i + DIRECTORY_SIZE; j++) {
+				db.free(db.getRecPtr(subDirectory + (j % DIRECTORY_SIZE) * Database.PTR_SIZE));
+			}
+			db.free(subDirectory);
+		}
+		db.free(directory);
+	}
+
+	private long getSlotAddress(long header, int slot) throws CoreException {
+		final int segment = slot / SEGMENT_SLOTS;
+		final long directory = db.getRecPtr(header + DIRECTORY);
+		final long subDirectory = db.getRecPtr(directory + (segment / DIRECTORY_SIZE) * Database.PTR_SIZE);
+		final long segmentAddress = db.getRecPtr(subDirectory + (segment % DIRECTORY_SIZE) * Database.PTR_SIZE);
+		return segmentAddress + (slot % SEGMENT_SLOTS) * SLOT_SIZE;
+	}
+
+	/**
+	 * Returns the hash code and the compressed record pointer of a slot packed into a long, or 0 for
+	 * an empty slot.
+	 */
+	private long getSlot(long header, int slot) throws CoreException {
+		final long slotAddress = getSlotAddress(header, slot);
+		final int record = db.getInt(slotAddress + Database.INT_SIZE);
+		if (record == 0)
+			return 0;
+		return ((long) db.getInt(slotAddress) << 32) | (record & 0xffffffffL);
+	}
+
+	private void setSlot(long header, int slot, long value) throws CoreException {
+		final long slotAddress = getSlotAddress(header, slot);
+		db.putInt(slotAddress, getHashOfSlot(value));
+		db.putInt(slotAddress + Database.INT_SIZE, (int) value);
+	}
+
+	private static int getHashOfSlot(long slot) {
+		return (int) (slot >>> 32);
+	}
+
+	private static long getRecordOfSlot(long slot) {
+		return Chunk.expandToFreeRecPtr((int) slot) + Database.BLOCK_HEADER_SIZE;
+	}
+
+	private static int homeSlot(int hash, int capacity) {
+		return ((mix(hash) & Integer.MAX_VALUE) % capacity);
+	}
+
+	private static int nextSlot(int slot, int capacity) {
+		return slot + 1 == capacity ? 0 : slot + 1;
+	}
+
+	private static int mix(int hash) {
+		final int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private long[] createFilter(long header) throws CoreException {
+		final int count = db.getInt(header + COUNT);
+		// Twice the size needed, such that the filter needs not be rebuilt on every insertion.
+		final long bits = Math.max(Long.SIZE, (long) count * BLOOM_BITS_PER_ENTRY * 2);
+		final long[] filter = new long[(int) Math.min(1 << 30, Long.highestOneBit(bits * 2 - 1) / Long.SIZE)];
+		final int capacity = db.getInt(header + SEGMENT_COUNT) * SEGMENT_SLOTS;
+		for (int i = 0; i < capacity; i++) {
+			final long slot = getSlot(header, i);
+			if (slot != 0) {
+				addToFilter(filter, getHashOfSlot(slot));
+			}
+		}
+		return filter;
+	}
+
+	private static void addToFilter(long[] filter, int hash) {
+		final long mask = (long) filter.length * Long.SIZE - 1;
+		int h = mix(hash);
+		final int step = Integer.rotateLeft(hash, 16) | 1;
+		for (int i = 0; i < BLOOM_HASHES; i++, h += step) {
+			final long bit = h & mask;
+			filter[(int) (bit >>> 6)] |= 1L << bit;
+		}
+	}
+
+	private static boolean mayContain(long[] filter, int hash) {
+		final long mask = (long) filter.length * Long.SIZE - 1;
+		int h = mix(hash);
+		final int step = Integer.rotateLeft(hash, 16) | 1;
+		for (int i = 0; i < BLOOM_HASHES; i++, h += step) {
+			final long bit = h & mask;
+			if ((filter[(int) (bit >>> 6)] & (1L << bit)) == 0)
+				return false;
+		}
+		return true;
+	}
+}
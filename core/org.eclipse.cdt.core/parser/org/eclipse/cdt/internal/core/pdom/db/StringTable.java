@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * A persistent table of interned strings. Each distinct string is stored once in the database,
+ * its record serves as a stable integer id. Two interned strings are equal if and only if they
+ * have the same record, such that clients can compare names without reading their characters.
+ * <p>
+ * The strings are reference counted, every call to {@link #intern(char[])} needs to be matched
+ * by a call to {@link #release(long)}. The entries are found via a {@link HashIndex} on the hash
+ * codes of the strings. Optionally the table maintains a {@link TrigramIndex} of its strings, for
+ * finding strings by substrings.
+ * <p>
+ * As all other structures of the database, the table must be read while holding at least a read
+ * lock and modified while holding the write lock.
+ */
+public class StringTable {
+	// Fields of an entry.
+	private static final int STRING = 0;
+	private static final int REFERENCE_COUNT = 4;
+	private static final int ENTRY_SIZE = 8;
+
+	private final Database db;
+	private final HashIndex index;
+	private final TrigramIndex trigramIndex;
+
+	/**
+	 * @param db the database containing the table
+	 * @param headerPointer offset into database of the pointer to the header of the table
+	 */
+	public StringTable(Database db, long headerPointer) {
+		this(db, headerPointer, null);
+	}
+
+	/**
+	 * @param db the database containing the table
+	 * @param headerPointer offset into database of the pointer to the header of the table
+	 * @param trigramIndex an index to maintain for the strings of the table, keyed by the records of
+	 *     the strings, or <code>null</code>.
+	 */
+	public StringTable(Database db, long headerPointer, TrigramIndex trigramIndex) {
+		this.db = db;
+		this.index = new HashIndex(db, headerPointer);
+		this.trigramIndex = trigramIndex;
+	}
+
+	/**
+	 * Returns the number of distinct strings in the table.
+	 */
+	public int size() throws CoreException {
+		return index.size();
+	}
+
+	/**
+	 * Returns the interned string with the given characters, the string is added to the table if
+	 * necessary. The caller is responsible for releasing the string again.
+	 */
+	public IString intern(char[] chars) throws CoreException {
+		final int hash = hash(chars);
+		long entry = findEntry(hash, chars);
+		if (entry != 0) {
+			db.putInt(entry + REFERENCE_COUNT, db.getInt(entry + REFERENCE_COUNT) + 1);
+			return db.getString(db.getRecPtr(entry + STRING));
+		}
+		final IString string = db.newString(chars);
+		entry = db.malloc(ENTRY_SIZE);
+		db.putRecPtr(entry + STRING, string.getRecord());
+		db.putInt(entry + REFERENCE_COUNT, 1);
+		index.insert(hash, entry);
+		if (trigramIndex != null)
+			trigramIndex.add(chars, string.getRecord());
+		return string;
+	}
+
+	/**
+	 * Returns the record of the interned string with the given characters, or <code>0</code> if
+	 * the table does not contain such a string.
+	 */
+	public long find(char[] chars) throws CoreException {
+		final long entry = findEntry(hash(chars), chars);
+		return entry == 0 ? 0 : db.getRecPtr(entry + STRING);
+	}
+
+	/**
+	 * Releases an interned string, the string is deleted when it is no longer referenced.
+	 */
+	public void release(long stringRecord) throws CoreException {
+		if (stringRecord == 0)
+			return;
+
+		final IString string = db.getString(stringRecord);
+		final char[] chars = string.getChars();
+		final int hash = hash(chars);
+		for (long entry : index.getRecords(hash)) {
+			if (db.getRecPtr(entry + STRING) == stringRecord) {
+				final int count = db.getInt(entry + REFERENCE_COUNT) - 1;
+				if (count > 0) {
+					db.putInt(entry + REFERENCE_COUNT, count);
+				} else {
+					index.delete(hash, entry);
+					db.free(entry);
+					if (trigramIndex != null)
+						trigramIndex.remove(chars, stringRecord);
+					string.delete();
+				}
+				return;
+			}
+		}
+		assert false : "String is not interned"; //$NON-NLS-1$
+	}
+
+	private long findEntry(int hash, char[] chars) throws CoreException {
+		for (long entry : index.getRecords(hash)) {
+			if (db.getString(db.getRecPtr(entry + STRING)).equals(chars)) {
+				return entry;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Computes the hash code of the characters, it must not change as it is stored in the database.
+	 */
+	private static int hash(char[] chars) {
+		int h = 0;
+		for (char c : chars) {
+			h = 31 * h + c;
+		}
+		return h;
+	}
+}
@@ -0,0 +1,274 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.Arrays;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * A persistent index of records by the trigrams of strings associated with them. It finds the
+ * records of the strings containing given substrings without looking at all the strings. The
+ * trigrams are taken from the strings converted to lower case, such that the index serves both
+ * case-sensitive and case-insensitive searches. The records returned are candidates, only, clients
+ * need to check the strings themselves.
+ * <p>
+ * For each trigram the records are kept in a {@link BTree} ordered by the records themselves, such
+ * that records can be added and removed without visiting the other records of a trigram. The
+ * B-trees are found via a {@link HashIndex} on the trigrams.
+ * <p>
+ * As all other structures of the database, the index must be read while holding at least a read
+ * lock and modified while holding the write lock.
+ */
+public class TrigramIndex {
+	// Fields of the entry for a trigram.
+	private static final int ROOT = 0;
+	private static final int COUNT = 4;
+	private static final int ENTRY_SIZE = 8;
+
+	/**
+	 * A candidate is checked against the B-tree of a trigram rather than visiting the B-tree, when
+	 * the B-tree holds more than this many records per candidate.
+	 */
+	private static final int PROBE_RATIO = 16;
+
+	private static final long[] EMPTY = {};
+	private static final int[] EMPTY_KEYS = {};
+	private static final IBTreeComparator COMPARATOR = (record1, record2) -> Long.compare(record1, record2);
+
+	private final Database db;
+	private final HashIndex index;
+
+	/**
+	 * @param db the database containing the index
+	 * @param headerPointer offset into database of the pointer to the header of the index
+	 */
+	public TrigramIndex(Database db, long headerPointer) {
+		this.db = db;
+		this.index = new HashIndex(db, headerPointer);
+	}
+
+	/**
+	 * Adds a record for the given string. A record must not be added twice.
+	 */
+	public void add(char[] chars, long record) throws CoreException {
+		for (int key : getKeys(chars)) {
+			long entry = findEntry(key);
+			if (entry == 0) {
+				entry = db.malloc(ENTRY_SIZE);
+				index.insert(key, entry);
+			}
+			getBTree(entry).insert(record);
+			db.putInt(entry + COUNT, db.getInt(entry + COUNT) + 1);
+		}
+	}
+
+	/**
+	 * Removes a record that has been added for the given string.
+	 */
+	public void remove(char[] chars, long record) throws CoreException {
+		for (int key : getKeys(chars)) {
+			final long entry = findEntry(key);
+			if (entry == 0) {
+				assert false : "Record is not in the index"; //$NON-NLS-1$
+				continue;
+			}
+			final int count = db.getInt(entry + COUNT) - 1;
+			if (count > 0) {
+				getBTree(entry).delete(record);
+				db.putInt(entry + COUNT, count);
+			} else {
+				// The root of a B-tree with a single record is a leaf.
+				db.free(db.getRecPtr(entry + ROOT));
+				index.delete(key, entry);
+				db.free(entry);
+			}
+		}
+	}
+
+	/**
+	 * Returns the records of strings that may contain all of the given substrings, in ascending
+	 * order. Returns <code>null</code> if none of the substrings is long enough to narrow down
+	 * the strings, i.e. all strings are candidates.
+	 */
+	public long[] findCandidates(char[][] substrings) throws CoreException {
+		int[] keys = EMPTY_KEYS;
+		for (char[] substring : substrings) {
+			keys = merge(keys, getKeys(substring));
+		}
+		if (keys.length == 0)
+			return null;
+
+		final long[] entries = new long[keys.length];
+		final int[] counts = new int[keys.length];
+		for (int i = 0; i < keys.length; i++) {
+			final long entry = findEntry(keys[i]);
+			if (entry == 0)
+				return EMPTY;
+			// Insertion sort by the number of records, the smallest set of records is read first.
+			final int count = db.getInt(entry + COUNT);
+			int j = i;
+			for (; j > 0 && counts[j - 1] > count; j--) {
+				entries[j] = entries[j - 1];
+				counts[j] = counts[j - 1];
+			}
+			entries[j] = entry;
+			counts[j] = count;
+		}
+
+		long[] candidates = getRecords(entries[0]);
+		for (int i = 1; i < entries.length && candidates.length > 0; i++) {
+			if ((long) candidates.length * PROBE_RATIO < counts[i]) {
+				candidates = retainContained(candidates, getBTree(entries[i]));
+			} else {
+				candidates = intersect(candidates, getRecords(entries[i]));
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns the number of distinct trigrams in the index.
+	 */
+	public int getTrigramCount() throws CoreException {
+		return index.size();
+	}
+
+	public void clear() throws CoreException {
+		index.clear();
+	}
+
+	private long findEntry(int key) throws CoreException {
+		final long[] entries = index.getRecords(key);
+		return entries.length == 0 ? 0 : entries[0];
+	}
+
+	private BTree getBTree(long entry) {
+		return new BTree(db, entry + ROOT, COMPARATOR);
+	}
+
+	private long[] getRecords(long entry) throws CoreException {
+		final long[] result = new long[db.getInt(entry + COUNT)];
+		getBTree(entry).accept(new IBTreeVisitor() {
+			int i;
+
+			@Override
+			public int compare(long record) throws CoreException {
+				return 0;
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[i++] = record;
+				return i < result.length;
+			}
+		});
+		return result;
+	}
+
+	private static long[] retainContained(long[] candidates, BTree btree) throws CoreException {
+		int n = 0;
+		for (long candidate : candidates) {
+			boolean[] found = { false };
+			btree.accept(new IBTreeVisitor() {
+				@Override
+				public int compare(long record) throws CoreException {
+					return Long.compare(record, candidate);
+				}
+
+				@Override
+				public boolean visit(long record) throws CoreException {
+					found[0] = record == candidate;
+					return false;
+				}
+			});
+			if (found[0]) {
+				candidates[n++] = candidate;
+			}
+		}
+		return n == candidates.length ? candidates : Arrays.copyOf(candidates, n);
+	}
+
+	private static long[] intersect(long[] sorted1, long[] sorted2) {
+		long[] result = new long[Math.min(sorted1.length, sorted2.length)];
+		int n = 0;
+		for (int i = 0, j = 0; i < sorted1.length && j < sorted2.length;) {
+			if (sorted1[i] < sorted2[j]) {
+				i++;
+			} else if (sorted1[i] > sorted2[j]) {
+				j++;
+			} else {
+				result[n++] = sorted1[i];
+				i++;
+				j++;
+			}
+		}
+		return n == result.length ? result : Arrays.copyOf(result, n);
+	}
+
+	/**
+	 * Returns the distinct keys of the trigrams of the lower case characters, in ascending order.
+	 */
+	private static int[] getKeys(char[] chars) {
+		if (chars.length < 3)
+			return EMPTY_KEYS;
+		final int[] keys = new int[chars.length - 2];
+		char c0 = Character.toLowerCase(chars[0]);
+		char c1 = Character.toLowerCase(chars[1]);
+		for (int i = 2; i < chars.length; i++) {
+			final char c2 = Character.toLowerCase(chars[i]);
+			keys[i - 2] = getKey(c0, c1, c2);
+			c0 = c1;
+			c1 = c2;
+		}
+		Arrays.sort(keys);
+		int n = 1;
+		for (int i = 1; i < keys.length; i++) {
+			if (keys[i] != keys[n - 1]) {
+				keys[n++] = keys[i];
+			}
+		}
+		return n == keys.length ? keys : Arrays.copyOf(keys, n);
+	}
+
+	/**
+	 * Computes the key of a trigram, it must not change as it is stored in the database. Trigrams of
+	 * ASCII characters are mapped to distinct keys, other trigrams may share keys.
+	 */
+	private static int getKey(char c0, char c1, char c2) {
+		if ((c0 | c1 | c2) < 0x80)
+			return (c0 << 14) | (c1 << 7) | c2;
+		return ((c0 * 31 + c1) * 31 + c2) | 0x200000;
+	}
+
+	private static int[] merge(int[] sorted1, int[] sorted2) {
+		if (sorted1.length == 0)
+			return sorted2;
+		final int[] result = new int[sorted1.length + sorted2.length];
+		int n = 0;
+		int i = 0, j = 0;
+		while (i < sorted1.length || j < sorted2.length) {
+			int key;
+			if (j == sorted2.length || i < sorted1.length && sorted1[i] <= sorted2[j]) {
+				key = sorted1[i++];
+			} else {
+				key = sorted2[j++];
+			}
+			if (n == 0 || result[n - 1] != key) {
+				result[n++] = key;
+			}
+		}
+		return Arrays.copyOf(result, n);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2014 Symbian Software Systems and others.
+ * Copyright (c) 2006, 2026 Symbian Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -66,6 +66,7 @@ public class FindBinding {
 		private final char[] fName;
 		private final int[] fConstants;
 		private final long fLocalToFile;
+		private long fNameRecord = -1;
 		protected PDOMBinding fResult;
 
 		protected DefaultFindBindingVisitor(PDOMLinkage linkage, char[] name, int[] constants, long localToFile) {
@@ -75,12 +76,40 @@ public class FindBinding {
 			fLocalToFile = localToFile;
 		}
 
+		/**
+		 * Returns the record of the interned name searched for, or <code>0</code> if there is no
+		 * node with that name in the PDOM.
+		 */
+		private long getNameRecord() throws CoreException {
+			if (fNameRecord == -1) {
+				fNameRecord = fName == null ? 0 : fLinkage.getPDOM().getStringTable().find(fName);
+			}
+			return fNameRecord;
+		}
+
+		/**
+		 * Returns <code>false</code> if the search cannot find a binding, because no node of
+		 * the PDOM has the name searched for.
+		 */
+		public boolean canMatch() throws CoreException {
+			return fName == null || getNameRecord() != 0;
+		}
+
+		private boolean hasName(long record) throws CoreException {
+			final long nameRecord = getNameRecord();
+			if (nameRecord != 0)
+				return PDOMNamedNode.getNameRecord(fLinkage.getDB(), record) == nameRecord;
+			return PDOMNamedNode.getDBName(fLinkage.getDB(), record).equals(fName);
+		}
+
 		// IBTreeVisitor
 		@Override
 		public int compare(long record) throws CoreException {
 			final Database db = fLinkage.getDB();
-			IString nm1 = PDOMNamedNode.getDBName(db, record);
-			int cmp = nm1.compareCompatibleWithIgnoreCase(fName);
+			int cmp = 0;
+			if (!hasName(record)) {
+				cmp = PDOMNamedNode.getDBName(db, record).compareCompatibleWithIgnoreCase(fName);
+			}
 			if (cmp == 0) {
 				long t1 = PDOMBinding.getLocalToFileRec(db, record);
 				long t2 = fLocalToFile;
@@ -104,7 +133,7 @@ public class FindBinding {
 		}
 
 		protected boolean matches(PDOMBinding nnode) throws CoreException {
-			if (nnode.hasName(fName)) {
+			if (hasName(nnode.getRecord())) {
 				int constant = nnode.getNodeType();
 				for (int c : fConstants) {
 					if (constant == c) {
@@ -176,6 +205,8 @@ public class FindBinding {
 			final int[] constants, final long localToFileRec) throws CoreException {
 		final DefaultFindBindingVisitor visitor = new DefaultFindBindingVisitor(linkage, name, constants,
 				localToFileRec);
+		if (!visitor.canMatch())
+			return null;
 		btree.accept(visitor);
 		return visitor.getResult();
 	}
@@ -184,6 +215,8 @@ public class FindBinding {
 			final int[] constants, long localToFileRec) throws CoreException {
 		final DefaultFindBindingVisitor visitor = new DefaultFindBindingVisitor(linkage, name, constants,
 				localToFileRec);
+		if (!visitor.canMatch())
+			return null;
 		try {
 			node.accept(visitor);
 		} catch (OperationCanceledException e) {
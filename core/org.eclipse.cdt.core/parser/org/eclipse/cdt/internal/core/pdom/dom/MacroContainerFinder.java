@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Wind River Systems, Inc. and others.
+ * Copyright (c) 2008, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,7 @@ import org.eclipse.core.runtime.CoreException;
 public final class MacroContainerFinder implements IBTreeVisitor {
 	private final PDOMLinkage fLinkage;
 	private final char[] fName;
+	private long fNameRecord = -1;
 	private PDOMMacroContainer fMacroContainer;
 
 	/**
@@ -36,6 +37,11 @@ public final class MacroContainerFinder implements IBTreeVisitor {
 
 	@Override
 	final public int compare(long record) throws CoreException {
+		if (fNameRecord == -1) {
+			fNameRecord = fLinkage.getPDOM().getStringTable().find(fName);
+		}
+		if (fNameRecord != 0 && PDOMNamedNode.getNameRecord(fLinkage.getDB(), record) == fNameRecord)
+			return 0;
 		IString name = PDOMNamedNode.getDBName(fLinkage.getDB(), record);
 		return compare(name);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Wind River Systems, Inc. and others.
+ * Copyright (c) 2007, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,6 +37,7 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 	private final boolean prefixLookup;
 	private final IContentAssistMatcher contentAssistMatcher;
 	private final boolean caseSensitive;
+	private long nameRecord = -1;
 	private IProgressMonitor monitor;
 	private int monitorCheckCounter;
 
@@ -93,10 +94,32 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 	final public int compare(long record) throws CoreException {
 		if (monitor != null)
 			checkCancelled();
+		return compareName(record);
+	}
+
+	private int compareName(long record) throws CoreException {
+		final long matchRecord = getNameRecord();
+		if (matchRecord != 0 && PDOMNamedNode.getNameRecord(linkage.getDB(), record) == matchRecord)
+			return 0;
 		IString rhsName = PDOMNamedNode.getDBName(linkage.getDB(), record);
 		return compare(rhsName);
 	}
 
+	/**
+	 * For exact lookups returns the record of the interned name searched for, such that the names
+	 * of nodes can be compared by their records. Returns <code>0</code> otherwise.
+	 */
+	private long getNameRecord() throws CoreException {
+		if (nameRecord == -1) {
+			if (prefixLookup || !caseSensitive || matchChars == null) {
+				nameRecord = 0;
+			} else {
+				nameRecord = linkage.getPDOM().getStringTable().find(matchChars);
+			}
+		}
+		return nameRecord;
+	}
+
 	private int compare(IString rhsName) throws CoreException {
 		int cmp;
 		if (prefixLookup) {
@@ -155,7 +178,7 @@ public class NamedNodeCollector implements IBTreeVisitor, IPDOMVisitor {
 
 		if (node instanceof PDOMNamedNode) {
 			PDOMNamedNode pb = (PDOMNamedNode) node;
-			if (compare(pb.getDBName()) == 0) {
+			if (compareName(pb.getRecord()) == 0) {
 				addNode(pb);
 			}
 		}
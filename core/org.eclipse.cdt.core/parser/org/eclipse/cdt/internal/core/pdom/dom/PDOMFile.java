@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 QNX Software Systems and others.
+ * Copyright (c) 2005, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.IPDOMNode;
@@ -52,6 +54,7 @@ import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.HashIndex;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
 import org.eclipse.cdt.internal.core.pdom.db.IString;
@@ -230,6 +233,141 @@ public class PDOMFile implements IIndexFragmentFile {
 		sourceFile.delete();
 	}
 
+	/**
+	 * Copies the macros, names, using directives and properties of a file of another PDOM to this
+	 * file, which must not have content. The bindings of the names are adapted to the linkage of
+	 * this file. The includes are copied separately by
+	 * {@link #addIncludesFrom(PDOMFile, Map, Set)}, once all the files they refer to exist.
+	 * @param sourceFile a file of another PDOM with the same linkage
+	 */
+	public void addContentsFrom(PDOMFile sourceFile) throws CoreException {
+		assert getFirstName() == null;
+		assert getFirstMacro() == null;
+		assert getFirstMacroReference() == null;
+
+		final PDOMLinkage linkage = getLinkage();
+		PDOMMacro lastMacro = null;
+		for (PDOMMacro macro = sourceFile.getFirstMacro(); macro != null; macro = macro.getNextMacro()) {
+			PDOMMacroContainer container = linkage.getMacroContainer(macro.getNameCharArray());
+			PDOMMacro pdomMacro = new PDOMMacro(fLinkage, container, macro, this);
+			if (lastMacro == null) {
+				setFirstMacro(pdomMacro);
+			} else {
+				lastMacro.setNextMacro(pdomMacro);
+			}
+			lastMacro = pdomMacro;
+		}
+
+		// The enclosing definition of a name always precedes it in the file.
+		HashMap<Long, PDOMName> nameCache = new HashMap<>();
+		PDOMName lastName = null;
+		for (PDOMName name = sourceFile.getFirstName(); name != null; name = name.getNextInFile()) {
+			PDOMBinding pdomBinding = linkage.addBinding(name);
+			if (pdomBinding != null) {
+				PDOMName caller = nameCache.get(name.getEnclosingDefinitionRecord());
+				PDOMName pdomName = new PDOMName(fLinkage, name, this, pdomBinding, caller);
+				linkage.onCopyName(name, pdomName);
+				nameCache.put(name.getRecord(), pdomName);
+				if (lastName == null) {
+					setFirstName(pdomName);
+				} else {
+					lastName.setNextInFile(pdomName);
+				}
+				lastName = pdomName;
+			}
+		}
+
+		PDOMMacroReferenceName lastMacroName = null;
+		for (PDOMMacroReferenceName mref = sourceFile.getFirstMacroReference(); mref != null; mref = mref
+				.getNextInFile()) {
+			PDOMMacroContainer container = linkage.getMacroContainer(mref.getSimpleID());
+			PDOMName caller = nameCache.get(mref.getEnclosingDefinitionRecord());
+			PDOMMacroReferenceName macroName = new PDOMMacroReferenceName(fLinkage, mref, this, container, caller);
+			if (lastMacroName == null) {
+				setFirstMacroReference(macroName);
+			} else {
+				lastMacroName.setNextInFile(macroName);
+			}
+			lastMacroName = macroName;
+		}
+
+		linkage.copyUsingDirectives(sourceFile, this);
+
+		setTimestamp(sourceFile.getTimestamp());
+		setSourceReadTime(sourceFile.getSourceReadTime());
+		setSizeAndEncodingHashcode(sourceFile.getSizeAndEncodingHashcode());
+		setContentsHash(sourceFile.getContentsHash());
+		setPragmaOnceSemantics(sourceFile.hasPragmaOnceSemantics());
+		setReplacementHeader(sourceFile.getReplacementHeader());
+	}
+
+	/**
+	 * Pairs the bindings declared in a file of another PDOM with the ones declared at the same
+	 * positions in this file, both files need to have the same content. Whether a type is local
+	 * to a file depends on the translation unit it was indexed with, therefore the bindings are
+	 * not necessarily found by their names.
+	 * @param sourceFile a file of another PDOM with the same linkage
+	 * @param bindings receives the records of the bindings of the other PDOM mapped to the
+	 *     bindings of this PDOM
+	 */
+	public void mapBindingsFrom(PDOMFile sourceFile, Map<Long, PDOMBinding> bindings) throws CoreException {
+		if (getContentsHash() != sourceFile.getContentsHash())
+			return;
+
+		HashMap<Long, PDOMName> declarations = new HashMap<>();
+		for (PDOMName name = getFirstName(); name != null; name = name.getNextInFile()) {
+			if (name.isDeclaration()) {
+				declarations.put(((long) name.getNodeOffset() << 32) | name.getNodeLength(), name);
+			}
+		}
+		for (PDOMName name = sourceFile.getFirstName(); name != null; name = name.getNextInFile()) {
+			if (name.isDeclaration()) {
+				PDOMName target = declarations.get(((long) name.getNodeOffset() << 32) | name.getNodeLength());
+				if (target != null) {
+					PDOMBinding sourceBinding = name.getBinding();
+					PDOMBinding binding = target.getBinding();
+					if (sourceBinding != null && binding != null
+							&& sourceBinding.getNodeType() == binding.getNodeType()) {
+						bindings.put(sourceBinding.getRecord(), binding);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Copies the includes of a file of another PDOM to this file, which must not have includes yet.
+	 * @param sourceFile the file of the other PDOM
+	 * @param files maps the records of the files of the other PDOM to the corresponding files
+	 *     of this PDOM
+	 * @param copiedFiles the records of the files of the other PDOM that have been copied into
+	 *     this PDOM. Only includes of these files can provide the context for the included file.
+	 */
+	public void addIncludesFrom(PDOMFile sourceFile, Map<Long, PDOMFile> files, Set<Long> copiedFiles)
+			throws CoreException {
+		assert getFirstInclude() == null;
+
+		PDOMInclude lastInclude = null;
+		for (PDOMInclude include = sourceFile.getFirstInclude(); include != null; include = include
+				.getNextInIncludes()) {
+			final PDOMFile sourceTarget = (PDOMFile) include.getIncludes();
+			final PDOMFile targetFile = sourceTarget != null ? files.get(sourceTarget.getRecord()) : null;
+
+			PDOMInclude pdomInclude = new PDOMInclude(fLinkage, include, this, targetFile);
+			if (targetFile != null) {
+				boolean isContext = include.getPrevInIncludedBy() == null
+						&& copiedFiles.contains(sourceTarget.getRecord());
+				targetFile.addIncludedBy(pdomInclude, isContext);
+			}
+			if (lastInclude == null) {
+				setFirstInclude(pdomInclude);
+			} else {
+				lastInclude.setNextInIncludes(pdomInclude);
+			}
+			lastInclude = pdomInclude;
+		}
+	}
+
 	@Override
 	public void transferIncluders(IIndexFragmentFile sourceFile) throws CoreException {
 		PDOMFile source = (PDOMFile) sourceFile;
@@ -321,6 +459,7 @@ public class PDOMFile implements IIndexFragmentFile {
 	public void setTimestamp(long timestamp) throws CoreException {
 		Database db = fLinkage.getDB();
 		db.putLong(record + TIME_STAMP, timestamp);
+		getPDOM().getIncludeGraph().fileChanged(record);
 	}
 
 	@Override
@@ -415,6 +554,7 @@ public class PDOMFile implements IIndexFragmentFile {
 	public void setFirstInclude(PDOMInclude include) throws CoreException {
 		long rec = include != null ? include.getRecord() : 0;
 		fLinkage.getDB().putRecPtr(record + FIRST_INCLUDE, rec);
+		getPDOM().getIncludeGraph().fileChanged(record);
 	}
 
 	public PDOMInclude getFirstIncludedBy() throws CoreException {
@@ -640,6 +780,7 @@ public class PDOMFile implements IIndexFragmentFile {
 			db.getString(locRecord).delete();
 
 		db.free(record);
+		getPDOM().getIncludeGraph().fileDeleted(record);
 	}
 
 	public void addIncludesTo(IncludeInformation[] includeInfos) throws CoreException {
@@ -835,6 +976,77 @@ public class PDOMFile implements IIndexFragmentFile {
 		return IIndexFragmentFile.EMPTY_ARRAY;
 	}
 
+	/**
+	 * Finds the file in the hash index of files.
+	 *
+	 * @param linkage The linkage of the file.
+	 * @param index The hash index of files.
+	 * @param location The location of the file.
+	 * @param strategy The index location converter.
+	 * @param macroDictionary The names and definitions of the macros used to disambiguate between
+	 *     variants of the file contents corresponding to different inclusion points, or
+	 *     <code>null</code> to find an arbitrary variant.
+	 * @return The found file, or <code>null</code> if the matching file was not found.
+	 */
+	public static PDOMFile findFile(PDOMLinkage linkage, HashIndex index, IIndexFileLocation location,
+			IIndexLocationConverter strategy, ISignificantMacros macroDictionary) throws CoreException {
+		String internalRepresentation = strategy.toInternalFormat(location);
+		if (internalRepresentation != null) {
+			Finder finder = new Finder(linkage.getDB(), internalRepresentation, linkage.getLinkageID(),
+					macroDictionary);
+			finder.accept(index);
+			long record = finder.getRecord();
+			if (record != 0) {
+				return new PDOMFile(linkage, record);
+			}
+		}
+		return null;
+	}
+
+	public static IIndexFragmentFile[] findFiles(PDOMLinkage linkage, HashIndex index, IIndexFileLocation location,
+			IIndexLocationConverter strategy) throws CoreException {
+		String internalRepresentation = strategy.toInternalFormat(location);
+		if (internalRepresentation != null) {
+			Finder finder = new Finder(linkage.getDB(), internalRepresentation, linkage.getLinkageID(), null);
+			finder.accept(index);
+			long[] records = finder.getRecords();
+			IIndexFragmentFile[] result = new IIndexFragmentFile[records.length];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = new PDOMFile(linkage, records[i]);
+			}
+			return result;
+		}
+		return IIndexFragmentFile.EMPTY_ARRAY;
+	}
+
+	public static IIndexFragmentFile[] findFiles(PDOM pdom, HashIndex index, IIndexFileLocation location,
+			IIndexLocationConverter strategy) throws CoreException {
+		String internalRepresentation = strategy.toInternalFormat(location);
+		if (internalRepresentation != null) {
+			Finder finder = new Finder(pdom.getDB(), internalRepresentation, -1, null);
+			finder.accept(index);
+			long[] records = finder.getRecords();
+			PDOMFile[] result = new PDOMFile[records.length];
+			for (int i = 0; i < result.length; i++) {
+				result[i] = recreateFile(pdom, records[i]);
+			}
+			return result;
+		}
+		return IIndexFragmentFile.EMPTY_ARRAY;
+	}
+
+	/**
+	 * Returns the key of a file in the hash index of files.
+	 */
+	public int getLocationHash() throws CoreException {
+		Database db = fLinkage.getDB();
+		return hashLocation(db.getString(db.getRecPtr(record + LOCATION_REPRESENTATION)).getString());
+	}
+
+	private static int hashLocation(String internalRepresentation) {
+		return internalRepresentation.hashCode();
+	}
+
 	public static PDOMFile recreateFile(PDOM pdom, final long record) throws CoreException {
 		final Database db = pdom.getDB();
 		final int linkageID = db.get3ByteUnsignedInt(record + LINKAGE_ID);
@@ -922,6 +1134,29 @@ public class PDOMFile implements IIndexFragmentFile {
 		public long getRecord() {
 			return record;
 		}
+
+		/**
+		 * Visits the matching files of a hash index in the order of the file index.
+		 */
+		public void accept(HashIndex index) throws CoreException {
+			long[] candidates = index.getRecords(hashLocation(rawKey));
+			if (candidates.length > 1) {
+				// Variants of a file are rare, sort them like the B-tree does.
+				Comparator comparator = new Comparator(db);
+				for (int i = 1; i < candidates.length; i++) {
+					long candidate = candidates[i];
+					int j = i;
+					for (; j > 0 && comparator.compare(candidates[j - 1], candidate) > 0; j--) {
+						candidates[j] = candidates[j - 1];
+					}
+					candidates[j] = candidate;
+				}
+			}
+			for (long candidate : candidates) {
+				if (compare(candidate) == 0 && !visit(candidate))
+					break;
+			}
+		}
 	}
 
 	@Override
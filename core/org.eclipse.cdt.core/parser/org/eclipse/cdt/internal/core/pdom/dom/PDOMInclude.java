@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2016 QNX Software Systems and others.
+ * Copyright (c) 2006, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -75,6 +75,31 @@ public class PDOMInclude implements IIndexFragmentInclude {
 			linkage.getDB().putShort(record + NODE_LENGTH, (short) loc.getNodeLength());
 		}
 
+		boolean deducible_name = setIncludedFileAndName(targetFile, nameChars);
+		setFlag(encodeFlags(include, deducible_name));
+		setIncludedBy(containerFile);
+	}
+
+	/**
+	 * Creates a copy of an include of another PDOM.
+	 */
+	public PDOMInclude(PDOMLinkage linkage, PDOMInclude source, PDOMFile containerFile, PDOMFile targetFile)
+			throws CoreException {
+		this.linkage = linkage;
+		this.record = linkage.getDB().malloc(RECORD_SIZE);
+		linkage.getDB().put3ByteUnsignedInt(record + NODE_OFFSET, source.getNameOffset());
+		linkage.getDB().putShort(record + NODE_LENGTH, (short) source.getNameLength());
+
+		boolean deducible_name = setIncludedFileAndName(targetFile, source.getFullName().toCharArray());
+		int flags = source.getFlag() & ~FLAG_DEDUCIBLE_NAME;
+		if (deducible_name) {
+			flags |= FLAG_DEDUCIBLE_NAME;
+		}
+		setFlag((byte) flags);
+		setIncludedBy(containerFile);
+	}
+
+	private boolean setIncludedFileAndName(PDOMFile targetFile, char[] nameChars) throws CoreException {
 		final Database db = linkage.getDB();
 		if (targetFile != null) {
 			db.putRecPtr(record + INCLUDED_FILE, targetFile.getRecord());
@@ -87,8 +112,7 @@ public class PDOMInclude implements IIndexFragmentInclude {
 		} else {
 			db.putRecPtr(record + INCLUDE_NAME_OR_LENGTH, db.newString(nameChars).getRecord());
 		}
-		setFlag(encodeFlags(include, deducible_name));
-		setIncludedBy(containerFile);
+		return deducible_name;
 	}
 
 	private byte encodeFlags(IASTPreprocessorIncludeStatement include, boolean deducible_name) {
@@ -150,6 +174,14 @@ public class PDOMInclude implements IIndexFragmentInclude {
 	void setIncludes(PDOMFile includedFile) throws CoreException {
 		long rec = includedFile != null ? includedFile.getRecord() : 0;
 		linkage.getDB().putRecPtr(record + INCLUDED_FILE, rec);
+		includedFileChanged();
+	}
+
+	private void includedFileChanged() throws CoreException {
+		long includedBy = linkage.getDB().getRecPtr(record + INCLUDED_BY);
+		if (includedBy != 0) {
+			linkage.getPDOM().getIncludeGraph().fileChanged(includedBy);
+		}
 	}
 
 	/**
@@ -312,6 +344,7 @@ public class PDOMInclude implements IIndexFragmentInclude {
 				setFlag((byte) (flag & ~FLAG_DEDUCIBLE_NAME));
 			}
 			db.putRecPtr(record + INCLUDED_FILE, 0);
+			includedFileChanged();
 		}
 	}
 
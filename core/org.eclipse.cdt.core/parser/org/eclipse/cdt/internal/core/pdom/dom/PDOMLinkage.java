@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 QNX Software Systems and others.
+ * Copyright (c) 2005, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,7 +20,9 @@ package org.eclipse.cdt.internal.core.pdom.dom;
 
 import java.lang.ref.Reference;
 import java.lang.ref.SoftReference;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.eclipse.cdt.core.dom.IPDOMVisitor;
@@ -43,6 +45,7 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateArgument;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPUsingDirective;
 import org.eclipse.cdt.core.index.IIndexLinkage;
 import org.eclipse.cdt.core.parser.util.CharArrayMap;
+import org.eclipse.cdt.internal.core.dom.ast.tag.TagManager;
 import org.eclipse.cdt.internal.core.dom.parser.ASTInternal;
 import org.eclipse.cdt.internal.core.dom.parser.ITypeMarshalBuffer;
 import org.eclipse.cdt.internal.core.dom.parser.ProblemBinding;
@@ -215,7 +218,7 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		if (inputBinding instanceof PDOMBinding) {
 			PDOMBinding pdomBinding = (PDOMBinding) inputBinding;
 			if (pdomBinding.getPDOM() != getPDOM() && pdomBinding.isFileLocal()) {
-				return true;
+				return getMergedLocalToFile(pdomBinding) == null;
 			}
 		}
 		return false;
@@ -227,6 +230,12 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		if (pdomBinding != null && pdomBinding.getPDOM() == fPDOM) {
 			return pdomBinding;
 		}
+		if (pdomBinding != null && fPDOM instanceof WritablePDOM) {
+			PDOMBinding merged = ((WritablePDOM) fPDOM).getMergedBinding(pdomBinding);
+			if (merged != null) {
+				return merged;
+			}
+		}
 		return (PDOMBinding) fPDOM.getCachedResult(binding);
 	}
 
@@ -244,7 +253,10 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 			rec = ((PDOMBinding) parent).getLocalToFileRec();
 		}
 		if (rec == 0) {
-			PDOMFile file = getLocalToFile(binding, glob);
+			PDOMFile file = getMergedLocalToFile(binding);
+			if (file == null) {
+				file = getLocalToFile(binding, glob);
+			}
 			if (file != null) {
 				rec = file.getRecord();
 			}
@@ -252,6 +264,24 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		return rec;
 	}
 
+	/**
+	 * Returns the file of this linkage that takes the place of the file a binding of another PDOM
+	 * is local to, while the contents of the other PDOM are merged into this one. Returns
+	 * {@code null} if the binding is not file-local or no such merge is in progress.
+	 */
+	protected final PDOMFile getMergedLocalToFile(IBinding binding) throws CoreException {
+		if (binding instanceof PDOMBinding && fPDOM instanceof WritablePDOM) {
+			final PDOMBinding pdomBinding = (PDOMBinding) binding;
+			if (pdomBinding.getPDOM() != fPDOM) {
+				final long rec = pdomBinding.getLocalToFileRec();
+				if (rec != 0) {
+					return ((WritablePDOM) fPDOM).getMergedFile(pdomBinding.getPDOM(), rec);
+				}
+			}
+		}
+		return null;
+	}
+
 	protected PDOMFile getLocalToFile(IBinding binding, PDOMBinding glob) throws CoreException {
 		if (fPDOM instanceof WritablePDOM) {
 			final WritablePDOM wpdom = (WritablePDOM) fPDOM;
@@ -320,6 +350,45 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		}
 	}
 
+	/**
+	 * Adds or returns the binding for a name of another PDOM, the contents of which are merged into
+	 * this linkage. Like {@link #addBinding(IASTName)}, an existing binding is updated with the
+	 * properties of the binding of a definition.
+	 * @param name a name of another PDOM
+	 * @return the binding of this linkage, or {@code null} if the binding cannot be added.
+	 */
+	public PDOMBinding addBinding(PDOMName name) throws CoreException {
+		final PDOMBinding binding = name.getBinding();
+		if (binding == null)
+			return null;
+
+		PDOMBinding pdomBinding = adaptBinding(binding);
+		if (pdomBinding == null)
+			return addTypeBinding(binding);
+
+		if (name.isDefinition() || (name.isDeclaration() && !pdomBinding.hasDefinition())) {
+			pdomBinding.update(this, binding);
+			TagManager.getInstance().syncTags(pdomBinding, binding);
+		}
+		return pdomBinding;
+	}
+
+	/**
+	 * Call-back informing the linkage that a name has been copied from another PDOM. This is the
+	 * counterpart of {@link #onCreateName(PDOMFile, IASTName, PDOMName)} for merging the contents
+	 * of another PDOM into this linkage.
+	 * @param sourceName the name of the other PDOM
+	 * @param pdomName the name that was inserted into the linkage
+	 */
+	public void onCopyName(PDOMName sourceName, PDOMName pdomName) throws CoreException {
+	}
+
+	/**
+	 * Copies the using directives of a file of another PDOM to a file of this linkage.
+	 */
+	public void copyUsingDirectives(PDOMFile sourceFile, PDOMFile file) throws CoreException {
+	}
+
 	/**
 	 * Callback informing the linkage that a name is about to be deleted. This is
 	 * used to do additional processing, like removing inheritance relationships.
@@ -358,6 +427,13 @@ public abstract class PDOMLinkage extends PDOMNamedNode implements IIndexLinkage
 		return ICPPUsingDirective.EMPTY_ARRAY;
 	}
 
+	/**
+	 * Returns the names of the definitions of the classes that directly derive from the given class.
+	 */
+	public List<PDOMName> getDerivedClassDefinitions(PDOMBinding classType) throws CoreException {
+		return Collections.emptyList();
+	}
+
 	public BTree getMacroIndex() {
 		if (fMacroIndex == null) {
 			fMacroIndex = new BTree(getDB(), record + MACRO_BTREE, new FindBinding.MacroBTreeComparator(fDatabase));
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2014 QNX Software Systems and others.
+ * Copyright (c) 2005, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -68,6 +68,26 @@ public final class PDOMMacroReferenceName implements IIndexFragmentName {
 		}
 	}
 
+	/**
+	 * Creates a copy of a macro reference of another PDOM.
+	 */
+	public PDOMMacroReferenceName(PDOMLinkage linkage, PDOMMacroReferenceName source, PDOMFile file,
+			PDOMMacroContainer container, PDOMName caller) throws CoreException {
+		this.linkage = linkage;
+		Database db = linkage.getDB();
+		record = db.malloc(RECORD_SIZE);
+
+		db.putRecPtr(record + CONTAINER_REC_OFFSET, container.getRecord());
+		db.putRecPtr(record + FILE_REC_OFFSET, file.getRecord());
+		db.putInt(record + NODE_OFFSET_OFFSET, source.getNodeOffset());
+		db.putShort(record + NODE_LENGTH_OFFSET, (short) source.getNodeLength());
+		container.addReference(this);
+
+		if (caller != null) {
+			db.putRecPtr(record + CALLER_REC_OFFSET, caller.getRecord());
+		}
+	}
+
 	public PDOMMacroReferenceName(PDOMLinkage linkage, long nameRecord) {
 		this.linkage = linkage;
 		this.record = nameRecord;
@@ -287,7 +307,11 @@ public final class PDOMMacroReferenceName implements IIndexFragmentName {
 
 	@Override
 	public IIndexName getEnclosingDefinition() throws CoreException {
-		long namerec = linkage.getDB().getRecPtr(record + CALLER_REC_OFFSET);
+		long namerec = getEnclosingDefinitionRecord();
 		return namerec != 0 ? new PDOMName(linkage, namerec) : null;
 	}
+
+	long getEnclosingDefinitionRecord() throws CoreException {
+		return linkage.getDB().getRecPtr(record + CALLER_REC_OFFSET);
+	}
 }
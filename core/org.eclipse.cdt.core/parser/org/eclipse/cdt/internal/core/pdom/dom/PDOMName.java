@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2014 QNX Software Systems and others.
+ * Copyright (c) 2005, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -85,17 +85,7 @@ public final class PDOMName implements IIndexFragmentName {
 		db.putByte(record + FLAGS, (byte) flags);
 
 		// Hook us up to the binding
-		switch (flags & DECL_DEF_REF_MASK) {
-		case IS_DEFINITION:
-			binding.addDefinition(this);
-			break;
-		case IS_DECLARATION:
-			binding.addDeclaration(this);
-			break;
-		case IS_REFERENCE:
-			binding.addReference(this);
-			break;
-		}
+		addToBinding(binding, flags);
 
 		db.putRecPtr(record + BINDING_REC_OFFSET, binding.getRecord());
 
@@ -110,6 +100,43 @@ public final class PDOMName implements IIndexFragmentName {
 		db.putShort(record + NODE_LENGTH_OFFSET, (short) fileloc.getNodeLength());
 	}
 
+	/**
+	 * Creates a copy of a name of another PDOM. The binding of the name has already been adapted
+	 * to the linkage of this name.
+	 */
+	public PDOMName(PDOMLinkage linkage, PDOMName source, PDOMFile file, PDOMBinding binding, PDOMName caller)
+			throws CoreException {
+		this.linkage = linkage;
+		Database db = linkage.getDB();
+		record = db.malloc(RECORD_SIZE);
+
+		int flags = source.getFlags(0xff);
+		db.putByte(record + FLAGS, (byte) flags);
+		addToBinding(binding, flags);
+		db.putRecPtr(record + BINDING_REC_OFFSET, binding.getRecord());
+
+		db.putRecPtr(record + FILE_REC_OFFSET, file.getRecord());
+		if (caller != null) {
+			db.putRecPtr(record + CALLER_REC_OFFSET, caller.getRecord());
+		}
+		db.put3ByteUnsignedInt(record + NODE_OFFSET_OFFSET, source.getNodeOffset());
+		db.putShort(record + NODE_LENGTH_OFFSET, (short) source.getNodeLength());
+	}
+
+	private void addToBinding(PDOMBinding binding, int flags) throws CoreException {
+		switch (flags & DECL_DEF_REF_MASK) {
+		case IS_DEFINITION:
+			binding.addDefinition(this);
+			break;
+		case IS_DECLARATION:
+			binding.addDeclaration(this);
+			break;
+		case IS_REFERENCE:
+			binding.addReference(this);
+			break;
+		}
+	}
+
 	private int getRoleOfName(IASTName name) {
 		if (name.isDefinition()) {
 			return IS_DEFINITION;
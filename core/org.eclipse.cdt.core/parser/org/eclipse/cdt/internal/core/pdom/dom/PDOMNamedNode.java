@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 QNX Software Systems and others.
+ * Copyright (c) 2006, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,8 +21,10 @@ import java.util.Arrays;
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentBinding;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IString;
+import org.eclipse.cdt.internal.core.pdom.db.StringTable;
 import org.eclipse.core.runtime.CoreException;
 
 /**
@@ -30,7 +32,8 @@ import org.eclipse.core.runtime.CoreException;
  */
 public abstract class PDOMNamedNode extends PDOMNode {
 	/**
-	 * Offset of pointer to node name (relative to the beginning of the record).
+	 * Offset of pointer to node name (relative to the beginning of the record). Except for linkages
+	 * the name is interned in the {@link PDOM#getStringTable() string table} of the PDOM.
 	 */
 	private static final int NAME = PDOMNode.RECORD_SIZE + 0;
 
@@ -51,11 +54,11 @@ public abstract class PDOMNamedNode extends PDOMNode {
 
 		fName = name;
 		final Database db = linkage.getDB();
-		db.putRecPtr(record + NAME, name != null ? db.newString(name).getRecord() : 0);
+		db.putRecPtr(record + NAME, name != null ? linkage.getPDOM().getStringTable().intern(name).getRecord() : 0);
 	}
 
 	/**
-	 * For linkages, only.
+	 * For linkages, only. The names of linkages are not interned.
 	 */
 	protected PDOMNamedNode(Database db, char[] name) throws CoreException {
 		super(db);
@@ -89,6 +92,14 @@ public abstract class PDOMNamedNode extends PDOMNode {
 		return getDBName().equals(name);
 	}
 
+	/**
+	 * Returns the record of the name of the node. As names are interned, two nodes have the same
+	 * name if and only if they have the same name record.
+	 */
+	public static long getNameRecord(Database db, long record) throws CoreException {
+		return db.getRecPtr(record + NAME);
+	}
+
 	/**
 	 * Template parameters need to update their name.
 	 * @throws CoreException
@@ -99,21 +110,30 @@ public abstract class PDOMNamedNode extends PDOMNode {
 
 		IString name = getDBName();
 		if (!name.equals(nameCharArray)) {
-			name.delete();
-			final Database db = getDB();
-			db.putRecPtr(record + NAME, db.newString(nameCharArray).getRecord());
+			final StringTable stringTable = getPDOM().getStringTable();
+			stringTable.release(name.getRecord());
+			getDB().putRecPtr(record + NAME, stringTable.intern(nameCharArray).getRecord());
 		}
 		fName = nameCharArray;
 	}
 
 	@Override
 	public void delete(PDOMLinkage linkage) throws CoreException {
+		releaseName();
+		super.delete(linkage);
+	}
+
+	/**
+	 * Releases the interned name of the node, for nodes that are deleted without calling
+	 * {@link #delete(PDOMLinkage)}.
+	 */
+	protected void releaseName() throws CoreException {
 		final Database db = getDB();
 		final long namerec = db.getRecPtr(record + NAME);
 		if (namerec != 0) {
-			db.free(namerec);
+			getPDOM().getStringTable().release(namerec);
+			db.putRecPtr(record + NAME, 0);
 		}
-		super.delete(linkage);
 	}
 
 	public boolean mayHaveChildren() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2015 QNX Software Systems and others.
+ * Copyright (c) 2006, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -245,7 +245,7 @@ class PDOMCLinkage extends PDOMLinkage implements IIndexCBindingConstants {
 	final private PDOMNode getAdaptedParent(IBinding binding) throws CoreException {
 		if (binding instanceof IIndexBinding) {
 			IIndexBinding ib = (IIndexBinding) binding;
-			if (ib.isFileLocal()) {
+			if (ib.isFileLocal() && getMergedLocalToFile(ib) == null) {
 				return null;
 			}
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 Symbian Software Systems and others.
+ * Copyright (c) 2006, 2026 Symbian Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -104,6 +104,8 @@ public class CPPFindBinding extends FindBinding {
 	public static PDOMBinding findBinding(BTree btree, final PDOMLinkage linkage, final char[] name, final int c2,
 			final int ty2, long localToFileRec) throws CoreException {
 		CPPFindBindingVisitor visitor = new CPPFindBindingVisitor(linkage, name, c2, ty2, localToFileRec);
+		if (!visitor.canMatch())
+			return null;
 		btree.accept(visitor);
 		return visitor.getResult();
 	}
@@ -111,6 +113,8 @@ public class CPPFindBinding extends FindBinding {
 	public static PDOMBinding findBinding(PDOMNode node, PDOMLinkage linkage, char[] name, int constant, int sigHash,
 			long localToFileRec) throws CoreException {
 		CPPFindBindingVisitor visitor = new CPPFindBindingVisitor(linkage, name, constant, sigHash, localToFileRec);
+		if (!visitor.canMatch())
+			return null;
 		try {
 			node.accept(visitor);
 		} catch (OperationCanceledException e) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2014 QNX Software Systems and others.
+ * Copyright (c) 2006, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -23,6 +23,8 @@ import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.ISemanticProblem;
 import org.eclipse.cdt.core.dom.ast.IType;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPBase;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassSpecialization;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPTemplateInstance;
 import org.eclipse.cdt.internal.core.dom.parser.ProblemType;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPInternalBase;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
@@ -37,7 +39,11 @@ class PDOMCPPBase implements ICPPBase, ICPPInternalBase {
 	static final int CLASS_DEFINITION = 0;
 	private static final int BASECLASS_TYPE = CLASS_DEFINITION + Database.PTR_SIZE;
 	private static final int NEXTBASE = BASECLASS_TYPE + Database.TYPE_SIZE;
-	private static final int FLAGS = NEXTBASE + Database.PTR_SIZE;
+	// The bases are also linked into the list of derived classes of the class they refer to.
+	private static final int DERIVED_LIST_OWNER = NEXTBASE + Database.PTR_SIZE;
+	private static final int NEXT_DERIVED = DERIVED_LIST_OWNER + Database.PTR_SIZE;
+	private static final int PREV_DERIVED = NEXT_DERIVED + Database.PTR_SIZE;
+	private static final int FLAGS = PREV_DERIVED + Database.PTR_SIZE;
 
 	protected static final int RECORD_SIZE = FLAGS + 1;
 
@@ -65,6 +71,67 @@ class PDOMCPPBase implements ICPPBase, ICPPInternalBase {
 		byte flags = (byte) (base.getVisibility() | (base.isVirtual() ? FLAGS_VIRTUAL : 0)
 				| (base.isInheritedConstructorsSource() ? FLAGS_INHERITED_CONSTRUCTORS_SOURCE : 0));
 		db.putByte(record + FLAGS, flags);
+
+		PDOMCPPClassType baseClass = getDerivedListOwner(getBaseClassType());
+		if (baseClass != null) {
+			addToDerivedList(baseClass.getRecord());
+		}
+	}
+
+	/**
+	 * Returns the class of this linkage that keeps a base of the given type in its list of derived
+	 * classes. Instances and specializations are represented by the template or the binding they
+	 * specialize.
+	 * <p>
+	 * A base named through a typedef is filed under the class the typedef refers to when the base
+	 * is stored. The list is not updated when the typedef is later changed to refer to another
+	 * class. The derived class remains in the list of the former class until the file defining
+	 * the derived class is indexed again.
+	 */
+	private PDOMCPPClassType getDerivedListOwner(IType type) {
+		type = getNestedType(type, TDEF);
+		while (true) {
+			if (type instanceof PDOMCPPClassType) {
+				PDOMCPPClassType classType = (PDOMCPPClassType) type;
+				return classType.getLinkage() == linkage ? classType : null;
+			}
+			if (type instanceof ICPPTemplateInstance) {
+				IBinding template = ((ICPPTemplateInstance) type).getTemplateDefinition();
+				type = template instanceof IType ? (IType) template : null;
+			} else if (type instanceof ICPPClassSpecialization) {
+				type = ((ICPPClassSpecialization) type).getSpecializedBinding();
+			} else {
+				return null;
+			}
+		}
+	}
+
+	private void addToDerivedList(long ownerRec) throws CoreException {
+		final Database db = getDB();
+		long firstRec = PDOMCPPClassType.getFirstDerivedRecord(db, ownerRec);
+		db.putRecPtr(record + DERIVED_LIST_OWNER, ownerRec);
+		db.putRecPtr(record + NEXT_DERIVED, firstRec);
+		if (firstRec != 0) {
+			db.putRecPtr(firstRec + PREV_DERIVED, record);
+		}
+		PDOMCPPClassType.setFirstDerivedRecord(db, ownerRec, record);
+	}
+
+	private void removeFromDerivedList() throws CoreException {
+		final Database db = getDB();
+		long ownerRec = db.getRecPtr(record + DERIVED_LIST_OWNER);
+		if (ownerRec == 0)
+			return;
+		long nextRec = db.getRecPtr(record + NEXT_DERIVED);
+		long prevRec = db.getRecPtr(record + PREV_DERIVED);
+		if (prevRec != 0) {
+			db.putRecPtr(prevRec + NEXT_DERIVED, nextRec);
+		} else {
+			PDOMCPPClassType.setFirstDerivedRecord(db, ownerRec, nextRec);
+		}
+		if (nextRec != 0) {
+			db.putRecPtr(nextRec + PREV_DERIVED, prevRec);
+		}
 	}
 
 	private Database getDB() {
@@ -85,6 +152,11 @@ class PDOMCPPBase implements ICPPBase, ICPPInternalBase {
 		return rec != 0 ? new PDOMCPPBase(linkage, rec) : null;
 	}
 
+	public PDOMCPPBase getNextDerived() throws CoreException {
+		long rec = getDB().getRecPtr(record + NEXT_DERIVED);
+		return rec != 0 ? new PDOMCPPBase(linkage, rec) : null;
+	}
+
 	private int getFlags() throws CoreException {
 		return getDB().getByte(record + FLAGS);
 	}
@@ -154,6 +226,7 @@ class PDOMCPPBase implements ICPPBase, ICPPInternalBase {
 	}
 
 	public void delete() throws CoreException {
+		removeFromDerivedList();
 		getDB().free(record);
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 QNX Software Systems and others.
+ * Copyright (c) 2007, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -138,7 +138,7 @@ class PDOMCPPClassSpecialization extends PDOMCPPSpecialization
 				} catch (CoreException e) {
 					CCorePlugin.log(e);
 				}
-				specializationMap = (ObjectMap) getPDOM().putCachedResult(key, newMap, false);
+				specializationMap = (ObjectMap) getPDOM().putPinnedResult(key, newMap);
 			}
 		}
 		synchronized (specializationMap) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2015 QNX Software Systems and others.
+ * Copyright (c) 2005, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -61,8 +61,9 @@ class PDOMCPPClassType extends PDOMCPPBinding implements IPDOMCPPClassType, IPDO
 	private static final int FINAL = ANONYMOUS + 1; // byte
 	private static final int VISIBLE_TO_ADL_ONLY = FINAL + 1; // byte
 	private static final int NO_DISCARD = VISIBLE_TO_ADL_ONLY + 1; // byte
+	private static final int FIRST_DERIVED = NO_DISCARD + 1;
 	@SuppressWarnings("hiding")
-	protected static final int RECORD_SIZE = NO_DISCARD + 1;
+	protected static final int RECORD_SIZE = FIRST_DERIVED + Database.PTR_SIZE;
 
 	private PDOMCPPClassScope fScope; // No need for volatile, all fields of PDOMCPPClassScope are final.
 
@@ -151,7 +152,7 @@ class PDOMCPPClassType extends PDOMCPPBinding implements IPDOMCPPClassType, IPDO
 		list.accept(visitor);
 	}
 
-	private PDOMCPPBase getFirstBase() throws CoreException {
+	PDOMCPPBase getFirstBase() throws CoreException {
 		long rec = getDB().getRecPtr(record + FIRSTBASE);
 		return rec != 0 ? new PDOMCPPBase(getLinkage(), rec) : null;
 	}
@@ -210,6 +211,33 @@ class PDOMCPPClassType extends PDOMCPPBinding implements IPDOMCPPClassType, IPDO
 		}
 	}
 
+	/**
+	 * Returns the names of the definitions of the classes that directly derive from this class.
+	 */
+	List<PDOMName> getDerivedClassDefinitions() throws CoreException {
+		List<PDOMName> result = new ArrayList<>();
+		for (PDOMCPPBase base = getFirstDerived(); base != null; base = base.getNextDerived()) {
+			PDOMName classDefName = base.getClassDefinitionName();
+			if (classDefName != null) {
+				result.add(classDefName);
+			}
+		}
+		return result;
+	}
+
+	private PDOMCPPBase getFirstDerived() throws CoreException {
+		long rec = getDB().getRecPtr(record + FIRST_DERIVED);
+		return rec != 0 ? new PDOMCPPBase(getLinkage(), rec) : null;
+	}
+
+	static long getFirstDerivedRecord(Database db, long classRecord) throws CoreException {
+		return db.getRecPtr(classRecord + FIRST_DERIVED);
+	}
+
+	static void setFirstDerivedRecord(Database db, long classRecord, long baseRecord) throws CoreException {
+		db.putRecPtr(classRecord + FIRST_DERIVED, baseRecord);
+	}
+
 	public void addFriend(PDOMCPPFriend friend) throws CoreException {
 		PDOMCPPFriend firstFriend = getFirstFriend();
 		friend.setNextFriend(firstFriend);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 QNX Software Systems and others.
+ * Copyright (c) 2005, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -165,6 +165,7 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ExecSimpleDeclarat
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ExecSwitch;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ExecWhile;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.InitializerListType;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.SemanticUtil;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.TypeOfDependentExpression;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.TypeOfUnknownMember;
 import org.eclipse.cdt.internal.core.index.IIndexBindingConstants;
@@ -772,6 +773,60 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 		return !getPDOM().hasLastingDefinition(pdomBinding);
 	}
 
+	@Override
+	public PDOMBinding addBinding(PDOMName name) throws CoreException {
+		final PDOMBinding binding = name.getBinding();
+		if (binding == null)
+			return null;
+
+		PDOMBinding pdomBinding = adaptBinding(binding);
+		if (pdomBinding == null) {
+			pdomBinding = addBinding(binding, null);
+		} else if (shouldUpdate(pdomBinding, name)) {
+			pdomBinding.update(this, binding);
+			TagManager.getInstance().syncTags(pdomBinding, binding);
+		}
+		handlePostProcesses();
+
+		if (pdomBinding instanceof PDOMCPPClassType || pdomBinding instanceof PDOMCPPClassSpecialization) {
+			if (binding instanceof ICPPClassType && name.isDefinition()) {
+				addImplicitMethods(pdomBinding, (ICPPClassType) binding);
+			}
+		}
+		if (pdomBinding instanceof IPDOMCPPClassType && name.isDeclaration() && !name.isFriendSpecifier()) {
+			((IPDOMCPPClassType) pdomBinding).setVisibleToAdlOnly(false);
+		}
+		handlePostProcesses();
+		return pdomBinding;
+	}
+
+	/**
+	 * Counterpart of {@link #shouldUpdate(PDOMBinding, IASTName)} for names of another PDOM.
+	 */
+	private boolean shouldUpdate(PDOMBinding pdomBinding, PDOMName fromName) throws CoreException {
+		if (pdomBinding instanceof IParameter || pdomBinding instanceof ICPPTemplateParameter)
+			return false;
+		if (fromName.isReference()) {
+			return false;
+		}
+		if (pdomBinding instanceof ICPPMember) {
+			// Members are updated from the declarations within the class body, only.
+			PDOMName enclosing = (PDOMName) fromName.getEnclosingDefinition();
+			if (enclosing == null)
+				return false;
+			PDOMBinding owner = enclosing.getBinding();
+			return owner != null && owner.getRecord() == fromName.getBinding().getParentNodeRec();
+		}
+		if (fromName.isDefinition()) {
+			return true;
+		}
+		// Update opaque enums.
+		if (pdomBinding instanceof ICPPEnumeration && fromName.isDeclaration()) {
+			return true;
+		}
+		return !getPDOM().hasLastingDefinition(pdomBinding);
+	}
+
 	PDOMBinding createBinding(PDOMNode parent, IBinding binding, long fileLocalRec) throws CoreException, DOMException {
 		PDOMBinding pdomBinding = null;
 		PDOMNode parent2 = null;
@@ -1294,8 +1349,9 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 
 		if (binding instanceof IIndexBinding) {
 			IIndexBinding ib = (IIndexBinding) binding;
-			// Don't adapt file local bindings from other fragments to this one.
-			if (ib.isFileLocal()) {
+			// Don't adapt file local bindings from other fragments to this one, unless the
+			// fragment is being merged into this one.
+			if (ib.isFileLocal() && getMergedLocalToFile(ib) == null) {
 				return null;
 			}
 		}
@@ -1548,6 +1604,70 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 		}
 	}
 
+	@Override
+	public void onCopyName(PDOMName sourceName, PDOMName pdomName) throws CoreException {
+		super.onCopyName(sourceName, pdomName);
+		if (pdomName.isFriendSpecifier()) {
+			PDOMName enclClassName = (PDOMName) pdomName.getEnclosingDefinition();
+			if (enclClassName != null) {
+				PDOMBinding enclClassBinding = enclClassName.getBinding();
+				if (enclClassBinding instanceof PDOMCPPClassType) {
+					((PDOMCPPClassType) enclClassBinding).addFriend(new PDOMCPPFriend(this, pdomName));
+				}
+			}
+		} else if (pdomName.isDefinition()) {
+			PDOMBinding sourceBinding = sourceName.getBinding();
+			PDOMCPPBase base = null;
+			if (sourceBinding instanceof PDOMCPPClassType) {
+				base = ((PDOMCPPClassType) sourceBinding).getFirstBase();
+			} else if (sourceBinding instanceof PDOMCPPClassSpecialization) {
+				base = ((PDOMCPPClassSpecialization) sourceBinding).getFirstBase();
+			}
+			// The bases are stored in reverse order.
+			LinkedList<ICPPBase> bases = new LinkedList<>();
+			for (; base != null; base = base.getNextBase()) {
+				PDOMName classDefName = base.getClassDefinitionName();
+				if (classDefName != null && classDefName.getRecord() == sourceName.getRecord()) {
+					bases.addFirst(base);
+				}
+			}
+			if (!bases.isEmpty()) {
+				ICPPBase[] baseArray = bases.toArray(new ICPPBase[bases.size()]);
+				PDOMBinding pdomBinding = pdomName.getBinding();
+				if (pdomBinding instanceof PDOMCPPClassType) {
+					((PDOMCPPClassType) pdomBinding).addBases(pdomName, baseArray);
+				} else if (pdomBinding instanceof PDOMCPPClassSpecialization) {
+					((PDOMCPPClassSpecialization) pdomBinding).addBases(pdomName, baseArray);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void copyUsingDirectives(PDOMFile sourceFile, PDOMFile file) throws CoreException {
+		for (ICPPUsingDirective directive : sourceFile.getUsingDirectives()) {
+			if (!(directive instanceof PDOMCPPUsingDirective))
+				continue;
+			PDOMCPPUsingDirective ud = (PDOMCPPUsingDirective) directive;
+			PDOMBinding nominated = addTypeBinding(ud.getNominatedBinding());
+			if (nominated == null)
+				continue;
+			PDOMCPPNamespace containerNS = null;
+			IScope container = ud.getContainingScope();
+			if (container instanceof PDOMCPPNamespace) {
+				PDOMBinding binding = addTypeBinding((PDOMCPPNamespace) container);
+				if (!(binding instanceof PDOMCPPNamespace))
+					continue;
+				containerNS = (PDOMCPPNamespace) binding;
+			}
+			long rec = file.getLastUsingDirectiveRec();
+			PDOMCPPUsingDirective copy = new PDOMCPPUsingDirective(this, rec, containerNS, nominated,
+					ud.getPointOfDeclaration());
+			file.setLastUsingDirective(copy.getRecord());
+		}
+		handlePostProcesses();
+	}
+
 	@Override
 	public ICPPUsingDirective[] getUsingDirectives(PDOMFile file) throws CoreException {
 		long rec = file.getLastUsingDirectiveRec();
@@ -1563,6 +1683,20 @@ class PDOMCPPLinkage extends PDOMLinkage implements IIndexCPPBindingConstants {
 		return uds.toArray(new ICPPUsingDirective[uds.size()]);
 	}
 
+	@Override
+	public List<PDOMName> getDerivedClassDefinitions(PDOMBinding classType) throws CoreException {
+		if (classType instanceof ITypedef) {
+			// Derived classes are kept with the class the typedef referred to when they were indexed.
+			IType type = SemanticUtil.getNestedType((ITypedef) classType, SemanticUtil.TDEF);
+			if (type instanceof PDOMCPPClassType && ((PDOMCPPClassType) type).getLinkage() == this) {
+				return ((PDOMCPPClassType) type).getDerivedClassDefinitions();
+			}
+		} else if (classType instanceof PDOMCPPClassType) {
+			return ((PDOMCPPClassType) classType).getDerivedClassDefinitions();
+		}
+		return super.getDerivedClassDefinitions(classType);
+	}
+
 	@Override
 	public void onDeleteName(PDOMName pdomName) throws CoreException {
 		super.onDeleteName(pdomName);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Wind River Systems, Inc. and others.
+ * Copyright (c) 2008, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -107,6 +107,10 @@ public class PDOMCPPUsingDirective implements ICPPUsingDirective, IPDOMNode {
 		return fRecord;
 	}
 
+	PDOMBinding getNominatedBinding() throws CoreException {
+		return fLinkage.getBinding(fLinkage.getDB().getRecPtr(fRecord + NOMINATED_NAMESPACE));
+	}
+
 	public long getPreviousRec() throws CoreException {
 		final Database db = fLinkage.getDB();
 		return db.getRecPtr(fRecord + PREV_DIRECTIVE_OF_FILE);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2014 Wind River Systems, Inc. and others.
+ * Copyright (c) 2008, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -46,7 +46,7 @@ public class PDOMInstanceCache {
 			CCorePlugin.log(e);
 		}
 
-		newCache = (PDOMInstanceCache) pdom.putCachedResult(key, newCache, false);
+		newCache = (PDOMInstanceCache) pdom.putPinnedResult(key, newCache);
 		return newCache;
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 Symbian Software Systems and others.
+ * Copyright (c) 2007, 2026 Symbian Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -50,6 +50,8 @@ public class GeneratePDOM {
 	protected String indexerID;
 	protected boolean deleteOnExit;
 	protected boolean checkIndexStatus;
+	protected int shardIndex;
+	protected int shardCount = 1;
 
 	/**
 	 * Runnable to export a PDOM.
@@ -80,6 +82,19 @@ public class GeneratePDOM {
 		this.deleteOnExit = deleteOnExit;
 	}
 
+	/**
+	 * Restricts the generated PDOM to one of several partitions of the files of the project. The
+	 * PDOMs generated for all partitions can be combined with {@link MergePDOM}.
+	 * @param index the index of the partition, between 0 and count - 1
+	 * @param count the number of partitions
+	 */
+	public void setShard(int index, int count) {
+		if (count < 1 || index < 0 || index >= count)
+			throw new IllegalArgumentException();
+		this.shardIndex = index;
+		this.shardCount = count;
+	}
+
 	/**
 	 * Executes the PDOM generation
 	 * @return {@link IStatus#OK} if the generated content is complete, {@link IStatus#ERROR} otherwise.
@@ -102,6 +117,12 @@ public class GeneratePDOM {
 		}
 
 		// Index the project
+		if (shardCount > 1) {
+			IndexerPreferences.set(cproject.getProject(), IndexerPreferences.KEY_INDEXER_SHARD_INDEX,
+					String.valueOf(shardIndex));
+			IndexerPreferences.set(cproject.getProject(), IndexerPreferences.KEY_INDEXER_SHARD_COUNT,
+					String.valueOf(shardCount));
+		}
 		IndexerPreferences.set(cproject.getProject(), IndexerPreferences.KEY_INDEXER_ID, indexerID);
 
 		try {
@@ -116,7 +137,8 @@ public class GeneratePDOM {
 				Thread.sleep(200);
 			}
 
-			if (checkIndexStatus) {
+			// A partition does not contain the sources of the other partitions.
+			if (checkIndexStatus && shardCount == 1) {
 				// Check status
 				IStatus syncStatus = CCoreInternals.getPDOMManager().getProjectContentSyncState(cproject);
 				if (syncStatus != null) {
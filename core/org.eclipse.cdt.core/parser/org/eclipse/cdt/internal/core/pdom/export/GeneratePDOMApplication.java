@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 Symbian Software Systems and others.
+ * Copyright (c) 2007, 2026 Symbian Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -52,6 +52,8 @@ public class GeneratePDOMApplication implements IApplication {
 	public static final String OPT_TARGET = "-target"; //$NON-NLS-1$
 	public static final String OPT_QUIET = "-quiet"; //$NON-NLS-1$
 	public static final String OPT_INDEXER_ID = "-indexer"; //$NON-NLS-1$
+	public static final String OPT_SHARD = "-shard"; //$NON-NLS-1$
+	public static final String OPT_MERGE = "-merge"; //$NON-NLS-1$
 
 	/**
 	 * Applications needing to fail in an expected way (without stack dump), should throw
@@ -88,6 +90,11 @@ public class GeneratePDOMApplication implements IApplication {
 
 		setupCLIProgressProvider();
 
+		List<String> mergeArgs = arguments.get(OPT_MERGE);
+		if (mergeArgs != null) {
+			return merge(mergeArgs, CLIUtil.getArg(arguments, OPT_TARGET, 1).get(0));
+		}
+
 		String pproviderFQN;
 		if (!arguments.containsKey(OPT_PROJECTPROVIDER)) {
 			output(MessageFormat.format(Messages.GeneratePDOMApplication_UsingDefaultProjectProvider,
@@ -110,6 +117,21 @@ public class GeneratePDOMApplication implements IApplication {
 			}
 		}
 
+		int shardIndex = 0;
+		int shardCount = 1;
+		if (arguments.containsKey(OPT_SHARD)) {
+			List<String> shardArgs = CLIUtil.getArg(arguments, OPT_SHARD, 2);
+			try {
+				shardIndex = Integer.parseInt(shardArgs.get(0));
+				shardCount = Integer.parseInt(shardArgs.get(1));
+			} catch (NumberFormatException e) {
+				shardCount = 0;
+			}
+			if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+				fail(MessageFormat.format(Messages.GeneratePDOMApplication_InvalidShard, new Object[] { OPT_SHARD }));
+			}
+		}
+
 		String[] oldvals = null;
 		if (!quiet) {
 			oldvals = new String[] { System.getProperty(IPDOMIndexerTask.TRACE_ACTIVITY),
@@ -128,6 +150,7 @@ public class GeneratePDOMApplication implements IApplication {
 			File targetLocation = new File(target);
 
 			GeneratePDOM generate = new GeneratePDOM(pprovider, appArgs, targetLocation, indexerID);
+			generate.setShard(shardIndex, shardCount);
 			output(Messages.GeneratePDOMApplication_GenerationStarts);
 			IStatus status = generate.run(); // CoreException handled in start method
 			if (!status.isOK()) {
@@ -144,6 +167,26 @@ public class GeneratePDOMApplication implements IApplication {
 		return null;
 	}
 
+	private Object merge(List<String> shards, String target) throws CoreException {
+		if (shards.isEmpty()) {
+			fail(MessageFormat.format(Messages.GeneratePDOMApplication_InvalidMerge, new Object[] { OPT_MERGE }));
+		}
+		File[] shardLocations = new File[shards.size()];
+		for (int i = 0; i < shardLocations.length; i++) {
+			shardLocations[i] = new File(shards.get(i));
+			if (!shardLocations[i].isFile()) {
+				fail(MessageFormat.format(Messages.GeneratePDOMApplication_CouldNotFindShard,
+						new Object[] { shards.get(i) }));
+			}
+		}
+		MergePDOM merge = new MergePDOM(shardLocations, new File(target));
+		output(Messages.GeneratePDOMApplication_GenerationStarts);
+		IStatus status = merge.run(new NullProgressMonitor()); // CoreException handled in start method
+		output(status.getMessage());
+		output(Messages.GeneratePDOMApplication_GenerationEnds);
+		return null;
+	}
+
 	private void restoreSystemProperty(String key, String value) {
 		if (value == null) {
 			System.clearProperty(key);
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.export;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.index.IIndexLocationConverter;
+import org.eclipse.cdt.core.index.URIRelativeLocationConverter;
+import org.eclipse.cdt.core.model.LanguageManager;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+
+/**
+ * Combines the PDOMs generated for the partitions of a project (see {@link GeneratePDOM#setShard(int, int)})
+ * into a single PDOM. Files contained in several of the PDOMs, typically headers, are taken from
+ * the first PDOM that contains them. Bindings and macros are deduplicated.
+ */
+public class MergePDOM {
+	/**
+	 * Exported PDOMs store locations relative to the root of the project, any base URI can be used
+	 * to convert them back and forth.
+	 */
+	private static final URI BASE_URI = URI.create("file:/"); //$NON-NLS-1$
+
+	protected File[] shardLocations;
+	protected File targetLocation;
+
+	/**
+	 * @param shardLocations the PDOMs to merge, in the order of precedence
+	 * @param targetLocation the location of the merged PDOM, an existing file is replaced
+	 */
+	public MergePDOM(File[] shardLocations, File targetLocation) {
+		this.shardLocations = shardLocations;
+		this.targetLocation = targetLocation;
+	}
+
+	/**
+	 * Executes the merge.
+	 * @return {@link IStatus#OK} if the PDOMs have been merged.
+	 * @throws CoreException if one of the PDOMs cannot be read or the merged PDOM cannot be written
+	 */
+	public final IStatus run(IProgressMonitor monitor) throws CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor, shardLocations.length);
+		IIndexLocationConverter converter = new URIRelativeLocationConverter(BASE_URI);
+		try {
+			// The first PDOM is taken over as a whole, the others are merged into it.
+			Files.copy(shardLocations[0].toPath(), targetLocation.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			progress.worked(1);
+
+			WritablePDOM target = new WritablePDOM(targetLocation, converter,
+					LanguageManager.getInstance().getPDOMLinkageFactoryMappings());
+			target.acquireWriteLock(null);
+			try {
+				for (int i = 1; i < shardLocations.length; i++) {
+					PDOM shard = new PDOM(shardLocations[i], converter,
+							LanguageManager.getInstance().getPDOMLinkageFactoryMappings());
+					shard.acquireReadLock();
+					try {
+						target.merge(shard, progress.split(1));
+					} finally {
+						shard.releaseReadLock();
+						shard.close();
+					}
+				}
+			} finally {
+				try {
+					target.releaseWriteLock();
+				} finally {
+					target.close();
+				}
+			}
+		} catch (IOException | InterruptedException e) {
+			String msg = MessageFormat.format(Messages.GeneratePDOM_GenericGenerationFailed,
+					new Object[] { e.getMessage() });
+			throw new CoreException(CCorePlugin.createStatus(msg, e));
+		}
+		return new Status(IStatus.OK, CCorePlugin.PLUGIN_ID, Messages.MergePDOM_Success);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Symbian Software Systems and others.
+ * Copyright (c) 2007, 2026 Symbian Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,11 +22,15 @@ public class Messages extends NLS {
 	public static String GeneratePDOM_ProjectProviderReturnedNullCProject;
 	public static String GeneratePDOM_Success;
 	public static String GeneratePDOMApplication_CouldNotFindInitializer;
+	public static String GeneratePDOMApplication_CouldNotFindShard;
 	public static String GeneratePDOMApplication_GenerationEnds;
 	public static String GeneratePDOMApplication_GenerationStarts;
 	public static String GeneratePDOMApplication_Initializing;
 	public static String GeneratePDOMApplication_InvalidIndexerID;
+	public static String GeneratePDOMApplication_InvalidMerge;
+	public static String GeneratePDOMApplication_InvalidShard;
 	public static String GeneratePDOMApplication_UsingDefaultProjectProvider;
+	public static String MergePDOM_Success;
 
 	static {
 		// Initialize resource bundle.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Wind River Systems, Inc. and others.
+ * Copyright (c) 2007, 2026 Wind River Systems, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -37,6 +37,12 @@ public abstract class AbstractPDOMIndexer implements IPDOMIndexer {
 				String.valueOf(IndexerPreferences.DEFAULT_FILE_SIZE_LIMIT_MB));
 		fProperties.put(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB,
 				String.valueOf(IndexerPreferences.DEFAULT_INCLUDED_FILE_SIZE_LIMIT_MB));
+		fProperties.put(IndexerPreferences.KEY_INDEXER_WORKER_COUNT,
+				String.valueOf(IndexerPreferences.DEFAULT_INDEXER_WORKER_COUNT));
+		fProperties.put(IndexerPreferences.KEY_INDEXER_SHARD_INDEX,
+				String.valueOf(IndexerPreferences.DEFAULT_INDEXER_SHARD_INDEX));
+		fProperties.put(IndexerPreferences.KEY_INDEXER_SHARD_COUNT,
+				String.valueOf(IndexerPreferences.DEFAULT_INDEXER_SHARD_COUNT));
 		fProperties.put(IndexerPreferences.KEY_SKIP_ALL_REFERENCES, String.valueOf(false));
 		fProperties.put(IndexerPreferences.KEY_SKIP_IMPLICIT_REFERENCES, String.valueOf(false));
 		fProperties.put(IndexerPreferences.KEY_SKIP_TYPE_REFERENCES, String.valueOf(false));
@@ -66,7 +72,7 @@ public abstract class AbstractPDOMIndexer implements IPDOMIndexer {
 			String key = (String) entry.getKey();
 			String val = (String) entry.getValue();
 
-			if (val != null) { // relevant property
+			if (val != null && isRelevantForRebuild(key)) {
 				String v2 = (String) props.get(key);
 				if (v2 != null && !val.equals(v2)) {
 					return true;
@@ -76,6 +82,16 @@ public abstract class AbstractPDOMIndexer implements IPDOMIndexer {
 		return false;
 	}
 
+	/**
+	 * The number of worker threads and the partition of the sources that is indexed when the
+	 * index is generated in partitions do not require the existing index to be rebuilt.
+	 */
+	private static boolean isRelevantForRebuild(String key) {
+		return !IndexerPreferences.KEY_INDEXER_WORKER_COUNT.equals(key)
+				&& !IndexerPreferences.KEY_INDEXER_SHARD_INDEX.equals(key)
+				&& !IndexerPreferences.KEY_INDEXER_SHARD_COUNT.equals(key);
+	}
+
 	public Properties getProperties() {
 		return fProperties;
 	}
@@ -63,6 +63,9 @@ public class IndexerPreferences {
 	public static final String KEY_UPDATE_POLICY = "updatePolicy"; //$NON-NLS-1$
 	public static final String KEY_SKIP_FILES_LARGER_THAN_MB = "skipFilesLargerThanMB"; //$NON-NLS-1$
 	public static final String KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB = "skipIncludedFilesLargerThanMB"; //$NON-NLS-1$
+	public static final String KEY_INDEXER_WORKER_COUNT = "indexerWorkerCount"; //$NON-NLS-1$
+	public static final String KEY_INDEXER_SHARD_INDEX = "indexerShardIndex"; //$NON-NLS-1$
+	public static final String KEY_INDEXER_SHARD_COUNT = "indexerShardCount"; //$NON-NLS-1$
 
 	private static final String KEY_INDEXER_PREFS_SCOPE = "preferenceScope"; //$NON-NLS-1$
 	private static final String KEY_INDEX_IMPORT_LOCATION = "indexImportLocation"; //$NON-NLS-1$
@@ -76,6 +79,9 @@ public class IndexerPreferences {
 	private static final int DEFAULT_UPDATE_POLICY = 0;
 	public static final int DEFAULT_FILE_SIZE_LIMIT_MB = 8;
 	public static final int DEFAULT_INCLUDED_FILE_SIZE_LIMIT_MB = 16;
+	public static final int DEFAULT_INDEXER_WORKER_COUNT = 1;
+	public static final int DEFAULT_INDEXER_SHARD_INDEX = 0;
+	public static final int DEFAULT_INDEXER_SHARD_COUNT = 1;
 
 	private static final String QUALIFIER = CCorePlugin.PLUGIN_ID;
 	private static final String INDEXER_NODE = "indexer"; //$NON-NLS-1$
@@ -329,6 +335,9 @@ public class IndexerPreferences {
 		prefs.putBoolean(KEY_INCLUDE_HEURISTICS, true);
 		prefs.putInt(KEY_SKIP_FILES_LARGER_THAN_MB, DEFAULT_FILE_SIZE_LIMIT_MB);
 		prefs.putInt(KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB, DEFAULT_INCLUDED_FILE_SIZE_LIMIT_MB);
+		prefs.putInt(KEY_INDEXER_WORKER_COUNT, DEFAULT_INDEXER_WORKER_COUNT);
+		prefs.putInt(KEY_INDEXER_SHARD_INDEX, DEFAULT_INDEXER_SHARD_INDEX);
+		prefs.putInt(KEY_INDEXER_SHARD_COUNT, DEFAULT_INDEXER_SHARD_COUNT);
 		prefs.putBoolean(KEY_SKIP_ALL_REFERENCES, false);
 		prefs.putBoolean(KEY_SKIP_IMPLICIT_REFERENCES, false);
 		prefs.putBoolean(KEY_SKIP_TYPE_REFERENCES, false);
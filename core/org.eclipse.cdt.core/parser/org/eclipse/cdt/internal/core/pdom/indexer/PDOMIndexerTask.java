@@ -34,12 +34,16 @@ import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
+import org.eclipse.cdt.internal.core.index.HeaderContentCache;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
+import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
 import org.eclipse.cdt.internal.core.model.CProject;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.ITodoTaskUpdater;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.ResultCache;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -71,6 +75,15 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		final long fileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_FILES_LARGER_THAN_MB, 0);
 		final long includedFileLimit = getIntProperty(IndexerPreferences.KEY_SKIP_INCLUDED_FILES_LARGER_THAN_MB, 0);
 		setFileSizeLimits(fileLimit * 1024 * 1024, includedFileLimit * 1024 * 1024);
+		setWorkerCount(getIntProperty(IndexerPreferences.KEY_INDEXER_WORKER_COUNT,
+				IndexerPreferences.DEFAULT_INDEXER_WORKER_COUNT));
+		final int shardCount = getIntProperty(IndexerPreferences.KEY_INDEXER_SHARD_COUNT,
+				IndexerPreferences.DEFAULT_INDEXER_SHARD_COUNT);
+		final int shardIndex = getIntProperty(IndexerPreferences.KEY_INDEXER_SHARD_INDEX,
+				IndexerPreferences.DEFAULT_INDEXER_SHARD_INDEX);
+		if (shardCount > 1 && shardIndex >= 0 && shardIndex < shardCount) {
+			setShard(shardIndex, shardCount);
+		}
 		setIndexAllHeaderVersions(checkProperty(IndexerPreferences.KEY_INDEX_ALL_HEADER_VERSIONS));
 		setHeadersToIndexAllVersions(getStringSet(IndexerPreferences.KEY_INDEX_ALL_VERSIONS_SPECIFIC_HEADERS));
 		if (checkProperty(IndexerPreferences.KEY_SKIP_ALL_REFERENCES)) {
@@ -316,7 +329,33 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			System.out.println(indent + " Cache[" //$NON-NLS-1$
 					+ ChunkCache.getSharedInstance().getMaxSize() / 1024 / 1024 + "MB]: " + //$NON-NLS-1$
 					+hits + " hits, " //$NON-NLS-1$
+					+ misses + "(" + nfPercent.format(missPct) + ") misses, " //$NON-NLS-1$ //$NON-NLS-2$
+					+ ChunkCache.getSharedInstance().getEvictions() + " evictions."); //$NON-NLS-1$
+			misses = index.getResultCacheMisses();
+			hits = index.getResultCacheHits();
+			tries = misses + hits;
+			missPct = tries == 0 ? 0.0 : (double) misses / (double) tries;
+			System.out.println(indent + " Result cache: " //$NON-NLS-1$
+					+ hits + " hits, " //$NON-NLS-1$
 					+ misses + "(" + nfPercent.format(missPct) + ") misses."); //$NON-NLS-1$ //$NON-NLS-2$
+			IWritableIndexFragment fragment = index.getWritableFragment();
+			if (fragment instanceof PDOM) {
+				ResultCache resultCache = ((PDOM) fragment).getResultCache();
+				for (ResultCache.KeyKind keyKind : ResultCache.KeyKind.values()) {
+					System.out.println(indent + indent + keyKind + ": " //$NON-NLS-1$
+							+ resultCache.getHits(keyKind) + " hits, " //$NON-NLS-1$
+							+ resultCache.getMisses(keyKind) + " misses."); //$NON-NLS-1$
+				}
+				System.out.println(indent + indent + resultCache.size() + " results (" //$NON-NLS-1$
+						+ resultCache.pinnedSize() + " pinned), " //$NON-NLS-1$
+						+ resultCache.getEvictions() + " evictions, " //$NON-NLS-1$
+						+ resultCache.getReleases() + " released pinned results."); //$NON-NLS-1$
+			}
+			final HeaderContentCache headerCache = getHeaderContentCache();
+			System.out.println(indent + " Header cache[" //$NON-NLS-1$
+					+ headerCache.getSize() / 1024 + "K chars]: " //$NON-NLS-1$
+					+ headerCache.getHits() + " hits, " //$NON-NLS-1$
+					+ headerCache.getMisses() + " misses."); //$NON-NLS-1$
 
 			if (Boolean.parseBoolean(System.getProperty("SHOW_COMPRESSED_INDEXER_INFO"))) { //$NON-NLS-1$
 				Calendar cal = Calendar.getInstance();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Symbian Software Systems and others.
+ * Copyright (c) 2007, 2026 Symbian Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,10 +20,13 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.IPDOMManager;
 import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.TestScannerProvider;
@@ -368,4 +371,32 @@ public class BasicSearchTest extends SearchTestBase {
 		CSearchQuery query = makeProjectQuery("operator<");
 		assertOccurrences(query, 1);
 	}
+
+	//	void foo();
+	//	inline void bar() {
+	//	  foo();
+	//	  foo();
+	//	}
+
+	//	#include "header.h"
+	//	void baz() {
+	//	  foo();
+	//	  foo();
+	//	}
+	public void testMatchesReportedWhileSearching() throws Exception {
+		List<Integer> matchCounts = new ArrayList<>();
+		CSearchQuery query = new CSearchPatternQuery(new ICElement[] { fCProject }, "Project", "foo", true,
+				CSearchQuery.FIND_ALL_OCCURRENCES | CSearchPatternQuery.FIND_ALL_TYPES) {
+			@Override
+			protected boolean filterName(IIndexName name) {
+				// Records the number of matches reported before the name was found.
+				matchCounts.add(result.getMatchCount());
+				return super.filterName(name);
+			}
+		};
+		assertOccurrences(query, 5);
+		assertEquals(5, matchCounts.size());
+		// The matches of the file found first are reported before the last name is found.
+		assertTrue(matchCounts.get(matchCounts.size() - 1) > 0);
+	}
 }
@@ -36,6 +36,7 @@ import org.eclipse.cdt.internal.ui.viewsupport.IndexUI;
 import org.eclipse.cdt.ui.extensions.ICallHierarchyProvider;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 
 /**
  * Access to high level queries in the index.
@@ -43,6 +44,8 @@ import org.eclipse.core.runtime.IProgressMonitor;
  */
 public class CHQueries {
 	private static final CHNode[] EMPTY_NODES = {};
+	/** Number of references that are processed at once. */
+	private static final int NAME_BATCH_SIZE = 500;
 
 	private CHQueries() {
 	}
@@ -67,13 +70,13 @@ public class CHQueries {
 			final String ct = tu.getContentTypeId();
 			if (ct.equals(CCorePlugin.CONTENT_TYPE_CXXHEADER) || ct.equals(CCorePlugin.CONTENT_TYPE_CHEADER)) {
 				// Bug 260262: in a header file we need to consider C and C++.
-				findCalledBy(callee, ILinkage.C_LINKAGE_ID, index, result);
-				findCalledBy(callee, ILinkage.CPP_LINKAGE_ID, index, result);
+				findCalledBy(callee, ILinkage.C_LINKAGE_ID, index, pm, result);
+				findCalledBy(callee, ILinkage.CPP_LINKAGE_ID, index, pm, result);
 				done = true;
 			}
 		}
 		if (!done) {
-			findCalledBy(callee, linkageID, index, result);
+			findCalledBy(callee, linkageID, index, pm, result);
 		}
 		for (ICallHierarchyProvider provider : CHProviderManager.INSTANCE.getCallHierarchyProviders()) {
 			provider.findCalledBy(callee, linkageID, index, result);
@@ -92,44 +95,50 @@ public class CHQueries {
 		return false;
 	}
 
-	private static void findCalledBy(ICElement callee, int linkageID, IIndex index, CalledByResult result)
-			throws CoreException {
+	private static void findCalledBy(ICElement callee, int linkageID, IIndex index, IProgressMonitor pm,
+			CalledByResult result) throws CoreException {
 		final ICProject project = callee.getCProject();
 		IIndexBinding calleeBinding = IndexUI.elementToBinding(index, callee, linkageID);
 		if (calleeBinding != null) {
-			findCalledBy1(index, calleeBinding, true, project, result);
+			findCalledBy1(index, calleeBinding, true, project, pm, result);
 			if (calleeBinding instanceof ICPPMethod) {
 				IBinding[] overriddenBindings = ClassTypeHelper.findOverridden((ICPPMethod) calleeBinding);
 				for (IBinding overriddenBinding : overriddenBindings) {
-					findCalledBy1(index, overriddenBinding, false, project, result);
+					findCalledBy1(index, overriddenBinding, false, project, pm, result);
 				}
 			}
 		}
 	}
 
 	private static void findCalledBy1(IIndex index, IBinding callee, boolean includeOrdinaryCalls, ICProject project,
-			CalledByResult result) throws CoreException {
-		findCalledBy2(index, callee, includeOrdinaryCalls, project, result);
+			IProgressMonitor pm, CalledByResult result) throws CoreException {
+		findCalledBy2(index, callee, includeOrdinaryCalls, project, pm, result);
 		List<? extends IBinding> specializations = IndexUI.findSpecializations(index, callee);
 		for (IBinding spec : specializations) {
-			findCalledBy2(index, spec, includeOrdinaryCalls, project, result);
+			findCalledBy2(index, spec, includeOrdinaryCalls, project, pm, result);
 		}
 	}
 
 	private static void findCalledBy2(IIndex index, IBinding callee, boolean includeOrdinaryCalls, ICProject project,
-			CalledByResult result) throws CoreException {
-		IIndexName[] names = index.findNames(callee, IIndex.FIND_REFERENCES | IIndex.SEARCH_ACROSS_LANGUAGE_BOUNDARIES);
-		for (IIndexName rname : names) {
-			if (includeOrdinaryCalls || rname.couldBePolymorphicMethodCall()) {
-				IIndexName caller = rname.getEnclosingDefinition();
-				if (caller != null) {
-					ICElement elem = IndexUI.getCElementForName(project, index, caller);
-					if (elem != null) {
-						result.add(elem, rname);
+			IProgressMonitor pm, CalledByResult result) throws CoreException {
+		// The references are processed in batches, such that a canceled query stops early.
+		index.findNames(callee, IIndex.FIND_REFERENCES | IIndex.SEARCH_ACROSS_LANGUAGE_BOUNDARIES, NAME_BATCH_SIZE,
+				names -> {
+					if (pm.isCanceled())
+						throw new OperationCanceledException();
+					for (IIndexName rname : names) {
+						if (includeOrdinaryCalls || rname.couldBePolymorphicMethodCall()) {
+							IIndexName caller = rname.getEnclosingDefinition();
+							if (caller != null) {
+								ICElement elem = IndexUI.getCElementForName(project, index, caller);
+								if (elem != null) {
+									result.add(elem, rname);
+								}
+							}
+						}
 					}
-				}
-			}
-		}
+					return true;
+				});
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,25 +16,36 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.ui.editor;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.model.ITranslationUnitHolder;
+import org.eclipse.cdt.core.model.IWorkingCopy;
 import org.eclipse.cdt.internal.core.model.ASTCache;
 import org.eclipse.cdt.internal.core.model.ASTCache.ASTRunnable;
+import org.eclipse.cdt.ui.CDTUITools;
 import org.eclipse.cdt.ui.CUIPlugin;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IEditorReference;
 import org.eclipse.ui.IPartListener2;
 import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchPart;
 import org.eclipse.ui.IWorkbenchPartReference;
 import org.eclipse.ui.IWorkbenchWindow;
@@ -197,11 +208,58 @@ public final class ASTProvider {
 		}
 	}
 
+	/**
+	 * Schedules background parsing of the translation units that are likely to become active
+	 * after the given one: its header/source partner and the inputs of the most recently used
+	 * other editors. No more translation units are parsed than the cache can keep.
+	 */
+	private class PreparseRequestJob extends Job {
+		private final ITranslationUnit fTU;
+		private final List<ITranslationUnit> fRecentTUs;
+
+		PreparseRequestJob(ITranslationUnit tu, List<ITranslationUnit> recentTUs) {
+			super(CEditorMessages.ASTProvider_preparse_job_name);
+			fTU = tu;
+			fRecentTUs = recentTUs;
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			int remaining = fCache.getMaxInactiveASTs();
+			if (remaining == 0)
+				return Status.OK_STATUS;
+			ITranslationUnit partner = SourceHeaderPartnerFinder.getPartnerTranslationUnit(fTU);
+			if (partner != null && !monitor.isCanceled()) {
+				IWorkingCopy workingCopy = CDTUITools.getWorkingCopyManager().findSharedWorkingCopy(partner);
+				if (workingCopy != null)
+					partner = workingCopy;
+				fCache.schedulePreparse(partner);
+				remaining--;
+			}
+			for (ITranslationUnit tu : fRecentTUs) {
+				if (remaining == 0)
+					break;
+				if (monitor.isCanceled())
+					return Status.CANCEL_STATUS;
+				if (!tu.equals(partner)) {
+					fCache.schedulePreparse(tu);
+					remaining--;
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
 	private final ASTCache fCache = new ASTCache();
 	private ActivationListener fActivationListener;
 	private IWorkbenchPart fActiveEditor;
 	private long fTimeStamp;
 	private final IndexUpdateRequestor fIndexUpdateRequestor = new IndexUpdateRequestor();
+	private Job fPreparseRequestJob;
+	/** Translation units of recently activated editors, most recently activated first */
+	private final LinkedList<ITranslationUnit> fRecentTUs = new LinkedList<>();
 
 	/**
 	 * Returns the C plug-in's AST provider.
@@ -246,12 +304,64 @@ public final class ASTProvider {
 
 		synchronized (this) {
 			fActiveEditor = editor;
-			fTimeStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+			// An AST kept for the translation unit matches the current contents of the document.
+			fTimeStamp = getModificationStamp(editor);
 			fCache.setActiveElement(tu);
+			if (tu != null) {
+				fRecentTUs.remove(tu);
+				fRecentTUs.addFirst(tu);
+				// The active one and as many as the cache can keep in addition.
+				while (fRecentTUs.size() > fCache.getMaxInactiveASTs() + 1) {
+					fRecentTUs.removeLast();
+				}
+			}
 		}
 
 		// Increase indexing priority of the translation unit of the active editor.
 		fIndexUpdateRequestor.updateIndexInclusion(tu);
+
+		if (tu != null)
+			requestPreparse(editor, tu);
+	}
+
+	private void requestPreparse(IWorkbenchPart editor, ITranslationUnit tu) {
+		Set<ITranslationUnit> openTUs = new HashSet<>();
+		IWorkbenchPage page = editor.getSite() != null ? editor.getSite().getPage() : null;
+		if (page != null) {
+			for (IEditorReference ref : page.getEditorReferences()) {
+				// Editors that have not been restored yet have no working copy.
+				IWorkbenchPart part = ref.getPart(false);
+				if (part == null || part == editor)
+					continue;
+				ITranslationUnitHolder provider = part.getAdapter(ITranslationUnitHolder.class);
+				ITranslationUnit openTU = provider != null ? provider.getTranslationUnit() : null;
+				if (openTU != null && !openTU.equals(tu))
+					openTUs.add(openTU);
+			}
+		}
+
+		synchronized (this) {
+			List<ITranslationUnit> recentTUs = new ArrayList<>();
+			for (ITranslationUnit recentTU : fRecentTUs) {
+				if (openTUs.contains(recentTU))
+					recentTUs.add(recentTU);
+			}
+			if (fPreparseRequestJob != null)
+				fPreparseRequestJob.cancel();
+			fPreparseRequestJob = new PreparseRequestJob(tu, recentTUs);
+			fPreparseRequestJob.schedule();
+		}
+	}
+
+	private static long getModificationStamp(IWorkbenchPart editor) {
+		if (editor instanceof ITextEditor) {
+			ITextEditor textEditor = (ITextEditor) editor;
+			IDocument document = textEditor.getDocumentProvider() == null ? null
+					: textEditor.getDocumentProvider().getDocument(textEditor.getEditorInput());
+			if (document instanceof IDocumentExtension4)
+				return ((IDocumentExtension4) document).getModificationStamp();
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 	}
 
 	/**
@@ -305,7 +415,13 @@ public final class ASTProvider {
 			PlatformUI.getWorkbench().removeWindowListener(fActivationListener);
 			fActivationListener = null;
 		}
+		synchronized (this) {
+			if (fPreparseRequestJob != null)
+				fPreparseRequestJob.cancel();
+			fRecentTUs.clear();
+		}
 		fCache.setActiveElement(null);
+		fCache.disposeInactiveASTs();
 	}
 
 	/**
@@ -592,9 +592,9 @@ public class IncludeOrganizer {
 			if (includedHeaders.contains(path))
 				return true;
 
-			IIndexInclude[] includedBy = fContext.getIndex().findIncludedBy(file, IIndex.DEPTH_INFINITE);
-			for (IIndexInclude include : includedBy) {
-				path = getAbsolutePath(include.getIncludedByLocation());
+			IIndexFile[] includers = fContext.getIndex().findIncludingFiles(file);
+			for (IIndexFile includer : includers) {
+				path = getAbsolutePath(includer.getLocation());
 				if (includedHeaders.contains(path))
 					return true;
 			}
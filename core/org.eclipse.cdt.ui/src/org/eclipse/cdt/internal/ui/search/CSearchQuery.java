@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2014 QNX Software Systems and others.
+ * Copyright (c) 2006, 2026 QNX Software Systems and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,7 +25,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -83,6 +82,9 @@ public abstract class CSearchQuery implements ISearchQuery {
 	public static final int FIND_DECLARATIONS_DEFINITIONS = FIND_DECLARATIONS | FIND_DEFINITIONS;
 	public static final int FIND_ALL_OCCURRENCES = FIND_DECLARATIONS | FIND_DEFINITIONS | FIND_REFERENCES;
 
+	/** Number of names that are passed from the index to the search at once. */
+	private static final int NAME_BATCH_SIZE = 500;
+
 	protected static final long LABEL_FLAGS = CElementLabels.M_PARAMETER_TYPES | CElementLabels.ALL_FULLY_QUALIFIED
 			| CElementLabels.TEMPLATE_ARGUMENTS;
 
@@ -92,6 +94,7 @@ public abstract class CSearchQuery implements ISearchQuery {
 	protected ICElement[] scope;
 	protected ICProject[] projects;
 	private Set<String> fullPathFilter;
+	private volatile IProgressMonitor fMonitor;
 
 	protected CSearchQuery(ICElement[] scope, int flags) {
 		result = new CSearchResult(this);
@@ -220,46 +223,34 @@ public abstract class CSearchQuery implements ISearchQuery {
 		return false; // i.e. keep it
 	}
 
-	private void createMatchesFromNames(IIndex index, Map<IIndexFile, Set<Match>> fileMatches,
-			Collection<IIndexName> names, boolean isPolymorphicOnly) throws CoreException {
-		if (names == null)
-			return;
-
-		ICProject preferred = getPreferredProject();
-		for (IIndexName name : names) {
-			if (!filterName(name)) {
-				if (!isPolymorphicOnly || name.couldBePolymorphicMethodCall()) {
-					IASTFileLocation loc = name.getFileLocation();
-					if (loc == null) {
-						continue;
-					}
-					IIndexFile file = name.getFile();
-					Set<Match> matches = fileMatches.get(file);
-					if (matches == null) {
-						matches = new HashSet<>();
-						fileMatches.put(file, matches);
-					}
-					int nodeOffset = loc.getNodeOffset();
-					int nodeLength = loc.getNodeLength();
-					ICElement enclosingElement = null;
-					IIndexName enclosingDefinition = name.getEnclosingDefinition();
-					if (enclosingDefinition != null) {
-						enclosingElement = IndexUI.getCElementForName(preferred, index, enclosingDefinition);
-					} else {
-						// Get names from the external search providers.
-						for (IExternalSearchProvider provider : CSearchProviderManager.INSTANCE
-								.getExternalSearchProviders()) {
-							enclosingElement = provider.getEnclosingElement(name);
-							if (enclosingElement != null)
-								break;
-						}
-					}
-
-					boolean isWriteAccess = name.isWriteAccess();
-					matches.add(new Match(nodeOffset, nodeLength, isPolymorphicOnly, enclosingElement, isWriteAccess));
-				}
+	/**
+	 * Creates the match for a name found by a search.
+	 * @return the match, or {@code null} if the name is filtered out
+	 */
+	private Match createMatch(IIndex index, ICProject preferred, IIndexName name, boolean isPolymorphicOnly)
+			throws CoreException {
+		if (filterName(name) || (isPolymorphicOnly && !name.couldBePolymorphicMethodCall()))
+			return null;
+		IASTFileLocation loc = name.getFileLocation();
+		if (loc == null)
+			return null;
+		int nodeOffset = loc.getNodeOffset();
+		int nodeLength = loc.getNodeLength();
+		ICElement enclosingElement = null;
+		IIndexName enclosingDefinition = name.getEnclosingDefinition();
+		if (enclosingDefinition != null) {
+			enclosingElement = IndexUI.getCElementForName(preferred, index, enclosingDefinition);
+		} else {
+			// Get names from the external search providers.
+			for (IExternalSearchProvider provider : CSearchProviderManager.INSTANCE.getExternalSearchProviders()) {
+				enclosingElement = provider.getEnclosingElement(name);
+				if (enclosingElement != null)
+					break;
 			}
 		}
+
+		boolean isWriteAccess = name.isWriteAccess();
+		return new Match(nodeOffset, nodeLength, isPolymorphicOnly, enclosingElement, isWriteAccess);
 	}
 
 	private Set<Match> convertMatchesPositions(IIndexFile file, Set<Match> matches) throws CoreException {
@@ -283,36 +274,99 @@ public abstract class CSearchQuery implements ISearchQuery {
 		return matches;
 	}
 
-	private void collectNames(IIndex index, Collection<IIndexName> names, Collection<IIndexName> polymorphicNames)
-			throws CoreException {
-		// group all matched names by files
-		Map<IIndexFile, Set<Match>> fileMatches = new HashMap<>();
-		createMatchesFromNames(index, fileMatches, names, false);
-		createMatchesFromNames(index, fileMatches, polymorphicNames, true);
-		// compute mapping from paths to dirty text editors
-		IEditorPart[] dirtyEditors = CUIPlugin.getDirtyEditors();
-		Map<IPath, ITextEditor> pathsDirtyEditors = new HashMap<>();
-		for (IEditorPart editorPart : dirtyEditors) {
-			if (editorPart instanceof ITextEditor) {
-				ITextEditor textEditor = (ITextEditor) editorPart;
-				IEditorInput editorInput = editorPart.getEditorInput();
-				if (editorInput instanceof IPathEditorInput) {
-					IPathEditorInput pathEditorInput = (IPathEditorInput) editorInput;
-					pathsDirtyEditors.put(pathEditorInput.getPath(), textEditor);
+	/**
+	 * Groups the matches for the names found by a search by file and reports them to the search
+	 * result. Each file is read once, after all of its matches are known. During the last pass of
+	 * the search the names of a file are passed on together, because the index stores the names of
+	 * a binding in lists where the names of each file are adjacent. A file is therefore reported
+	 * as soon as the last pass moves on to the next file, the remaining files are reported at the
+	 * end of the search.
+	 */
+	private class MatchReporter {
+		private final IIndex fIndex;
+		private final ICProject fPreferred;
+		private final Map<IIndexFile, Set<Match>> fFileMatches = new HashMap<>();
+		/** Matches that are overruled by the ones in {@link #fFileMatches} at the same location. */
+		private final Map<IIndexFile, Set<Match>> fSecondaryFileMatches = new HashMap<>();
+		private Map<IPath, ITextEditor> fPathsDirtyEditors;
+		private boolean fIsLastPass;
+		private IIndexFile fCurrentFile;
+
+		MatchReporter(IIndex index) {
+			fIndex = index;
+			fPreferred = getPreferredProject();
+		}
+
+		void addNames(Collection<IIndexName> names) throws CoreException {
+			for (IIndexName name : names) {
+				Match match = createMatch(fIndex, fPreferred, name, false);
+				if (match != null) {
+					IIndexFile file = name.getFile();
+					if (fIsLastPass && !file.equals(fCurrentFile)) {
+						if (fCurrentFile != null)
+							reportMatches(fCurrentFile);
+						fCurrentFile = file;
+					}
+					addMatch(fFileMatches, file, match);
+				}
+			}
+		}
+
+		void addSecondaryNames(Collection<IIndexName> names, boolean isPolymorphicOnly) throws CoreException {
+			for (IIndexName name : names) {
+				Match match = createMatch(fIndex, fPreferred, name, isPolymorphicOnly);
+				if (match != null) {
+					addMatch(fSecondaryFileMatches, name.getFile(), match);
 				}
 			}
 		}
-		// for each file with matches create line elements with matches
-		for (Entry<IIndexFile, Set<Match>> entry : fileMatches.entrySet()) {
-			IIndexFile file = entry.getKey();
-			Set<Match> matches = entry.getValue();
+
+		/**
+		 * Marks the start of the last pass of the search, which must search a single list of names
+		 * of a binding, i.e. the declarations, the definitions or the references.
+		 */
+		void startLastPass() {
+			fIsLastPass = true;
+		}
+
+		void reportMatches() throws CoreException {
+			Set<IIndexFile> files = new HashSet<>(fFileMatches.keySet());
+			files.addAll(fSecondaryFileMatches.keySet());
+			for (IIndexFile file : files) {
+				checkCanceled();
+				reportMatches(file);
+			}
+		}
+
+		private void reportMatches(IIndexFile file) throws CoreException {
+			// Create line elements with the matches of the file.
+			Set<Match> matches = fFileMatches.remove(file);
+			Set<Match> secondaryMatches = fSecondaryFileMatches.remove(file);
+			if (matches == null) {
+				matches = secondaryMatches;
+			} else if (secondaryMatches != null) {
+				matches.addAll(secondaryMatches);
+			}
+			result.addMatches(createSearchMatches(file, matches));
+		}
+
+		private void addMatch(Map<IIndexFile, Set<Match>> fileMatches, IIndexFile file, Match match) {
+			Set<Match> matches = fileMatches.get(file);
+			if (matches == null) {
+				matches = new HashSet<>();
+				fileMatches.put(file, matches);
+			}
+			matches.add(match);
+		}
+
+		private CSearchMatch[] createSearchMatches(IIndexFile file, Set<Match> matches) throws CoreException {
 			LineSearchElement[] lineElements = {};
 			// check if there is dirty text editor corresponding to file and convert matches
 			IPath absolutePath = IndexLocationFactory.getAbsolutePath(file.getLocation());
-			if (pathsDirtyEditors.containsKey(absolutePath)) {
+			ITextEditor textEditor = getPathsDirtyEditors().get(absolutePath);
+			if (textEditor != null) {
 				matches = convertMatchesPositions(file, matches);
 				// scan dirty editor and group matches by line elements
-				ITextEditor textEditor = pathsDirtyEditors.get(absolutePath);
 				IEditorInput input = textEditor.getEditorInput();
 				IDocument document = textEditor.getDocumentProvider().getDocument(input);
 				Match[] matchesArray = matches.toArray(new Match[matches.size()]);
@@ -323,6 +377,7 @@ public abstract class CSearchQuery implements ISearchQuery {
 				lineElements = LineSearchElement.createElements(file.getLocation(), matchesArray);
 			}
 			// create real PDOMSearchMatch with corresponding line elements
+			List<CSearchMatch> searchMatches = new ArrayList<>();
 			for (LineSearchElement searchElement : lineElements) {
 				for (Match lineMatch : searchElement.getMatches()) {
 					int offset = lineMatch.getOffset();
@@ -333,9 +388,29 @@ public abstract class CSearchQuery implements ISearchQuery {
 					if (lineMatch.isWriteAccess()) {
 						match.setIsWriteAccess();
 					}
-					result.addMatch(match);
+					searchMatches.add(match);
 				}
 			}
+			return searchMatches.toArray(new CSearchMatch[searchMatches.size()]);
+		}
+
+		private Map<IPath, ITextEditor> getPathsDirtyEditors() {
+			if (fPathsDirtyEditors == null) {
+				// compute mapping from paths to dirty text editors
+				IEditorPart[] dirtyEditors = CUIPlugin.getDirtyEditors();
+				fPathsDirtyEditors = new HashMap<>();
+				for (IEditorPart editorPart : dirtyEditors) {
+					if (editorPart instanceof ITextEditor) {
+						ITextEditor textEditor = (ITextEditor) editorPart;
+						IEditorInput editorInput = editorPart.getEditorInput();
+						if (editorInput instanceof IPathEditorInput) {
+							IPathEditorInput pathEditorInput = (IPathEditorInput) editorInput;
+							fPathsDirtyEditors.put(pathEditorInput.getPath(), textEditor);
+						}
+					}
+				}
+			}
+			return fPathsDirtyEditors;
 		}
 	}
 
@@ -346,38 +421,45 @@ public abstract class CSearchQuery implements ISearchQuery {
 	protected void createMatches(IIndex index, IBinding[] bindings) throws CoreException {
 		if (bindings == null)
 			return;
-		List<IIndexName> names = new ArrayList<>();
-		List<IIndexName> polymorphicNames = null;
+		MatchReporter reporter = new MatchReporter(index);
+		List<IBinding> searchedBindings = new ArrayList<>();
 		HashSet<IBinding> handled = new HashSet<>();
-
 		for (IBinding binding : bindings) {
 			if (binding != null && handled.add(binding)) {
-				createMatches1(index, binding, names);
+				searchedBindings.add(binding);
+			}
+		}
+		if (searchedBindings.isEmpty())
+			return;
+
+		// The references of the first binding, or its definitions or declarations when no references
+		// are searched, are searched in the last pass, such that their matches can be reported while
+		// the names are found.
+		IBinding lastBinding = searchedBindings.get(0);
+		int lastKind = Integer.highestOneBit(flags & FIND_ALL_OCCURRENCES);
+		for (IBinding binding : searchedBindings) {
+			int searchFlags = binding == lastBinding ? flags & ~lastKind : flags;
+			if ((searchFlags & FIND_ALL_OCCURRENCES) != 0) {
+				createMatches1(index, binding, searchFlags, reporter, false);
 			}
 		}
 
+		List<ICPPMethod> overriddenMethods = new ArrayList<>();
 		if ((flags & FIND_REFERENCES) != 0) {
-			for (IBinding binding : bindings) {
-				if (binding != null) {
-					List<? extends IBinding> specializations = IndexUI.findSpecializations(index, binding);
-					for (IBinding spec : specializations) {
-						if (spec != null && handled.add(spec)) {
-							createMatches1(index, spec, names);
-						}
+			for (IBinding binding : searchedBindings) {
+				List<? extends IBinding> specializations = IndexUI.findSpecializations(index, binding);
+				for (IBinding spec : specializations) {
+					if (spec != null && handled.add(spec)) {
+						createMatches1(index, spec, flags, reporter, false);
 					}
+				}
 
-					if (binding instanceof ICPPMethod) {
-						ICPPMethod m = (ICPPMethod) binding;
-						ICPPMethod[] msInBases = ClassTypeHelper.findOverridden(m);
-						if (msInBases.length > 0) {
-							if (polymorphicNames == null) {
-								polymorphicNames = new ArrayList<>();
-							}
-							for (ICPPMethod mInBase : msInBases) {
-								if (mInBase != null && handled.add(mInBase)) {
-									createMatches1(index, mInBase, polymorphicNames);
-								}
-							}
+				if (binding instanceof ICPPMethod) {
+					ICPPMethod m = (ICPPMethod) binding;
+					ICPPMethod[] msInBases = ClassTypeHelper.findOverridden(m);
+					for (ICPPMethod mInBase : msInBases) {
+						if (mInBase != null && handled.add(mInBase)) {
+							overriddenMethods.add(mInBase);
 						}
 					}
 				}
@@ -385,28 +467,54 @@ public abstract class CSearchQuery implements ISearchQuery {
 		}
 
 		// Get names from the external search providers.
+		List<IIndexName> names = new ArrayList<>();
 		for (IExternalSearchProvider provider : CSearchProviderManager.INSTANCE.getExternalSearchProviders()) {
 			for (IBinding binding : bindings) {
 				provider.findNames(binding, flags, projects, index, names);
 			}
 		}
-
-		if (!(names.isEmpty() && (polymorphicNames == null || polymorphicNames.isEmpty()))) {
-			collectNames(index, names, polymorphicNames);
+		reporter.addSecondaryNames(names, false);
+		for (ICPPMethod mInBase : overriddenMethods) {
+			// Reported last, such that other matches at the same location take precedence.
+			createMatches1(index, mInBase, flags, reporter, true);
 		}
+
+		reporter.startLastPass();
+		createMatches1(index, lastBinding, flags & ~FIND_ALL_OCCURRENCES | lastKind, reporter, false);
+		reporter.reportMatches();
 	}
 
-	private void createMatches1(IIndex index, IBinding binding, List<IIndexName> names) throws CoreException {
-		IIndexName[] bindingNames = index.findNames(binding, flags);
-		if (fullPathFilter == null) {
-			names.addAll(Arrays.asList(bindingNames));
-		} else {
-			for (IIndexName name : bindingNames) {
-				String fullPath = name.getFile().getLocation().getFullPath();
-				if (fullPath != null && accept(fullPath))
-					names.add(name);
+	/**
+	 * Passes the names of the binding that are within the scope of the search to the reporter,
+	 * in batches while they are found.
+	 */
+	private void createMatches1(IIndex index, IBinding binding, int searchFlags, MatchReporter reporter,
+			boolean isPolymorphicOnly) throws CoreException {
+		index.findNames(binding, searchFlags, NAME_BATCH_SIZE, batch -> {
+			checkCanceled();
+			List<IIndexName> accepted = new ArrayList<>(batch.length);
+			for (IIndexName name : batch) {
+				if (fullPathFilter == null) {
+					accepted.add(name);
+				} else {
+					String fullPath = name.getFile().getLocation().getFullPath();
+					if (fullPath != null && accept(fullPath))
+						accepted.add(name);
+				}
 			}
-		}
+			if (isPolymorphicOnly) {
+				reporter.addSecondaryNames(accepted, true);
+			} else {
+				reporter.addNames(accepted);
+			}
+			return true;
+		});
+	}
+
+	private void checkCanceled() {
+		IProgressMonitor monitor = fMonitor;
+		if (monitor != null && monitor.isCanceled())
+			throw new OperationCanceledException();
 	}
 
 	private boolean accept(String fullPath) {
@@ -521,9 +629,11 @@ public abstract class CSearchQuery implements ISearchQuery {
 			} catch (InterruptedException e) {
 				return Status.CANCEL_STATUS;
 			}
+			fMonitor = monitor;
 			try {
 				return runWithIndex(index, monitor);
 			} finally {
+				fMonitor = null;
 				index.releaseReadLock();
 			}
 		} catch (CoreException e) {
@@ -28,7 +28,6 @@ import org.eclipse.cdt.core.dom.ast.cpp.ICPPBase;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPClassType;
 import org.eclipse.cdt.core.index.IIndex;
 import org.eclipse.cdt.core.index.IIndexBinding;
-import org.eclipse.cdt.core.index.IIndexName;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.internal.core.model.ext.ICElementHandle;
 import org.eclipse.cdt.internal.ui.viewsupport.IndexUI;
@@ -217,26 +216,19 @@ class THGraph {
 			try {
 				IBinding binding = IndexUI.elementToBinding(index, elem);
 				if (binding != null) {
-					// TODO(nathanridge): Also find subclasses referenced via decltype-specifiers rather than names.
-					IIndexName[] names = index.findNames(binding, IIndex.FIND_REFERENCES | IIndex.FIND_DEFINITIONS);
-					for (IIndexName indexName : names) {
+					IIndexBinding[] subClasses = index.findDerivedClasses(binding);
+					for (IIndexBinding subClass : subClasses) {
 						if (monitor.isCanceled()) {
 							return;
 						}
-						if (indexName.isBaseSpecifier()) {
-							IIndexName subClassDef = indexName.getEnclosingDefinition();
-							if (subClassDef != null) {
-								IBinding subClass = index.findBinding(subClassDef);
-								ICElementHandle[] subClassElems = IndexUI.findRepresentative(index, subClass);
-								if (subClassElems.length > 0) {
-									ICElementHandle subClassElem = subClassElems[0];
-									THGraphNode subGraphNode = addNode(subClassElem);
-									addMembers(index, subGraphNode, subClass);
-									addEdge(subGraphNode, graphNode);
-									if (handled.add(subClassElem)) {
-										stack.add(subClassElem);
-									}
-								}
+						ICElementHandle[] subClassElems = IndexUI.findRepresentative(index, subClass);
+						if (subClassElems.length > 0) {
+							ICElementHandle subClassElem = subClassElems[0];
+							THGraphNode subGraphNode = addNode(subClassElem);
+							addMembers(index, subGraphNode, subClass);
+							addEdge(subGraphNode, graphNode);
+							if (handled.add(subClassElem)) {
+								stack.add(subClassElem);
 							}
 						}
 					}